@@ -2,8 +2,12 @@ package org.example;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+// Usado, quando habilitados, pelo arquivamento de pedidos (pedidos.arquivamento.habilitado) e pela verificação
+// do atraso das réplicas de leitura no RoteadorDataSource (banco.replicas.habilitado).
+@EnableScheduling
 public class GerenciadorPedidosApplication {
 
     public static void main(String[] args) {
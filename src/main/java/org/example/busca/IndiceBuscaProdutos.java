@@ -0,0 +1,611 @@
+package org.example.busca;
+
+import org.example.dto.ProdutoBuscaDTO;
+import org.example.dto.ProdutoResponseDTO;
+import org.example.event.CategoriaSalvaEvent;
+import org.example.event.ProdutoRemovidoEvent;
+import org.example.event.ProdutoSalvoEvent;
+import org.example.event.ProdutosImportadosEvent;
+import org.example.event.ProdutosReajustadosEvent;
+import org.example.repository.ProdutoRepository;
+import org.example.util.NormalizadorUtil;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.IntPredicate;
+import java.util.stream.Collectors;
+
+/**
+ * Índice invertido de trigramas, em memória, sobre os nomes normalizados dos produtos e de suas categorias.
+ * <p>
+ * Cada versão de um produto ocupa um documento, identificado por um inteiro crescente; cada trigrama
+ * aponta para a lista ordenada dos documentos que o contêm. Na reconstrução, os documentos são numerados
+ * do nome mais curto para o mais longo (o critério de desempate da relevância), o que permite encerrar a
+ * varredura assim que nenhum candidato restante puder entrar no resultado. Alterar ou remover um produto
+ * apenas marca o documento antigo como removido e anexa o novo ao final, fora dessa ordem; o índice é
+ * reconstruído quando os documentos fora de ordem ou removidos passam a pesar na busca.
+ * <p>
+ * O índice é carregado na inicialização e atualizado pelos eventos de produto e categoria, após o commit;
+ * eventos de produto mais antigos que a versão já indexada são descartados ({@link VersoesAplicadas}).
+ * Leituras concorrentes compartilham um read lock; escritas (raras) usam o write lock.
+ */
+@Component
+public class IndiceBuscaProdutos {
+
+    public static final int TAMANHO_MINIMO_TERMO = 2;
+
+    static final int PONTOS_NOME_IDENTICO = 100;
+    static final int PONTOS_INICIO_NOME = 10;
+    static final int PONTOS_INICIO_PALAVRA = 6;
+    static final int PONTOS_MEIO_PALAVRA = 3;
+    static final int PONTOS_CATEGORIA = 1;
+
+    private static final int MINIMO_PARA_REORGANIZAR = 1024;
+
+    // Marca o início do nome, distinguindo-o do início das demais palavras.
+    private static final char INICIO_NOME = '\u0002';
+
+    private static final Comparator<Resultado> PIOR_PRIMEIRO = Comparator
+            .comparingInt(Resultado::relevancia)
+            .thenComparing(Comparator.comparingInt(Resultado::tamanhoNome).reversed())
+            .thenComparing(Comparator.comparingLong(Resultado::produtoId).reversed());
+
+    private static final Comparator<Documento> MENOR_NOME_PRIMEIRO = Comparator
+            .comparingInt((Documento documento) -> documento.nomeNormalizado().length())
+            .thenComparingLong(documento -> documento.produto().id());
+
+    @Autowired
+    private ProdutoRepository produtoRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private int quantidadeDocumentos;
+    private int quantidadeOrdenados;
+    private ProdutoResponseDTO[] produtos = new ProdutoResponseDTO[MINIMO_PARA_REORGANIZAR];
+    private String[] nomesNormalizados = new String[MINIMO_PARA_REORGANIZAR];
+    private final BitSet removidos = new BitSet();
+    private int quantidadeRemovidos;
+
+    private final Map<Long, Integer> documentoPorProduto = new HashMap<>();
+    private final Map<String, ListaInteiros> postagens = new HashMap<>();
+    private final Map<Long, ListaInteiros> documentosPorCategoria = new HashMap<>();
+    private final Map<Long, NomeCategoria> categorias = new HashMap<>();
+    private final VersoesAplicadas versoes = new VersoesAplicadas();
+
+    /**
+     * Carrega todos os produtos quando a aplicação termina de subir.
+     * O write lock é mantido durante a leitura, de modo que eventos de commits concorrentes sejam
+     * aplicados depois da carga (as operações são idempotentes).
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void carregar() {
+        lock.writeLock().lock();
+        try {
+            reconstruirSemLock(documentos(produtoRepository.findAllProjetados()));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener
+    public void aoSalvarProduto(ProdutoSalvoEvent evento) {
+        indexar(evento.produto(), evento.versao());
+    }
+
+    @TransactionalEventListener
+    public void aoRemoverProduto(ProdutoRemovidoEvent evento) {
+        remover(evento.produtoId());
+    }
+
+    @TransactionalEventListener
+    public void aoReajustarProdutos(ProdutosReajustadosEvent evento) {
+        indexarTodos(evento.produtos(), evento.versoes());
+    }
+
+    @TransactionalEventListener
+    public void aoImportarProdutos(ProdutosImportadosEvent evento) {
+        indexarTodos(evento.produtos(), evento.versoes());
+    }
+
+    @TransactionalEventListener
+    public void aoSalvarCategoria(CategoriaSalvaEvent evento) {
+        renomearCategoria(evento.categoriaId(), evento.nome());
+    }
+
+    /**
+     * Substitui todo o conteúdo do índice pelos produtos informados.
+     */
+    public void reconstruir(Collection<ProdutoResponseDTO> todos) {
+        List<Documento> documentos = documentos(todos);
+        lock.writeLock().lock();
+        try {
+            reconstruirSemLock(documentos);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Indexa um produto novo ou substitui a versão indexada de um produto existente.
+     */
+    public void indexar(ProdutoResponseDTO produto) {
+        indexar(produto, null);
+    }
+
+    /**
+     * Indexa o produto, a menos que uma versão mais nova dele já tenha sido indexada ou removida.
+     * @param versao A versão gravada do produto; null para indexar sem verificar.
+     */
+    public void indexar(ProdutoResponseDTO produto, Long versao) {
+        String nomeNormalizado = normalizar(produto.nome());
+        lock.writeLock().lock();
+        try {
+            if (!versoes.aplicar(produto.id(), versao)) {
+                return;
+            }
+            removerSemLock(produto.id());
+            adicionarSemLock(produto, nomeNormalizado);
+            reorganizarSeNecessario();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Substitui a versão indexada de vários produtos, com uma única aquisição do lock de escrita.
+     */
+    public void indexarTodos(Collection<ProdutoResponseDTO> produtos) {
+        indexarTodos(produtos, Map.of());
+    }
+
+    /**
+     * Como {@link #indexarTodos(Collection)}, ignorando os produtos cuja versão (por ID) seja mais antiga
+     * que a já indexada. Produtos ausentes do mapa são indexados sem verificação.
+     */
+    public void indexarTodos(Collection<ProdutoResponseDTO> produtos, Map<Long, Long> versoesPorProduto) {
+        List<String> nomesNormalizados = produtos.stream().map(produto -> normalizar(produto.nome())).toList();
+        lock.writeLock().lock();
+        try {
+            int i = 0;
+            for (ProdutoResponseDTO produto : produtos) {
+                String nomeNormalizado = nomesNormalizados.get(i++);
+                if (versoes.aplicar(produto.id(), versoesPorProduto.get(produto.id()))) {
+                    removerSemLock(produto.id());
+                    adicionarSemLock(produto, nomeNormalizado);
+                }
+            }
+            reorganizarSeNecessario();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remover(Long produtoId) {
+        lock.writeLock().lock();
+        try {
+            versoes.remover(produtoId);
+            removerSemLock(produtoId);
+            reorganizarSeNecessario();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void renomearCategoria(Long categoriaId, String nome) {
+        NomeCategoria categoria = new NomeCategoria(nome, normalizar(nome));
+        lock.writeLock().lock();
+        try {
+            categorias.put(categoriaId, categoria);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int tamanho() {
+        lock.readLock().lock();
+        try {
+            return documentoPorProduto.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Busca produtos cujo nome ou categoria contenha todas as palavras do termo, sem diferenciar acentos,
+     * maiúsculas ou plurais simples. Palavras com 3 ou mais letras casam em qualquer posição; palavras de
+     * 2 letras casam apenas no início de uma palavra.
+     * <p>
+     * Relevância por palavra: início do nome (10), início de outra palavra do nome (6), meio do nome (3),
+     * apenas no nome da categoria (1); o nome idêntico ao termo soma 100. Empates favorecem nomes mais curtos.
+     * @param termo O texto digitado.
+     * @param limite A quantidade máxima de resultados.
+     * @return Os produtos mais relevantes, do mais para o menos relevante.
+     */
+    public List<ProdutoBuscaDTO> buscar(String termo, int limite) {
+        String termoNormalizado = normalizar(termo);
+        String[] palavras = Arrays.stream(termoNormalizado.split(" "))
+                .filter(palavra -> palavra.length() >= TAMANHO_MINIMO_TERMO)
+                .toArray(String[]::new);
+        if (palavras.length == 0) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            return new Busca(termoNormalizado, palavras, limite).executar();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Normaliza cada palavra com o NormalizadorUtil (acentos, caixa e plural simples), separando por espaço.
+    static String normalizar(String texto) {
+        return texto == null ? "" : NormalizadorUtil.normalizarPalavras(texto);
+    }
+
+    private static List<Documento> documentos(Collection<ProdutoResponseDTO> produtos) {
+        List<Documento> documentos = new ArrayList<>(produtos.size());
+        for (ProdutoResponseDTO produto : produtos) {
+            documentos.add(new Documento(produto, normalizar(produto.nome())));
+        }
+        return documentos;
+    }
+
+    private void reconstruirSemLock(List<Documento> documentos) {
+        documentos.sort(MENOR_NOME_PRIMEIRO);
+        quantidadeDocumentos = 0;
+        produtos = new ProdutoResponseDTO[Math.max(MINIMO_PARA_REORGANIZAR, documentos.size())];
+        nomesNormalizados = new String[produtos.length];
+        removidos.clear();
+        quantidadeRemovidos = 0;
+        documentoPorProduto.clear();
+        postagens.clear();
+        documentosPorCategoria.clear();
+        for (Documento documento : documentos) {
+            adicionarSemLock(documento.produto(), documento.nomeNormalizado());
+        }
+        quantidadeOrdenados = quantidadeDocumentos;
+    }
+
+    // Reconstrói o índice quando os documentos fora de ordem (que não encerram a varredura antecipadamente)
+    // passam de 1/8 do total, ou quando mais da metade está removida. O custo é amortizado entre as escritas.
+    private void reorganizarSeNecessario() {
+        int foraDeOrdem = quantidadeDocumentos - quantidadeOrdenados;
+        if (foraDeOrdem > Math.max(MINIMO_PARA_REORGANIZAR, quantidadeDocumentos / 8)
+                || (quantidadeRemovidos >= MINIMO_PARA_REORGANIZAR && quantidadeRemovidos * 2 > quantidadeDocumentos)) {
+            reconstruirSemLock(documentosAtivos());
+        }
+    }
+
+    private void adicionarSemLock(ProdutoResponseDTO produto, String nomeNormalizado) {
+        if (quantidadeDocumentos == produtos.length) {
+            produtos = Arrays.copyOf(produtos, quantidadeDocumentos * 2);
+            nomesNormalizados = Arrays.copyOf(nomesNormalizados, quantidadeDocumentos * 2);
+        }
+        int documento = quantidadeDocumentos++;
+        produtos[documento] = produto;
+        nomesNormalizados[documento] = nomeNormalizado;
+        documentoPorProduto.put(produto.id(), documento);
+
+        String comBordas = " " + nomeNormalizado + " ";
+        postar(INICIO_NOME + comBordas.substring(1, 3), documento);
+        for (int i = 0; i + 3 <= comBordas.length(); i++) {
+            postar(comBordas.substring(i, i + 3), documento);
+        }
+        if (produto.categoriaId() != null) {
+            documentosPorCategoria.computeIfAbsent(produto.categoriaId(), id -> new ListaInteiros()).adicionar(documento);
+            NomeCategoria categoria = categorias.get(produto.categoriaId());
+            if (produto.categoriaNome() != null && (categoria == null || !categoria.nome().equals(produto.categoriaNome()))) {
+                categorias.put(produto.categoriaId(), new NomeCategoria(produto.categoriaNome(), normalizar(produto.categoriaNome())));
+            }
+        }
+    }
+
+    private void postar(String chave, int documento) {
+        ListaInteiros lista = postagens.computeIfAbsent(chave, c -> new ListaInteiros());
+        // Trigramas repetidos no mesmo nome são anexados uma única vez.
+        if (lista.tamanho() == 0 || lista.get(lista.tamanho() - 1) != documento) {
+            lista.adicionar(documento);
+        }
+    }
+
+    private void removerSemLock(Long produtoId) {
+        Integer documento = documentoPorProduto.remove(produtoId);
+        if (documento != null) {
+            removidos.set(documento);
+            quantidadeRemovidos++;
+        }
+    }
+
+    private List<Documento> documentosAtivos() {
+        List<Documento> ativos = new ArrayList<>(documentoPorProduto.size());
+        for (int documento = 0; documento < quantidadeDocumentos; documento++) {
+            if (!removidos.get(documento)) {
+                ativos.add(new Documento(produtos[documento], nomesNormalizados[documento]));
+            }
+        }
+        return ativos;
+    }
+
+    // Chaves que um nome precisa conter para que a palavra alcance a pontuação informada.
+    private static List<String> chaves(String palavra, int pontos) {
+        List<String> chaves = new ArrayList<>();
+        for (int i = 0; i + 3 <= palavra.length(); i++) {
+            chaves.add(palavra.substring(i, i + 3));
+        }
+        if (pontos >= PONTOS_INICIO_PALAVRA || palavra.length() < 3) {
+            chaves.add(" " + palavra.substring(0, 2));
+        }
+        if (pontos >= PONTOS_INICIO_NOME) {
+            chaves.add(INICIO_NOME + palavra.substring(0, 2));
+        }
+        return chaves;
+    }
+
+    private List<ListaInteiros> listas(List<String> chaves) {
+        List<ListaInteiros> listas = new ArrayList<>(chaves.size());
+        for (String chave : chaves) {
+            ListaInteiros lista = postagens.get(chave);
+            if (lista == null) {
+                return null;
+            }
+            listas.add(lista);
+        }
+        listas.sort(Comparator.comparingInt(ListaInteiros::tamanho));
+        return listas;
+    }
+
+    private boolean categoriaCorresponde(Map.Entry<Long, NomeCategoria> categoria, String palavra) {
+        return documentosPorCategoria.containsKey(categoria.getKey())
+                && corresponde(categoria.getValue().nomeNormalizado(), palavra);
+    }
+
+    private static boolean corresponde(String texto, String palavra) {
+        return palavra.length() >= 3 ? texto.contains(palavra) : inicioDePalavra(texto, palavra);
+    }
+
+    private static boolean inicioDePalavra(String texto, String palavra) {
+        for (int i = texto.indexOf(palavra); i >= 0; i = texto.indexOf(palavra, i + 1)) {
+            if (i == 0 || texto.charAt(i - 1) == ' ') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Estado de uma busca. Os candidatos são gerados pela palavra mais seletiva, em faixas de pontuação
+     * decrescente (início do nome, início de palavra, meio de palavra, categoria); em cada faixa, o limite
+     * superior da relevância é conhecido e a varredura da parte ordenada termina quando o pior resultado
+     * retido já não pode ser superado.
+     */
+    private final class Busca {
+
+        private final String termoNormalizado;
+        private final String[] palavras;
+        private final int limite;
+        private final PriorityQueue<Resultado> melhores;
+
+        private Busca(String termoNormalizado, String[] palavras, int limite) {
+            this.termoNormalizado = termoNormalizado;
+            this.palavras = palavras;
+            this.limite = limite;
+            this.melhores = new PriorityQueue<>(limite + 1, PIOR_PRIMEIRO);
+        }
+
+        private List<ProdutoBuscaDTO> executar() {
+            int[] potenciais = new int[palavras.length];
+            int potencialTotal = 0;
+            int candidata = 0;
+            int menorEstimativa = Integer.MAX_VALUE;
+            for (int i = 0; i < palavras.length; i++) {
+                potenciais[i] = potencial(palavras[i]);
+                if (potenciais[i] == 0) {
+                    return List.of();
+                }
+                potencialTotal += potenciais[i];
+                int estimativa = estimarCandidatos(palavras[i]);
+                if (estimativa < menorEstimativa) {
+                    menorEstimativa = estimativa;
+                    candidata = i;
+                }
+            }
+
+            String palavra = palavras[candidata];
+            int demais = potencialTotal - potenciais[candidata];
+            // Palavras que não aparecem em nenhuma categoria precisam estar no nome: a lista mais curta de
+            // cada uma restringe os candidatos de todas as faixas.
+            List<ListaInteiros> obrigatorias = new ArrayList<>();
+            for (int i = 0; i < palavras.length; i++) {
+                if (i != candidata && !algumaCategoriaCorresponde(palavras[i])) {
+                    obrigatorias.add(listas(chaves(palavras[i], PONTOS_MEIO_PALAVRA)).get(0));
+                }
+            }
+
+            percorrer(chaves(palavra, PONTOS_INICIO_NOME), obrigatorias, PONTOS_INICIO_NOME + demais,
+                    documento -> nomesNormalizados[documento].startsWith(palavra));
+            percorrer(chaves(palavra, PONTOS_INICIO_PALAVRA), obrigatorias, PONTOS_INICIO_PALAVRA + demais, documento -> {
+                String nome = nomesNormalizados[documento];
+                return !nome.startsWith(palavra) && inicioDePalavra(nome, palavra);
+            });
+            if (palavra.length() >= 3) {
+                percorrer(chaves(palavra, PONTOS_MEIO_PALAVRA), obrigatorias, PONTOS_MEIO_PALAVRA + demais, documento -> {
+                    String nome = nomesNormalizados[documento];
+                    return nome.contains(palavra) && !inicioDePalavra(nome, palavra);
+                });
+            }
+            for (Map.Entry<Long, NomeCategoria> categoria : categorias.entrySet()) {
+                if (categoriaCorresponde(categoria, palavra)) {
+                    // Documentos cujo nome contém a palavra já foram avaliados nas faixas anteriores.
+                    List<ListaInteiros> listas = new ArrayList<>(obrigatorias);
+                    listas.add(documentosPorCategoria.get(categoria.getKey()));
+                    percorrer(listas, PONTOS_CATEGORIA + demais,
+                            documento -> !corresponde(nomesNormalizados[documento], palavra));
+                }
+            }
+
+            List<Resultado> ordenados = new ArrayList<>(melhores);
+            ordenados.sort(PIOR_PRIMEIRO.reversed());
+            return ordenados.stream().map(this::paraDTO).collect(Collectors.toList());
+        }
+
+        // Maior pontuação que a palavra pode alcançar em algum documento, pela existência das chaves.
+        private int potencial(String palavra) {
+            if (listas(chaves(palavra, PONTOS_INICIO_NOME)) != null) {
+                return PONTOS_INICIO_NOME;
+            }
+            if (listas(chaves(palavra, PONTOS_INICIO_PALAVRA)) != null) {
+                return PONTOS_INICIO_PALAVRA;
+            }
+            if (palavra.length() >= 3 && listas(chaves(palavra, PONTOS_MEIO_PALAVRA)) != null) {
+                return PONTOS_MEIO_PALAVRA;
+            }
+            return algumaCategoriaCorresponde(palavra) ? PONTOS_CATEGORIA : 0;
+        }
+
+        private boolean algumaCategoriaCorresponde(String palavra) {
+            for (Map.Entry<Long, NomeCategoria> categoria : categorias.entrySet()) {
+                if (categoriaCorresponde(categoria, palavra)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private int estimarCandidatos(String palavra) {
+            int estimativa = 0;
+            List<ListaInteiros> listas = listas(chaves(palavra, PONTOS_MEIO_PALAVRA));
+            if (listas != null) {
+                estimativa = listas.get(0).tamanho();
+            }
+            for (Map.Entry<Long, NomeCategoria> categoria : categorias.entrySet()) {
+                if (categoriaCorresponde(categoria, palavra)) {
+                    estimativa += documentosPorCategoria.get(categoria.getKey()).tamanho();
+                }
+            }
+            return estimativa;
+        }
+
+        private void percorrer(List<String> chaves, List<ListaInteiros> obrigatorias, int relevanciaMaxima, IntPredicate filtro) {
+            List<ListaInteiros> listas = listas(chaves);
+            if (listas != null) {
+                // Basta a lista mais curta da palavra: o filtro confere a posição exata no nome.
+                List<ListaInteiros> restricoes = new ArrayList<>(obrigatorias);
+                restricoes.add(listas.get(0));
+                percorrer(restricoes, relevanciaMaxima, filtro);
+            }
+        }
+
+        // Intersecta as listas: percorre a menor e busca binariamente nas demais. Na parte ordenada, salta
+        // para os documentos fora de ordem assim que nenhum candidato restante puder entrar no resultado.
+        private void percorrer(List<ListaInteiros> listas, int relevanciaMaxima, IntPredicate filtro) {
+            listas.sort(Comparator.comparingInt(ListaInteiros::tamanho));
+            ListaInteiros menor = listas.get(0);
+            proximo:
+            for (int i = 0; i < menor.tamanho(); i++) {
+                int documento = menor.get(i);
+                if (documento < quantidadeOrdenados && !podeEntrar(relevanciaMaxima, documento)) {
+                    i = menor.primeiraPosicaoAPartirDe(quantidadeOrdenados) - 1;
+                    continue;
+                }
+                if (removidos.get(documento)) {
+                    continue;
+                }
+                for (int j = 1; j < listas.size(); j++) {
+                    if (!listas.get(j).contem(documento)) {
+                        continue proximo;
+                    }
+                }
+                if (filtro.test(documento)) {
+                    avaliar(documento);
+                }
+            }
+        }
+
+        // Considera o bônus do nome idêntico apenas para nomes que não são mais longos que o termo.
+        private boolean podeEntrar(int relevanciaMaxima, int documento) {
+            int bonus = nomesNormalizados[documento].length() <= termoNormalizado.length() ? PONTOS_NOME_IDENTICO : 0;
+            return supera(relevanciaMaxima + bonus, documento);
+        }
+
+        private void avaliar(int documento) {
+            int relevancia = pontuar(documento);
+            if (relevancia > 0 && supera(relevancia, documento)) {
+                melhores.add(new Resultado(documento, produtos[documento].id(), relevancia, nomesNormalizados[documento].length()));
+                if (melhores.size() > limite) {
+                    melhores.poll();
+                }
+            }
+        }
+
+        // Indica se um documento com a relevância informada entraria no resultado.
+        private boolean supera(int relevancia, int documento) {
+            Resultado pior = melhores.peek();
+            if (melhores.size() < limite) {
+                return true;
+            }
+            if (relevancia != pior.relevancia()) {
+                return relevancia > pior.relevancia();
+            }
+            int tamanhoNome = nomesNormalizados[documento].length();
+            if (tamanhoNome != pior.tamanhoNome()) {
+                return tamanhoNome < pior.tamanhoNome();
+            }
+            return produtos[documento].id() < pior.produtoId();
+        }
+
+        // Soma a relevância de todas as palavras; retorna 0 se alguma não corresponder ao nome nem à categoria.
+        private int pontuar(int documento) {
+            String nome = nomesNormalizados[documento];
+            Long categoriaId = produtos[documento].categoriaId();
+            NomeCategoria categoria = categoriaId != null ? categorias.get(categoriaId) : null;
+            int total = nome.equals(termoNormalizado) ? PONTOS_NOME_IDENTICO : 0;
+            for (String palavra : palavras) {
+                int pontos;
+                if (nome.startsWith(palavra)) {
+                    pontos = PONTOS_INICIO_NOME;
+                } else if (inicioDePalavra(nome, palavra)) {
+                    pontos = PONTOS_INICIO_PALAVRA;
+                } else if (palavra.length() >= 3 && nome.contains(palavra)) {
+                    pontos = PONTOS_MEIO_PALAVRA;
+                } else if (categoria != null && corresponde(categoria.nomeNormalizado(), palavra)) {
+                    pontos = PONTOS_CATEGORIA;
+                } else {
+                    return 0;
+                }
+                total += pontos;
+            }
+            return total;
+        }
+
+        private ProdutoBuscaDTO paraDTO(Resultado resultado) {
+            ProdutoResponseDTO produto = produtos[resultado.documento()];
+            NomeCategoria categoria = produto.categoriaId() != null ? categorias.get(produto.categoriaId()) : null;
+            return new ProdutoBuscaDTO(produto.id(), produto.nome(), produto.preco(), produto.categoriaId(),
+                    categoria != null ? categoria.nome() : produto.categoriaNome(), resultado.relevancia());
+        }
+    }
+
+    private record Documento(ProdutoResponseDTO produto, String nomeNormalizado) {
+    }
+
+    private record NomeCategoria(String nome, String nomeNormalizado) {
+    }
+
+    private record Resultado(int documento, long produtoId, int relevancia, int tamanhoNome) {
+    }
+}
@@ -0,0 +1,228 @@
+package org.example.busca;
+
+import org.example.dto.ProdutoPrecoDTO;
+import org.example.dto.ProdutoResponseDTO;
+import org.example.event.ProdutoRemovidoEvent;
+import org.example.event.ProdutoSalvoEvent;
+import org.example.event.ProdutosImportadosEvent;
+import org.example.event.ProdutosReajustadosEvent;
+import org.example.repository.ProdutoRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Índice de preços em memória, global e por categoria, para as consultas de faixa de preço e de
+ * produtos mais caros ou mais baratos do ProdutoRepository.
+ * <p>
+ * Cada ordenação guarda vetores primitivos paralelos de preços e IDs; as consultas são buscas binárias
+ * que devolvem os IDs já na ordem do resultado, sem boxing. As ordenações são imutáveis e substituídas
+ * a cada escrita, de modo que as leituras não usam lock; as escritas (raras) são serializadas.
+ * <p>
+ * O índice é carregado na inicialização e atualizado pelos eventos de produto, após o commit; eventos mais
+ * antigos que a versão já indexada do produto são descartados ({@link VersoesAplicadas}).
+ * Pode ser desligado com {@code catalogo.indice-precos.habilitado=false}; o repositório passa então a
+ * responder pelo banco.
+ */
+@Component
+@ConditionalOnProperty(name = "catalogo.indice-precos.habilitado", havingValue = "true", matchIfMissing = true)
+public class IndicePrecosProdutos {
+
+    private static final Comparator<ProdutoPrecoDTO> POR_PRECO_E_ID = Comparator
+            .comparingDouble(ProdutoPrecoDTO::preco)
+            .thenComparingLong(ProdutoPrecoDTO::id);
+
+    @Autowired
+    private ProdutoRepository produtoRepository;
+
+    private volatile boolean carregado;
+    private volatile PrecosOrdenados todos = PrecosOrdenados.VAZIO;
+    private final Map<Long, PrecosOrdenados> porCategoria = new ConcurrentHashMap<>();
+
+    // Preço e categoria indexados de cada produto, para localizar a entrada antiga nas alterações.
+    private final Map<Long, ProdutoPrecoDTO> indexados = new HashMap<>();
+    private final VersoesAplicadas versoes = new VersoesAplicadas();
+
+    /**
+     * Carrega os preços de todos os produtos quando a aplicação termina de subir.
+     * Eventos de commits concorrentes aguardam a carga e são aplicados depois dela (as operações são idempotentes).
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void carregar() {
+        reconstruir(produtoRepository.findAllPrecosOrdenados());
+    }
+
+    @TransactionalEventListener
+    public void aoSalvarProduto(ProdutoSalvoEvent evento) {
+        ProdutoResponseDTO produto = evento.produto();
+        atualizar(new ProdutoPrecoDTO(produto.id(), produto.preco(), produto.categoriaId(), produto.fornecedorId()),
+                evento.versao());
+    }
+
+    @TransactionalEventListener
+    public void aoRemoverProduto(ProdutoRemovidoEvent evento) {
+        remover(evento.produtoId());
+    }
+
+    @TransactionalEventListener
+    public void aoReajustarProdutos(ProdutosReajustadosEvent evento) {
+        atualizarTodos(precos(evento.produtos()), evento.versoes());
+    }
+
+    @TransactionalEventListener
+    public void aoImportarProdutos(ProdutosImportadosEvent evento) {
+        atualizarTodos(precos(evento.produtos()), evento.versoes());
+    }
+
+    private static List<ProdutoPrecoDTO> precos(List<ProdutoResponseDTO> produtos) {
+        return produtos.stream()
+                .map(produto -> new ProdutoPrecoDTO(produto.id(), produto.preco(), produto.categoriaId(), produto.fornecedorId()))
+                .toList();
+    }
+
+    /**
+     * Substitui todo o conteúdo do índice pelos produtos informados. Produtos sem preço são ignorados.
+     */
+    public synchronized void reconstruir(Collection<ProdutoPrecoDTO> produtos) {
+        List<ProdutoPrecoDTO> comPreco = new ArrayList<>(produtos.size());
+        for (ProdutoPrecoDTO produto : produtos) {
+            if (produto.preco() != null) {
+                comPreco.add(produto);
+            }
+        }
+        comPreco.sort(POR_PRECO_E_ID);
+
+        Map<Long, List<ProdutoPrecoDTO>> agrupados = new HashMap<>();
+        indexados.clear();
+        for (ProdutoPrecoDTO produto : comPreco) {
+            indexados.put(produto.id(), produto);
+            if (produto.categoriaId() != null) {
+                agrupados.computeIfAbsent(produto.categoriaId(), id -> new ArrayList<>()).add(produto);
+            }
+        }
+        Map<Long, PrecosOrdenados> novasCategorias = new HashMap<>();
+        agrupados.forEach((categoriaId, daCategoria) -> novasCategorias.put(categoriaId, ordenacao(daCategoria)));
+
+        todos = ordenacao(comPreco);
+        porCategoria.keySet().retainAll(novasCategorias.keySet());
+        porCategoria.putAll(novasCategorias);
+        carregado = true;
+    }
+
+    /**
+     * Indexa um produto novo ou move um produto existente para o novo preço e a nova categoria.
+     */
+    public synchronized void atualizar(ProdutoPrecoDTO produto) {
+        atualizar(produto, null);
+    }
+
+    /**
+     * Atualiza o produto, a menos que uma versão mais nova dele já tenha sido indexada ou removida.
+     * @param versao A versão gravada do produto; null para atualizar sem verificar.
+     */
+    public synchronized void atualizar(ProdutoPrecoDTO produto, Long versao) {
+        if (!versoes.aplicar(produto.id(), versao)) {
+            return;
+        }
+        removerSemSincronizar(produto.id());
+        if (produto.preco() == null) {
+            return;
+        }
+        todos = todos.inserir(produto.preco(), produto.id());
+        if (produto.categoriaId() != null) {
+            porCategoria.put(produto.categoriaId(), categoria(produto.categoriaId()).inserir(produto.preco(), produto.id()));
+        }
+        indexados.put(produto.id(), produto);
+    }
+
+    /**
+     * Aplica os novos preços de vários produtos reconstruindo as ordenações uma única vez, em vez de
+     * uma inserção (cópia dos vetores) por produto.
+     */
+    public synchronized void atualizarTodos(Collection<ProdutoPrecoDTO> produtos) {
+        atualizarTodos(produtos, Map.of());
+    }
+
+    /**
+     * Como {@link #atualizarTodos(Collection)}, ignorando os produtos cuja versão (por ID) seja mais antiga
+     * que a já indexada. Produtos ausentes do mapa são atualizados sem verificação.
+     */
+    public synchronized void atualizarTodos(Collection<ProdutoPrecoDTO> produtos, Map<Long, Long> versoesPorProduto) {
+        Map<Long, ProdutoPrecoDTO> atuais = new HashMap<>(indexados);
+        for (ProdutoPrecoDTO produto : produtos) {
+            if (versoes.aplicar(produto.id(), versoesPorProduto.get(produto.id()))) {
+                atuais.put(produto.id(), produto);
+            }
+        }
+        reconstruir(new ArrayList<>(atuais.values()));
+    }
+
+    public synchronized void remover(Long produtoId) {
+        versoes.remover(produtoId);
+        removerSemSincronizar(produtoId);
+    }
+
+    public boolean isCarregado() {
+        return carregado;
+    }
+
+    // IDs dos produtos com preço maior que o informado, do mais barato para o mais caro.
+    public long[] maioresQue(double preco) {
+        return todos.maioresQue(preco);
+    }
+
+    // IDs dos produtos com preço menor que o informado, do mais barato para o mais caro.
+    public long[] menoresQue(double preco) {
+        return todos.menoresQue(preco);
+    }
+
+    public long[] maisCaros(int quantidade) {
+        return todos.maisCaros(quantidade);
+    }
+
+    public long[] maisBaratosDaCategoria(Long categoriaId, int quantidade) {
+        return categoria(categoriaId).maisBaratos(quantidade);
+    }
+
+    private void removerSemSincronizar(Long produtoId) {
+        ProdutoPrecoDTO anterior = indexados.remove(produtoId);
+        if (anterior == null) {
+            return;
+        }
+        todos = todos.remover(anterior.preco(), anterior.id());
+        if (anterior.categoriaId() != null) {
+            PrecosOrdenados daCategoria = categoria(anterior.categoriaId()).remover(anterior.preco(), anterior.id());
+            if (daCategoria.tamanho() == 0) {
+                porCategoria.remove(anterior.categoriaId());
+            } else {
+                porCategoria.put(anterior.categoriaId(), daCategoria);
+            }
+        }
+    }
+
+    private PrecosOrdenados categoria(Long categoriaId) {
+        return porCategoria.getOrDefault(categoriaId, PrecosOrdenados.VAZIO);
+    }
+
+    // Os produtos já devem estar ordenados por preço e ID.
+    private static PrecosOrdenados ordenacao(List<ProdutoPrecoDTO> produtos) {
+        double[] precos = new double[produtos.size()];
+        long[] ids = new long[produtos.size()];
+        for (int i = 0; i < precos.length; i++) {
+            precos[i] = produtos.get(i).preco();
+            ids[i] = produtos.get(i).id();
+        }
+        return PrecosOrdenados.deVetoresOrdenados(precos, ids);
+    }
+}
@@ -0,0 +1,38 @@
+package org.example.busca;
+
+import java.util.Arrays;
+
+/**
+ * Lista de inteiros primitivos, crescente por anexação, usada como lista de postagens do índice.
+ * Como os documentos recebem números crescentes, os valores ficam ordenados sem custo adicional.
+ */
+final class ListaInteiros {
+
+    private int[] valores = new int[4];
+    private int tamanho;
+
+    void adicionar(int valor) {
+        if (tamanho == valores.length) {
+            valores = Arrays.copyOf(valores, tamanho * 2);
+        }
+        valores[tamanho++] = valor;
+    }
+
+    int get(int posicao) {
+        return valores[posicao];
+    }
+
+    int tamanho() {
+        return tamanho;
+    }
+
+    boolean contem(int valor) {
+        return Arrays.binarySearch(valores, 0, tamanho, valor) >= 0;
+    }
+
+    // Posição do primeiro valor maior ou igual ao informado (tamanho, se não houver).
+    int primeiraPosicaoAPartirDe(int valor) {
+        int posicao = Arrays.binarySearch(valores, 0, tamanho, valor);
+        return posicao >= 0 ? posicao : -(posicao + 1);
+    }
+}
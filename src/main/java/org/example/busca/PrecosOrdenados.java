@@ -0,0 +1,133 @@
+package org.example.busca;
+
+import java.util.Arrays;
+
+/**
+ * Vetores paralelos de preços e IDs, ordenados por preço e, no empate, por ID.
+ * As instâncias são imutáveis: inserir e remover devolvem uma cópia, de modo que as leituras
+ * nunca observem um vetor pela metade e dispensem qualquer lock.
+ */
+final class PrecosOrdenados {
+
+    static final PrecosOrdenados VAZIO = new PrecosOrdenados(new double[0], new long[0]);
+
+    private final double[] precos;
+    private final long[] ids;
+
+    private PrecosOrdenados(double[] precos, long[] ids) {
+        this.precos = precos;
+        this.ids = ids;
+    }
+
+    // Os vetores recebidos já devem estar ordenados por preço e ID, e passam a pertencer à instância.
+    static PrecosOrdenados deVetoresOrdenados(double[] precos, long[] ids) {
+        return new PrecosOrdenados(precos, ids);
+    }
+
+    int tamanho() {
+        return ids.length;
+    }
+
+    PrecosOrdenados inserir(double preco, long id) {
+        int posicao = posicao(preco, id);
+        if (posicao >= 0) {
+            return this;
+        }
+        posicao = -(posicao + 1);
+        double[] novosPrecos = new double[precos.length + 1];
+        long[] novosIds = new long[ids.length + 1];
+        System.arraycopy(precos, 0, novosPrecos, 0, posicao);
+        System.arraycopy(ids, 0, novosIds, 0, posicao);
+        novosPrecos[posicao] = preco;
+        novosIds[posicao] = id;
+        System.arraycopy(precos, posicao, novosPrecos, posicao + 1, precos.length - posicao);
+        System.arraycopy(ids, posicao, novosIds, posicao + 1, ids.length - posicao);
+        return new PrecosOrdenados(novosPrecos, novosIds);
+    }
+
+    PrecosOrdenados remover(double preco, long id) {
+        int posicao = posicao(preco, id);
+        if (posicao < 0) {
+            return this;
+        }
+        double[] novosPrecos = new double[precos.length - 1];
+        long[] novosIds = new long[ids.length - 1];
+        System.arraycopy(precos, 0, novosPrecos, 0, posicao);
+        System.arraycopy(ids, 0, novosIds, 0, posicao);
+        System.arraycopy(precos, posicao + 1, novosPrecos, posicao, precos.length - posicao - 1);
+        System.arraycopy(ids, posicao + 1, novosIds, posicao, ids.length - posicao - 1);
+        return new PrecosOrdenados(novosPrecos, novosIds);
+    }
+
+    // IDs com preço estritamente maior que o informado, do mais barato para o mais caro.
+    long[] maioresQue(double preco) {
+        return Arrays.copyOfRange(ids, primeiraPosicaoMaiorQue(preco), ids.length);
+    }
+
+    // IDs com preço estritamente menor que o informado, do mais barato para o mais caro.
+    long[] menoresQue(double preco) {
+        return Arrays.copyOf(ids, primeiraPosicaoMaiorOuIgual(preco));
+    }
+
+    long[] maisBaratos(int quantidade) {
+        return Arrays.copyOf(ids, Math.min(quantidade, ids.length));
+    }
+
+    // Os mais caros primeiro; no empate, o de maior ID.
+    long[] maisCaros(int quantidade) {
+        long[] resultado = new long[Math.min(quantidade, ids.length)];
+        for (int i = 0; i < resultado.length; i++) {
+            resultado[i] = ids[ids.length - 1 - i];
+        }
+        return resultado;
+    }
+
+    // Busca binária pela chave composta (preço, ID); negativa quando ausente, como em Arrays.binarySearch.
+    private int posicao(double preco, long id) {
+        int inicio = 0;
+        int fim = ids.length - 1;
+        while (inicio <= fim) {
+            int meio = (inicio + fim) >>> 1;
+            int comparacao = Double.compare(precos[meio], preco);
+            if (comparacao == 0) {
+                comparacao = Long.compare(ids[meio], id);
+            }
+            if (comparacao < 0) {
+                inicio = meio + 1;
+            } else if (comparacao > 0) {
+                fim = meio - 1;
+            } else {
+                return meio;
+            }
+        }
+        return -(inicio + 1);
+    }
+
+    private int primeiraPosicaoMaiorQue(double preco) {
+        int inicio = 0;
+        int fim = precos.length;
+        while (inicio < fim) {
+            int meio = (inicio + fim) >>> 1;
+            if (precos[meio] <= preco) {
+                inicio = meio + 1;
+            } else {
+                fim = meio;
+            }
+        }
+        return inicio;
+    }
+
+    private int primeiraPosicaoMaiorOuIgual(double preco) {
+        int inicio = 0;
+        int fim = precos.length;
+        while (inicio < fim) {
+            int meio = (inicio + fim) >>> 1;
+            if (precos[meio] < preco) {
+                inicio = meio + 1;
+            } else {
+                fim = meio;
+            }
+        }
+        return inicio;
+    }
+}
@@ -0,0 +1,40 @@
+package org.example.busca;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Última versão de cada produto aplicada a um índice em memória. Os ouvintes posteriores ao commit de
+ * transações concorrentes podem rodar fora da ordem dos commits: um evento mais antigo que a versão já
+ * aplicada é descartado, para não sobrescrever um estado mais novo. Um produto removido não volta a ser
+ * indexado por um evento atrasado.
+ * <p>
+ * Não é thread-safe: o índice que a usa serializa as escritas.
+ */
+final class VersoesAplicadas {
+
+    private static final long REMOVIDO = Long.MAX_VALUE;
+
+    private final Map<Long, Long> versoes = new HashMap<>();
+
+    /**
+     * Registra a versão de um produto, se ela não for mais antiga que a já aplicada.
+     * @param versao A versão trazida pelo evento; null quando desconhecida (o evento é sempre aplicado).
+     * @return false se o evento estiver desatualizado e deve ser descartado.
+     */
+    boolean aplicar(Long produtoId, Long versao) {
+        if (versao == null) {
+            return true;
+        }
+        Long aplicada = versoes.get(produtoId);
+        if (aplicada != null && aplicada > versao) {
+            return false;
+        }
+        versoes.put(produtoId, versao);
+        return true;
+    }
+
+    void remover(Long produtoId) {
+        versoes.put(produtoId, REMOVIDO);
+    }
+}
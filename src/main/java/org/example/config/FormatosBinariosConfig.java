@@ -0,0 +1,32 @@
+package org.example.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * Representações binárias da API: além de JSON, todos os controllers aceitam e devolvem
+ * {@code application/cbor} e {@code application/x-jackson-smile}, escolhidos pelos cabeçalhos Accept e
+ * Content-Type. JSON continua sendo a resposta quando o cliente não pede outro formato.
+ * <p>
+ * Os conversores que o Spring MVC registraria por conta própria usam um mapper sem a configuração do Spring Boot
+ * (datas como arrays, por exemplo). Estes partem do mesmo Jackson2ObjectMapperBuilder do JSON, de modo que os
+ * três formatos descrevem os DTOs com os mesmos campos e valores.
+ */
+@Configuration
+public class FormatosBinariosConfig {
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter conversorCbor(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter conversorSmile(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+}
@@ -0,0 +1,121 @@
+package org.example.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.CacheStoreMode;
+import org.hibernate.jpa.SpecHints;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.transaction.TransactionManagerCustomizers;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Réplicas de leitura: as transações somente leitura vão às réplicas de {@code banco.replicas.urls} e as demais
+ * ao primário de {@code spring.datasource} (ver {@link RoteadorDataSource}). Desligado por padrão
+ * ({@code banco.replicas.habilitado}); sem ele, todas as conexões vão ao primário pela configuração do Spring Boot.
+ * <p>
+ * Uma réplica pode estar até {@code atraso-maximo-ms} atrás do primário, e uma leitura logo após uma gravação
+ * pode não enxergá-la. Para que esse estado não fique no cache de segundo nível depois que a réplica se atualizar,
+ * as transações somente leitura apenas leem o cache, sem colocar nele o que carregam do banco.
+ */
+@Configuration
+@ConditionalOnProperty(name = "banco.replicas.habilitado", havingValue = "true")
+public class ReplicasLeituraConfig {
+
+    @Value("${banco.replicas.urls}")
+    private List<String> urls;
+
+    @Value("${banco.replicas.usuario:${spring.datasource.username:}}")
+    private String usuario;
+
+    @Value("${banco.replicas.senha:${spring.datasource.password:}}")
+    private String senha;
+
+    @Value("${banco.replicas.atraso-maximo-ms:5000}")
+    private long atrasoMaximoMs;
+
+    @Value("${banco.replicas.tempo-limite-conexao-ms:1000}")
+    private long tempoLimiteConexaoMs;
+
+    @Value("${banco.replicas.consulta-atraso}")
+    private String consultaAtraso;
+
+    @PostConstruct
+    public void validarConfiguracao() {
+        if (urls.isEmpty() || urls.stream().anyMatch(String::isBlank) || atrasoMaximoMs < 0 || tempoLimiteConexaoMs < 250
+                || consultaAtraso.isBlank()) {
+            throw new IllegalStateException("Configuração inválida das réplicas de leitura: urls=" + urls
+                    + ", atraso-maximo-ms=" + atrasoMaximoMs + ", tempo-limite-conexao-ms=" + tempoLimiteConexaoMs
+                    + ", consulta-atraso=" + consultaAtraso);
+        }
+    }
+
+    // Pool do primário, com as mesmas propriedades (spring.datasource.*) do pool criado pelo Spring Boot.
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource dataSourcePrimario(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    public RoteadorDataSource roteadorDataSource(HikariDataSource dataSourcePrimario, DataSourceProperties properties) {
+        List<DataSource> replicas = new ArrayList<>(urls.size());
+        for (int i = 0; i < urls.size(); i++) {
+            HikariDataSource replica = new HikariDataSource();
+            replica.setPoolName("replica-" + i);
+            replica.setJdbcUrl(urls.get(i).trim());
+            replica.setUsername(usuario);
+            replica.setPassword(senha);
+            replica.setDriverClassName(properties.determineDriverClassName());
+            replica.setReadOnly(true);
+            // Uma réplica fora do ar não deve segurar a requisição pelo tempo padrão do Hikari (30 s).
+            replica.setConnectionTimeout(tempoLimiteConexaoMs);
+            replicas.add(replica);
+        }
+        return new RoteadorDataSource(dataSourcePrimario, replicas, consultaAtraso, atrasoMaximoMs);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(RoteadorDataSource roteadorDataSource) {
+        return new LazyConnectionDataSourceProxy(roteadorDataSource);
+    }
+
+    @Bean
+    public JpaTransactionManager transactionManager(ObjectProvider<TransactionManagerCustomizers> customizers) {
+        JpaTransactionManager transactionManager = new LeituraSemCacheTransactionManager();
+        customizers.ifAvailable(c -> c.customize((TransactionManager) transactionManager));
+        return transactionManager;
+    }
+
+    // Define o modo de gravação no cache a cada transação iniciada: com open-in-view, a mesma sessão pode passar
+    // por uma transação somente leitura e depois por uma de gravação. É uma propriedade do EntityManager, e não
+    // Session.setCacheMode, porque o find com hints (Spring Data) recalcula o modo a partir dessas propriedades.
+    private static final class LeituraSemCacheTransactionManager extends JpaTransactionManager {
+
+        @Override
+        protected void doBegin(Object transaction, TransactionDefinition definition) {
+            super.doBegin(transaction, definition);
+            EntityManagerHolder holder = (EntityManagerHolder) TransactionSynchronizationManager.getResource(obtainEntityManagerFactory());
+            if (holder != null) {
+                holder.getEntityManager().setProperty(SpecHints.HINT_SPEC_CACHE_STORE_MODE,
+                        definition.isReadOnly() ? CacheStoreMode.BYPASS : CacheStoreMode.USE);
+            }
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package org.example.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * DataSource que envia as conexões das transações somente leitura ({@code @Transactional(readOnly = true)})
+ * às réplicas, em rodízio, e as demais ao primário.
+ * <p>
+ * Só recebem leituras as réplicas cujo atraso de replicação, medido a cada {@code intervalo-verificacao-ms} pela
+ * {@code consulta-atraso} (em milissegundos), não passa de {@code atraso-maximo-ms}. Uma réplica atrasada, que não
+ * responde ou que recusa uma conexão fica fora do rodízio até a verificação seguinte que a encontre em dia; sem
+ * réplica disponível, as leituras vão ao primário. Até a primeira verificação, todas as conexões vão ao primário.
+ * <p>
+ * A escolha é feita ao obter a conexão, pelo estado da transação corrente: deve ficar atrás de um
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}, que adia a obtenção para o primeiro
+ * comando, quando a transação já foi marcada como somente leitura.
+ * <p>
+ * Os pools das réplicas pertencem ao roteador e são fechados com ele; o primário é um bean à parte.
+ */
+public class RoteadorDataSource extends AbstractDataSource implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(RoteadorDataSource.class);
+
+    private final DataSource primario;
+    private final List<Replica> replicas = new ArrayList<>();
+    private final String consultaAtraso;
+    private final long atrasoMaximoMs;
+    private final AtomicInteger proxima = new AtomicInteger();
+
+    public RoteadorDataSource(DataSource primario, List<DataSource> replicas, String consultaAtraso, long atrasoMaximoMs) {
+        this.primario = primario;
+        for (int i = 0; i < replicas.size(); i++) {
+            this.replicas.add(new Replica("réplica " + i, replicas.get(i)));
+        }
+        this.consultaAtraso = consultaAtraso;
+        this.atrasoMaximoMs = atrasoMaximoMs;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            Replica replica = proximaDisponivel();
+            if (replica != null) {
+                try {
+                    return replica.dataSource.getConnection();
+                } catch (SQLException e) {
+                    replica.retirar("conexão recusada: " + e.getMessage());
+                }
+            }
+        }
+        return primario.getConnection();
+    }
+
+    // Conexões com outras credenciais não passam pelo rodízio.
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return primario.getConnection(username, password);
+    }
+
+    /**
+     * Mede o atraso de cada réplica e atualiza o rodízio: entram as réplicas com atraso de até atraso-maximo-ms;
+     * saem as atrasadas e as que falham na consulta.
+     */
+    @Scheduled(fixedDelayString = "${banco.replicas.intervalo-verificacao-ms:1000}")
+    public void verificarReplicas() {
+        for (Replica replica : replicas) {
+            try (Connection conexao = replica.dataSource.getConnection();
+                 Statement comando = conexao.createStatement();
+                 ResultSet resultado = comando.executeQuery(consultaAtraso)) {
+                long atrasoMs = resultado.next() ? resultado.getLong(1) : Long.MAX_VALUE;
+                if (atrasoMs <= atrasoMaximoMs) {
+                    replica.incluir();
+                } else {
+                    replica.retirar("atraso de " + atrasoMs + " ms");
+                }
+            } catch (SQLException e) {
+                replica.retirar("falha na verificação: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Retira as réplicas do rodízio e fecha os pools que as conectam, no encerramento do contexto.
+     */
+    @Override
+    public void destroy() throws Exception {
+        for (Replica replica : replicas) {
+            replica.disponivel = false;
+            if (replica.dataSource instanceof AutoCloseable pool) {
+                pool.close();
+            }
+        }
+    }
+
+    /**
+     * Quantidade de réplicas que recebem leituras no momento.
+     */
+    public int replicasDisponiveis() {
+        return (int) replicas.stream().filter(replica -> replica.disponivel).count();
+    }
+
+    private Replica proximaDisponivel() {
+        int inicio = Math.floorMod(proxima.getAndIncrement(), Math.max(1, replicas.size()));
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get((inicio + i) % replicas.size());
+            if (replica.disponivel) {
+                return replica;
+            }
+        }
+        return null;
+    }
+
+    private static final class Replica {
+
+        private final String nome;
+        private final DataSource dataSource;
+        private volatile boolean disponivel;
+
+        Replica(String nome, DataSource dataSource) {
+            this.nome = nome;
+            this.dataSource = dataSource;
+        }
+
+        void incluir() {
+            if (!disponivel) {
+                disponivel = true;
+                log.info("{} incluída no rodízio de leituras", nome);
+            }
+        }
+
+        void retirar(String motivo) {
+            if (disponivel) {
+                disponivel = false;
+                log.warn("{} retirada do rodízio de leituras ({}); leituras vão ao primário se não houver outra", nome, motivo);
+            }
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package org.example.controller;
+
+import org.example.dto.PontoSerieDTO;
+import org.example.dto.PrazoEntregaDTO;
+import org.example.model.Granularidade;
+import org.example.service.AnalisePedidosService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Controller das análises de pedidos: séries temporais e prazos de entrega, agregados pelo banco.
+ */
+@RestController
+@RequestMapping("/api/pedidos/analise")
+public class AnalisePedidosController {
+
+    @Autowired
+    private AnalisePedidosService analisePedidosService;
+
+    /**
+     * Retorna a quantidade de pedidos por dia, semana ou mês em um intervalo de datas.
+     * @param granularidade DIA (padrão), SEMANA ou MES.
+     * @param inicio A data inicial (inclusiva), no formato ISO (yyyy-MM-dd).
+     * @param fim A data final (inclusiva), no formato ISO (yyyy-MM-dd).
+     * @param arquivados Se os pedidos arquivados devem ser contados (padrão false).
+     * @return Uma ResponseEntity com um ponto por período, incluindo os períodos sem pedidos.
+     */
+    @GetMapping("/serie")
+    public ResponseEntity<List<PontoSerieDTO>> gerarSerie(
+            @RequestParam(defaultValue = "DIA") Granularidade granularidade,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate inicio,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fim,
+            @RequestParam(defaultValue = "false") boolean arquivados) {
+        return ResponseEntity.ok(analisePedidosService.gerarSerie(granularidade, inicio, fim, arquivados));
+    }
+
+    /**
+     * Retorna a média e os percentis do prazo de entrega, em dias, dos pedidos feitos em um intervalo de datas.
+     * @param inicio A data inicial (inclusiva), no formato ISO (yyyy-MM-dd).
+     * @param fim A data final (inclusiva), no formato ISO (yyyy-MM-dd).
+     * @param arquivados Se os pedidos arquivados devem entrar na distribuição (padrão false).
+     * @return Uma ResponseEntity com a distribuição dos prazos de entrega.
+     */
+    @GetMapping("/prazo-entrega")
+    public ResponseEntity<PrazoEntregaDTO> calcularPrazoEntrega(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate inicio,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fim,
+            @RequestParam(defaultValue = "false") boolean arquivados) {
+        return ResponseEntity.ok(analisePedidosService.calcularPrazoEntrega(inicio, fim, arquivados));
+    }
+}
@@ -0,0 +1,31 @@
+package org.example.controller;
+
+import org.example.dto.EstatisticaCacheDTO;
+import org.example.service.CacheService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * Controller de observabilidade do cache de segundo nível.
+ */
+@RestController
+@RequestMapping("/api/cache")
+public class CacheController {
+
+    @Autowired
+    private CacheService cacheService;
+
+    /**
+     * Retorna os acertos, falhas e inserções de cada região do cache de segundo nível.
+     * @return Uma ResponseEntity com as estatísticas por região.
+     */
+    @GetMapping("/estatisticas")
+    public ResponseEntity<List<EstatisticaCacheDTO>> listarEstatisticas() {
+        return ResponseEntity.ok(cacheService.listarEstatisticas());
+    }
+}
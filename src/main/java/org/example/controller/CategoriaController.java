@@ -1,11 +1,18 @@
 package org.example.controller;
 
 import org.example.dto.CategoriaRequestDTO;
+import org.example.dto.CategoriaResponseDTO;
+import org.example.dto.CategoriaResumoDTO;
+import org.example.dto.PaginaDTO;
+import org.example.dto.ProdutoResponseDTO;
+import org.example.dto.RepresentacaoDTO;
 import org.example.model.Categoria;
 import org.example.service.CategoriaService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.net.URI;
@@ -18,28 +25,48 @@ public class CategoriaController {
     @Autowired
     private CategoriaService categoriaService;
 
+    // Sem os produtos de cada categoria: apenas a quantidade, calculada pelo banco.
     @GetMapping
-    public ResponseEntity<List<Categoria>> listarTodas() {
+    public ResponseEntity<List<CategoriaResumoDTO>> listarTodas() {
         return ResponseEntity.ok(categoriaService.listarTodas());
     }
 
+    /**
+     * Lista os produtos de uma categoria, página a página.
+     * @param after O cursor retornado em "next" pela página anterior (opcional).
+     * @param limit A quantidade máxima de produtos na página (padrão 50, máximo 500).
+     */
+    @GetMapping("/{id}/produtos")
+    public PaginaDTO<ProdutoResponseDTO> listarProdutos(@PathVariable Long id,
+                                                        @RequestParam(required = false) Long after,
+                                                        @RequestParam(defaultValue = "50") int limit) {
+        return categoriaService.listarProdutos(id, after, limit);
+    }
+
+    // O ETag vem de uma consulta apenas da versão: com um If-None-Match atual, responde 304 sem carregar a categoria.
     @GetMapping("/{id}")
-    public ResponseEntity<Categoria> buscarPorId(@PathVariable Long id) {
-        return ResponseEntity.ok(categoriaService.buscarPorId(id));
+    public ResponseEntity<CategoriaResponseDTO> buscarPorId(@PathVariable Long id, WebRequest request) {
+        RepresentacaoDTO<CategoriaResponseDTO> categoria = categoriaService.buscarComVersao(id, request::checkNotModified);
+        if (categoria.corpo() == null) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(categoria.etag()).body(categoria.corpo());
     }
 
     @PostMapping
-    public ResponseEntity<Categoria> criar(@RequestBody CategoriaRequestDTO categoriaDTO) {
+    public ResponseEntity<CategoriaResponseDTO> criar(@RequestBody CategoriaRequestDTO categoriaDTO) {
         Categoria novaCategoria = categoriaService.criarCategoria(categoriaDTO);
         URI location = ServletUriComponentsBuilder.fromCurrentRequest().path("/{id}")
                 .buildAndExpand(novaCategoria.getId()).toUri();
-        return ResponseEntity.created(location).body(novaCategoria);
+        return ResponseEntity.created(location).body(CategoriaResponseDTO.fromEntity(novaCategoria));
     }
 
+    // Com If-Match, só atualiza se a categoria ainda estiver na versão informada (412 caso contrário).
     @PutMapping("/{id}")
-    public ResponseEntity<Categoria> atualizar(@PathVariable Long id, @RequestBody CategoriaRequestDTO categoriaDTO) {
-        Categoria categoriaAtualizada = categoriaService.atualizarCategoria(id, categoriaDTO);
-        return ResponseEntity.ok(categoriaAtualizada);
+    public ResponseEntity<CategoriaResponseDTO> atualizar(@PathVariable Long id, @RequestBody CategoriaRequestDTO categoriaDTO,
+                                                          @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        RepresentacaoDTO<CategoriaResponseDTO> categoria = categoriaService.atualizarCategoria(id, categoriaDTO, ifMatch);
+        return ResponseEntity.ok().eTag(categoria.etag()).body(categoria.corpo());
     }
 
     @DeleteMapping("/{id}")
@@ -1,11 +1,15 @@
 package org.example.controller;
 
 import org.example.dto.FornecedorRequestDTO;
+import org.example.dto.FornecedorResponseDTO;
+import org.example.dto.RepresentacaoDTO;
 import org.example.model.Fornecedor;
 import org.example.service.FornecedorService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.net.URI;
@@ -20,29 +24,37 @@ public class FornecedorController {
     private FornecedorService fornecedorService;
 
     @GetMapping
-    public ResponseEntity<List<Fornecedor>> listarTodos() {
-        List<Fornecedor> fornecedores = fornecedorService.listarTodos();
+    public ResponseEntity<List<FornecedorResponseDTO>> listarTodos() {
+        List<FornecedorResponseDTO> fornecedores = fornecedorService.listarTodos().stream()
+                .map(FornecedorResponseDTO::fromEntity)
+                .toList();
         return ResponseEntity.ok(fornecedores);
     }
 
+    // O ETag vem de uma consulta apenas da versão: com um If-None-Match atual, responde 304 sem carregar o fornecedor.
     @GetMapping("/{id}")
-    public ResponseEntity<Fornecedor> buscarPorId(@PathVariable Long id) {
-        Fornecedor fornecedor = fornecedorService.buscarPorId(id);
-        return ResponseEntity.ok(fornecedor);
+    public ResponseEntity<FornecedorResponseDTO> buscarPorId(@PathVariable Long id, WebRequest request) {
+        RepresentacaoDTO<FornecedorResponseDTO> fornecedor = fornecedorService.buscarComVersao(id, request::checkNotModified);
+        if (fornecedor.corpo() == null) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(fornecedor.etag()).body(fornecedor.corpo());
     }
 
     @PostMapping
-    public ResponseEntity<Fornecedor> criar(@RequestBody FornecedorRequestDTO fornecedorDTO) {
+    public ResponseEntity<FornecedorResponseDTO> criar(@RequestBody FornecedorRequestDTO fornecedorDTO) {
         Fornecedor novoFornecedor = fornecedorService.criarFornecedor(fornecedorDTO);
         URI location = ServletUriComponentsBuilder.fromCurrentRequest().path("/{id}")
                 .buildAndExpand(novoFornecedor.getId()).toUri();
-        return ResponseEntity.created(location).body(novoFornecedor);
+        return ResponseEntity.created(location).body(FornecedorResponseDTO.fromEntity(novoFornecedor));
     }
 
+    // Com If-Match, só atualiza se o fornecedor ainda estiver na versão informada (412 caso contrário).
     @PutMapping("/{id}")
-    public ResponseEntity<Fornecedor> atualizar(@PathVariable Long id, @RequestBody FornecedorRequestDTO fornecedorDTO) {
-        Fornecedor fornecedorAtualizado = fornecedorService.atualizarFornecedor(id, fornecedorDTO);
-        return ResponseEntity.ok(fornecedorAtualizado);
+    public ResponseEntity<FornecedorResponseDTO> atualizar(@PathVariable Long id, @RequestBody FornecedorRequestDTO fornecedorDTO,
+                                                           @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        RepresentacaoDTO<FornecedorResponseDTO> fornecedor = fornecedorService.atualizarFornecedor(id, fornecedorDTO, ifMatch);
+        return ResponseEntity.ok().eTag(fornecedor.etag()).body(fornecedor.corpo());
     }
 
     @DeleteMapping("/{id}")
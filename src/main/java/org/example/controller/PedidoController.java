@@ -1,17 +1,37 @@
 package org.example.controller;
 
+import org.example.dto.EntregaLoteResponseDTO;
+import org.example.dto.EntregaPedidoRequestDTO;
+import org.example.dto.FaturamentoDTO;
+import org.example.dto.PaginaDTO;
+import org.example.dto.PedidoLoteResponseDTO;
 import org.example.dto.PedidoRequestDTO;
+import org.example.dto.PedidoResponseDTO;
 import org.example.dto.PedidoUpdateRequestDTO;
+import org.example.dto.RepresentacaoDTO;
+import org.example.dto.TicketPedidoDTO;
+import org.example.dto.TotalPedidoDTO;
 import org.example.exception.ResourceNotFoundException;
 import org.example.model.Pedido;
+import jakarta.servlet.http.HttpServletResponse;
 import org.example.service.PedidoService;
+import org.example.service.RecepcaoPedidosService;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.io.IOException;
 import java.net.URI;
+import java.time.LocalDate;
 import java.util.List;
+import java.util.UUID;
 
 /**
  * Controller para gerenciar as operações RESTful da entidade Pedido.
@@ -23,50 +43,163 @@ public class PedidoController {
     @Autowired
     private PedidoService pedidoService;
 
+    // Presente apenas com pedidos.recepcao-assincrona.habilitada=true.
+    @Autowired
+    private ObjectProvider<RecepcaoPedidosService> recepcaoPedidos;
+
     /**
-     * Lista todos os pedidos existentes, incluindo os produtos associados a cada um.
-     * Utiliza uma consulta otimizada para evitar o problema de N+1 selects.
-     * @return Uma lista de todos os pedidos.
+     * Lista os pedidos página a página, incluindo os itens de cada um.
+     * Utiliza paginação por cursor e consultas de projeção para evitar o problema de N+1 selects.
+     * @param after O cursor retornado em "next" pela página anterior (opcional).
+     * @param limit A quantidade máxima de pedidos por página.
+     * @return A página de pedidos e o cursor da próxima página.
      */
     @GetMapping
-    public List<Pedido> listarTodos() {
-        // Esta consulta será otimizada para buscar os produtos junto com os pedidos.
-        return pedidoService.listarPedidos();
+    public PaginaDTO<PedidoResponseDTO> listarTodos(@RequestParam(required = false) Long after,
+                                         @RequestParam(defaultValue = "50") int limit) {
+        return pedidoService.listarPedidos(after, limit);
+    }
+
+    /**
+     * Lista os pedidos ainda não entregues, página a página, para a fila de trabalho da expedição.
+     * @param after O cursor retornado em "next" pela página anterior (opcional).
+     * @param limit A quantidade máxima de pedidos por página.
+     * @return A página de pedidos pendentes e o cursor da próxima página.
+     */
+    @GetMapping("/pendentes")
+    public PaginaDTO<PedidoResponseDTO> listarPendentes(@RequestParam(required = false) Long after,
+                                                       @RequestParam(defaultValue = "50") int limit) {
+        return pedidoService.listarPedidosPendentes(after, limit);
+    }
+
+    /**
+     * Exporta todos os pedidos, com seus itens, em JSON delimitado por linhas (NDJSON).
+     * A resposta é escrita à medida que os pedidos são lidos do banco, com memória constante.
+     * @param response A resposta HTTP onde os pedidos serão escritos.
+     * @throws IOException se ocorrer um erro ao escrever a resposta.
+     */
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void exportar(HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        pedidoService.exportarPedidos(response.getOutputStream());
     }
 
     /**
-     * Busca um pedido específico pelo seu ID, incluindo os produtos associados.
+     * Busca um pedido específico pelo seu ID, incluindo seus itens.
+     * O ETag é obtido por uma consulta apenas das versões, na mesma transação da leitura do pedido: se o cliente
+     * enviar um If-None-Match atual, a resposta é 304 Not Modified, sem carregar o pedido nem os itens.
      * @param id O ID do pedido a ser buscado.
-     * @return Uma ResponseEntity com o pedido encontrado (200 OK) ou um status 404 Not Found.
+     * @param arquivados Se o pedido deve ser procurado também entre os pedidos arquivados (padrão false).
+     * @param request A requisição, para avaliar o If-None-Match.
+     * @return Uma ResponseEntity com o pedido encontrado e o seu ETag (200 OK), 304 Not Modified ou 404 Not Found.
      */
     @GetMapping("/{id}")
-    public ResponseEntity<Pedido> buscarPorId(@PathVariable Long id) {
-        return ResponseEntity.ok(pedidoService.buscarPedidoPorId(id));
+    public ResponseEntity<PedidoResponseDTO> buscarPorId(@PathVariable Long id,
+                                                         @RequestParam(defaultValue = "false") boolean arquivados,
+                                                         WebRequest request) {
+        RepresentacaoDTO<PedidoResponseDTO> pedido = pedidoService.buscarComVersao(id, arquivados, request::checkNotModified);
+        if (pedido.corpo() == null) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(pedido.etag()).body(pedido.corpo());
+    }
+
+    /**
+     * Retorna o valor total de um pedido, calculado a partir dos preços gravados em seus itens.
+     * @param id O ID do pedido.
+     * @return Uma ResponseEntity com o total do pedido (200 OK) ou um status 404 Not Found.
+     */
+    @GetMapping("/{id}/total")
+    public ResponseEntity<TotalPedidoDTO> calcularTotal(@PathVariable Long id) {
+        return ResponseEntity.ok(pedidoService.calcularTotal(id));
+    }
+
+    /**
+     * Retorna o faturamento dos pedidos feitos em um intervalo de datas.
+     * @param inicio A data inicial (inclusiva), no formato ISO (yyyy-MM-dd).
+     * @param fim A data final (inclusiva), no formato ISO (yyyy-MM-dd).
+     * @param arquivados Se os pedidos arquivados do período devem ser somados (padrão false).
+     * @return Uma ResponseEntity com o faturamento do período.
+     */
+    @GetMapping("/faturamento")
+    public ResponseEntity<FaturamentoDTO> calcularFaturamento(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate inicio,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fim,
+            @RequestParam(defaultValue = "false") boolean arquivados) {
+        return ResponseEntity.ok(pedidoService.calcularFaturamento(inicio, fim, arquivados));
     }
 
     /**
-     * Cria um novo pedido a partir de uma lista de IDs de produtos.
-     * @param pedidoDTO O DTO contendo a lista de IDs de produtos.
+     * Cria um novo pedido a partir de uma lista de IDs de produtos e/ou de itens com quantidade.
+     * @param pedidoDTO O DTO contendo os produtos do pedido.
      * @return Uma ResponseEntity com o novo pedido criado e o status 201 Created.
      */
     @PostMapping
-    public ResponseEntity<Pedido> criar(@RequestBody PedidoRequestDTO pedidoDTO) {
+    public ResponseEntity<PedidoResponseDTO> criar(@RequestBody PedidoRequestDTO pedidoDTO) {
         Pedido novoPedido = pedidoService.criarPedido(pedidoDTO);
         URI location = ServletUriComponentsBuilder.fromCurrentRequest().path("/{id}")
                 .buildAndExpand(novoPedido.getId()).toUri();
-        return ResponseEntity.created(location).body(novoPedido);
+        return ResponseEntity.created(location).body(PedidoResponseDTO.fromEntity(novoPedido));
+    }
+
+    /**
+     * Cria vários pedidos de uma só vez, em uma única transação com inserções em lote.
+     * @param pedidosDTO A lista de DTOs, cada um com os produtos de um pedido.
+     * @return Uma ResponseEntity com os IDs dos pedidos criados e o status 201 Created.
+     */
+    @PostMapping("/lote")
+    public ResponseEntity<PedidoLoteResponseDTO> criarEmLote(@RequestBody List<PedidoRequestDTO> pedidosDTO) {
+        List<Long> ids = pedidoService.criarPedidosEmLote(pedidosDTO);
+        return ResponseEntity.status(HttpStatus.CREATED).body(new PedidoLoteResponseDTO(ids.size(), ids));
+    }
+
+    /**
+     * Recebe um pedido de forma assíncrona: o pedido é validado e enfileirado, e gravado em grupo logo depois.
+     * @param pedidoDTO O DTO contendo os produtos do pedido.
+     * @return Uma ResponseEntity com o ticket do pedido, o endereço para consultá-lo e o status 202 Accepted,
+     *         ou 429 Too Many Requests se a fila estiver cheia.
+     */
+    @PostMapping("/recepcao")
+    public ResponseEntity<TicketPedidoDTO> receber(@RequestBody PedidoRequestDTO pedidoDTO) {
+        TicketPedidoDTO ticket = recepcaoHabilitada().enfileirar(pedidoDTO);
+        URI location = ServletUriComponentsBuilder.fromCurrentRequest().path("/{ticket}")
+                .buildAndExpand(ticket.ticket()).toUri();
+        return ResponseEntity.accepted().location(location).body(ticket);
+    }
+
+    /**
+     * Consulta a situação de um pedido recebido de forma assíncrona.
+     * @param ticket O ticket devolvido na recepção.
+     * @return Uma ResponseEntity com a situação do ticket (200 OK) ou um status 404 Not Found.
+     */
+    @GetMapping("/recepcao/{ticket}")
+    public ResponseEntity<TicketPedidoDTO> consultarRecepcao(@PathVariable UUID ticket) {
+        return ResponseEntity.ok(recepcaoHabilitada().consultar(ticket));
     }
 
     /**
      * Atualiza um pedido existente.
      * @param id O ID do pedido a ser atualizado.
      * @param pedidoDTO O DTO com os dados para atualização.
-     * @return Uma ResponseEntity com o pedido atualizado (200 OK).
+     * @param ifMatch O ETag da versão conhecida pelo cliente (opcional); se não for mais o atual, nada é alterado.
+     * @return Uma ResponseEntity com o pedido atualizado e o novo ETag (200 OK), ou 412 Precondition Failed.
      */
     @PutMapping("/{id}")
-    public ResponseEntity<Pedido> atualizar(@PathVariable Long id, @RequestBody PedidoUpdateRequestDTO pedidoDTO) {
-        Pedido pedidoAtualizado = pedidoService.atualizarPedido(id, pedidoDTO);
-        return ResponseEntity.ok(pedidoAtualizado);
+    public ResponseEntity<PedidoResponseDTO> atualizar(@PathVariable Long id, @RequestBody PedidoUpdateRequestDTO pedidoDTO,
+                                                       @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        RepresentacaoDTO<PedidoResponseDTO> pedido = pedidoService.atualizarPedido(id, pedidoDTO, ifMatch);
+        return ResponseEntity.ok().eTag(pedido.etag()).body(pedido.corpo());
+    }
+
+    /**
+     * Confirma a entrega de vários pedidos de uma só vez, com atualizações em bloco e sem carregar os pedidos.
+     * IDs inexistentes não interrompem o lote: são listados em "naoEncontrados" na resposta.
+     * @param entregas A lista de pares de ID do pedido e data de entrega.
+     * @return Uma ResponseEntity com a quantidade de pedidos atualizados e os IDs não encontrados (200 OK).
+     */
+    @PatchMapping("/entregas")
+    public ResponseEntity<EntregaLoteResponseDTO> confirmarEntregas(@RequestBody List<EntregaPedidoRequestDTO> entregas) {
+        return ResponseEntity.ok(pedidoService.confirmarEntregas(entregas));
     }
 
     /**
@@ -79,4 +212,12 @@ public class PedidoController {
         pedidoService.deletarPedido(id);
         return ResponseEntity.noContent().build();
     }
+
+    private RecepcaoPedidosService recepcaoHabilitada() {
+        RecepcaoPedidosService recepcao = recepcaoPedidos.getIfAvailable();
+        if (recepcao == null) {
+            throw new ResourceNotFoundException("A recepção assíncrona de pedidos não está habilitada.");
+        }
+        return recepcao;
+    }
 }
@@ -1,13 +1,26 @@
 package org.example.controller;
 
+import org.example.dto.ImportacaoProdutosResponseDTO;
+import org.example.dto.ProdutoBuscaDTO;
 import org.example.dto.ProdutoRequestDTO;
+import org.example.dto.ProdutoResponseDTO;
+import org.example.dto.ReajustePrecoRequestDTO;
+import org.example.dto.ReajustePrecoResponseDTO;
+import org.example.dto.RepresentacaoDTO;
 import org.example.model.Produto;
+import org.example.service.ImportacaoProdutosService;
 import org.example.service.ProdutoService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
 import java.util.List;
 
@@ -18,28 +31,58 @@ public class ProdutoController {
     @Autowired
     private ProdutoService produtoService;
 
+    @Autowired
+    private ImportacaoProdutosService importacaoProdutosService;
+
     @GetMapping
-    public ResponseEntity<List<Produto>> listarTodos() {
+    public ResponseEntity<List<ProdutoResponseDTO>> listarTodos() {
         return ResponseEntity.ok(produtoService.listarTodos());
     }
 
+    @GetMapping("/busca")
+    public ResponseEntity<List<ProdutoBuscaDTO>> buscar(@RequestParam("q") String termo,
+                                                        @RequestParam(defaultValue = "20") int limite) {
+        return ResponseEntity.ok(produtoService.buscar(termo, limite));
+    }
+
+    // O ETag vem de uma consulta apenas das versões: com um If-None-Match atual, responde 304 sem carregar o produto.
     @GetMapping("/{id}")
-    public ResponseEntity<Produto> buscarPorId(@PathVariable Long id) {
-        return ResponseEntity.ok(produtoService.buscarPorId(id));
+    public ResponseEntity<ProdutoResponseDTO> buscarPorId(@PathVariable Long id, WebRequest request) {
+        RepresentacaoDTO<ProdutoResponseDTO> produto = produtoService.buscarComVersao(id, request::checkNotModified);
+        if (produto.corpo() == null) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(produto.etag()).body(produto.corpo());
     }
 
     @PostMapping
-    public ResponseEntity<Produto> criar(@RequestBody ProdutoRequestDTO produtoDTO) {
+    public ResponseEntity<ProdutoResponseDTO> criar(@RequestBody ProdutoRequestDTO produtoDTO) {
         Produto novoProduto = produtoService.criarProduto(produtoDTO);
         URI location = ServletUriComponentsBuilder.fromCurrentRequest().path("/{id}")
                 .buildAndExpand(novoProduto.getId()).toUri();
-        return ResponseEntity.created(location).body(novoProduto);
+        return ResponseEntity.created(location).body(ProdutoResponseDTO.fromEntity(novoProduto));
+    }
+
+    // Reajuste em massa dos preços dos produtos de uma categoria e/ou fornecedor, com um único UPDATE.
+    @PostMapping("/reajuste")
+    public ResponseEntity<ReajustePrecoResponseDTO> reajustarPrecos(@RequestBody ReajustePrecoRequestDTO reajusteDTO) {
+        return ResponseEntity.ok(produtoService.reajustarPrecos(reajusteDTO));
+    }
+
+    // Importação do catálogo por CSV (campo "arquivo"); as linhas inválidas são listadas na resposta.
+    @PostMapping(value = "/importacao", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ImportacaoProdutosResponseDTO> importar(@RequestParam("arquivo") MultipartFile arquivo) throws IOException {
+        try (InputStream conteudo = arquivo.getInputStream()) {
+            return ResponseEntity.ok(importacaoProdutosService.importar(conteudo));
+        }
     }
 
+    // Com If-Match, só atualiza se o produto ainda estiver na versão informada (412 caso contrário).
     @PutMapping("/{id}")
-    public ResponseEntity<Produto> atualizar(@PathVariable Long id, @RequestBody ProdutoRequestDTO produtoDTO) {
-        Produto produtoAtualizado = produtoService.atualizarProduto(id, produtoDTO);
-        return ResponseEntity.ok(produtoAtualizado);
+    public ResponseEntity<ProdutoResponseDTO> atualizar(@PathVariable Long id, @RequestBody ProdutoRequestDTO produtoDTO,
+                                                        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        RepresentacaoDTO<ProdutoResponseDTO> produto = produtoService.atualizarProduto(id, produtoDTO, ifMatch);
+        return ResponseEntity.ok().eTag(produto.etag()).body(produto.corpo());
     }
 
     @DeleteMapping("/{id}")
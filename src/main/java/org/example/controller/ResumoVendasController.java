@@ -0,0 +1,42 @@
+package org.example.controller;
+
+import org.example.dto.ResumoVendaDTO;
+import org.example.model.DimensaoVenda;
+import org.example.service.ResumoVendasService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Controller do painel de vendas: expõe os resumos pré-calculados por categoria, fornecedor e dia.
+ */
+@RestController
+@RequestMapping("/api/vendas")
+public class ResumoVendasController {
+
+    @Autowired
+    private ResumoVendasService resumoVendasService;
+
+    /**
+     * Lista o faturamento e as contagens de pedidos e itens por dia, agrupados por categoria ou fornecedor.
+     * O custo da consulta é proporcional ao número de buckets do período, não ao número de pedidos.
+     * @param dimensao CATEGORIA ou FORNECEDOR.
+     * @param inicio A data inicial (inclusiva), no formato ISO (yyyy-MM-dd).
+     * @param fim A data final (inclusiva), no formato ISO (yyyy-MM-dd).
+     * @return Uma ResponseEntity com os resumos do período, ordenados por dia.
+     */
+    @GetMapping("/resumo")
+    public ResponseEntity<List<ResumoVendaDTO>> listarResumos(
+            @RequestParam DimensaoVenda dimensao,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate inicio,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fim) {
+        return ResponseEntity.ok(resumoVendasService.listarResumos(dimensao, inicio, fim));
+    }
+}
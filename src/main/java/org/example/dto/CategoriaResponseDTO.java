@@ -0,0 +1,13 @@
+package org.example.dto;
+
+import org.example.model.Categoria;
+
+/**
+ * DTO de leitura de uma Categoria, sem a lista de produtos associados.
+ */
+public record CategoriaResponseDTO(Long id, String nome) {
+
+    public static CategoriaResponseDTO fromEntity(Categoria categoria) {
+        return new CategoriaResponseDTO(categoria.getId(), categoria.getNome());
+    }
+}
@@ -0,0 +1,8 @@
+package org.example.dto;
+
+/**
+ * DTO da listagem de categorias: ID, nome e quantidade de produtos, montado diretamente por uma
+ * consulta agrupada (ver CategoriaRepository.findAllComQuantidadeProdutos).
+ */
+public record CategoriaResumoDTO(Long id, String nome, Long quantidadeProdutos) {
+}
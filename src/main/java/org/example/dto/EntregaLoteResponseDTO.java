@@ -0,0 +1,11 @@
+package org.example.dto;
+
+import java.util.List;
+
+/**
+ * DTO de resposta da confirmação de entregas em lote.
+ * "atualizados" é a quantidade de pedidos que receberam a data de entrega; os IDs sem pedido
+ * correspondente ficam em "naoEncontrados", na ordem da requisição.
+ */
+public record EntregaLoteResponseDTO(int atualizados, List<Long> naoEncontrados) {
+}
@@ -0,0 +1,36 @@
+package org.example.dto;
+
+import java.time.LocalDate;
+
+/**
+ * DTO de uma confirmação de entrega na requisição de confirmação em lote.
+ */
+public class EntregaPedidoRequestDTO {
+
+    private Long id;
+    private LocalDate dataEntrega;
+
+    public EntregaPedidoRequestDTO() {
+    }
+
+    public EntregaPedidoRequestDTO(Long id, LocalDate dataEntrega) {
+        this.id = id;
+        this.dataEntrega = dataEntrega;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public LocalDate getDataEntrega() {
+        return dataEntrega;
+    }
+
+    public void setDataEntrega(LocalDate dataEntrega) {
+        this.dataEntrega = dataEntrega;
+    }
+}
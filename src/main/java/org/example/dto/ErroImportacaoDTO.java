@@ -0,0 +1,8 @@
+package org.example.dto;
+
+/**
+ * Linha do arquivo de importação que não gerou produto, com o motivo.
+ * A linha 1 é o cabeçalho.
+ */
+public record ErroImportacaoDTO(long linha, String mensagem) {
+}
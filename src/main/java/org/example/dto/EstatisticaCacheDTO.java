@@ -0,0 +1,12 @@
+package org.example.dto;
+
+/**
+ * Estatísticas de uma região do cache de segundo nível desde a inicialização (ou a última limpeza).
+ */
+public record EstatisticaCacheDTO(String regiao, long acertos, long falhas, long insercoes, double taxaDeAcerto) {
+
+    public static EstatisticaCacheDTO of(String regiao, long acertos, long falhas, long insercoes) {
+        long consultas = acertos + falhas;
+        return new EstatisticaCacheDTO(regiao, acertos, falhas, insercoes, consultas == 0 ? 0.0 : (double) acertos / consultas);
+    }
+}
@@ -0,0 +1,9 @@
+package org.example.dto;
+
+import java.time.LocalDate;
+
+/**
+ * DTO com o faturamento (soma dos itens) dos pedidos feitos em um intervalo de datas.
+ */
+public record FaturamentoDTO(LocalDate inicio, LocalDate fim, Double faturamento) {
+}
@@ -0,0 +1,13 @@
+package org.example.dto;
+
+import org.example.model.Fornecedor;
+
+/**
+ * DTO de leitura de um Fornecedor.
+ */
+public record FornecedorResponseDTO(Long id, String nome) {
+
+    public static FornecedorResponseDTO fromEntity(Fornecedor fornecedor) {
+        return new FornecedorResponseDTO(fornecedor.getId(), fornecedor.getNome());
+    }
+}
@@ -0,0 +1,8 @@
+package org.example.dto;
+
+/**
+ * DTO de uma faixa do histograma de prazos de entrega: quantos pedidos foram entregues em um
+ * determinado número de dias após a data do pedido.
+ */
+public record FrequenciaPrazoDTO(Long dias, Long pedidos) {
+}
@@ -0,0 +1,10 @@
+package org.example.dto;
+
+import java.util.List;
+
+/**
+ * DTO de resposta da importação do catálogo.
+ * "linhasComErro" conta todas as linhas recusadas; "erros" traz os detalhes das primeiras, em ordem de linha.
+ */
+public record ImportacaoProdutosResponseDTO(int produtosCriados, int linhasComErro, List<ErroImportacaoDTO> erros) {
+}
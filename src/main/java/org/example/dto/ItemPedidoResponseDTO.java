@@ -0,0 +1,21 @@
+package org.example.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import org.example.model.ItemPedido;
+
+/**
+ * DTO de leitura de um item de pedido, com o preço unitário capturado no momento do pedido.
+ * O ID do pedido só é usado para agrupar as linhas da projeção e não é serializado.
+ */
+public record ItemPedidoResponseDTO(@JsonIgnore Long pedidoId, Long produtoId, String nome,
+                                    Integer quantidade, Double precoUnitario) {
+
+    public static ItemPedidoResponseDTO fromEntity(Long pedidoId, ItemPedido item) {
+        return new ItemPedidoResponseDTO(pedidoId, item.getProduto().getId(), item.getProduto().getNome(),
+                item.getQuantidade(), item.getPrecoUnitario());
+    }
+
+    public double subtotal() {
+        return quantidade * precoUnitario;
+    }
+}
@@ -0,0 +1,14 @@
+package org.example.dto;
+
+import org.example.model.ItemPedido;
+
+/**
+ * Projeção de um item de pedido com as referências usadas nos resumos de vendas:
+ * a categoria e o fornecedor gravados no item, a quantidade e o preço unitário gravado.
+ */
+public record LinhaVendaDTO(Long categoriaId, Long fornecedorId, Integer quantidade, Double precoUnitario) {
+
+    public static LinhaVendaDTO fromEntity(ItemPedido item) {
+        return new LinhaVendaDTO(item.getCategoriaId(), item.getFornecedorId(), item.getQuantidade(), item.getPrecoUnitario());
+    }
+}
@@ -0,0 +1,27 @@
+package org.example.dto;
+
+import java.util.List;
+
+/**
+ * DTO de uma página obtida por paginação por cursor (keyset).
+ * O campo "next" contém o cursor a ser enviado no parâmetro "after" da próxima requisição,
+ * ou null quando não há mais itens.
+ */
+public class PaginaDTO<T> {
+
+    private final List<T> itens;
+    private final Long next;
+
+    public PaginaDTO(List<T> itens, Long next) {
+        this.itens = itens;
+        this.next = next;
+    }
+
+    public List<T> getItens() {
+        return itens;
+    }
+
+    public Long getNext() {
+        return next;
+    }
+}
@@ -0,0 +1,10 @@
+package org.example.dto;
+
+import java.util.List;
+
+/**
+ * DTO de resposta da criação de pedidos em lote.
+ * Os IDs estão na mesma ordem dos pedidos enviados na requisição.
+ */
+public record PedidoLoteResponseDTO(int quantidade, List<Long> ids) {
+}
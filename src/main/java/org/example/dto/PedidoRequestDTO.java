@@ -4,11 +4,13 @@ import java.util.List;
 
 /**
  * DTO (Data Transfer Object) para receber os dados de uma requisição de criação de Pedido.
- * Contém uma lista de IDs dos produtos que devem ser associados ao novo pedido.
+ * Os produtos podem ser informados como uma lista de IDs (cada ocorrência conta como uma
+ * unidade, então IDs repetidos somam quantidade) e/ou como itens com quantidade explícita.
  */
 public class PedidoRequestDTO {
 
     private List<Long> produtoIds;
+    private List<ItemPedidoRequestDTO> itens;
 
     public List<Long> getProdutoIds() {
         return produtoIds;
@@ -17,5 +19,12 @@ public class PedidoRequestDTO {
     public void setProdutoIds(List<Long> produtoIds) {
         this.produtoIds = produtoIds;
     }
-}
 
+    public List<ItemPedidoRequestDTO> getItens() {
+        return itens;
+    }
+
+    public void setItens(List<ItemPedidoRequestDTO> itens) {
+        this.itens = itens;
+    }
+}
@@ -0,0 +1,25 @@
+package org.example.dto;
+
+import org.example.model.Pedido;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * DTO de leitura de um Pedido com seus itens e o valor total.
+ */
+public record PedidoResponseDTO(Long id, LocalDate data, LocalDate dataEntrega,
+                                List<ItemPedidoResponseDTO> itens, Double total) {
+
+    public static PedidoResponseDTO fromEntity(Pedido pedido) {
+        List<ItemPedidoResponseDTO> itens = pedido.getItens().stream()
+                .map(item -> ItemPedidoResponseDTO.fromEntity(pedido.getId(), item))
+                .toList();
+        return new PedidoResponseDTO(pedido.getId(), pedido.getData(), pedido.getDataEntrega(), itens, pedido.getTotal());
+    }
+
+    public static PedidoResponseDTO of(PedidoResumoDTO resumo, List<ItemPedidoResponseDTO> itens) {
+        double total = itens.stream().mapToDouble(ItemPedidoResponseDTO::subtotal).sum();
+        return new PedidoResponseDTO(resumo.id(), resumo.data(), resumo.dataEntrega(), itens, total);
+    }
+}
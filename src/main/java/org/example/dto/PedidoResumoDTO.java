@@ -0,0 +1,10 @@
+package org.example.dto;
+
+import java.time.LocalDate;
+
+/**
+ * Projeção com as colunas próprias de um Pedido, sem os produtos.
+ * Usada pelas consultas de listagem, que carregam os produtos em uma consulta separada.
+ */
+public record PedidoResumoDTO(Long id, LocalDate data, LocalDate dataEntrega) {
+}
@@ -5,11 +5,12 @@ import java.util.List;
 
 /**
  * DTO para receber os dados de uma requisição de atualização de Pedido.
- * Permite a atualização da lista de produtos e da data de entrega.
+ * Permite a atualização dos itens (como em PedidoRequestDTO) e da data de entrega.
  */
 public class PedidoUpdateRequestDTO {
 
     private List<Long> produtoIds;
+    private List<ItemPedidoRequestDTO> itens;
     private LocalDate dataEntrega;
 
     public List<Long> getProdutoIds() {
@@ -20,6 +21,14 @@ public class PedidoUpdateRequestDTO {
         this.produtoIds = produtoIds;
     }
 
+    public List<ItemPedidoRequestDTO> getItens() {
+        return itens;
+    }
+
+    public void setItens(List<ItemPedidoRequestDTO> itens) {
+        this.itens = itens;
+    }
+
     public LocalDate getDataEntrega() {
         return dataEntrega;
     }
@@ -0,0 +1,10 @@
+package org.example.dto;
+
+import java.time.LocalDate;
+
+/**
+ * DTO de um ponto da série temporal de pedidos: a data inicial do período (dia, segunda-feira da
+ * semana ou primeiro dia do mês) e a quantidade de pedidos feitos nele.
+ */
+public record PontoSerieDTO(LocalDate inicio, Long pedidos) {
+}
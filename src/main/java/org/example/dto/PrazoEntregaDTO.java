@@ -0,0 +1,9 @@
+package org.example.dto;
+
+/**
+ * DTO com a distribuição do prazo de entrega (dataEntrega - data, em dias) dos pedidos entregues
+ * de um período. Os percentis são pelo método do posto mais próximo; sem pedidos entregues, são nulos.
+ */
+public record PrazoEntregaDTO(Long pedidosEntregues, Double mediaDias, Long p50, Long p90, Long p95, Long p99,
+                              Long maximoDias) {
+}
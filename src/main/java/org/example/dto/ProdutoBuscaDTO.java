@@ -0,0 +1,8 @@
+package org.example.dto;
+
+/**
+ * DTO de um resultado da busca de produtos, com a relevância usada na ordenação.
+ */
+public record ProdutoBuscaDTO(Long id, String nome, Double preco,
+                              Long categoriaId, String categoriaNome, int relevancia) {
+}
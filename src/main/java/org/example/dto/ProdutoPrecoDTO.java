@@ -0,0 +1,7 @@
+package org.example.dto;
+
+/**
+ * Projeção com o ID, o preço atual e as referências de categoria e fornecedor de um produto.
+ */
+public record ProdutoPrecoDTO(Long id, Double preco, Long categoriaId, Long fornecedorId) {
+}
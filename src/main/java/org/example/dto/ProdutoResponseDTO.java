@@ -0,0 +1,25 @@
+package org.example.dto;
+
+import org.example.model.Categoria;
+import org.example.model.Fornecedor;
+import org.example.model.Produto;
+
+/**
+ * DTO de leitura de um Produto.
+ * A categoria e o fornecedor são representados apenas por ID e nome, o que permite montar
+ * o DTO diretamente em uma consulta de projeção (ver ProdutoRepository.findAllProjetados).
+ */
+public record ProdutoResponseDTO(Long id, String nome, Double preco,
+                                 Long categoriaId, String categoriaNome,
+                                 Long fornecedorId, String fornecedorNome) {
+
+    public static ProdutoResponseDTO fromEntity(Produto produto) {
+        Categoria categoria = produto.getCategoria();
+        Fornecedor fornecedor = produto.getFornecedor();
+        return new ProdutoResponseDTO(produto.getId(), produto.getNome(), produto.getPreco(),
+                categoria != null ? categoria.getId() : null,
+                categoria != null ? categoria.getNome() : null,
+                fornecedor != null ? fornecedor.getId() : null,
+                fornecedor != null ? fornecedor.getNome() : null);
+    }
+}
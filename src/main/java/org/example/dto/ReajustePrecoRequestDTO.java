@@ -0,0 +1,46 @@
+package org.example.dto;
+
+/**
+ * DTO da requisição de reajuste de preços em massa.
+ * Filtra por categoria e/ou fornecedor (ao menos um) e informa o reajuste em percentual ou em valor
+ * absoluto (exatamente um). Valores negativos reduzem os preços.
+ */
+public class ReajustePrecoRequestDTO {
+
+    private Long categoriaId;
+    private Long fornecedorId;
+    private Double percentual;
+    private Double valor;
+
+    public Long getCategoriaId() {
+        return categoriaId;
+    }
+
+    public void setCategoriaId(Long categoriaId) {
+        this.categoriaId = categoriaId;
+    }
+
+    public Long getFornecedorId() {
+        return fornecedorId;
+    }
+
+    public void setFornecedorId(Long fornecedorId) {
+        this.fornecedorId = fornecedorId;
+    }
+
+    public Double getPercentual() {
+        return percentual;
+    }
+
+    public void setPercentual(Double percentual) {
+        this.percentual = percentual;
+    }
+
+    public Double getValor() {
+        return valor;
+    }
+
+    public void setValor(Double valor) {
+        this.valor = valor;
+    }
+}
@@ -0,0 +1,7 @@
+package org.example.dto;
+
+/**
+ * DTO de resposta do reajuste de preços em massa, com a quantidade de produtos reajustados.
+ */
+public record ReajustePrecoResponseDTO(int produtosAtualizados) {
+}
@@ -0,0 +1,7 @@
+package org.example.dto;
+
+/**
+ * Projeção com o ID e o nome de uma categoria ou de um fornecedor.
+ */
+public record ReferenciaDTO(Long id, String nome) {
+}
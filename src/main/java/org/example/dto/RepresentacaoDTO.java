@@ -0,0 +1,14 @@
+package org.example.dto;
+
+/**
+ * Corpo de uma resposta e o seu ETag, obtidos na mesma transação. Em transações separadas, o ETag e o corpo de
+ * uma leitura podem vir de réplicas diferentes, e o ETag de uma gravação, de uma réplica que ainda não a recebeu.
+ * Nas leituras, a versão é consultada antes do corpo, que assim nunca é mais antigo que o ETag.
+ * O corpo é null quando o ETag atende ao If-None-Match do cliente: o recurso nem chega a ser carregado.
+ */
+public record RepresentacaoDTO<T>(T corpo, String etag) {
+
+    public static <T> RepresentacaoDTO<T> naoModificada(String etag) {
+        return new RepresentacaoDTO<>(null, etag);
+    }
+}
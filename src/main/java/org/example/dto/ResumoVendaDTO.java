@@ -0,0 +1,12 @@
+package org.example.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * DTO de leitura de um bucket do resumo de vendas: uma categoria ou fornecedor em um dia.
+ * O nome é nulo para o bucket de produtos sem categoria ou sem fornecedor (referenciaId 0).
+ */
+public record ResumoVendaDTO(Long referenciaId, String nome, LocalDate dia,
+                             BigDecimal faturamento, Long quantidadePedidos, Long quantidadeItens) {
+}
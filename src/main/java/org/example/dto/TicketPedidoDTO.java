@@ -0,0 +1,27 @@
+package org.example.dto;
+
+import java.util.UUID;
+
+/**
+ * DTO de resposta da recepção assíncrona de pedidos.
+ * Enquanto o pedido aguarda na fila, a situação é PENDENTE; depois da gravação passa a CONCLUIDO,
+ * com o ID do pedido criado, ou a FALHOU, com o motivo.
+ */
+public record TicketPedidoDTO(UUID ticket, Situacao situacao, Long pedidoId, String mensagem) {
+
+    public enum Situacao {
+        PENDENTE, CONCLUIDO, FALHOU
+    }
+
+    public static TicketPedidoDTO pendente(UUID ticket) {
+        return new TicketPedidoDTO(ticket, Situacao.PENDENTE, null, null);
+    }
+
+    public static TicketPedidoDTO concluido(UUID ticket, Long pedidoId) {
+        return new TicketPedidoDTO(ticket, Situacao.CONCLUIDO, pedidoId, null);
+    }
+
+    public static TicketPedidoDTO falhou(UUID ticket, String mensagem) {
+        return new TicketPedidoDTO(ticket, Situacao.FALHOU, null, mensagem);
+    }
+}
@@ -0,0 +1,7 @@
+package org.example.dto;
+
+/**
+ * DTO com o valor total de um pedido, calculado a partir dos seus itens.
+ */
+public record TotalPedidoDTO(Long pedidoId, Double total) {
+}
@@ -0,0 +1,14 @@
+package org.example.dto;
+
+/**
+ * Versão de um recurso, lida sem carregar a entidade, para montar o seu ETag.
+ * Além da versão da própria entidade, soma as versões das entidades relacionadas cujos dados
+ * aparecem na representação (por exemplo, o nome da categoria de um produto): como as versões
+ * só crescem, o ETag muda sempre que a representação pode ter mudado.
+ */
+public record VersaoDTO(Long versao, Long versaoRelacionados) {
+
+    public String etag() {
+        return "\"" + versao + "." + versaoRelacionados + "\"";
+    }
+}
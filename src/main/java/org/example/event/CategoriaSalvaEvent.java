@@ -0,0 +1,7 @@
+package org.example.event;
+
+/**
+ * Publicado quando uma categoria é criada ou renomeada.
+ */
+public record CategoriaSalvaEvent(Long categoriaId, String nome) {
+}
@@ -0,0 +1,7 @@
+package org.example.event;
+
+/**
+ * Publicado quando um produto é removido.
+ */
+public record ProdutoRemovidoEvent(Long produtoId) {
+}
@@ -0,0 +1,11 @@
+package org.example.event;
+
+import org.example.dto.ProdutoResponseDTO;
+
+/**
+ * Publicado quando um produto é criado ou alterado, com o estado gravado e a sua versão.
+ * Os ouvintes em memória (índices) o recebem somente após o commit da transação e descartam o evento
+ * quando já aplicaram uma versão mais nova do produto; a versão é null quando desconhecida.
+ */
+public record ProdutoSalvoEvent(ProdutoResponseDTO produto, Long versao) {
+}
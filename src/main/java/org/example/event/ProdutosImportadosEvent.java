@@ -0,0 +1,21 @@
+package org.example.event;
+
+import org.example.dto.ProdutoResponseDTO;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Publicado após a importação do catálogo, com os produtos criados.
+ * Substitui um {@link ProdutoSalvoEvent} por produto, para que os índices em memória se atualizem de uma só vez.
+ */
+public record ProdutosImportadosEvent(List<ProdutoResponseDTO> produtos) {
+
+    /**
+     * Versão de cada produto, por ID: todos acabaram de ser criados, na versão inicial.
+     */
+    public Map<Long, Long> versoes() {
+        return produtos.stream().collect(Collectors.toMap(ProdutoResponseDTO::id, produto -> 0L));
+    }
+}
@@ -0,0 +1,14 @@
+package org.example.event;
+
+import org.example.dto.ProdutoResponseDTO;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Publicado após um reajuste de preços em massa, com o estado gravado dos produtos reajustados e a versão
+ * de cada um, por ID.
+ * Substitui um {@link ProdutoSalvoEvent} por produto, para que os índices em memória se atualizem de uma só vez.
+ */
+public record ProdutosReajustadosEvent(List<ProdutoResponseDTO> produtos, Map<Long, Long> versoes) {
+}
@@ -0,0 +1,18 @@
+package org.example.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Exceção lançada quando a aplicação não tem capacidade para aceitar a operação no momento,
+ * como quando a fila de recepção de pedidos está cheia.
+ * A anotação @ResponseStatus(HttpStatus.TOO_MANY_REQUESTS) instrui o Spring a retornar
+ * automaticamente o status HTTP 429; o cliente deve tentar novamente mais tarde.
+ */
+@ResponseStatus(HttpStatus.TOO_MANY_REQUESTS)
+public class CapacityExceededException extends RuntimeException {
+
+    public CapacityExceededException(String message) {
+        super(message);
+    }
+}
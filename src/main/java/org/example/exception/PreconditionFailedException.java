@@ -0,0 +1,18 @@
+package org.example.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Exceção lançada quando a pré-condição de uma requisição condicional não é atendida,
+ * como um If-Match com um ETag que não corresponde mais à versão atual do recurso.
+ * A anotação @ResponseStatus(HttpStatus.PRECONDITION_FAILED) instrui o Spring a retornar
+ * automaticamente o status HTTP 412.
+ */
+@ResponseStatus(HttpStatus.PRECONDITION_FAILED)
+public class PreconditionFailedException extends RuntimeException {
+
+    public PreconditionFailedException(String message) {
+        super(message);
+    }
+}
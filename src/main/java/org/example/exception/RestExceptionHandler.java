@@ -1,6 +1,8 @@
 package org.example.exception;
 
 import org.example.dto.ErrorResponseDTO;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
@@ -41,5 +43,43 @@ public class RestExceptionHandler extends ResponseEntityExceptionHandler {
         ErrorResponseDTO errorResponse = new ErrorResponseDTO(HttpStatus.BAD_REQUEST.value(), ex.getMessage());
         return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
     }
-}
 
+    /**
+     * Manipula a exceção CapacityExceededException.
+     * É acionado quando a aplicação recusa a operação por falta de capacidade (backpressure).
+     * @param ex A exceção capturada.
+     * @return Uma ResponseEntity com um corpo de erro padronizado, o cabeçalho Retry-After e o status HTTP 429 Too Many Requests.
+     */
+    @ExceptionHandler(CapacityExceededException.class)
+    public final ResponseEntity<ErrorResponseDTO> handleCapacityExceededException(CapacityExceededException ex) {
+        ErrorResponseDTO errorResponse = new ErrorResponseDTO(HttpStatus.TOO_MANY_REQUESTS.value(), ex.getMessage());
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(errorResponse);
+    }
+
+    /**
+     * Manipula a exceção PreconditionFailedException.
+     * É acionado quando o ETag enviado em If-Match não corresponde mais à versão atual do recurso.
+     * @param ex A exceção capturada.
+     * @return Uma ResponseEntity contendo um corpo de erro padronizado e o status HTTP 412 Precondition Failed.
+     */
+    @ExceptionHandler(PreconditionFailedException.class)
+    public final ResponseEntity<ErrorResponseDTO> handlePreconditionFailedException(PreconditionFailedException ex) {
+        ErrorResponseDTO errorResponse = new ErrorResponseDTO(HttpStatus.PRECONDITION_FAILED.value(), ex.getMessage());
+        return new ResponseEntity<>(errorResponse, HttpStatus.PRECONDITION_FAILED);
+    }
+
+    /**
+     * Manipula as falhas de controle otimista de concorrência (@Version).
+     * É acionado quando outra transação alterou o mesmo registro entre a leitura e a gravação.
+     * @param ex A exceção capturada.
+     * @return Uma ResponseEntity contendo um corpo de erro padronizado e o status HTTP 409 Conflict.
+     */
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public final ResponseEntity<ErrorResponseDTO> handleOptimisticLockingFailureException(OptimisticLockingFailureException ex) {
+        ErrorResponseDTO errorResponse = new ErrorResponseDTO(HttpStatus.CONFLICT.value(),
+                "O recurso foi alterado por outra requisição. Leia-o novamente e repita a operação.");
+        return new ResponseEntity<>(errorResponse, HttpStatus.CONFLICT);
+    }
+}
@@ -1,25 +1,39 @@
 package org.example.model;
 
-import com.fasterxml.jackson.annotation.JsonManagedReference;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.OptimisticLock;
 import org.example.util.NormalizadorUtil;
 
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class Categoria {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
+
+    @Version
+    private Long versao;
+
     private String nome;
 
     @Column(unique = true)
     private String nomeNormalizado;
 
+    // Coleção inversa: invalidada pelo Hibernate quando Produto.categoria muda (auto_evict_collection_cache).
+    // Não altera a versão da categoria, que acompanha apenas os dados da própria categoria.
+    // Fora do JSON: a listagem traz só a contagem e os produtos são paginados em /api/categorias/{id}/produtos.
     @OneToMany(mappedBy = "categoria", cascade = {CascadeType.PERSIST, CascadeType.MERGE})
-    @JsonManagedReference
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+    @OptimisticLock(excluded = true)
+    @JsonIgnore
     private List<Produto> produtos = new ArrayList<>();
 
     public Categoria(String nome) {
@@ -40,6 +54,10 @@ public class Categoria {
         return id;
     }
 
+    public Long getVersao() {
+        return versao;
+    }
+
     public String getNome() {
         return nome;
     }
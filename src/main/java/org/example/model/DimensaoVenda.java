@@ -0,0 +1,9 @@
+package org.example.model;
+
+/**
+ * Dimensões pelas quais as vendas são consolidadas em {@link ResumoVendaDiaria}.
+ */
+public enum DimensaoVenda {
+    CATEGORIA,
+    FORNECEDOR
+}
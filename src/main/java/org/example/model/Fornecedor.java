@@ -1,17 +1,25 @@
 package org.example.model;
 
 import jakarta.persistence.*; // Importe tudo de jakarta.persistence
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.text.Normalizer; // Importe o Normalizer
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class Fornecedor {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    @Version
+    private Long versao;
+
     private String nome;
 
+    @Column(unique = true)
     private String nomeNormalizado; // <- CAMPO ADICIONADO
 
     // Construtores (o seu já está bom)
@@ -31,6 +39,10 @@ public class Fornecedor {
         this.id = id;
     }
 
+    public Long getVersao() {
+        return versao;
+    }
+
     public String getNome() {
         return nome;
     }
@@ -0,0 +1,10 @@
+package org.example.model;
+
+/**
+ * Granularidades das séries temporais de pedidos. Semanas começam na segunda-feira (ISO-8601).
+ */
+public enum Granularidade {
+    DIA,
+    SEMANA,
+    MES
+}
@@ -0,0 +1,94 @@
+package org.example.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+
+/**
+ * Item (linha) de um pedido: o produto, a quantidade e o preço unitário capturado no momento
+ * do pedido. Como o preço fica gravado no item, o valor de um pedido não depende mais do
+ * preço atual do produto e pode ser calculado somando apenas esta tabela.
+ * A categoria e o fornecedor do produto também são gravados: o estorno dos resumos de vendas
+ * usa os mesmos buckets que o pedido incrementou, mesmo que o produto tenha mudado depois.
+ */
+@Entity
+@Table(name = "pedido_produto")
+public class ItemPedido {
+
+    // Sequence com alocação em blocos para permitir INSERTs em lote, como em Pedido.
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "item_pedido_seq")
+    @SequenceGenerator(name = "item_pedido_seq", sequenceName = "item_pedido_seq", allocationSize = 50)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "pedido_id", nullable = false)
+    @JsonIgnore
+    private Pedido pedido;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "produto_id", nullable = false)
+    private Produto produto;
+
+    @Column(nullable = false)
+    private Integer quantidade;
+
+    @Column(name = "preco_unitario", nullable = false)
+    private Double precoUnitario;
+
+    // IDs sem chave estrangeira, como em ResumoVendaDiaria: a categoria ou o fornecedor podem deixar de existir.
+    @Column(name = "categoria_id")
+    private Long categoriaId;
+
+    @Column(name = "fornecedor_id")
+    private Long fornecedorId;
+
+    public ItemPedido(Pedido pedido, Produto produto, Integer quantidade, Double precoUnitario,
+                      Long categoriaId, Long fornecedorId) {
+        this.pedido = pedido;
+        this.produto = produto;
+        this.quantidade = quantidade;
+        this.precoUnitario = precoUnitario;
+        this.categoriaId = categoriaId;
+        this.fornecedorId = fornecedorId;
+    }
+
+    // Construtor padrão para JPA
+    public ItemPedido() {
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Pedido getPedido() {
+        return pedido;
+    }
+
+    public Produto getProduto() {
+        return produto;
+    }
+
+    public Integer getQuantidade() {
+        return quantidade;
+    }
+
+    public void setQuantidade(Integer quantidade) {
+        this.quantidade = quantidade;
+    }
+
+    public Double getPrecoUnitario() {
+        return precoUnitario;
+    }
+
+    public Long getCategoriaId() {
+        return categoriaId;
+    }
+
+    public Long getFornecedorId() {
+        return fornecedorId;
+    }
+
+    public double getSubtotal() {
+        return quantidade * precoUnitario;
+    }
+}
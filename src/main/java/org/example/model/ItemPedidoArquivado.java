@@ -0,0 +1,69 @@
+package org.example.model;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.Immutable;
+
+/**
+ * Item de um {@link PedidoArquivado}, copiado de pedido_produto com o mesmo ID, o preço, a categoria e o fornecedor
+ * gravados no pedido.
+ */
+@Entity
+@Immutable
+@Table(name = "pedido_produto_arquivado")
+public class ItemPedidoArquivado {
+
+    @Id
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "pedido_id", nullable = false)
+    private PedidoArquivado pedido;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "produto_id", nullable = false)
+    private Produto produto;
+
+    @Column(nullable = false)
+    private Integer quantidade;
+
+    @Column(name = "preco_unitario", nullable = false)
+    private Double precoUnitario;
+
+    @Column(name = "categoria_id")
+    private Long categoriaId;
+
+    @Column(name = "fornecedor_id")
+    private Long fornecedorId;
+
+    // Construtor padrão para JPA
+    protected ItemPedidoArquivado() {
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public PedidoArquivado getPedido() {
+        return pedido;
+    }
+
+    public Produto getProduto() {
+        return produto;
+    }
+
+    public Integer getQuantidade() {
+        return quantidade;
+    }
+
+    public Double getPrecoUnitario() {
+        return precoUnitario;
+    }
+
+    public Long getCategoriaId() {
+        return categoriaId;
+    }
+
+    public Long getFornecedorId() {
+        return fornecedorId;
+    }
+}
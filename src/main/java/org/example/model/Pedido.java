@@ -4,29 +4,35 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
-import jakarta.persistence.ManyToMany;
+import jakarta.persistence.OneToMany;
 import jakarta.persistence.CascadeType;
-import jakarta.persistence.JoinTable;
-import jakarta.persistence.JoinColumn;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Version;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
+// Índices em db/migration/V2__indices_das_consultas.sql.
 public class Pedido {
 
+    // Sequence com alocação em blocos: ao contrário de IDENTITY, permite que o Hibernate
+    // agrupe os INSERTs de pedidos em lotes JDBC (hibernate.jdbc.batch_size).
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "pedido_seq")
+    @SequenceGenerator(name = "pedido_seq", sequenceName = "pedido_seq", allocationSize = 50)
     private Long id;
+
+    // Base do ETag e do controle otimista. Os itens ficam na coleção inversa: PedidoService força o incremento quando eles mudam.
+    @Version
+    private Long versao;
+
     private LocalDate data;
     private LocalDate dataEntrega;
 
-    @ManyToMany(cascade = {CascadeType.PERSIST, CascadeType.MERGE})
-    @JoinTable(name = "pedido_produto",
-            joinColumns = @JoinColumn(name = "pedido_id"),
-            inverseJoinColumns = @JoinColumn(name = "produto_id"))
-    private List<Produto> produtos = new ArrayList<>();
+    @OneToMany(mappedBy = "pedido", cascade = CascadeType.ALL, orphanRemoval = true)
+    private List<ItemPedido> itens = new ArrayList<>();
 
     public Pedido(LocalDate data) {
         this.data = data;
@@ -44,6 +50,10 @@ public class Pedido {
         this.id = id;
     }
 
+    public Long getVersao() {
+        return versao;
+    }
+
     public LocalDate getData() {
         return data;
     }
@@ -56,27 +66,30 @@ public class Pedido {
         this.dataEntrega = dataEntrega;
     }
 
-    public List<Produto> getProdutos() {
-        return produtos;
+    public List<ItemPedido> getItens() {
+        return itens;
+    }
+
+    // Os itens são gravados a partir deste lado. O Produto não mantém a lista de seus itens,
+    // pois carregá-la significaria ler todo o histórico de pedidos do produto.
+    public ItemPedido adicionarItem(Produto produto, int quantidade, Double precoUnitario, Long categoriaId, Long fornecedorId) {
+        ItemPedido item = new ItemPedido(this, produto, quantidade, precoUnitario, categoriaId, fornecedorId);
+        this.itens.add(item);
+        return item;
     }
 
-    public void setProdutos(List<Produto> produtos) {
-        this.produtos = produtos;
-        // Mantém a relação bidirecional sincronizada
-        for (Produto produto : produtos) {
-            if (!produto.getPedidos().contains(this)) {
-                produto.getPedidos().add(this);
-            }
-        }
+    // Captura o preço, a categoria e o fornecedor atuais do produto. Ler o ID das associações não as carrega.
+    public ItemPedido adicionarItem(Produto produto, int quantidade) {
+        return adicionarItem(produto, quantidade, produto.getPreco(),
+                produto.getCategoria() != null ? produto.getCategoria().getId() : null,
+                produto.getFornecedor() != null ? produto.getFornecedor().getId() : null);
     }
 
-    public void adicionarProduto(Produto produto) {
-        this.produtos.add(produto);
-        produto.getPedidos().add(this);
+    public void removerItem(ItemPedido item) {
+        this.itens.remove(item);
     }
 
-    public void removerProduto(Produto produto) {
-        this.produtos.remove(produto);
-        produto.getPedidos().remove(this);
+    public double getTotal() {
+        return itens.stream().mapToDouble(ItemPedido::getSubtotal).sum();
     }
 }
@@ -0,0 +1,68 @@
+package org.example.model;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.OneToMany;
+import jakarta.persistence.Table;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Pedido entregue movido para o arquivo (pedido_arquivado), com o mesmo ID e os mesmos itens.
+ * Somente leitura: as linhas são copiadas de pedido por INSERT ... SELECT e nunca alteradas depois.
+ */
+@Entity
+@Immutable
+@Table(name = "pedido_arquivado")
+// Índices em db/migration/V5__arquivo_de_pedidos.sql.
+public class PedidoArquivado {
+
+    @Id
+    private Long id;
+
+    private Long versao;
+
+    private LocalDate data;
+    private LocalDate dataEntrega;
+
+    @OneToMany(mappedBy = "pedido")
+    private List<ItemPedidoArquivado> itens = new ArrayList<>();
+
+    // Construtor padrão para JPA
+    protected PedidoArquivado() {
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getVersao() {
+        return versao;
+    }
+
+    public LocalDate getData() {
+        return data;
+    }
+
+    public LocalDate getDataEntrega() {
+        return dataEntrega;
+    }
+
+    public List<ItemPedidoArquivado> getItens() {
+        return itens;
+    }
+
+    // Reconstrói o pedido fora do contexto de persistência, para as leituras que aceitam pedidos arquivados.
+    // O resultado não deve ser gravado: o pedido não existe mais na tabela pedido.
+    public Pedido paraPedido() {
+        Pedido pedido = new Pedido(data);
+        pedido.setId(id);
+        pedido.setDataEntrega(dataEntrega);
+        itens.forEach(item -> pedido.adicionarItem(item.getProduto(), item.getQuantidade(), item.getPrecoUnitario(),
+                item.getCategoriaId(), item.getFornecedorId()));
+        return pedido;
+    }
+}
@@ -1,19 +1,22 @@
 package org.example.model;
 
-import com.fasterxml.jackson.annotation.JsonBackReference;
-import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
-
-import java.util.ArrayList;
-import java.util.List;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class Produto {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "produto_seq")
+    @SequenceGenerator(name = "produto_seq", sequenceName = "produto_seq", allocationSize = 50)
     private Long id;
 
+    @Version
+    private Long versao;
+
     @Column(nullable = false, unique = true)
     private String nome;
 
@@ -21,13 +24,8 @@ public class Produto {
     private Double preco;
 
     @ManyToOne
-    @JsonBackReference
     private Categoria categoria;
 
-    @ManyToMany(mappedBy = "produtos", cascade = {CascadeType.PERSIST, CascadeType.MERGE})
-    @JsonIgnore
-    private List<Pedido> pedidos = new ArrayList<>();
-
     @ManyToOne
     private Fornecedor fornecedor;
 
@@ -48,6 +46,10 @@ public class Produto {
         this.id = id;
     }
 
+    public Long getVersao() {
+        return versao;
+    }
+
     public String getNome() {
         return nome;
     }
@@ -79,12 +81,4 @@ public class Produto {
     public void setFornecedor(Fornecedor fornecedor) {
         this.fornecedor = fornecedor;
     }
-
-    public List<Pedido> getPedidos() {
-        return pedidos;
-    }
-
-    public void adicionarPedido(Pedido pedido) {
-        this.pedidos.add(pedido);
-    }
 }
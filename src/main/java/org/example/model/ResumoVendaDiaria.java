@@ -0,0 +1,87 @@
+package org.example.model;
+
+import jakarta.persistence.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Contadores de vendas de um dia para uma categoria ou fornecedor.
+ * As linhas são mantidas de forma incremental, na mesma transação que cria, altera ou remove
+ * os pedidos, de modo que os painéis leiam apenas os buckets do período, sem varrer os pedidos.
+ * Produtos sem categoria ou sem fornecedor são contabilizados com referenciaId igual a
+ * {@link #SEM_REFERENCIA}.
+ */
+@Entity
+@Table(name = "resumo_venda_diaria",
+        uniqueConstraints = @UniqueConstraint(name = "uk_resumo_venda_diaria", columnNames = {"dimensao", "dia", "referencia_id"}))
+public class ResumoVendaDiaria {
+
+    public static final long SEM_REFERENCIA = 0L;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private DimensaoVenda dimensao;
+
+    @Column(name = "referencia_id", nullable = false)
+    private Long referenciaId;
+
+    @Column(nullable = false)
+    private LocalDate dia;
+
+    // Decimal em vez de ponto flutuante: somas e estornos sucessivos não acumulam erro de arredondamento.
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal faturamento;
+
+    @Column(name = "quantidade_pedidos", nullable = false)
+    private Long quantidadePedidos;
+
+    @Column(name = "quantidade_itens", nullable = false)
+    private Long quantidadeItens;
+
+    public ResumoVendaDiaria(DimensaoVenda dimensao, Long referenciaId, LocalDate dia,
+                             BigDecimal faturamento, Long quantidadePedidos, Long quantidadeItens) {
+        this.dimensao = dimensao;
+        this.referenciaId = referenciaId;
+        this.dia = dia;
+        this.faturamento = faturamento;
+        this.quantidadePedidos = quantidadePedidos;
+        this.quantidadeItens = quantidadeItens;
+    }
+
+    // Construtor padrão para JPA
+    public ResumoVendaDiaria() {
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public DimensaoVenda getDimensao() {
+        return dimensao;
+    }
+
+    public Long getReferenciaId() {
+        return referenciaId;
+    }
+
+    public LocalDate getDia() {
+        return dia;
+    }
+
+    public BigDecimal getFaturamento() {
+        return faturamento;
+    }
+
+    public Long getQuantidadePedidos() {
+        return quantidadePedidos;
+    }
+
+    public Long getQuantidadeItens() {
+        return quantidadeItens;
+    }
+}
@@ -1,10 +1,30 @@
 package org.example.repository;
 
+import org.example.dto.CategoriaResumoDTO;
+import org.example.dto.ReferenciaDTO;
+import org.example.dto.VersaoDTO;
 import org.example.model.Categoria;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import java.util.List;
 import java.util.Optional;
 
 public interface CategoriaRepository extends JpaRepository<Categoria, Long> {
     // Adicione este método se ele não existir
     Optional<Categoria> findByNomeNormalizado(String nomeNormalizado);
+
+    // ETag da categoria, sem carregar a entidade.
+    @Query("SELECT new org.example.dto.VersaoDTO(COALESCE(c.versao, 0L), 0L) FROM Categoria c WHERE c.id = :id")
+    Optional<VersaoDTO> findVersaoById(@Param("id") Long id);
+
+    // Listagem com a quantidade de produtos em uma única consulta agrupada. Ao contrário de
+    // ProdutoRepository.countProdutosPorCategoria, agrupa pelo ID e inclui as categorias sem produtos.
+    @Query("SELECT new org.example.dto.CategoriaResumoDTO(c.id, c.nome, COUNT(p)) " +
+            "FROM Categoria c LEFT JOIN c.produtos p GROUP BY c.id, c.nome ORDER BY c.id")
+    List<CategoriaResumoDTO> findAllComQuantidadeProdutos();
+
+    // ID e nome de todas as categorias, sem carregar as entidades (importação do catálogo).
+    @Query("SELECT new org.example.dto.ReferenciaDTO(c.id, c.nome) FROM Categoria c ORDER BY c.id")
+    List<ReferenciaDTO> findAllReferencias();
 }
\ No newline at end of file
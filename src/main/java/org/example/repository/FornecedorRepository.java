@@ -1,11 +1,24 @@
 package org.example.repository;
 
+import org.example.dto.ReferenciaDTO;
+import org.example.dto.VersaoDTO;
 import org.example.model.Fornecedor;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import java.util.List;
 import java.util.Optional;
 
 public interface FornecedorRepository extends JpaRepository<Fornecedor, Long> {
 
     // Método correto que o teste espera
     Optional<Fornecedor> findByNomeNormalizado(String nomeNormalizado);
+
+    // ETag do fornecedor, sem carregar a entidade.
+    @Query("SELECT new org.example.dto.VersaoDTO(COALESCE(f.versao, 0L), 0L) FROM Fornecedor f WHERE f.id = :id")
+    Optional<VersaoDTO> findVersaoById(@Param("id") Long id);
+
+    // ID e nome de todos os fornecedores, sem carregar as entidades (importação do catálogo).
+    @Query("SELECT new org.example.dto.ReferenciaDTO(f.id, f.nome) FROM Fornecedor f ORDER BY f.id")
+    List<ReferenciaDTO> findAllReferencias();
 }
\ No newline at end of file
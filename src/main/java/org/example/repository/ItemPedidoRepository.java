@@ -0,0 +1,35 @@
+package org.example.repository;
+
+import org.example.dto.LinhaVendaDTO;
+import org.example.model.ItemPedido;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+public interface ItemPedidoRepository extends JpaRepository<ItemPedido, Long> {
+
+    // Valor total de um pedido: soma apenas a tabela de itens, sem consultar o catálogo.
+    @Query("SELECT COALESCE(SUM(i.quantidade * i.precoUnitario), 0) FROM ItemPedido i WHERE i.pedido.id = :pedidoId")
+    Double calcularTotalDoPedido(@Param("pedidoId") Long pedidoId);
+
+    // Faturamento dos pedidos feitos em um intervalo de datas, usando o preço gravado em cada item.
+    @Query("SELECT COALESCE(SUM(i.quantidade * i.precoUnitario), 0) FROM ItemPedido i " +
+            "WHERE i.pedido.data BETWEEN :dataInicio AND :dataFim")
+    Double calcularFaturamentoEntreDatas(@Param("dataInicio") LocalDate dataInicio, @Param("dataFim") LocalDate dataFim);
+
+    // Itens de um pedido com a categoria e o fornecedor gravados no item, para estornar os resumos de vendas
+    // nos mesmos buckets incrementados na criação, sem consultar o catálogo.
+    @Query("SELECT new org.example.dto.LinhaVendaDTO(i.categoriaId, i.fornecedorId, i.quantidade, i.precoUnitario) " +
+            "FROM ItemPedido i WHERE i.pedido.id = :pedidoId")
+    List<LinhaVendaDTO> findLinhasVendaDoPedido(@Param("pedidoId") Long pedidoId);
+
+    // Remove os itens dos pedidos já copiados para o arquivo.
+    @Modifying
+    @Query("DELETE FROM ItemPedido i WHERE i.pedido.id IN :pedidoIds")
+    int excluirItensDosPedidos(@Param("pedidoIds") Collection<Long> pedidoIds);
+}
@@ -0,0 +1,56 @@
+package org.example.repository;
+
+import org.example.dto.FrequenciaPrazoDTO;
+import org.example.dto.PontoSerieDTO;
+import org.example.dto.VersaoDTO;
+import org.example.model.PedidoArquivado;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Leitura dos pedidos arquivados e cópia dos pedidos ativos para o arquivo.
+ * As consultas espelham as de PedidoRepository e ItemPedidoRepository usadas com arquivados=true.
+ */
+public interface PedidoArquivadoRepository extends JpaRepository<PedidoArquivado, Long> {
+
+    // Copia os pedidos e depois os seus itens (a chave estrangeira dos itens aponta para pedido_arquivado).
+    @Modifying
+    @Query(value = "INSERT INTO pedido_arquivado (id, versao, data, data_entrega) " +
+            "SELECT id, versao, data, data_entrega FROM pedido WHERE id IN (:ids)", nativeQuery = true)
+    int copiarPedidos(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query(value = "INSERT INTO pedido_produto_arquivado (id, pedido_id, produto_id, quantidade, preco_unitario, " +
+            "categoria_id, fornecedor_id) SELECT id, pedido_id, produto_id, quantidade, preco_unitario, categoria_id, " +
+            "fornecedor_id FROM pedido_produto WHERE pedido_id IN (:ids)",
+            nativeQuery = true)
+    int copiarItens(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT p FROM PedidoArquivado p LEFT JOIN FETCH p.itens i LEFT JOIN FETCH i.produto pr " +
+            "LEFT JOIN FETCH pr.categoria LEFT JOIN FETCH pr.fornecedor WHERE p.id = :id")
+    Optional<PedidoArquivado> findComItensById(@Param("id") Long id);
+
+    @Query("SELECT new org.example.dto.VersaoDTO(p.versao, COALESCE(SUM(pr.versao), 0L)) " +
+            "FROM PedidoArquivado p LEFT JOIN p.itens i LEFT JOIN i.produto pr WHERE p.id = :id GROUP BY p.id, p.versao")
+    Optional<VersaoDTO> findVersaoById(@Param("id") Long id);
+
+    @Query("SELECT COALESCE(SUM(i.quantidade * i.precoUnitario), 0) FROM ItemPedidoArquivado i " +
+            "WHERE i.pedido.data BETWEEN :dataInicio AND :dataFim")
+    Double calcularFaturamentoEntreDatas(@Param("dataInicio") LocalDate dataInicio, @Param("dataFim") LocalDate dataFim);
+
+    @Query("SELECT new org.example.dto.PontoSerieDTO(p.data, COUNT(p)) FROM PedidoArquivado p " +
+            "WHERE p.data BETWEEN :inicio AND :fim GROUP BY p.data ORDER BY p.data")
+    List<PontoSerieDTO> contarPedidosPorDia(@Param("inicio") LocalDate inicio, @Param("fim") LocalDate fim);
+
+    // Todo pedido arquivado foi entregue: não é preciso filtrar data_entrega IS NOT NULL.
+    @Query("SELECT new org.example.dto.FrequenciaPrazoDTO((p.dataEntrega - p.data) by day, COUNT(p)) FROM PedidoArquivado p " +
+            "WHERE p.data BETWEEN :inicio AND :fim GROUP BY (p.dataEntrega - p.data) by day ORDER BY 1")
+    List<FrequenciaPrazoDTO> contarPedidosPorPrazoDeEntrega(@Param("inicio") LocalDate inicio, @Param("fim") LocalDate fim);
+}
@@ -1,12 +1,27 @@
 package org.example.repository;
 
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.example.dto.FrequenciaPrazoDTO;
+import org.example.dto.ItemPedidoResponseDTO;
+import org.example.dto.PedidoResumoDTO;
+import org.example.dto.PontoSerieDTO;
+import org.example.dto.VersaoDTO;
 import org.example.model.Pedido;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface PedidoRepository extends JpaRepository<Pedido, Long> {
 
@@ -29,4 +44,78 @@ public interface PedidoRepository extends JpaRepository<Pedido, Long> {
     // 5. Crie uma consulta que retorne os pedidos feitos entre duas datas.
     @Query("SELECT p FROM Pedido p WHERE p.data BETWEEN :dataInicio AND :dataFim")
     List<Pedido> findPedidosEntreDatas(@Param("dataInicio") LocalDate dataInicio, @Param("dataFim") LocalDate dataFim);
+
+    // Paginação por cursor: projeção dos pedidos seguintes ao cursor, em ordem crescente de ID.
+    @Query("SELECT new org.example.dto.PedidoResumoDTO(p.id, p.data, p.dataEntrega) FROM Pedido p " +
+            "WHERE p.id > :after ORDER BY p.id")
+    List<PedidoResumoDTO> findResumosAposCursor(@Param("after") Long after, Limit limit);
+
+    // Mesma paginação, restrita aos pedidos ainda sem data de entrega (índice idx_pedido_data_entrega_id).
+    @Query("SELECT new org.example.dto.PedidoResumoDTO(p.id, p.data, p.dataEntrega) FROM Pedido p " +
+            "WHERE p.dataEntrega IS NULL AND p.id > :after ORDER BY p.id")
+    List<PedidoResumoDTO> findResumosPendentesAposCursor(@Param("after") Long after, Limit limit);
+
+    // Projeção dos itens de um conjunto de pedidos, apenas com as colunas exibidas (evita N+1)
+    @Query("SELECT new org.example.dto.ItemPedidoResponseDTO(i.pedido.id, pr.id, pr.nome, i.quantidade, i.precoUnitario) " +
+            "FROM ItemPedido i JOIN i.produto pr WHERE i.pedido.id IN :pedidoIds ORDER BY i.id")
+    List<ItemPedidoResponseDTO> findItensDosPedidos(@Param("pedidoIds") Collection<Long> pedidoIds);
+
+    // Análises: agregados calculados pelo banco, no máximo uma linha por dia ou por prazo distinto.
+    @Query("SELECT new org.example.dto.PontoSerieDTO(p.data, COUNT(p)) FROM Pedido p " +
+            "WHERE p.data BETWEEN :inicio AND :fim GROUP BY p.data ORDER BY p.data")
+    List<PontoSerieDTO> contarPedidosPorDia(@Param("inicio") LocalDate inicio, @Param("fim") LocalDate fim);
+
+    @Query("SELECT new org.example.dto.FrequenciaPrazoDTO((p.dataEntrega - p.data) by day, COUNT(p)) FROM Pedido p " +
+            "WHERE p.data BETWEEN :inicio AND :fim AND p.dataEntrega IS NOT NULL " +
+            "GROUP BY (p.dataEntrega - p.data) by day ORDER BY 1")
+    List<FrequenciaPrazoDTO> contarPedidosPorPrazoDeEntrega(@Param("inicio") LocalDate inicio, @Param("fim") LocalDate fim);
+
+    // ETag: versão do pedido e soma das versões dos produtos dos itens (cujos nomes aparecem na resposta),
+    // sem carregar o pedido nem os itens.
+    @Query("SELECT new org.example.dto.VersaoDTO(COALESCE(p.versao, 0L), COALESCE(SUM(pr.versao), 0L)) " +
+            "FROM Pedido p LEFT JOIN p.itens i LEFT JOIN i.produto pr WHERE p.id = :id GROUP BY p.id, p.versao")
+    Optional<VersaoDTO> findVersaoById(@Param("id") Long id);
+
+    // Pedido com itens e produtos em uma única consulta, para a resposta de GET /api/pedidos/{id}.
+    // Categoria e fornecedor são EAGER no Produto: sem o fetch, viriam em um SELECT por produto.
+    @Query("SELECT p FROM Pedido p LEFT JOIN FETCH p.itens i LEFT JOIN FETCH i.produto pr " +
+            "LEFT JOIN FETCH pr.categoria LEFT JOIN FETCH pr.fornecedor WHERE p.id = :id")
+    Optional<Pedido> findComItensById(@Param("id") Long id);
+
+    // Data de entrega alterada com um único UPDATE, sem carregar o pedido nem os itens. Incrementa a versão (ETag).
+    @Modifying
+    @Query("UPDATE Pedido p SET p.dataEntrega = :dataEntrega, p.versao = p.versao + 1 WHERE p.id = :id")
+    int atualizarDataEntrega(@Param("id") Long id, @Param("dataEntrega") LocalDate dataEntrega);
+
+    // Mesma alteração, apenas se o pedido ainda estiver na versão informada; retorna 0 caso contrário.
+    @Modifying
+    @Query("UPDATE Pedido p SET p.dataEntrega = :dataEntrega, p.versao = p.versao + 1 WHERE p.id = :id AND p.versao = :versao")
+    int atualizarDataEntregaNaVersao(@Param("id") Long id, @Param("versao") Long versao, @Param("dataEntrega") LocalDate dataEntrega);
+
+    // Confirmação de entregas em lote: a mesma data para um bloco de pedidos em um único UPDATE.
+    @Modifying
+    @Query("UPDATE Pedido p SET p.dataEntrega = :dataEntrega, p.versao = p.versao + 1 WHERE p.id IN :ids")
+    int atualizarDataEntregaDosPedidos(@Param("ids") Collection<Long> ids, @Param("dataEntrega") LocalDate dataEntrega);
+
+    // Apenas os IDs existentes entre os informados, sem carregar os pedidos.
+    @Query("SELECT p.id FROM Pedido p WHERE p.id IN :ids")
+    List<Long> findIdsExistentes(@Param("ids") Collection<Long> ids);
+
+    // Arquivamento: o próximo bloco de pedidos entregues antes do limite (índice idx_pedido_data_entrega_id).
+    // As linhas ficam bloqueadas até o fim da transação, para que uma alteração concorrente não se perca na cópia.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p.id FROM Pedido p WHERE p.dataEntrega < :limite ORDER BY p.dataEntrega, p.id")
+    List<Long> findIdsEntreguesAntesDe(@Param("limite") LocalDate limite, Limit limit);
+
+    // Remove os pedidos já copiados para o arquivo; os itens devem ser removidos antes.
+    @Modifying
+    @Query("DELETE FROM Pedido p WHERE p.id IN :ids")
+    int excluirPedidos(@Param("ids") Collection<Long> ids);
+
+    // Percorre todos os pedidos com seus itens como um cursor do banco, sem materializar a lista.
+    // Deve ser consumido dentro de uma transação e fechado ao final (try-with-resources).
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT p FROM Pedido p LEFT JOIN FETCH p.itens i LEFT JOIN FETCH i.produto pr " +
+            "LEFT JOIN FETCH pr.categoria LEFT JOIN FETCH pr.fornecedor ORDER BY p.id")
+    Stream<Pedido> streamTodosComItens();
 }
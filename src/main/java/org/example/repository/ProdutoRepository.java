@@ -1,15 +1,26 @@
 package org.example.repository;
 
+import org.example.dto.ProdutoPrecoDTO;
+import org.example.dto.ProdutoResponseDTO;
+import org.example.dto.VersaoDTO;
 import org.example.model.Categoria;
 import org.example.model.Produto;
 import org.example.model.Fornecedor;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
-public interface ProdutoRepository extends JpaRepository<Produto, Long> {
+public interface ProdutoRepository extends JpaRepository<Produto, Long>, ProdutoRepositoryCustom {
+
+    // ETag: versão do produto e soma das versões da categoria e do fornecedor, cujos nomes aparecem na resposta.
+    @Query("SELECT new org.example.dto.VersaoDTO(COALESCE(p.versao, 0L), COALESCE(c.versao, 0L) + COALESCE(f.versao, 0L)) " +
+            "FROM Produto p LEFT JOIN p.categoria c LEFT JOIN p.fornecedor f WHERE p.id = :id")
+    Optional<VersaoDTO> findVersaoById(@Param("id") Long id);
 
     // 1. Retorne todos os produtos com o nome exato fornecido.
     List<Produto> findByNomeContainingIgnoreCase(String nome);
@@ -17,11 +28,7 @@ public interface ProdutoRepository extends JpaRepository<Produto, Long> {
     // 2. Retorne todos os produtos associados a uma categoria específica.
     List<Produto> findByCategoria(Categoria categoria);
 
-    // 3. Retorne produtos com preço maior que o valor fornecido.
-    List<Produto> findByPrecoGreaterThan(Double preco);
-
-    // 4. Retorne produtos com preço menor que o valor fornecido.
-    List<Produto> findByPrecoLessThan(Double preco);
+    // 3. e 4. findByPrecoGreaterThan e findByPrecoLessThan: ver ProdutoRepositoryCustom (índice de preços).
 
     // 5. Retorne produtos cujo nome contenha o termo especificado.
     List<Produto> findByNomeContaining(String termo);
@@ -43,11 +50,7 @@ public interface ProdutoRepository extends JpaRepository<Produto, Long> {
     // 12. Retorne produtos com preço menor que o valor fornecido ou cujo nome contenha o termo especificado.
     List<Produto> findByPrecoLessThanOrNomeContaining(Double preco, String nome);
 
-    // 16. Retorne os três produtos mais caros.
-    List<Produto> findTop3ByOrderByPrecoDesc();
-
-    // 17. Retorne os cinco produtos mais baratos de uma categoria.
-    List<Produto> findTop5ByCategoriaOrderByPrecoAsc(Categoria categoria);
+    // 16. e 17. findTop3ByOrderByPrecoDesc e findTop5ByCategoriaOrderByPrecoAsc: ver ProdutoRepositoryCustom.
 
     // JPQL Queries
     // 1. Crie uma consulta que retorne os produtos com preço maior que um valor
@@ -82,6 +85,32 @@ public interface ProdutoRepository extends JpaRepository<Produto, Long> {
     @Query("SELECT p FROM Produto p LEFT JOIN FETCH p.categoria LEFT JOIN FETCH p.fornecedor")
     List<Produto> findAllCompletos();
 
+    // Retorna o ID, o preço atual e as referências dos produtos informados que existem (sem carregar as entidades)
+    @Query("SELECT new org.example.dto.ProdutoPrecoDTO(p.id, p.preco, c.id, f.id) " +
+            "FROM Produto p LEFT JOIN p.categoria c LEFT JOIN p.fornecedor f WHERE p.id IN :ids")
+    List<ProdutoPrecoDTO> findPrecosByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Carga do índice de preços: ID, preço e categoria de todos os produtos com preço, já na ordem do índice
+    @Query("SELECT new org.example.dto.ProdutoPrecoDTO(p.id, p.preco, c.id, f.id) " +
+            "FROM Produto p LEFT JOIN p.categoria c LEFT JOIN p.fornecedor f WHERE p.preco IS NOT NULL ORDER BY p.preco, p.id")
+    List<ProdutoPrecoDTO> findAllPrecosOrdenados();
+
+    // Projeção de leitura: seleciona apenas as colunas exibidas, sem carregar entidades
+    @Query("SELECT new org.example.dto.ProdutoResponseDTO(p.id, p.nome, p.preco, c.id, c.nome, f.id, f.nome) " +
+            "FROM Produto p LEFT JOIN p.categoria c LEFT JOIN p.fornecedor f ORDER BY p.id")
+    List<ProdutoResponseDTO> findAllProjetados();
+
+    // Paginação por cursor dos produtos de uma categoria, pelo índice (categoria_id, id).
+    @Query("SELECT new org.example.dto.ProdutoResponseDTO(p.id, p.nome, p.preco, c.id, c.nome, f.id, f.nome) " +
+            "FROM Produto p JOIN p.categoria c LEFT JOIN p.fornecedor f " +
+            "WHERE c.id = :categoriaId AND p.id > :after ORDER BY p.id")
+    List<ProdutoResponseDTO> findProjetadosDaCategoriaAposCursor(@Param("categoriaId") Long categoriaId,
+                                                                 @Param("after") Long after, Limit limit);
+
+    // Nomes já cadastrados entre os informados (nome é único), sem carregar os produtos.
+    @Query("SELECT p.nome FROM Produto p WHERE p.nome IN :nomes")
+    List<String> findNomesExistentes(@Param("nomes") Collection<String> nomes);
+
     // 10. Crie uma consulta para retornar os produtos filtrados por nome ou por categoria.
     @Query("SELECT p FROM Produto p WHERE LOWER(p.nome) LIKE LOWER(CONCAT('%', :termo, '%')) OR LOWER(p.categoria.nome) LIKE LOWER(CONCAT('%', :termo, '%'))")
     List<Produto> findPorNomeOuCategoriaContendo(@Param("termo") String termo);
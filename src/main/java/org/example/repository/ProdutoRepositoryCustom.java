@@ -0,0 +1,46 @@
+package org.example.repository;
+
+import org.example.dto.ProdutoResponseDTO;
+import org.example.model.Categoria;
+import org.example.model.Produto;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Consultas de Produto implementadas manualmente, fora das derivadas pelo Spring Data.
+ */
+public interface ProdutoRepositoryCustom {
+
+    // Carrega os produtos pelos IDs consultando primeiro o cache de segundo nível; apenas os ausentes vão ao banco.
+    List<Produto> findAllByIdComCache(Collection<Long> ids);
+
+    // As consultas por preço abaixo são respondidas pelo índice de preços em memória, quando disponível,
+    // e por JPQL caso contrário. Produtos sem preço não são retornados.
+
+    // 3. Retorne produtos com preço maior que o valor fornecido (do mais barato para o mais caro).
+    List<Produto> findByPrecoGreaterThan(Double preco);
+
+    // 4. Retorne produtos com preço menor que o valor fornecido (do mais barato para o mais caro).
+    List<Produto> findByPrecoLessThan(Double preco);
+
+    // 16. Retorne os três produtos mais caros.
+    List<Produto> findTop3ByOrderByPrecoDesc();
+
+    // 17. Retorne os cinco produtos mais baratos de uma categoria.
+    List<Produto> findTop5ByCategoriaOrderByPrecoAsc(Categoria categoria);
+
+    // Reajuste em massa dos produtos com preço da categoria e/ou do fornecedor (filtros nulos são ignorados),
+    // em um único UPDATE: o novo preço é preco * fator + acrescimo, arredondado para centavos, e a versão é incrementada.
+    int reajustarPrecos(Long categoriaId, Long fornecedorId, double fator, double acrescimo);
+
+    // Quantos produtos do mesmo filtro ficariam com preço negativo com o reajuste.
+    long contarComPrecoNegativoAposReajuste(Long categoriaId, Long fornecedorId, double fator, double acrescimo);
+
+    // Projeção dos produtos com preço do mesmo filtro, para atualizar os índices em memória após o reajuste.
+    List<ProdutoResponseDTO> findProjetadosComPreco(Long categoriaId, Long fornecedorId);
+
+    // Versão, por ID, dos produtos com preço do mesmo filtro, para que os índices descartem eventos mais antigos.
+    Map<Long, Long> findVersoesComPreco(Long categoriaId, Long fornecedorId);
+}
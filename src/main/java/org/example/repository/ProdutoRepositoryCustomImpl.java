@@ -0,0 +1,182 @@
+package org.example.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import jakarta.persistence.TypedQuery;
+import org.example.busca.IndicePrecosProdutos;
+import org.example.dto.ProdutoResponseDTO;
+import org.example.model.Categoria;
+import org.example.model.Produto;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * Implementação do fragmento {@link ProdutoRepositoryCustom}.
+ * Ao contrário de findAllById, que executa um SELECT ... IN, o multi-load do Hibernate
+ * resolve cada ID pelo contexto de persistência e pelo cache de segundo nível antes de ir ao banco.
+ * <p>
+ * As consultas por preço obtêm os IDs, já ordenados, do {@link IndicePrecosProdutos} e carregam as entidades
+ * pelo multi-load. Sem o índice (desabilitado, ausente do contexto ou ainda não carregado), executam a
+ * consulta equivalente no banco.
+ */
+@Transactional(readOnly = true)
+public class ProdutoRepositoryCustomImpl implements ProdutoRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // Resolvido sob demanda: o índice também depende do ProdutoRepository para a carga inicial.
+    @Autowired
+    private ObjectProvider<IndicePrecosProdutos> indicePrecos;
+
+    @Override
+    public List<Produto> findAllByIdComCache(Collection<Long> ids) {
+        return entityManager.unwrap(Session.class)
+                .byMultipleIds(Produto.class)
+                .with(CacheMode.NORMAL)
+                .enableSessionCheck(true)
+                .multiLoad(new ArrayList<>(ids))
+                .stream()
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<Produto> findByPrecoGreaterThan(Double preco) {
+        if (preco == null) {
+            return List.of();
+        }
+        IndicePrecosProdutos indice = indiceCarregado();
+        if (indice != null) {
+            return carregarNaOrdem(indice.maioresQue(preco));
+        }
+        return entityManager.createQuery("SELECT p FROM Produto p WHERE p.preco > :preco ORDER BY p.preco, p.id", Produto.class)
+                .setParameter("preco", preco)
+                .getResultList();
+    }
+
+    @Override
+    public List<Produto> findByPrecoLessThan(Double preco) {
+        if (preco == null) {
+            return List.of();
+        }
+        IndicePrecosProdutos indice = indiceCarregado();
+        if (indice != null) {
+            return carregarNaOrdem(indice.menoresQue(preco));
+        }
+        return entityManager.createQuery("SELECT p FROM Produto p WHERE p.preco < :preco ORDER BY p.preco, p.id", Produto.class)
+                .setParameter("preco", preco)
+                .getResultList();
+    }
+
+    @Override
+    public List<Produto> findTop3ByOrderByPrecoDesc() {
+        IndicePrecosProdutos indice = indiceCarregado();
+        if (indice != null) {
+            return carregarNaOrdem(indice.maisCaros(3));
+        }
+        return entityManager.createQuery("SELECT p FROM Produto p WHERE p.preco IS NOT NULL ORDER BY p.preco DESC, p.id DESC", Produto.class)
+                .setMaxResults(3)
+                .getResultList();
+    }
+
+    @Override
+    public List<Produto> findTop5ByCategoriaOrderByPrecoAsc(Categoria categoria) {
+        if (categoria == null || categoria.getId() == null) {
+            return List.of();
+        }
+        IndicePrecosProdutos indice = indiceCarregado();
+        if (indice != null) {
+            return carregarNaOrdem(indice.maisBaratosDaCategoria(categoria.getId(), 5));
+        }
+        return entityManager.createQuery("SELECT p FROM Produto p WHERE p.categoria.id = :categoriaId AND p.preco IS NOT NULL " +
+                        "ORDER BY p.preco, p.id", Produto.class)
+                .setParameter("categoriaId", categoria.getId())
+                .setMaxResults(5)
+                .getResultList();
+    }
+
+    // Os parâmetros são convertidos explicitamente: sem o CAST, o Hibernate infere o tipo pela coluna valor e
+    // gera um cast(? as float($p)) que o H2 rejeita.
+    @Override
+    @Transactional
+    public int reajustarPrecos(Long categoriaId, Long fornecedorId, double fator, double acrescimo) {
+        Query update = entityManager.createQuery("UPDATE Produto p SET p.preco = ROUND(p.preco * CAST(:fator AS Double) + CAST(:acrescimo AS Double), 2), " +
+                        "p.versao = p.versao + 1 WHERE p.preco IS NOT NULL" + filtro(categoriaId, fornecedorId))
+                .setParameter("fator", fator)
+                .setParameter("acrescimo", acrescimo);
+        return filtrar(update, categoriaId, fornecedorId).executeUpdate();
+    }
+
+    @Override
+    public long contarComPrecoNegativoAposReajuste(Long categoriaId, Long fornecedorId, double fator, double acrescimo) {
+        TypedQuery<Long> contagem = entityManager.createQuery("SELECT COUNT(p) FROM Produto p " +
+                        "WHERE p.preco IS NOT NULL AND p.preco * CAST(:fator AS Double) + CAST(:acrescimo AS Double) < 0" +
+                        filtro(categoriaId, fornecedorId), Long.class)
+                .setParameter("fator", fator)
+                .setParameter("acrescimo", acrescimo);
+        return filtrar(contagem, categoriaId, fornecedorId).getSingleResult();
+    }
+
+    @Override
+    public List<ProdutoResponseDTO> findProjetadosComPreco(Long categoriaId, Long fornecedorId) {
+        TypedQuery<ProdutoResponseDTO> consulta = entityManager.createQuery(
+                "SELECT new org.example.dto.ProdutoResponseDTO(p.id, p.nome, p.preco, c.id, c.nome, f.id, f.nome) " +
+                        "FROM Produto p LEFT JOIN p.categoria c LEFT JOIN p.fornecedor f " +
+                        "WHERE p.preco IS NOT NULL" + filtro(categoriaId, fornecedorId), ProdutoResponseDTO.class);
+        return filtrar(consulta, categoriaId, fornecedorId).getResultList();
+    }
+
+    @Override
+    public Map<Long, Long> findVersoesComPreco(Long categoriaId, Long fornecedorId) {
+        TypedQuery<Object[]> consulta = entityManager.createQuery(
+                "SELECT p.id, COALESCE(p.versao, 0L) FROM Produto p WHERE p.preco IS NOT NULL" + filtro(categoriaId, fornecedorId),
+                Object[].class);
+        return filtrar(consulta, categoriaId, fornecedorId).getResultStream()
+                .collect(Collectors.toMap(linha -> (Long) linha[0], linha -> (Long) linha[1]));
+    }
+
+    // Apenas os filtros informados entram na consulta, para que cada combinação use o seu índice.
+    private static String filtro(Long categoriaId, Long fornecedorId) {
+        return (categoriaId != null ? " AND p.categoria.id = :categoriaId" : "")
+                + (fornecedorId != null ? " AND p.fornecedor.id = :fornecedorId" : "");
+    }
+
+    private static <Q extends Query> Q filtrar(Q consulta, Long categoriaId, Long fornecedorId) {
+        if (categoriaId != null) {
+            consulta.setParameter("categoriaId", categoriaId);
+        }
+        if (fornecedorId != null) {
+            consulta.setParameter("fornecedorId", fornecedorId);
+        }
+        return consulta;
+    }
+
+    private IndicePrecosProdutos indiceCarregado() {
+        IndicePrecosProdutos indice = indicePrecos.getIfAvailable();
+        return indice != null && indice.isCarregado() ? indice : null;
+    }
+
+    // O multi-load devolve as entidades na ordem dos IDs informados.
+    private List<Produto> carregarNaOrdem(long[] ids) {
+        if (ids.length == 0) {
+            return List.of();
+        }
+        List<Long> lista = new ArrayList<>(ids.length);
+        for (long id : ids) {
+            lista.add(id);
+        }
+        return findAllByIdComCache(lista);
+    }
+}
@@ -0,0 +1,29 @@
+package org.example.repository;
+
+import org.example.dto.ResumoVendaDTO;
+import org.example.model.ResumoVendaDiaria;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface ResumoVendaDiariaRepository extends JpaRepository<ResumoVendaDiaria, Long>, ResumoVendaDiariaRepositoryCustom {
+
+    // Buckets de um período por categoria, lidos pelo índice único (dimensao, dia, referencia_id).
+    @Query("SELECT new org.example.dto.ResumoVendaDTO(r.referenciaId, c.nome, r.dia, r.faturamento, " +
+            "r.quantidadePedidos, r.quantidadeItens) " +
+            "FROM ResumoVendaDiaria r LEFT JOIN Categoria c ON c.id = r.referenciaId " +
+            "WHERE r.dimensao = org.example.model.DimensaoVenda.CATEGORIA AND r.dia BETWEEN :inicio AND :fim " +
+            "ORDER BY r.dia, r.referenciaId")
+    List<ResumoVendaDTO> findResumosPorCategoria(@Param("inicio") LocalDate inicio, @Param("fim") LocalDate fim);
+
+    // Buckets de um período por fornecedor, lidos pelo índice único (dimensao, dia, referencia_id).
+    @Query("SELECT new org.example.dto.ResumoVendaDTO(r.referenciaId, f.nome, r.dia, r.faturamento, " +
+            "r.quantidadePedidos, r.quantidadeItens) " +
+            "FROM ResumoVendaDiaria r LEFT JOIN Fornecedor f ON f.id = r.referenciaId " +
+            "WHERE r.dimensao = org.example.model.DimensaoVenda.FORNECEDOR AND r.dia BETWEEN :inicio AND :fim " +
+            "ORDER BY r.dia, r.referenciaId")
+    List<ResumoVendaDTO> findResumosPorFornecedor(@Param("inicio") LocalDate inicio, @Param("fim") LocalDate fim);
+}
@@ -0,0 +1,15 @@
+package org.example.repository;
+
+import org.example.model.DimensaoVenda;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Operações de ResumoVendaDiaria implementadas manualmente, fora das derivadas pelo Spring Data.
+ */
+public interface ResumoVendaDiariaRepositoryCustom {
+
+    // Soma as variações ao bucket em um único comando atômico, criando-o se ainda não existir.
+    void somar(DimensaoVenda dimensao, LocalDate dia, Long referenciaId, BigDecimal faturamento, long pedidos, long itens);
+}
@@ -0,0 +1,205 @@
+package org.example.service;
+
+import org.example.dto.FrequenciaPrazoDTO;
+import org.example.dto.PontoSerieDTO;
+import org.example.dto.PrazoEntregaDTO;
+import org.example.exception.BusinessRuleException;
+import org.example.model.Granularidade;
+import org.example.repository.PedidoArquivadoRepository;
+import org.example.repository.PedidoRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+/**
+ * Camada de serviço das análises de pedidos por período: séries temporais de pedidos e prazos de entrega.
+ * As agregações são feitas pelo banco (GROUP BY sobre o índice de data), de modo que nenhuma entidade
+ * é carregada: o resultado tem no máximo uma linha por dia do período, ou por prazo de entrega distinto.
+ */
+@Service
+public class AnalisePedidosService {
+
+    // Os períodos sem pedidos também ocupam um ponto: sem limite, um intervalo longo criaria milhões deles em memória.
+    public static final int MAXIMO_PERIODOS_SERIE = 366;
+    public static final int MAXIMO_DIAS_PERIODO = 366;
+
+    @Autowired
+    private PedidoRepository pedidoRepository;
+
+    @Autowired
+    private PedidoArquivadoRepository pedidoArquivadoRepository;
+
+    /**
+     * Conta os pedidos feitos em cada dia, semana ou mês de um intervalo de datas (inclusivo).
+     * Os períodos sem pedidos aparecem com quantidade zero; a semana e o mês que contêm a data inicial
+     * são identificados pelo seu primeiro dia, mas contam apenas os pedidos a partir da data inicial.
+     * @param granularidade DIA, SEMANA ou MES.
+     * @param inicio A data inicial do intervalo.
+     * @param fim A data final do intervalo.
+     * @return Um ponto por período, em ordem cronológica.
+     * @throws BusinessRuleException se a data inicial for posterior à final ou se a série passar de
+     *         {@link #MAXIMO_PERIODOS_SERIE} períodos.
+     */
+    @Transactional(readOnly = true)
+    public List<PontoSerieDTO> gerarSerie(Granularidade granularidade, LocalDate inicio, LocalDate fim) {
+        return gerarSerie(granularidade, inicio, fim, false);
+    }
+
+    /**
+     * Conta os pedidos de cada período como em {@link #gerarSerie(Granularidade, LocalDate, LocalDate)},
+     * somando também os pedidos arquivados se for pedido.
+     * @param granularidade DIA, SEMANA ou MES.
+     * @param inicio A data inicial do intervalo.
+     * @param fim A data final do intervalo.
+     * @param incluirArquivados Se os pedidos arquivados do período devem ser contados.
+     * @return Um ponto por período, em ordem cronológica.
+     * @throws BusinessRuleException se a data inicial for posterior à final ou se a série passar de
+     *         {@link #MAXIMO_PERIODOS_SERIE} períodos.
+     */
+    @Transactional(readOnly = true)
+    public List<PontoSerieDTO> gerarSerie(Granularidade granularidade, LocalDate inicio, LocalDate fim, boolean incluirArquivados) {
+        validarPeriodo(inicio, fim);
+        long periodos = unidade(granularidade).between(inicioDoPeriodo(granularidade, inicio), fim) + 1;
+        if (periodos > MAXIMO_PERIODOS_SERIE) {
+            throw new BusinessRuleException("A série deve ter no máximo " + MAXIMO_PERIODOS_SERIE + " períodos.");
+        }
+        List<PontoSerieDTO> contagens = pedidoRepository.contarPedidosPorDia(inicio, fim);
+        if (incluirArquivados) {
+            contagens = somar(contagens, pedidoArquivadoRepository.contarPedidosPorDia(inicio, fim),
+                    PontoSerieDTO::inicio, PontoSerieDTO::pedidos, PontoSerieDTO::new);
+        }
+        Iterator<PontoSerieDTO> diarios = contagens.iterator();
+        PontoSerieDTO diario = diarios.hasNext() ? diarios.next() : null;
+
+        // Os dias chegam ordenados: basta percorrer os períodos uma vez, somando os dias de cada um.
+        List<PontoSerieDTO> serie = new ArrayList<>();
+        for (LocalDate periodo = inicioDoPeriodo(granularidade, inicio); !periodo.isAfter(fim);
+             periodo = proximoPeriodo(granularidade, periodo)) {
+            LocalDate proximo = proximoPeriodo(granularidade, periodo);
+            long pedidos = 0;
+            while (diario != null && diario.inicio().isBefore(proximo)) {
+                pedidos += diario.pedidos();
+                diario = diarios.hasNext() ? diarios.next() : null;
+            }
+            serie.add(new PontoSerieDTO(periodo, pedidos));
+        }
+        return serie;
+    }
+
+    /**
+     * Calcula a distribuição do prazo de entrega dos pedidos feitos em um intervalo de datas (inclusivo).
+     * O banco devolve o histograma de prazos (pedidos por número de dias); média e percentis são
+     * calculados sobre ele. Pedidos ainda não entregues são ignorados.
+     * @param inicio A data inicial do intervalo.
+     * @param fim A data final do intervalo.
+     * @return A quantidade de pedidos entregues, a média, os percentis 50, 90, 95 e 99 e o prazo máximo.
+     * @throws BusinessRuleException se a data inicial for posterior à final ou se o intervalo passar de
+     *         {@link #MAXIMO_DIAS_PERIODO} dias.
+     */
+    @Transactional(readOnly = true)
+    public PrazoEntregaDTO calcularPrazoEntrega(LocalDate inicio, LocalDate fim) {
+        return calcularPrazoEntrega(inicio, fim, false);
+    }
+
+    /**
+     * Calcula a distribuição do prazo de entrega como em {@link #calcularPrazoEntrega(LocalDate, LocalDate)},
+     * incluindo os pedidos arquivados se for pedido.
+     * @param inicio A data inicial do intervalo.
+     * @param fim A data final do intervalo.
+     * @param incluirArquivados Se os pedidos arquivados do período devem entrar na distribuição.
+     * @return A quantidade de pedidos entregues, a média, os percentis 50, 90, 95 e 99 e o prazo máximo.
+     * @throws BusinessRuleException se a data inicial for posterior à final ou se o intervalo passar de
+     *         {@link #MAXIMO_DIAS_PERIODO} dias.
+     */
+    @Transactional(readOnly = true)
+    public PrazoEntregaDTO calcularPrazoEntrega(LocalDate inicio, LocalDate fim, boolean incluirArquivados) {
+        validarPeriodo(inicio, fim);
+        if (ChronoUnit.DAYS.between(inicio, fim) >= MAXIMO_DIAS_PERIODO) {
+            throw new BusinessRuleException("O período deve ter no máximo " + MAXIMO_DIAS_PERIODO + " dias.");
+        }
+        List<FrequenciaPrazoDTO> histograma = pedidoRepository.contarPedidosPorPrazoDeEntrega(inicio, fim);
+        if (incluirArquivados) {
+            histograma = somar(histograma, pedidoArquivadoRepository.contarPedidosPorPrazoDeEntrega(inicio, fim),
+                    FrequenciaPrazoDTO::dias, FrequenciaPrazoDTO::pedidos, FrequenciaPrazoDTO::new);
+        }
+        long total = 0;
+        long somaDias = 0;
+        for (FrequenciaPrazoDTO faixa : histograma) {
+            total += faixa.pedidos();
+            somaDias += faixa.dias() * faixa.pedidos();
+        }
+        if (total == 0) {
+            return new PrazoEntregaDTO(0L, null, null, null, null, null, null);
+        }
+        return new PrazoEntregaDTO(total, (double) somaDias / total,
+                percentil(histograma, total, 50), percentil(histograma, total, 90),
+                percentil(histograma, total, 95), percentil(histograma, total, 99),
+                histograma.get(histograma.size() - 1).dias());
+    }
+
+    // Junta duas contagens ordenadas pela chave (dia ou prazo), somando as que têm a mesma chave.
+    private static <T, K extends Comparable<? super K>> List<T> somar(List<T> ativos, List<T> arquivados,
+            Function<T, K> chave, ToLongFunction<T> quantidade, BiFunction<K, Long, T> construtor) {
+        Map<K, Long> somas = new TreeMap<>();
+        for (List<T> contagens : List.of(ativos, arquivados)) {
+            contagens.forEach(contagem -> somas.merge(chave.apply(contagem), quantidade.applyAsLong(contagem), Long::sum));
+        }
+        return somas.entrySet().stream().map(soma -> construtor.apply(soma.getKey(), soma.getValue())).toList();
+    }
+
+    // Posto mais próximo: o menor prazo cuja frequência acumulada alcança ceil(p% do total).
+    private static Long percentil(List<FrequenciaPrazoDTO> histograma, long total, int p) {
+        long posto = (total * p + 99) / 100;
+        long acumulado = 0;
+        for (FrequenciaPrazoDTO faixa : histograma) {
+            acumulado += faixa.pedidos();
+            if (acumulado >= posto) {
+                return faixa.dias();
+            }
+        }
+        return histograma.get(histograma.size() - 1).dias();
+    }
+
+    private static LocalDate inicioDoPeriodo(Granularidade granularidade, LocalDate data) {
+        return switch (granularidade) {
+            case DIA -> data;
+            case SEMANA -> data.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case MES -> data.withDayOfMonth(1);
+        };
+    }
+
+    private static LocalDate proximoPeriodo(Granularidade granularidade, LocalDate inicioDoPeriodo) {
+        return switch (granularidade) {
+            case DIA -> inicioDoPeriodo.plusDays(1);
+            case SEMANA -> inicioDoPeriodo.plusWeeks(1);
+            case MES -> inicioDoPeriodo.plusMonths(1);
+        };
+    }
+
+    private static ChronoUnit unidade(Granularidade granularidade) {
+        return switch (granularidade) {
+            case DIA -> ChronoUnit.DAYS;
+            case SEMANA -> ChronoUnit.WEEKS;
+            case MES -> ChronoUnit.MONTHS;
+        };
+    }
+
+    private static void validarPeriodo(LocalDate inicio, LocalDate fim) {
+        if (inicio.isAfter(fim)) {
+            throw new BusinessRuleException("A data inicial deve ser anterior ou igual à data final.");
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package org.example.service;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+
+/**
+ * Arquivamento periódico dos pedidos entregues há mais de {@code dias-apos-entrega} dias, para que as
+ * tabelas pedido e pedido_produto guardem apenas os pedidos ainda consultados no dia a dia.
+ * <p>
+ * A cada {@code intervalo-ms}, os pedidos são movidos para pedido_arquivado em blocos de {@code tamanho-bloco},
+ * um bloco por transação (PedidoService.arquivarPedidosEntregues). Para não disputar o banco com as requisições,
+ * a execução faz uma pausa de {@code pausa-ms} entre os blocos e move no máximo {@code blocos-por-execucao}
+ * blocos; o restante fica para a execução seguinte, que continua de onde esta parou.
+ * <p>
+ * Os pedidos arquivados saem das consultas comuns e são lidos apenas com arquivados=true. O modo fica
+ * desligado por padrão ({@code pedidos.arquivamento.habilitado}).
+ */
+@Service
+@ConditionalOnProperty(name = "pedidos.arquivamento.habilitado", havingValue = "true")
+public class ArquivamentoPedidosService {
+
+    private static final Logger log = LoggerFactory.getLogger(ArquivamentoPedidosService.class);
+
+    @Autowired
+    private PedidoService pedidoService;
+
+    @Value("${pedidos.arquivamento.dias-apos-entrega:365}")
+    private int diasAposEntrega;
+
+    @Value("${pedidos.arquivamento.tamanho-bloco:500}")
+    private int tamanhoBloco;
+
+    @Value("${pedidos.arquivamento.pausa-ms:200}")
+    private long pausaMs;
+
+    @Value("${pedidos.arquivamento.blocos-por-execucao:100}")
+    private int blocosPorExecucao;
+
+    @PostConstruct
+    public void validarConfiguracao() {
+        if (diasAposEntrega < 1 || tamanhoBloco < 1 || pausaMs < 0 || blocosPorExecucao < 1) {
+            throw new IllegalStateException("Configuração inválida do arquivamento de pedidos: dias-apos-entrega="
+                    + diasAposEntrega + ", tamanho-bloco=" + tamanhoBloco + ", pausa-ms=" + pausaMs
+                    + ", blocos-por-execucao=" + blocosPorExecucao);
+        }
+    }
+
+    /**
+     * Move os pedidos entregues antes do limite, bloco a bloco, até não restarem pedidos ou até o máximo da execução.
+     * @return A quantidade de pedidos arquivados nesta execução.
+     */
+    @Scheduled(initialDelayString = "${pedidos.arquivamento.intervalo-ms:3600000}",
+            fixedDelayString = "${pedidos.arquivamento.intervalo-ms:3600000}")
+    public int arquivar() {
+        LocalDate limite = LocalDate.now().minusDays(diasAposEntrega);
+        int arquivados = 0;
+        for (int bloco = 1; bloco <= blocosPorExecucao; bloco++) {
+            int movidos = pedidoService.arquivarPedidosEntregues(limite, tamanhoBloco);
+            arquivados += movidos;
+            if (movidos < tamanhoBloco || bloco == blocosPorExecucao || !pausar()) {
+                break;
+            }
+        }
+        if (arquivados > 0) {
+            log.info("{} pedidos entregues antes de {} arquivados", arquivados, limite);
+        }
+        return arquivados;
+    }
+
+    private boolean pausar() {
+        try {
+            Thread.sleep(pausaMs);
+            return true;
+        } catch (InterruptedException e) {
+            // Encerramento: os blocos já movidos estão confirmados; o restante fica para a próxima execução.
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
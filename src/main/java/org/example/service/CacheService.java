@@ -0,0 +1,43 @@
+package org.example.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.example.dto.EstatisticaCacheDTO;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Camada de serviço para consultar o cache de segundo nível do Hibernate.
+ * As estatísticas só são coletadas com hibernate.generate_statistics habilitado.
+ */
+@Service
+public class CacheService {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    /**
+     * Lista os acertos, falhas e inserções de cada região do cache de segundo nível.
+     * @return As estatísticas por região, ordenadas pelo nome; vazia se o cache ou as estatísticas estiverem desabilitados.
+     */
+    public List<EstatisticaCacheDTO> listarEstatisticas() {
+        Statistics estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        if (!estatisticas.isStatisticsEnabled()) {
+            return List.of();
+        }
+        return Arrays.stream(estatisticas.getSecondLevelCacheRegionNames())
+                .sorted()
+                .map(regiao -> {
+                    CacheRegionStatistics regiaoEstatisticas = estatisticas.getDomainDataRegionStatistics(regiao);
+                    return EstatisticaCacheDTO.of(regiao, regiaoEstatisticas.getHitCount(),
+                            regiaoEstatisticas.getMissCount(), regiaoEstatisticas.getPutCount());
+                })
+                .collect(Collectors.toList());
+    }
+}
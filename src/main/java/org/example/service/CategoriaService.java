@@ -1,18 +1,30 @@
 package org.example.service;
 
 import org.example.dto.CategoriaRequestDTO;
+import org.example.dto.CategoriaResponseDTO;
+import org.example.dto.CategoriaResumoDTO;
+import org.example.dto.PaginaDTO;
+import org.example.dto.ProdutoResponseDTO;
+import org.example.dto.RepresentacaoDTO;
+import org.example.dto.VersaoDTO;
+import org.example.event.CategoriaSalvaEvent;
 import org.example.exception.BusinessRuleException;
 import org.example.exception.ResourceNotFoundException;
 import org.example.model.Categoria;
 import org.example.repository.CategoriaRepository;
 import org.example.repository.ProdutoRepository;
+import org.example.util.ETagUtil;
+import org.example.util.PaginacaoUtil;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.text.Normalizer; // IMPORT ADICIONADO
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Predicate;
 
 @Service
 public class CategoriaService {
@@ -23,6 +35,9 @@ public class CategoriaService {
     @Autowired
     private ProdutoRepository produtoRepository;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     // Método utilitário para normalizar nomes
     private String normalizarNome(String nome) {
         if (nome == null) return null;
@@ -31,9 +46,36 @@ public class CategoriaService {
                 .toLowerCase();
     }
 
+    // ID, nome e quantidade de produtos de cada categoria, em uma única consulta agrupada.
     @Transactional(readOnly = true)
-    public List<Categoria> listarTodas() {
-        return categoriaRepository.findAll();
+    public List<CategoriaResumoDTO> listarTodas() {
+        return categoriaRepository.findAllComQuantidadeProdutos();
+    }
+
+    /**
+     * Lista uma página dos produtos de uma categoria usando paginação por cursor (keyset) sobre o ID do produto.
+     * Busca limit + 1 produtos para saber se existe uma próxima página.
+     * @param id O ID da categoria.
+     * @param after O ID do último produto da página anterior, ou null para a primeira página.
+     * @param limit A quantidade máxima de produtos na página.
+     * @return A página de produtos e o cursor da próxima página.
+     * @throws ResourceNotFoundException se a categoria não existir.
+     * @throws BusinessRuleException se o limite estiver fora do intervalo permitido.
+     */
+    @Transactional(readOnly = true)
+    public PaginaDTO<ProdutoResponseDTO> listarProdutos(Long id, Long after, int limit) {
+        PaginacaoUtil.validarLimite(limit);
+        if (!categoriaRepository.existsById(id)) {
+            throw new ResourceNotFoundException("Categoria com ID " + id + " não encontrada");
+        }
+
+        List<ProdutoResponseDTO> produtos = produtoRepository.findProjetadosDaCategoriaAposCursor(
+                id, after == null ? 0L : after, Limit.of(limit + 1));
+        if (produtos.size() <= limit) {
+            return new PaginaDTO<>(produtos, null);
+        }
+        produtos = produtos.subList(0, limit);
+        return new PaginaDTO<>(produtos, produtos.get(limit - 1).id());
     }
 
     @Transactional(readOnly = true)
@@ -42,6 +84,23 @@ public class CategoriaService {
                 .orElseThrow(() -> new ResourceNotFoundException("Categoria com ID " + id + " não encontrada"));
     }
 
+    // Versão da categoria para o ETag, lida sem carregar a entidade.
+    @Transactional(readOnly = true)
+    public VersaoDTO buscarVersao(Long id) {
+        return categoriaRepository.findVersaoById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Categoria com ID " + id + " não encontrada"));
+    }
+
+    // Categoria e ETag na mesma transação; se naoModificado aceitar o ETag (If-None-Match), a categoria não é carregada.
+    @Transactional(readOnly = true)
+    public RepresentacaoDTO<CategoriaResponseDTO> buscarComVersao(Long id, Predicate<String> naoModificado) {
+        String etag = buscarVersao(id).etag();
+        if (naoModificado.test(etag)) {
+            return RepresentacaoDTO.naoModificada(etag);
+        }
+        return new RepresentacaoDTO<>(CategoriaResponseDTO.fromEntity(buscarPorId(id)), etag);
+    }
+
     @Transactional
     public Categoria criarCategoria(CategoriaRequestDTO categoriaDTO) {
         // --- LÓGICA DE VALIDAÇÃO CORRIGIDA ---
@@ -52,13 +111,29 @@ public class CategoriaService {
             throw new BusinessRuleException("Uma categoria com nome similar já existe: " + categoriaExistente.get().getNome());
         }
 
-        Categoria novaCategoria = new Categoria(categoriaDTO.getNome());
-        return categoriaRepository.save(novaCategoria);
+        Categoria novaCategoria = categoriaRepository.save(new Categoria(categoriaDTO.getNome()));
+        eventPublisher.publishEvent(new CategoriaSalvaEvent(novaCategoria.getId(), novaCategoria.getNome()));
+        return novaCategoria;
     }
 
     @Transactional
     public Categoria atualizarCategoria(Long id, CategoriaRequestDTO categoriaDTO) {
+        return gravarAtualizacao(id, categoriaDTO, null);
+    }
+
+    // Atualiza a categoria se ela ainda estiver na versão conhecida pelo cliente (If-Match; null para não verificar).
+    // O novo ETag é lido na própria transação de gravação, depois do flush que incrementa a versão.
+    @Transactional
+    public RepresentacaoDTO<CategoriaResponseDTO> atualizarCategoria(Long id, CategoriaRequestDTO categoriaDTO, String ifMatch) {
+        Categoria categoriaSalva = gravarAtualizacao(id, categoriaDTO, ifMatch);
+        return new RepresentacaoDTO<>(CategoriaResponseDTO.fromEntity(categoriaSalva), buscarVersao(id).etag());
+    }
+
+    private Categoria gravarAtualizacao(Long id, CategoriaRequestDTO categoriaDTO, String ifMatch) {
         Categoria categoriaExistente = buscarPorId(id);
+        if (ifMatch != null) {
+            ETagUtil.verificarIfMatch(ifMatch, buscarVersao(id).etag());
+        }
 
         // --- LÓGICA DE VALIDAÇÃO CORRIGIDA ---
         String nomeNormalizado = normalizarNome(categoriaDTO.getNome());
@@ -69,7 +144,9 @@ public class CategoriaService {
         }
 
         categoriaExistente.setNome(categoriaDTO.getNome());
-        return categoriaRepository.save(categoriaExistente);
+        Categoria categoriaSalva = categoriaRepository.save(categoriaExistente);
+        eventPublisher.publishEvent(new CategoriaSalvaEvent(categoriaSalva.getId(), categoriaSalva.getNome()));
+        return categoriaSalva;
     }
 
     @Transactional
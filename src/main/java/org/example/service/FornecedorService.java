@@ -1,11 +1,15 @@
 package org.example.service;
 
 import org.example.dto.FornecedorRequestDTO;
+import org.example.dto.FornecedorResponseDTO;
+import org.example.dto.RepresentacaoDTO;
+import org.example.dto.VersaoDTO;
 import org.example.exception.BusinessRuleException;
 import org.example.exception.ResourceNotFoundException;
 import org.example.model.Fornecedor;
 import org.example.repository.FornecedorRepository;
 import org.example.repository.ProdutoRepository;
+import org.example.util.ETagUtil;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -13,6 +17,7 @@ import org.springframework.transaction.annotation.Transactional;
 import java.text.Normalizer;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Predicate;
 
 @Service
 public class FornecedorService {
@@ -36,6 +41,23 @@ public class FornecedorService {
     }
 
 
+    // Versão do fornecedor para o ETag, lida sem carregar a entidade.
+    @Transactional(readOnly = true)
+    public VersaoDTO buscarVersao(Long id) {
+        return fornecedorRepository.findVersaoById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Fornecedor com ID " + id + " não encontrado"));
+    }
+
+    // Fornecedor e ETag na mesma transação; se naoModificado aceitar o ETag (If-None-Match), o fornecedor não é carregado.
+    @Transactional(readOnly = true)
+    public RepresentacaoDTO<FornecedorResponseDTO> buscarComVersao(Long id, Predicate<String> naoModificado) {
+        String etag = buscarVersao(id).etag();
+        if (naoModificado.test(etag)) {
+            return RepresentacaoDTO.naoModificada(etag);
+        }
+        return new RepresentacaoDTO<>(FornecedorResponseDTO.fromEntity(buscarPorId(id)), etag);
+    }
+
     private String normalizarNome(String nome) {
         if (nome == null) return null;
         return Normalizer.normalize(nome, Normalizer.Form.NFD)
@@ -70,8 +92,24 @@ public class FornecedorService {
         fornecedorRepository.delete(fornecedor);
     }
 
+    @Transactional
     public Fornecedor atualizarFornecedor(Long id, FornecedorRequestDTO fornecedorDTO) {
+        return gravarAtualizacao(id, fornecedorDTO, null);
+    }
+
+    // Atualiza o fornecedor se ele ainda estiver na versão conhecida pelo cliente (If-Match; null para não verificar).
+    // O novo ETag é lido na própria transação de gravação, depois do flush que incrementa a versão.
+    @Transactional
+    public RepresentacaoDTO<FornecedorResponseDTO> atualizarFornecedor(Long id, FornecedorRequestDTO fornecedorDTO, String ifMatch) {
+        Fornecedor fornecedorSalvo = gravarAtualizacao(id, fornecedorDTO, ifMatch);
+        return new RepresentacaoDTO<>(FornecedorResponseDTO.fromEntity(fornecedorSalvo), buscarVersao(id).etag());
+    }
+
+    private Fornecedor gravarAtualizacao(Long id, FornecedorRequestDTO fornecedorDTO, String ifMatch) {
         Fornecedor fornecedorExistente = buscarPorId(id);
+        if (ifMatch != null) {
+            ETagUtil.verificarIfMatch(ifMatch, buscarVersao(id).etag());
+        }
 
         // Normalizando o nome do fornecedor
         String nomeNormalizado = normalizarNome(fornecedorDTO.getNome());
@@ -0,0 +1,284 @@
+package org.example.service;
+
+import jakarta.persistence.EntityManager;
+import org.example.dto.ErroImportacaoDTO;
+import org.example.dto.ImportacaoProdutosResponseDTO;
+import org.example.dto.ProdutoResponseDTO;
+import org.example.dto.ReferenciaDTO;
+import org.example.event.ProdutosImportadosEvent;
+import org.example.exception.BusinessRuleException;
+import org.example.model.Categoria;
+import org.example.model.Fornecedor;
+import org.example.model.Produto;
+import org.example.repository.CategoriaRepository;
+import org.example.repository.FornecedorRepository;
+import org.example.repository.ProdutoRepository;
+import org.example.util.NormalizadorUtil;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Importação do catálogo de produtos a partir de um arquivo CSV.
+ */
+@Service
+public class ImportacaoProdutosService {
+
+    // Produtos persistidos entre um flush/clear e o seguinte; múltiplo de hibernate.jdbc.batch_size.
+    static final int TAMANHO_BLOCO = 500;
+    static final int LIMITE_ERROS_DETALHADOS = 1000;
+    static final int TAMANHO_MAXIMO_NOME = 255;
+    private static final List<String> COLUNAS = List.of("nome", "preco", "categoria", "fornecedor");
+
+    @Autowired
+    private ProdutoRepository produtoRepository;
+
+    @Autowired
+    private CategoriaRepository categoriaRepository;
+
+    @Autowired
+    private FornecedorRepository fornecedorRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Importa os produtos de um CSV com cabeçalho e as colunas nome, preco, categoria e fornecedor, em qualquer
+     * ordem, separadas por vírgula ou ponto e vírgula (definido pelo cabeçalho). Campos podem vir entre aspas.
+     * <p>
+     * O arquivo é lido linha a linha, sem ser carregado inteiro. Categorias e fornecedores são resolvidos pelo
+     * nome, sem acentos, maiúsculas ou plurais simples ({@link NormalizadorUtil}), em mapas montados uma única
+     * vez por importação; os produtos referenciam proxies, sem consultas por ID. Os produtos são persistidos em
+     * blocos: a cada bloco, uma consulta confere os nomes já cadastrados e o flush envia os INSERTs em lotes JDBC
+     * antes de o contexto de persistência ser limpo.
+     * <p>
+     * Linhas inválidas são recusadas individualmente, sem interromper a importação: nome ausente ou repetido,
+     * preço inválido ou negativo, categoria ou fornecedor inexistente. Os índices em memória recebem os produtos
+     * criados após o commit, pelo {@link ProdutosImportadosEvent}.
+     * @param arquivo O conteúdo do CSV, em UTF-8.
+     * @return A quantidade de produtos criados e as linhas recusadas.
+     * @throws BusinessRuleException se o arquivo estiver vazio ou faltar alguma coluna no cabeçalho.
+     * @throws IOException se ocorrer um erro ao ler o arquivo.
+     */
+    @Transactional
+    public ImportacaoProdutosResponseDTO importar(InputStream arquivo) throws IOException {
+        BufferedReader leitor = new BufferedReader(new InputStreamReader(arquivo, StandardCharsets.UTF_8));
+        String cabecalho = leitor.readLine();
+        if (cabecalho == null) {
+            throw new BusinessRuleException("O arquivo de importação está vazio.");
+        }
+        if (cabecalho.startsWith("\uFEFF")) {
+            cabecalho = cabecalho.substring(1);
+        }
+        char separador = cabecalho.indexOf(';') >= 0 ? ';' : ',';
+        int[] posicoes = posicoesDasColunas(dividir(cabecalho, separador));
+
+        // Os produtos importados não são lidos em seguida: não vale a pena colocá-los no cache de segundo nível.
+        entityManager.unwrap(Session.class).setCacheMode(CacheMode.GET);
+
+        Importacao importacao = new Importacao(porNomeNormalizado(categoriaRepository.findAllReferencias()),
+                porNomeNormalizado(fornecedorRepository.findAllReferencias()));
+        List<LinhaProduto> bloco = new ArrayList<>(TAMANHO_BLOCO);
+        long numeroLinha = 1;
+        for (String linha = leitor.readLine(); linha != null; linha = leitor.readLine()) {
+            numeroLinha++;
+            if (linha.isBlank()) {
+                continue;
+            }
+            try {
+                bloco.add(importacao.ler(numeroLinha, dividir(linha, separador), posicoes));
+            } catch (BusinessRuleException e) {
+                importacao.recusar(numeroLinha, e.getMessage());
+            }
+            if (bloco.size() == TAMANHO_BLOCO) {
+                gravar(bloco, importacao);
+                bloco.clear();
+            }
+        }
+        gravar(bloco, importacao);
+
+        if (!importacao.criados.isEmpty()) {
+            eventPublisher.publishEvent(new ProdutosImportadosEvent(importacao.criados));
+        }
+        importacao.erros.sort(Comparator.comparingLong(ErroImportacaoDTO::linha));
+        return new ImportacaoProdutosResponseDTO(importacao.criados.size(), importacao.linhasComErro, importacao.erros);
+    }
+
+    private void gravar(List<LinhaProduto> bloco, Importacao importacao) {
+        if (bloco.isEmpty()) {
+            return;
+        }
+        Set<String> existentes = new HashSet<>(produtoRepository.findNomesExistentes(bloco.stream().map(LinhaProduto::nome).toList()));
+        List<Produto> persistidos = new ArrayList<>(bloco.size());
+        List<LinhaProduto> gravadas = new ArrayList<>(bloco.size());
+        for (LinhaProduto linha : bloco) {
+            if (existentes.contains(linha.nome())) {
+                importacao.recusar(linha.numero(), "Já existe um produto com o nome '" + linha.nome() + "'.");
+                continue;
+            }
+            Produto produto = new Produto(linha.nome(), linha.preco());
+            produto.setCategoria(entityManager.getReference(Categoria.class, linha.categoria().id()));
+            produto.setFornecedor(entityManager.getReference(Fornecedor.class, linha.fornecedor().id()));
+            entityManager.persist(produto);
+            persistidos.add(produto);
+            gravadas.add(linha);
+        }
+        // Envia o bloco ao banco e libera o contexto de persistência antes do próximo.
+        entityManager.flush();
+        entityManager.clear();
+        for (int i = 0; i < persistidos.size(); i++) {
+            LinhaProduto linha = gravadas.get(i);
+            importacao.criados.add(new ProdutoResponseDTO(persistidos.get(i).getId(), linha.nome(), linha.preco(),
+                    linha.categoria().id(), linha.categoria().nome(), linha.fornecedor().id(), linha.fornecedor().nome()));
+        }
+    }
+
+    private static int[] posicoesDasColunas(List<String> cabecalho) {
+        int[] posicoes = new int[COLUNAS.size()];
+        for (int i = 0; i < COLUNAS.size(); i++) {
+            posicoes[i] = -1;
+            for (int j = 0; j < cabecalho.size(); j++) {
+                if (COLUNAS.get(i).equals(NormalizadorUtil.normalizar(cabecalho.get(j).trim()))) {
+                    posicoes[i] = j;
+                }
+            }
+            if (posicoes[i] < 0) {
+                throw new BusinessRuleException("O cabeçalho do arquivo deve conter as colunas " + String.join(", ", COLUNAS) + ".");
+            }
+        }
+        return posicoes;
+    }
+
+    // Em nomes que normalizam para o mesmo texto, vale o de menor ID.
+    private static Map<String, ReferenciaDTO> porNomeNormalizado(List<ReferenciaDTO> referencias) {
+        Map<String, ReferenciaDTO> mapa = new HashMap<>(referencias.size() * 2);
+        for (ReferenciaDTO referencia : referencias) {
+            if (referencia.nome() != null) {
+                mapa.putIfAbsent(NormalizadorUtil.normalizar(referencia.nome().trim()), referencia);
+            }
+        }
+        return mapa;
+    }
+
+    /**
+     * Divide uma linha do CSV nos seus campos. Campos entre aspas podem conter o separador e aspas duplicadas ("").
+     */
+    static List<String> dividir(String linha, char separador) {
+        List<String> campos = new ArrayList<>();
+        StringBuilder campo = new StringBuilder();
+        boolean entreAspas = false;
+        for (int i = 0; i < linha.length(); i++) {
+            char c = linha.charAt(i);
+            if (entreAspas) {
+                if (c == '"' && i + 1 < linha.length() && linha.charAt(i + 1) == '"') {
+                    campo.append('"');
+                    i++;
+                } else if (c == '"') {
+                    entreAspas = false;
+                } else {
+                    campo.append(c);
+                }
+            } else if (c == '"') {
+                entreAspas = true;
+            } else if (c == separador) {
+                campos.add(campo.toString());
+                campo.setLength(0);
+            } else {
+                campo.append(c);
+            }
+        }
+        if (entreAspas) {
+            throw new BusinessRuleException("Aspas não fechadas na linha.");
+        }
+        campos.add(campo.toString());
+        return campos;
+    }
+
+    private record LinhaProduto(long numero, String nome, Double preco, ReferenciaDTO categoria, ReferenciaDTO fornecedor) {
+    }
+
+    // Estado de uma importação: as referências, os nomes já lidos do arquivo, os produtos criados e as linhas recusadas.
+    private static class Importacao {
+
+        private final Map<String, ReferenciaDTO> categorias;
+        private final Map<String, ReferenciaDTO> fornecedores;
+        private final Set<String> nomesLidos = new HashSet<>();
+        private final List<ProdutoResponseDTO> criados = new ArrayList<>();
+        private final List<ErroImportacaoDTO> erros = new ArrayList<>();
+        private int linhasComErro;
+
+        Importacao(Map<String, ReferenciaDTO> categorias, Map<String, ReferenciaDTO> fornecedores) {
+            this.categorias = categorias;
+            this.fornecedores = fornecedores;
+        }
+
+        LinhaProduto ler(long numero, List<String> campos, int[] posicoes) {
+            String nome = campo(campos, posicoes[0]);
+            if (nome.isEmpty()) {
+                throw new BusinessRuleException("O nome do produto é obrigatório.");
+            }
+            if (nome.length() > TAMANHO_MAXIMO_NOME) {
+                throw new BusinessRuleException("O nome do produto deve ter no máximo " + TAMANHO_MAXIMO_NOME + " caracteres.");
+            }
+            Double preco = preco(campo(campos, posicoes[1]));
+            String nomeCategoria = campo(campos, posicoes[2]);
+            ReferenciaDTO categoria = categorias.get(NormalizadorUtil.normalizar(nomeCategoria));
+            if (categoria == null) {
+                throw new BusinessRuleException("Categoria '" + nomeCategoria + "' não encontrada.");
+            }
+            String nomeFornecedor = campo(campos, posicoes[3]);
+            ReferenciaDTO fornecedor = fornecedores.get(NormalizadorUtil.normalizar(nomeFornecedor));
+            if (fornecedor == null) {
+                throw new BusinessRuleException("Fornecedor '" + nomeFornecedor + "' não encontrado.");
+            }
+            if (!nomesLidos.add(nome)) {
+                throw new BusinessRuleException("O produto '" + nome + "' aparece mais de uma vez no arquivo.");
+            }
+            return new LinhaProduto(numero, nome, preco, categoria, fornecedor);
+        }
+
+        void recusar(long numero, String mensagem) {
+            linhasComErro++;
+            if (erros.size() < LIMITE_ERROS_DETALHADOS) {
+                erros.add(new ErroImportacaoDTO(numero, mensagem));
+            }
+        }
+
+        private static String campo(List<String> campos, int posicao) {
+            return posicao < campos.size() ? campos.get(posicao).trim() : "";
+        }
+
+        // Aceita o ponto ou a vírgula como separador decimal.
+        private static Double preco(String valor) {
+            double preco;
+            try {
+                preco = Double.parseDouble(valor.replace(',', '.'));
+            } catch (NumberFormatException e) {
+                throw new BusinessRuleException("Preço inválido: '" + valor + "'.");
+            }
+            if (preco < 0 || Double.isNaN(preco) || Double.isInfinite(preco)) {
+                throw new BusinessRuleException("Preço inválido: '" + valor + "'.");
+            }
+            return preco;
+        }
+    }
+}
@@ -1,20 +1,58 @@
 package org.example.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.OptimisticLockException;
+import org.example.dto.EntregaLoteResponseDTO;
+import org.example.dto.EntregaPedidoRequestDTO;
+import org.example.dto.FaturamentoDTO;
+import org.example.dto.ItemPedidoRequestDTO;
+import org.example.dto.ItemPedidoResponseDTO;
+import org.example.dto.LinhaVendaDTO;
+import org.example.dto.PaginaDTO;
 import org.example.dto.PedidoRequestDTO;
+import org.example.dto.PedidoResponseDTO;
+import org.example.dto.PedidoResumoDTO;
 import org.example.dto.PedidoUpdateRequestDTO;
+import org.example.dto.ProdutoPrecoDTO;
+import org.example.dto.RepresentacaoDTO;
+import org.example.dto.TotalPedidoDTO;
+import org.example.dto.VersaoDTO;
 import org.example.exception.BusinessRuleException;
 import org.example.exception.ResourceNotFoundException;
+import org.example.model.ItemPedido;
 import org.example.model.Pedido;
+import org.example.model.PedidoArquivado;
 import org.example.model.Produto;
+import org.example.repository.ItemPedidoRepository;
+import org.example.repository.PedidoArquivadoRepository;
 import org.example.repository.PedidoRepository;
 import org.example.repository.ProdutoRepository;
+import org.example.util.ETagUtil;
+import org.example.util.PaginacaoUtil;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Camada de serviço para a lógica de negócio relacionada a Pedidos.
@@ -22,64 +60,194 @@ import java.util.stream.Collectors;
 @Service
 public class PedidoService {
 
+    public static final int TAMANHO_MAXIMO_LOTE = 5000;
+
+    // Deve acompanhar hibernate.jdbc.batch_size: cada bloco vira um lote de INSERTs JDBC.
+    private static final int TAMANHO_BLOCO_INSERCAO = 50;
+
+    // IDs por UPDATE na confirmação de entregas em lote: limita o tamanho da lista IN de cada comando.
+    private static final int TAMANHO_BLOCO_ENTREGAS = 500;
+
     @Autowired
     private PedidoRepository pedidoRepository;
 
     @Autowired
     private ProdutoRepository produtoRepository;
 
+    @Autowired
+    private ItemPedidoRepository itemPedidoRepository;
+
+    @Autowired
+    private PedidoArquivadoRepository pedidoArquivadoRepository;
+
+    @Autowired
+    private ResumoVendasService resumoVendasService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
     /**
-     * Cria um novo pedido e o associa aos produtos fornecidos.
-     * @param pedidoDTO O DTO contendo a lista de IDs dos produtos.
+     * Cria um novo pedido com os itens fornecidos.
+     * O preço atual de cada produto é capturado como preço unitário do item, e os resumos de
+     * vendas são atualizados na mesma transação.
+     * @param pedidoDTO O DTO contendo os IDs dos produtos e/ou os itens com quantidade.
      * @return O novo Pedido criado e salvo no banco de dados.
      * @throws ResourceNotFoundException se algum dos IDs de produto não for encontrado.
-     * @throws BusinessRuleException se a lista de produtos estiver vazia.
+     * @throws BusinessRuleException se o pedido não tiver itens ou algum item for inválido.
      */
     @Transactional
     public Pedido criarPedido(PedidoRequestDTO pedidoDTO) {
-        if (pedidoDTO.getProdutoIds() == null || pedidoDTO.getProdutoIds().isEmpty()) {
+        Map<Long, Integer> quantidades = consolidarQuantidades(pedidoDTO.getProdutoIds(), pedidoDTO.getItens());
+        if (quantidades.isEmpty()) {
             throw new BusinessRuleException("Um pedido deve conter pelo menos um produto.");
         }
 
-        // Busca todos os produtos da lista de uma só vez para otimização.
-        List<Produto> produtos = produtoRepository.findAllById(pedidoDTO.getProdutoIds());
+        // Busca todos os produtos do pedido de uma só vez para otimização.
+        Map<Long, Produto> produtos = buscarProdutos(quantidades.keySet());
 
-        // Verifica se todos os produtos solicitados foram encontrados.
-        if (produtos.size() != pedidoDTO.getProdutoIds().size()) {
-            // Lógica para encontrar qual ID não foi encontrado.
-            List<Long> idsEncontrados = produtos.stream().map(Produto::getId).collect(Collectors.toList());
-            List<Long> idsFaltantes = pedidoDTO.getProdutoIds().stream()
-                    .filter(id -> !idsEncontrados.contains(id))
-                    .collect(Collectors.toList());
-            throw new ResourceNotFoundException("Produto(s) com ID(s) " + idsFaltantes + " não encontrado(s).");
+        Pedido novoPedido = new Pedido(LocalDate.now());
+        quantidades.forEach((produtoId, quantidade) -> novoPedido.adicionarItem(produtos.get(produtoId), quantidade));
+
+        Pedido pedidoSalvo = pedidoRepository.save(novoPedido);
+        resumoVendasService.aplicar(new ResumoVendasService.Variacao()
+                .adicionarPedido(pedidoSalvo.getData(), linhasDeVenda(pedidoSalvo)));
+        return pedidoSalvo;
+    }
+
+    /**
+     * Cria vários pedidos em uma única transação.
+     * Todos os produtos do lote são validados com uma única consulta, que traz apenas o ID e o
+     * preço de cada um. Os pedidos são persistidos em blocos, de modo que o Hibernate envie os
+     * INSERTs de pedidos e de itens em lotes JDBC. Os produtos são referenciados por proxies, sem serem carregados.
+     * @param pedidosDTO Os DTOs dos pedidos a serem criados.
+     * @return Os IDs dos pedidos criados, na mesma ordem da requisição.
+     * @throws BusinessRuleException se o lote estiver vazio, exceder o tamanho máximo ou se algum pedido não tiver produtos.
+     * @throws ResourceNotFoundException se algum dos IDs de produto não for encontrado.
+     */
+    @Transactional
+    public List<Long> criarPedidosEmLote(List<PedidoRequestDTO> pedidosDTO) {
+        if (pedidosDTO == null || pedidosDTO.isEmpty()) {
+            throw new BusinessRuleException("O lote deve conter pelo menos um pedido.");
+        }
+        if (pedidosDTO.size() > TAMANHO_MAXIMO_LOTE) {
+            throw new BusinessRuleException("O lote deve conter no máximo " + TAMANHO_MAXIMO_LOTE + " pedidos.");
         }
 
-        Pedido novoPedido = new Pedido(LocalDate.now());
-        produtos.forEach(novoPedido::adicionarProduto);
+        List<Map<Long, Integer>> quantidadesPorPedido = new ArrayList<>(pedidosDTO.size());
+        Set<Long> idsSolicitados = new LinkedHashSet<>();
+        for (int i = 0; i < pedidosDTO.size(); i++) {
+            Map<Long, Integer> quantidades = consolidarQuantidades(pedidosDTO.get(i).getProdutoIds(), pedidosDTO.get(i).getItens());
+            if (quantidades.isEmpty()) {
+                throw new BusinessRuleException("O pedido na posição " + i + " deve conter pelo menos um produto.");
+            }
+            quantidadesPorPedido.add(quantidades);
+            idsSolicitados.addAll(quantidades.keySet());
+        }
+
+        // Valida todos os produtos do lote de uma só vez.
+        Map<Long, ProdutoPrecoDTO> produtos = buscarPrecos(idsSolicitados);
+
+        List<Long> idsCriados = new ArrayList<>(pedidosDTO.size());
+        LocalDate hoje = LocalDate.now();
+        ResumoVendasService.Variacao variacao = new ResumoVendasService.Variacao();
+        for (int inicio = 0; inicio < quantidadesPorPedido.size(); inicio += TAMANHO_BLOCO_INSERCAO) {
+            List<Pedido> bloco = new ArrayList<>(TAMANHO_BLOCO_INSERCAO);
+            for (Map<Long, Integer> quantidades : quantidadesPorPedido.subList(inicio, Math.min(inicio + TAMANHO_BLOCO_INSERCAO, quantidadesPorPedido.size()))) {
+                Pedido pedido = new Pedido(hoje);
+                List<LinhaVendaDTO> linhas = new ArrayList<>(quantidades.size());
+                quantidades.forEach((produtoId, quantidade) -> {
+                    ProdutoPrecoDTO produto = produtos.get(produtoId);
+                    pedido.adicionarItem(produtoRepository.getReferenceById(produtoId), quantidade, produto.preco(),
+                            produto.categoriaId(), produto.fornecedorId());
+                    linhas.add(new LinhaVendaDTO(produto.categoriaId(), produto.fornecedorId(), quantidade, produto.preco()));
+                });
+                variacao.adicionarPedido(hoje, linhas);
+                entityManager.persist(pedido);
+                bloco.add(pedido);
+            }
+            // Envia o bloco ao banco e libera o contexto de persistência antes do próximo.
+            entityManager.flush();
+            entityManager.clear();
+            bloco.forEach(pedido -> idsCriados.add(pedido.getId()));
+        }
+        // Os resumos do lote inteiro são consolidados antes de ir ao banco: um UPDATE por bucket, não por pedido.
+        resumoVendasService.aplicar(variacao);
+        return idsCriados;
+    }
 
-        return pedidoRepository.save(novoPedido);
+    /**
+     * Valida um pedido sem gravá-lo: os itens devem ser válidos e os produtos devem existir e ter preço.
+     * Usado pela recepção assíncrona para recusar pedidos inválidos antes de enfileirá-los.
+     * @param pedidoDTO O DTO contendo os IDs dos produtos e/ou os itens com quantidade.
+     * @throws ResourceNotFoundException se algum dos IDs de produto não for encontrado.
+     * @throws BusinessRuleException se o pedido não tiver itens ou algum item for inválido.
+     */
+    @Transactional(readOnly = true)
+    public void validarPedido(PedidoRequestDTO pedidoDTO) {
+        Map<Long, Integer> quantidades = consolidarQuantidades(pedidoDTO.getProdutoIds(), pedidoDTO.getItens());
+        if (quantidades.isEmpty()) {
+            throw new BusinessRuleException("Um pedido deve conter pelo menos um produto.");
+        }
+        buscarPrecos(quantidades.keySet());
     }
 
     /**
-     * Atualiza um pedido existente, modificando sua lista de produtos e/ou data de entrega.
+     * Atualiza um pedido existente, modificando seus itens e/ou data de entrega.
+     * Os itens recebem apenas a diferença para a nova lista: saem os produtos retirados, os mantidos têm a
+     * quantidade ajustada e conservam o preço com que foram vendidos, e os novos entram pelo preço atual.
+     * Quando os itens mudam, os resumos de vendas recebem apenas a diferença entre o estado anterior e o novo.
+     * Uma atualização só da data de entrega é feita com um único UPDATE, sem carregar os itens.
      * @param id O ID do pedido a ser atualizado.
      * @param pedidoDTO O DTO com os dados de atualização.
      * @return O Pedido atualizado.
      */
     @Transactional
     public Pedido atualizarPedido(Long id, PedidoUpdateRequestDTO pedidoDTO) {
-        Pedido pedidoExistente = pedidoRepository.findById(id)
+        return gravarAtualizacao(id, pedidoDTO, null);
+    }
+
+    /**
+     * Atualiza um pedido existente se ele ainda estiver na versão conhecida pelo cliente (If-Match).
+     * O ETag atual é lido depois de carregar o pedido, e a gravação confere a versão carregada (@Version):
+     * uma alteração concorrente entre a verificação e o commit também é recusada.
+     * @param id O ID do pedido a ser atualizado.
+     * @param pedidoDTO O DTO com os dados de atualização.
+     * @param ifMatch O cabeçalho If-Match da requisição, ou null para atualizar incondicionalmente.
+     * @return O pedido atualizado e o seu novo ETag, lido na própria transação de gravação, no primário.
+     * @throws org.example.exception.PreconditionFailedException se o ETag informado não corresponder ao atual.
+     */
+    @Transactional
+    public RepresentacaoDTO<PedidoResponseDTO> atualizarPedido(Long id, PedidoUpdateRequestDTO pedidoDTO, String ifMatch) {
+        Pedido pedidoAtualizado = gravarAtualizacao(id, pedidoDTO, ifMatch);
+        return new RepresentacaoDTO<>(PedidoResponseDTO.fromEntity(pedidoAtualizado), buscarVersao(id).etag());
+    }
+
+    private Pedido gravarAtualizacao(Long id, PedidoUpdateRequestDTO pedidoDTO, String ifMatch) {
+        Map<Long, Integer> quantidades = consolidarQuantidades(pedidoDTO.getProdutoIds(), pedidoDTO.getItens());
+        if (quantidades.isEmpty() && pedidoDTO.getDataEntrega() != null) {
+            atualizarDataEntrega(id, pedidoDTO.getDataEntrega(), ifMatch);
+            return buscarPedidoPorId(id);
+        }
+
+        // Itens, produtos, categorias e fornecedores em uma consulta: as linhas de venda anteriores saem da memória.
+        Pedido pedidoExistente = pedidoRepository.findComItensById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Pedido com ID " + id + " não encontrado"));
+        if (ifMatch != null) {
+            ETagUtil.verificarIfMatch(ifMatch, buscarVersao(id).etag());
+        }
 
-        // Atualiza a lista de produtos se ela for fornecida no DTO
-        if (pedidoDTO.getProdutoIds() != null && !pedidoDTO.getProdutoIds().isEmpty()) {
-            List<Produto> produtos = produtoRepository.findAllById(pedidoDTO.getProdutoIds());
-            if (produtos.size() != pedidoDTO.getProdutoIds().size()) {
-                throw new ResourceNotFoundException("Um ou mais produtos não foram encontrados.");
+        if (!quantidades.isEmpty()) {
+            List<LinhaVendaDTO> linhasAnteriores = linhasDeVenda(pedidoExistente);
+            if (aplicarDiferencaDeItens(pedidoExistente, quantidades)) {
+                resumoVendasService.aplicar(new ResumoVendasService.Variacao()
+                        .removerPedido(pedidoExistente.getData(), linhasAnteriores)
+                        .adicionarPedido(pedidoExistente.getData(), linhasDeVenda(pedidoExistente)));
+                // Os itens ficam na coleção inversa (mappedBy), que não altera a versão do pedido por si só.
+                incrementarVersao(pedidoExistente);
             }
-            // Limpa a lista antiga e adiciona os novos produtos
-            pedidoExistente.getProdutos().clear();
-            produtos.forEach(pedidoExistente::adicionarProduto);
         }
 
         // Atualiza a data de entrega se for fornecida
@@ -90,8 +258,130 @@ public class PedidoService {
         return pedidoRepository.save(pedidoExistente);
     }
 
+    // PESSIMISTIC_FORCE_INCREMENT grava a nova versão na hora, com um UPDATE condicionado à versão carregada, e o
+    // ETag devolvido pela atualização já a inclui; OPTIMISTIC_FORCE_INCREMENT só a gravaria no commit. Uma alteração
+    // concorrente é recusada como seria no commit.
+    private void incrementarVersao(Pedido pedido) {
+        try {
+            entityManager.lock(pedido, LockModeType.PESSIMISTIC_FORCE_INCREMENT);
+        } catch (OptimisticLockException e) {
+            throw new ObjectOptimisticLockingFailureException(Pedido.class, pedido.getId(), e);
+        }
+    }
+
+    // Com If-Match, o UPDATE só vale para a versão conferida: uma alteração concorrente entre a leitura e a
+    // gravação é recusada como na atualização pela entidade.
+    private void atualizarDataEntrega(Long id, LocalDate dataEntrega, String ifMatch) {
+        if (ifMatch == null) {
+            if (pedidoRepository.atualizarDataEntrega(id, dataEntrega) == 0) {
+                throw new ResourceNotFoundException("Pedido com ID " + id + " não encontrado");
+            }
+            return;
+        }
+        VersaoDTO versao = buscarVersao(id);
+        ETagUtil.verificarIfMatch(ifMatch, versao.etag());
+        if (pedidoRepository.atualizarDataEntregaNaVersao(id, versao.versao(), dataEntrega) == 0) {
+            throw new ObjectOptimisticLockingFailureException(Pedido.class, id);
+        }
+    }
+
+    // Remove os itens cujos produtos saíram, ajusta a quantidade dos mantidos e adiciona os novos, de modo que o
+    // Hibernate grave apenas os DELETEs, UPDATEs e INSERTs necessários. Retorna false se nada mudou.
+    private boolean aplicarDiferencaDeItens(Pedido pedido, Map<Long, Integer> quantidades) {
+        Map<Long, Integer> novos = new LinkedHashMap<>(quantidades);
+        boolean alterado = false;
+        for (ItemPedido item : new ArrayList<>(pedido.getItens())) {
+            Integer quantidade = novos.remove(item.getProduto().getId());
+            if (quantidade == null) {
+                pedido.removerItem(item);
+                alterado = true;
+            } else if (!quantidade.equals(item.getQuantidade())) {
+                item.setQuantidade(quantidade);
+                alterado = true;
+            }
+        }
+        if (!novos.isEmpty()) {
+            Map<Long, Produto> produtos = buscarProdutos(novos.keySet());
+            novos.forEach((produtoId, quantidade) -> pedido.adicionarItem(produtos.get(produtoId), quantidade));
+            alterado = true;
+        }
+        return alterado;
+    }
+
+    /**
+     * Confirma a entrega de vários pedidos em uma única transação, sem carregar nenhum pedido.
+     * As confirmações são agrupadas por data e cada grupo é gravado em blocos, com um UPDATE por bloco.
+     * Os IDs inexistentes não interrompem o lote: são procurados, apenas nos blocos em que o UPDATE
+     * atingiu menos pedidos do que o enviado, e devolvidos na resposta.
+     * Se o mesmo ID aparecer mais de uma vez, vale a última data informada.
+     * @param entregas Os pares de ID do pedido e data de entrega.
+     * @return A quantidade de pedidos atualizados e os IDs não encontrados.
+     * @throws BusinessRuleException se o lote estiver vazio, exceder o tamanho máximo ou tiver ID ou data ausente.
+     */
+    @Transactional
+    public EntregaLoteResponseDTO confirmarEntregas(List<EntregaPedidoRequestDTO> entregas) {
+        if (entregas == null || entregas.isEmpty()) {
+            throw new BusinessRuleException("O lote deve conter pelo menos uma entrega.");
+        }
+        if (entregas.size() > TAMANHO_MAXIMO_LOTE) {
+            throw new BusinessRuleException("O lote deve conter no máximo " + TAMANHO_MAXIMO_LOTE + " entregas.");
+        }
+
+        Map<Long, LocalDate> datasPorPedido = new LinkedHashMap<>();
+        for (int i = 0; i < entregas.size(); i++) {
+            EntregaPedidoRequestDTO entrega = entregas.get(i);
+            if (entrega == null || entrega.getId() == null || entrega.getDataEntrega() == null) {
+                throw new BusinessRuleException("A entrega na posição " + i + " deve informar o ID do pedido e a data de entrega.");
+            }
+            datasPorPedido.put(entrega.getId(), entrega.getDataEntrega());
+        }
+        Map<LocalDate, List<Long>> pedidosPorData = datasPorPedido.entrySet().stream()
+                .collect(Collectors.groupingBy(Map.Entry::getValue, LinkedHashMap::new,
+                        Collectors.mapping(Map.Entry::getKey, Collectors.toList())));
+
+        int atualizados = 0;
+        Set<Long> naoEncontrados = new LinkedHashSet<>();
+        for (Map.Entry<LocalDate, List<Long>> grupo : pedidosPorData.entrySet()) {
+            List<Long> ids = grupo.getValue();
+            for (int inicio = 0; inicio < ids.size(); inicio += TAMANHO_BLOCO_ENTREGAS) {
+                List<Long> bloco = ids.subList(inicio, Math.min(inicio + TAMANHO_BLOCO_ENTREGAS, ids.size()));
+                int atualizadosNoBloco = pedidoRepository.atualizarDataEntregaDosPedidos(bloco, grupo.getKey());
+                atualizados += atualizadosNoBloco;
+                if (atualizadosNoBloco < bloco.size()) {
+                    Set<Long> existentes = new LinkedHashSet<>(pedidoRepository.findIdsExistentes(bloco));
+                    bloco.stream().filter(id -> !existentes.contains(id)).forEach(naoEncontrados::add);
+                }
+            }
+        }
+        // Devolve os não encontrados na ordem da requisição, e não na dos grupos de data.
+        List<Long> naoEncontradosNaOrdem = datasPorPedido.keySet().stream().filter(naoEncontrados::contains).toList();
+        return new EntregaLoteResponseDTO(atualizados, naoEncontradosNaOrdem);
+    }
+
+    /**
+     * Move para o arquivo um bloco de pedidos entregues antes da data limite, em uma única transação.
+     * Pedidos e itens são copiados por INSERT ... SELECT e removidos em seguida, sem carregar nenhuma entidade.
+     * Os resumos de vendas não mudam: os pedidos arquivados continuam contados neles.
+     * Como cada bloco é confirmado por si, uma interrupção perde no máximo o bloco em andamento, e a próxima
+     * chamada continua dos pedidos que restaram.
+     * @param limite Os pedidos com data de entrega anterior a esta data são arquivados.
+     * @param tamanhoBloco A quantidade máxima de pedidos movidos.
+     * @return A quantidade de pedidos movidos; menor que tamanhoBloco quando não restam pedidos a arquivar.
+     */
+    @Transactional
+    public int arquivarPedidosEntregues(LocalDate limite, int tamanhoBloco) {
+        List<Long> ids = pedidoRepository.findIdsEntreguesAntesDe(limite, Limit.of(tamanhoBloco));
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        pedidoArquivadoRepository.copiarPedidos(ids);
+        pedidoArquivadoRepository.copiarItens(ids);
+        itemPedidoRepository.excluirItensDosPedidos(ids);
+        return pedidoRepository.excluirPedidos(ids);
+    }
+
     /**
-     * Deleta um pedido do sistema.
+     * Deleta um pedido do sistema, estornando seus valores dos resumos de vendas.
      * @param id O ID do pedido a ser deletado.
      */
     @Transactional
@@ -99,29 +389,263 @@ public class PedidoService {
         Pedido pedido = pedidoRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Pedido com ID " + id + " não encontrado"));
 
-        // Limpa a associação com produtos antes de deletar
-        pedido.getProdutos().forEach(produto -> produto.getPedidos().remove(pedido));
-        pedido.getProdutos().clear();
-
+        resumoVendasService.aplicar(new ResumoVendasService.Variacao()
+                .removerPedido(pedido.getData(), itemPedidoRepository.findLinhasVendaDoPedido(id)));
+        // Os itens são removidos em cascata junto com o pedido.
         pedidoRepository.delete(pedido);
     }
 
     /**
-     * Busca um pedido pelo seu ID.
+     * Busca um pedido pelo seu ID, com os itens e os produtos carregados na mesma consulta.
      * @param id O ID do pedido a ser buscado.
      * @return O Pedido correspondente ao ID fornecido.
      * @throws ResourceNotFoundException se o pedido não for encontrado.
      */
+    @Transactional(readOnly = true)
     public Pedido buscarPedidoPorId(Long id) {
-        return pedidoRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Pedido com ID " + id + " não encontrado"));
+        return buscarPedidoPorId(id, false);
+    }
+
+    /**
+     * Busca um pedido pelo seu ID, procurando também no arquivo se for pedido.
+     * Um pedido arquivado é devolvido reconstruído a partir do arquivo e não deve ser gravado.
+     * @param id O ID do pedido a ser buscado.
+     * @param incluirArquivados Se o pedido deve ser procurado no arquivo quando não estiver entre os ativos.
+     * @return O Pedido correspondente ao ID fornecido.
+     * @throws ResourceNotFoundException se o pedido não for encontrado.
+     */
+    @Transactional(readOnly = true)
+    public Pedido buscarPedidoPorId(Long id, boolean incluirArquivados) {
+        Optional<Pedido> pedido = pedidoRepository.findComItensById(id);
+        if (pedido.isEmpty() && incluirArquivados) {
+            pedido = pedidoArquivadoRepository.findComItensById(id).map(PedidoArquivado::paraPedido);
+        }
+        return pedido.orElseThrow(() -> new ResourceNotFoundException("Pedido com ID " + id + " não encontrado"));
+    }
+
+    /**
+     * Busca a versão de um pedido para montar o seu ETag, sem carregar o pedido nem os itens.
+     * @param id O ID do pedido.
+     * @return A versão do pedido e a soma das versões dos produtos dos seus itens.
+     * @throws ResourceNotFoundException se o pedido não for encontrado.
+     */
+    @Transactional(readOnly = true)
+    public VersaoDTO buscarVersao(Long id) {
+        return buscarVersao(id, false);
+    }
+
+    /**
+     * Busca a versão de um pedido para montar o seu ETag, procurando também no arquivo se for pedido.
+     * @param id O ID do pedido.
+     * @param incluirArquivados Se o pedido deve ser procurado no arquivo quando não estiver entre os ativos.
+     * @return A versão do pedido e a soma das versões dos produtos dos seus itens.
+     * @throws ResourceNotFoundException se o pedido não for encontrado.
+     */
+    @Transactional(readOnly = true)
+    public VersaoDTO buscarVersao(Long id, boolean incluirArquivados) {
+        Optional<VersaoDTO> versao = pedidoRepository.findVersaoById(id);
+        if (versao.isEmpty() && incluirArquivados) {
+            versao = pedidoArquivadoRepository.findVersaoById(id);
+        }
+        return versao.orElseThrow(() -> new ResourceNotFoundException("Pedido com ID " + id + " não encontrado"));
+    }
+
+    /**
+     * Busca um pedido e o seu ETag na mesma transação. As versões são lidas antes do pedido, que assim nunca
+     * é mais antigo que o ETag, mesmo em uma réplica de leitura.
+     * @param id O ID do pedido.
+     * @param incluirArquivados Se o pedido deve ser procurado no arquivo quando não estiver entre os ativos.
+     * @param naoModificado Avalia o ETag atual contra o If-None-Match da requisição; se o aceitar, o pedido
+     *                      e os itens não são carregados.
+     * @return O pedido e o ETag, ou apenas o ETag se o cliente já tiver a versão atual.
+     * @throws ResourceNotFoundException se o pedido não for encontrado.
+     */
+    @Transactional(readOnly = true)
+    public RepresentacaoDTO<PedidoResponseDTO> buscarComVersao(Long id, boolean incluirArquivados, Predicate<String> naoModificado) {
+        String etag = buscarVersao(id, incluirArquivados).etag();
+        if (naoModificado.test(etag)) {
+            return RepresentacaoDTO.naoModificada(etag);
+        }
+        return new RepresentacaoDTO<>(PedidoResponseDTO.fromEntity(buscarPedidoPorId(id, incluirArquivados)), etag);
+    }
+
+    /**
+     * Lista uma página de pedidos usando paginação por cursor (keyset) sobre o ID.
+     * Busca limit + 1 pedidos para saber se existe uma próxima página e, em seguida, os itens
+     * da página em uma única consulta. Ambas são projeções que selecionam apenas as colunas exibidas.
+     * @param after O ID do último pedido da página anterior, ou null para a primeira página.
+     * @param limit A quantidade máxima de pedidos na página.
+     * @return A página de pedidos e o cursor da próxima página.
+     * @throws BusinessRuleException se o limite estiver fora do intervalo permitido.
+     */
+    @Transactional(readOnly = true)
+    public PaginaDTO<PedidoResponseDTO> listarPedidos(Long after, int limit) {
+        PaginacaoUtil.validarLimite(limit);
+        return montarPagina(pedidoRepository.findResumosAposCursor(after == null ? 0L : after, Limit.of(limit + 1)), limit);
+    }
+
+    /**
+     * Lista uma página dos pedidos ainda não entregues (sem data de entrega), a fila de trabalho da expedição.
+     * A consulta usa o índice (data_entrega, id): o custo depende do tamanho da página, não do total de
+     * pedidos. Um pedido sai da fila assim que recebe a data de entrega, sem estado adicional a manter.
+     * @param after O ID do último pedido da página anterior, ou null para a primeira página.
+     * @param limit A quantidade máxima de pedidos na página.
+     * @return A página de pedidos pendentes e o cursor da próxima página.
+     * @throws BusinessRuleException se o limite estiver fora do intervalo permitido.
+     */
+    @Transactional(readOnly = true)
+    public PaginaDTO<PedidoResponseDTO> listarPedidosPendentes(Long after, int limit) {
+        PaginacaoUtil.validarLimite(limit);
+        return montarPagina(pedidoRepository.findResumosPendentesAposCursor(after == null ? 0L : after, Limit.of(limit + 1)), limit);
+    }
+
+    // Recebe até limit + 1 resumos: o excedente indica que existe uma próxima página.
+    private PaginaDTO<PedidoResponseDTO> montarPagina(List<PedidoResumoDTO> resumos, int limit) {
+        boolean existeProximaPagina = resumos.size() > limit;
+        if (existeProximaPagina) {
+            resumos = resumos.subList(0, limit);
+        }
+        if (resumos.isEmpty()) {
+            return new PaginaDTO<>(List.of(), null);
+        }
+
+        List<Long> ids = resumos.stream().map(PedidoResumoDTO::id).collect(Collectors.toList());
+        Map<Long, List<ItemPedidoResponseDTO>> itensPorPedido = pedidoRepository.findItensDosPedidos(ids).stream()
+                .collect(Collectors.groupingBy(ItemPedidoResponseDTO::pedidoId));
+
+        List<PedidoResponseDTO> pedidos = resumos.stream()
+                .map(resumo -> PedidoResponseDTO.of(resumo, itensPorPedido.getOrDefault(resumo.id(), List.of())))
+                .collect(Collectors.toList());
+        Long next = existeProximaPagina ? ids.get(ids.size() - 1) : null;
+        return new PaginaDTO<>(pedidos, next);
     }
 
     /**
-     * Lista todos os pedidos do sistema.
-     * @return Uma lista de Pedidos.
+     * Exporta todos os pedidos, com seus itens, em JSON delimitado por linhas (NDJSON).
+     * Os pedidos são lidos por um cursor do banco e escritos diretamente na saída, um por linha.
+     * Cada pedido é desanexado, com os seus itens, logo após ser escrito, de modo que o consumo de memória não
+     * cresce com o número de pedidos; ficam no contexto apenas os produtos, categorias e fornecedores já lidos.
+     * O contexto não é limpo por inteiro: o cursor do fetch join já pode ter começado a montar o pedido seguinte,
+     * que perderia os itens lidos até ali.
+     * @param saida O stream onde os pedidos serão escritos.
+     * @throws IOException se ocorrer um erro ao escrever na saída.
      */
-    public List<Pedido> listarPedidos() {
-        return pedidoRepository.findAll();
+    @Transactional(readOnly = true)
+    public void exportarPedidos(OutputStream saida) throws IOException {
+        OutputStream buffer = new BufferedOutputStream(saida);
+        try (Stream<Pedido> pedidos = pedidoRepository.streamTodosComItens()) {
+            for (Pedido pedido : (Iterable<Pedido>) pedidos::iterator) {
+                buffer.write(objectMapper.writeValueAsBytes(PedidoResponseDTO.fromEntity(pedido)));
+                buffer.write('\n');
+                entityManager.detach(pedido);
+            }
+        }
+        buffer.flush();
+    }
+
+    /**
+     * Calcula o valor total de um pedido somando seus itens diretamente no banco.
+     * @param id O ID do pedido.
+     * @return O ID do pedido e o seu valor total.
+     * @throws ResourceNotFoundException se o pedido não for encontrado.
+     */
+    @Transactional(readOnly = true)
+    public TotalPedidoDTO calcularTotal(Long id) {
+        if (!pedidoRepository.existsById(id)) {
+            throw new ResourceNotFoundException("Pedido com ID " + id + " não encontrado");
+        }
+        return new TotalPedidoDTO(id, itemPedidoRepository.calcularTotalDoPedido(id));
+    }
+
+    /**
+     * Calcula o faturamento dos pedidos feitos em um intervalo de datas (inclusivo),
+     * usando o preço unitário gravado em cada item.
+     * @param inicio A data inicial do intervalo.
+     * @param fim A data final do intervalo.
+     * @return O intervalo consultado e o faturamento.
+     * @throws BusinessRuleException se a data inicial for posterior à final.
+     */
+    @Transactional(readOnly = true)
+    public FaturamentoDTO calcularFaturamento(LocalDate inicio, LocalDate fim) {
+        return calcularFaturamento(inicio, fim, false);
+    }
+
+    /**
+     * Calcula o faturamento dos pedidos feitos em um intervalo de datas (inclusivo), somando
+     * também os pedidos arquivados se for pedido.
+     * @param inicio A data inicial do intervalo.
+     * @param fim A data final do intervalo.
+     * @param incluirArquivados Se os pedidos arquivados do período devem ser somados.
+     * @return O intervalo consultado e o faturamento.
+     * @throws BusinessRuleException se a data inicial for posterior à final.
+     */
+    @Transactional(readOnly = true)
+    public FaturamentoDTO calcularFaturamento(LocalDate inicio, LocalDate fim, boolean incluirArquivados) {
+        if (inicio.isAfter(fim)) {
+            throw new BusinessRuleException("A data inicial deve ser anterior ou igual à data final.");
+        }
+        double faturamento = itemPedidoRepository.calcularFaturamentoEntreDatas(inicio, fim);
+        if (incluirArquivados) {
+            faturamento += pedidoArquivadoRepository.calcularFaturamentoEntreDatas(inicio, fim);
+        }
+        return new FaturamentoDTO(inicio, fim, faturamento);
+    }
+
+    /**
+     * Consolida os produtos de uma requisição em quantidades por produto, preservando a ordem.
+     * Cada ocorrência em produtoIds conta como uma unidade; os itens somam a quantidade informada.
+     */
+    private Map<Long, Integer> consolidarQuantidades(List<Long> produtoIds, List<ItemPedidoRequestDTO> itens) {
+        Map<Long, Integer> quantidades = new LinkedHashMap<>();
+        if (produtoIds != null) {
+            produtoIds.forEach(produtoId -> quantidades.merge(produtoId, 1, Integer::sum));
+        }
+        if (itens != null) {
+            for (ItemPedidoRequestDTO item : itens) {
+                if (item.getProdutoId() == null || item.getQuantidade() == null || item.getQuantidade() < 1) {
+                    throw new BusinessRuleException("Cada item deve informar o produto e uma quantidade maior que zero.");
+                }
+                quantidades.merge(item.getProdutoId(), item.getQuantidade(), Integer::sum);
+            }
+        }
+        return quantidades;
+    }
+
+    private List<LinhaVendaDTO> linhasDeVenda(Pedido pedido) {
+        return pedido.getItens().stream().map(LinhaVendaDTO::fromEntity).collect(Collectors.toList());
+    }
+
+    // Busca os produtos de uma só vez (pelo cache de segundo nível quando possível), garantindo que todos existam e tenham preço definido.
+    private Map<Long, Produto> buscarProdutos(Collection<Long> ids) {
+        Map<Long, Produto> produtos = produtoRepository.findAllByIdComCache(ids).stream()
+                .collect(Collectors.toMap(Produto::getId, Function.identity()));
+        validarProdutosEncontrados(ids, produtos.keySet());
+        produtos.values().forEach(produto -> validarPreco(produto.getId(), produto.getPreco()));
+        return produtos;
+    }
+
+    // Busca apenas o ID, o preço e as dimensões de venda dos produtos, garantindo que todos existam e tenham preço definido.
+    private Map<Long, ProdutoPrecoDTO> buscarPrecos(Collection<Long> ids) {
+        Map<Long, ProdutoPrecoDTO> produtos = produtoRepository.findPrecosByIdIn(ids).stream()
+                .collect(Collectors.toMap(ProdutoPrecoDTO::id, Function.identity()));
+        validarProdutosEncontrados(ids, produtos.keySet());
+        produtos.values().forEach(produto -> validarPreco(produto.id(), produto.preco()));
+        return produtos;
+    }
+
+    private void validarProdutosEncontrados(Collection<Long> idsSolicitados, Set<Long> idsEncontrados) {
+        if (idsEncontrados.size() != idsSolicitados.size()) {
+            List<Long> idsFaltantes = idsSolicitados.stream()
+                    .filter(id -> !idsEncontrados.contains(id))
+                    .collect(Collectors.toList());
+            throw new ResourceNotFoundException("Produto(s) com ID(s) " + idsFaltantes + " não encontrado(s).");
+        }
+    }
+
+    private Double validarPreco(Long produtoId, Double preco) {
+        if (preco == null) {
+            throw new BusinessRuleException("O produto com ID " + produtoId + " não possui preço definido.");
+        }
+        return preco;
     }
 }
@@ -1,6 +1,17 @@
 package org.example.service;
 
+import org.example.busca.IndiceBuscaProdutos;
+import org.example.dto.ProdutoBuscaDTO;
 import org.example.dto.ProdutoRequestDTO;
+import org.example.dto.ProdutoResponseDTO;
+import org.example.dto.ReajustePrecoRequestDTO;
+import org.example.dto.ReajustePrecoResponseDTO;
+import org.example.dto.RepresentacaoDTO;
+import org.example.dto.VersaoDTO;
+import org.example.event.ProdutoRemovidoEvent;
+import org.example.event.ProdutoSalvoEvent;
+import org.example.event.ProdutosReajustadosEvent;
+import org.example.exception.BusinessRuleException;
 import org.example.exception.ResourceNotFoundException;
 import org.example.model.Categoria;
 import org.example.model.Fornecedor;
@@ -8,21 +19,30 @@ import org.example.model.Produto;
 import org.example.repository.CategoriaRepository;
 import org.example.repository.FornecedorRepository;
 import org.example.repository.ProdutoRepository;
+import org.example.util.ETagUtil;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.function.Predicate;
 
 @Service
 public class ProdutoService {
 
+    public static final int LIMITE_MAXIMO_BUSCA = 100;
+
     @Autowired
     private ProdutoRepository produtoRepository;
     @Autowired
     private CategoriaRepository categoriaRepository;
     @Autowired
     private FornecedorRepository fornecedorRepository;
+    @Autowired
+    private IndiceBuscaProdutos indiceBuscaProdutos;
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public Produto criarProduto(ProdutoRequestDTO produtoDTO) {
@@ -35,12 +55,33 @@ public class ProdutoService {
         novoProduto.setCategoria(categoria);
         novoProduto.setFornecedor(fornecedor);
 
-        return produtoRepository.save(novoProduto);
+        Produto produtoSalvo = produtoRepository.save(novoProduto);
+        eventPublisher.publishEvent(new ProdutoSalvoEvent(ProdutoResponseDTO.fromEntity(produtoSalvo), produtoSalvo.getVersao()));
+        return produtoSalvo;
     }
 
     @Transactional
     public Produto atualizarProduto(Long id, ProdutoRequestDTO produtoDTO) {
+        return gravarAtualizacao(id, produtoDTO, null);
+    }
+
+    /**
+     * Atualiza o produto se ele ainda estiver na versão conhecida pelo cliente (If-Match; null para não verificar).
+     * @return O produto atualizado e o seu novo ETag, lido na própria transação de gravação, depois do flush
+     *         que incrementa a versão.
+     * @throws org.example.exception.PreconditionFailedException se o ETag informado não corresponder ao atual.
+     */
+    @Transactional
+    public RepresentacaoDTO<ProdutoResponseDTO> atualizarProduto(Long id, ProdutoRequestDTO produtoDTO, String ifMatch) {
+        Produto produtoSalvo = gravarAtualizacao(id, produtoDTO, ifMatch);
+        return new RepresentacaoDTO<>(ProdutoResponseDTO.fromEntity(produtoSalvo), buscarVersao(id).etag());
+    }
+
+    private Produto gravarAtualizacao(Long id, ProdutoRequestDTO produtoDTO, String ifMatch) {
         Produto produtoExistente = buscarPorId(id);
+        if (ifMatch != null) {
+            ETagUtil.verificarIfMatch(ifMatch, buscarVersao(id).etag());
+        }
 
         produtoExistente.setNome(produtoDTO.getNome());
         produtoExistente.setPreco(produtoDTO.getPreco());
@@ -57,18 +98,112 @@ public class ProdutoService {
             produtoExistente.setFornecedor(fornecedor);
         }
 
-        return produtoRepository.save(produtoExistente);
+        // O flush incrementa a versão, que segue no evento para os índices em memória.
+        Produto produtoSalvo = produtoRepository.saveAndFlush(produtoExistente);
+        eventPublisher.publishEvent(new ProdutoSalvoEvent(ProdutoResponseDTO.fromEntity(produtoSalvo), produtoSalvo.getVersao()));
+        return produtoSalvo;
     }
 
     @Transactional
     public void deletarProduto(Long id) {
         Produto produto = buscarPorId(id);
         produtoRepository.delete(produto);
+        eventPublisher.publishEvent(new ProdutoRemovidoEvent(id));
     }
 
+    /**
+     * Reajusta o preço de todos os produtos de uma categoria e/ou de um fornecedor com um único UPDATE,
+     * sem carregar os produtos. O novo preço é arredondado para centavos e a versão de cada produto é
+     * incrementada, o que muda o seu ETag e o dos pedidos que o contêm. Produtos sem preço não são alterados.
+     * <p>
+     * O UPDATE em massa faz o Hibernate invalidar a região de Produto do cache de segundo nível; os índices
+     * em memória recebem os novos preços após o commit, pelo {@link ProdutosReajustadosEvent}.
+     * @param reajusteDTO O filtro (categoria e/ou fornecedor) e o reajuste (percentual ou valor absoluto).
+     * @return A quantidade de produtos reajustados.
+     * @throws BusinessRuleException se faltar o filtro, se o reajuste não for exatamente um entre percentual e valor,
+     *         se o percentual zerar os preços ou se algum preço ficar negativo.
+     * @throws ResourceNotFoundException se a categoria ou o fornecedor não existir.
+     */
+    @Transactional
+    public ReajustePrecoResponseDTO reajustarPrecos(ReajustePrecoRequestDTO reajusteDTO) {
+        Long categoriaId = reajusteDTO.getCategoriaId();
+        Long fornecedorId = reajusteDTO.getFornecedorId();
+        if (categoriaId == null && fornecedorId == null) {
+            throw new BusinessRuleException("Informe a categoria e/ou o fornecedor dos produtos a reajustar.");
+        }
+        if ((reajusteDTO.getPercentual() == null) == (reajusteDTO.getValor() == null)) {
+            throw new BusinessRuleException("Informe o reajuste em percentual ou em valor, mas não ambos.");
+        }
+        if (reajusteDTO.getPercentual() != null && reajusteDTO.getPercentual() <= -100) {
+            throw new BusinessRuleException("O percentual de reajuste deve ser maior que -100.");
+        }
+        if (categoriaId != null && !categoriaRepository.existsById(categoriaId)) {
+            throw new ResourceNotFoundException("Categoria com ID " + categoriaId + " não encontrada");
+        }
+        if (fornecedorId != null && !fornecedorRepository.existsById(fornecedorId)) {
+            throw new ResourceNotFoundException("Fornecedor com ID " + fornecedorId + " não encontrado");
+        }
+
+        double fator = reajusteDTO.getPercentual() != null ? 1 + reajusteDTO.getPercentual() / 100 : 1;
+        double acrescimo = reajusteDTO.getValor() != null ? reajusteDTO.getValor() : 0;
+        // Só uma redução em valor absoluto pode tornar um preço negativo.
+        if (acrescimo < 0) {
+            long negativos = produtoRepository.contarComPrecoNegativoAposReajuste(categoriaId, fornecedorId, fator, acrescimo);
+            if (negativos > 0) {
+                throw new BusinessRuleException("O reajuste deixaria " + negativos + " produto(s) com preço negativo.");
+            }
+        }
+
+        int atualizados = produtoRepository.reajustarPrecos(categoriaId, fornecedorId, fator, acrescimo);
+        if (atualizados > 0) {
+            eventPublisher.publishEvent(new ProdutosReajustadosEvent(produtoRepository.findProjetadosComPreco(categoriaId, fornecedorId),
+                    produtoRepository.findVersoesComPreco(categoriaId, fornecedorId)));
+        }
+        return new ReajustePrecoResponseDTO(atualizados);
+    }
+
+    @Transactional(readOnly = true)
+    public List<ProdutoResponseDTO> listarTodos() {
+        return produtoRepository.findAllProjetados();
+    }
+
+    /**
+     * Busca produtos pelo nome ou pela categoria no índice de trigramas em memória, sem acessar o banco.
+     * @param termo O texto buscado (acentos, maiúsculas e plurais simples são ignorados).
+     * @param limite A quantidade máxima de resultados.
+     * @return Os produtos encontrados, ordenados por relevância.
+     * @throws BusinessRuleException se o termo for muito curto ou o limite estiver fora do intervalo permitido.
+     */
+    public List<ProdutoBuscaDTO> buscar(String termo, int limite) {
+        if (limite < 1 || limite > LIMITE_MAXIMO_BUSCA) {
+            throw new BusinessRuleException("O limite deve estar entre 1 e " + LIMITE_MAXIMO_BUSCA + ".");
+        }
+        if (termo == null || termo.strip().length() < IndiceBuscaProdutos.TAMANHO_MINIMO_TERMO) {
+            throw new BusinessRuleException("O termo de busca deve ter pelo menos "
+                    + IndiceBuscaProdutos.TAMANHO_MINIMO_TERMO + " caracteres.");
+        }
+        return indiceBuscaProdutos.buscar(termo, limite);
+    }
+
+    // Versão do produto para o ETag, lida sem carregar a entidade.
+    @Transactional(readOnly = true)
+    public VersaoDTO buscarVersao(Long id) {
+        return produtoRepository.findVersaoById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Produto com ID " + id + " não encontrado"));
+    }
+
+    /**
+     * Busca o produto e o seu ETag na mesma transação.
+     * @param naoModificado Avalia o ETag atual contra o If-None-Match da requisição; se o aceitar, o produto não é carregado.
+     * @return O produto e o ETag, ou apenas o ETag se o cliente já tiver a versão atual.
+     */
     @Transactional(readOnly = true)
-    public List<Produto> listarTodos() {
-        return produtoRepository.findAll();
+    public RepresentacaoDTO<ProdutoResponseDTO> buscarComVersao(Long id, Predicate<String> naoModificado) {
+        String etag = buscarVersao(id).etag();
+        if (naoModificado.test(etag)) {
+            return RepresentacaoDTO.naoModificada(etag);
+        }
+        return new RepresentacaoDTO<>(ProdutoResponseDTO.fromEntity(buscarPorId(id)), etag);
     }
 
     @Transactional(readOnly = true)
@@ -0,0 +1,238 @@
+package org.example.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.example.dto.PedidoRequestDTO;
+import org.example.dto.TicketPedidoDTO;
+import org.example.exception.CapacityExceededException;
+import org.example.exception.ResourceNotFoundException;
+import org.example.model.Pedido;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Recepção assíncrona de pedidos, para picos de demanda em que um commit por pedido limita a vazão.
+ * <p>
+ * O pedido é validado na requisição e colocado em um buffer circular limitado; o cliente recebe um
+ * ticket imediatamente. Uma única thread gravadora esvazia o buffer e grava os pedidos em grupos de até
+ * {@code tamanho-grupo} pedidos, ou com o que tiver chegado em {@code intervalo-ms} desde o primeiro,
+ * em uma transação por grupo (PedidoService.criarPedidosEmLote). Se o grupo falhar, por exemplo porque
+ * um produto foi removido depois da validação, os pedidos são regravados um a um, para que apenas os
+ * inválidos falhem. Com o buffer cheio, novos pedidos são recusados (HTTP 429).
+ * <p>
+ * Os pedidos aceitos e ainda não gravados ficam apenas em memória: no encerramento normal a fila é
+ * esvaziada, mas uma queda do processo os perde. Por isso o modo é opcional e fica desligado por padrão
+ * ({@code pedidos.recepcao-assincrona.habilitada}).
+ * <p>
+ * Os tickets finalizados ficam consultáveis por {@code retencao-segundos}, limitados aos
+ * {@code maximo-finalizados} mais recentes: acima do limite, os mais antigos são descartados antes do prazo.
+ * Com os pendentes limitados pela capacidade da fila, o mapa de tickets nunca passa da soma dos dois limites.
+ */
+@Service
+@ConditionalOnProperty(name = "pedidos.recepcao-assincrona.habilitada", havingValue = "true")
+public class RecepcaoPedidosService {
+
+    private static final Logger log = LoggerFactory.getLogger(RecepcaoPedidosService.class);
+
+    // Espera máxima da thread gravadora com a fila vazia, para expirar tickets e perceber o encerramento.
+    private static final long ESPERA_OCIOSA_MS = 200;
+
+    private static final long ESPERA_ENCERRAMENTO_MS = 30_000;
+
+    @Autowired
+    private PedidoService pedidoService;
+
+    @Value("${pedidos.recepcao-assincrona.capacidade:10000}")
+    private int capacidade;
+
+    @Value("${pedidos.recepcao-assincrona.tamanho-grupo:200}")
+    private int tamanhoGrupo;
+
+    @Value("${pedidos.recepcao-assincrona.intervalo-ms:20}")
+    private long intervaloMs;
+
+    @Value("${pedidos.recepcao-assincrona.retencao-segundos:600}")
+    private long retencaoSegundos;
+
+    @Value("${pedidos.recepcao-assincrona.maximo-finalizados:50000}")
+    private int maximoFinalizados;
+
+    private BlockingQueue<Solicitacao> fila;
+    private final Map<UUID, TicketPedidoDTO> tickets = new ConcurrentHashMap<>();
+
+    // Tickets finalizados, na ordem de finalização, para expirá-los sem percorrer o mapa inteiro.
+    private final Queue<Finalizado> finalizados = new ConcurrentLinkedQueue<>();
+    // Tamanho da fila de finalizados (size() a percorreria); alterado apenas pela thread gravadora.
+    private int quantidadeFinalizados;
+
+    private volatile boolean executando;
+    private Thread gravadora;
+
+    private record Solicitacao(UUID ticket, PedidoRequestDTO pedido) {
+    }
+
+    private record Finalizado(UUID ticket, long instante) {
+    }
+
+    @PostConstruct
+    public void iniciar() {
+        if (capacidade < 1 || tamanhoGrupo < 1 || tamanhoGrupo > PedidoService.TAMANHO_MAXIMO_LOTE || intervaloMs < 0
+                || maximoFinalizados < 1) {
+            throw new IllegalStateException("Configuração inválida da recepção assíncrona de pedidos: capacidade="
+                    + capacidade + ", tamanho-grupo=" + tamanhoGrupo + ", intervalo-ms=" + intervaloMs
+                    + ", maximo-finalizados=" + maximoFinalizados);
+        }
+        // ArrayBlockingQueue é um buffer circular de tamanho fixo, alocado uma única vez.
+        fila = new ArrayBlockingQueue<>(capacidade);
+        executando = true;
+        gravadora = new Thread(this::executar, "recepcao-pedidos");
+        gravadora.setDaemon(true);
+        gravadora.start();
+    }
+
+    /**
+     * Interrompe a recepção e aguarda a gravação dos pedidos que ainda estão na fila.
+     */
+    @PreDestroy
+    public void encerrar() throws InterruptedException {
+        executando = false;
+        if (gravadora != null) {
+            gravadora.join(ESPERA_ENCERRAMENTO_MS);
+        }
+    }
+
+    /**
+     * Valida o pedido e o coloca na fila de gravação.
+     * @param pedidoDTO O DTO contendo os IDs dos produtos e/ou os itens com quantidade.
+     * @return O ticket do pedido, na situação PENDENTE.
+     * @throws ResourceNotFoundException se algum dos IDs de produto não for encontrado.
+     * @throws org.example.exception.BusinessRuleException se o pedido não tiver itens ou algum item for inválido.
+     * @throws CapacityExceededException se a fila estiver cheia.
+     */
+    public TicketPedidoDTO enfileirar(PedidoRequestDTO pedidoDTO) {
+        pedidoService.validarPedido(pedidoDTO);
+
+        TicketPedidoDTO ticket = TicketPedidoDTO.pendente(UUID.randomUUID());
+        // O ticket é registrado antes da oferta: a gravadora pode concluí-lo antes de offer retornar.
+        tickets.put(ticket.ticket(), ticket);
+        if (!executando || !fila.offer(new Solicitacao(ticket.ticket(), pedidoDTO))) {
+            tickets.remove(ticket.ticket());
+            throw new CapacityExceededException("A fila de pedidos está cheia. Tente novamente em instantes.");
+        }
+        return ticket;
+    }
+
+    /**
+     * Consulta a situação de um pedido recebido de forma assíncrona.
+     * @param ticket O ticket devolvido na recepção.
+     * @return A situação atual do ticket.
+     * @throws ResourceNotFoundException se o ticket não existir ou já tiver expirado.
+     */
+    public TicketPedidoDTO consultar(UUID ticket) {
+        TicketPedidoDTO situacao = tickets.get(ticket);
+        if (situacao == null) {
+            throw new ResourceNotFoundException("Ticket " + ticket + " não encontrado ou expirado.");
+        }
+        return situacao;
+    }
+
+    private void executar() {
+        List<Solicitacao> grupo = new ArrayList<>(tamanhoGrupo);
+        while (executando || !fila.isEmpty()) {
+            try {
+                if (coletarGrupo(grupo)) {
+                    gravar(grupo);
+                }
+                expirarTickets();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                // Um erro inesperado não pode encerrar a thread gravadora.
+                log.error("Erro inesperado na gravação de pedidos recebidos de forma assíncrona", e);
+            } finally {
+                grupo.clear();
+            }
+        }
+    }
+
+    // Aguarda o primeiro pedido e junta os que chegarem até completar o grupo ou vencer o intervalo.
+    private boolean coletarGrupo(List<Solicitacao> grupo) throws InterruptedException {
+        Solicitacao primeira = fila.poll(ESPERA_OCIOSA_MS, TimeUnit.MILLISECONDS);
+        if (primeira == null) {
+            return false;
+        }
+        grupo.add(primeira);
+        long prazo = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(intervaloMs);
+        while (grupo.size() < tamanhoGrupo) {
+            fila.drainTo(grupo, tamanhoGrupo - grupo.size());
+            long restante = prazo - System.nanoTime();
+            if (grupo.size() >= tamanhoGrupo || restante <= 0) {
+                break;
+            }
+            Solicitacao proxima = fila.poll(restante, TimeUnit.NANOSECONDS);
+            if (proxima == null) {
+                break;
+            }
+            grupo.add(proxima);
+        }
+        return true;
+    }
+
+    private void gravar(List<Solicitacao> grupo) {
+        try {
+            List<Long> ids = pedidoService.criarPedidosEmLote(grupo.stream().map(Solicitacao::pedido).toList());
+            for (int i = 0; i < grupo.size(); i++) {
+                finalizar(TicketPedidoDTO.concluido(grupo.get(i).ticket(), ids.get(i)));
+            }
+        } catch (RuntimeException falhaDoGrupo) {
+            // Um pedido inválido derruba a transação do grupo inteiro; regrava um a um para isolá-lo.
+            for (Solicitacao solicitacao : grupo) {
+                try {
+                    Pedido pedido = pedidoService.criarPedido(solicitacao.pedido());
+                    finalizar(TicketPedidoDTO.concluido(solicitacao.ticket(), pedido.getId()));
+                } catch (RuntimeException e) {
+                    finalizar(TicketPedidoDTO.falhou(solicitacao.ticket(), e.getMessage()));
+                }
+            }
+        }
+    }
+
+    private void finalizar(TicketPedidoDTO ticket) {
+        tickets.put(ticket.ticket(), ticket);
+        finalizados.add(new Finalizado(ticket.ticket(), System.nanoTime()));
+        quantidadeFinalizados++;
+        while (quantidadeFinalizados > maximoFinalizados) {
+            descartarMaisAntigo();
+        }
+    }
+
+    private void expirarTickets() {
+        long limite = System.nanoTime() - Duration.ofSeconds(retencaoSegundos).toNanos();
+        Finalizado maisAntigo;
+        while ((maisAntigo = finalizados.peek()) != null && maisAntigo.instante() - limite < 0) {
+            descartarMaisAntigo();
+        }
+    }
+
+    private void descartarMaisAntigo() {
+        tickets.remove(finalizados.poll().ticket());
+        quantidadeFinalizados--;
+    }
+}
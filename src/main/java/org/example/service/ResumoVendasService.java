@@ -0,0 +1,149 @@
+package org.example.service;
+
+import org.example.dto.LinhaVendaDTO;
+import org.example.dto.ResumoVendaDTO;
+import org.example.exception.BusinessRuleException;
+import org.example.model.DimensaoVenda;
+import org.example.model.ResumoVendaDiaria;
+import org.example.repository.ResumoVendaDiariaRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Camada de serviço dos resumos de vendas por categoria, fornecedor e dia.
+ * Os contadores são atualizados de forma incremental pelo PedidoService, dentro da transação
+ * que altera o pedido, e lidos pelo painel sem varrer pedidos ou itens.
+ */
+@Service
+public class ResumoVendasService {
+
+    public static final int MAXIMO_DIAS_PERIODO = 366;
+
+    private static final Comparator<Chave> ORDEM_DOS_BUCKETS = Comparator.comparing(Chave::dimensao)
+            .thenComparing(Chave::dia).thenComparing(Chave::referenciaId);
+
+    @Autowired
+    private ResumoVendaDiariaRepository resumoVendaDiariaRepository;
+
+    /**
+     * Aplica as variações acumuladas aos contadores, um upsert atômico por bucket afetado, que cria os
+     * buckets inexistentes. Deve ser chamado dentro da transação que altera os pedidos, para que os resumos
+     * nunca divirjam dos dados de origem. Os buckets são gravados sempre na mesma ordem, para que transações
+     * concorrentes os bloqueiem na mesma sequência e não entrem em deadlock.
+     * @param variacao As variações acumuladas dos pedidos criados, alterados ou removidos.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void aplicar(Variacao variacao) {
+        variacao.buckets.entrySet().stream().sorted(Map.Entry.comparingByKey(ORDEM_DOS_BUCKETS)).forEach(bucket -> {
+            Chave chave = bucket.getKey();
+            Delta delta = bucket.getValue();
+            if (delta.faturamento.signum() == 0 && delta.pedidos == 0 && delta.itens == 0) {
+                return;
+            }
+            resumoVendaDiariaRepository.somar(chave.dimensao(), chave.dia(), chave.referenciaId(),
+                    delta.faturamento, delta.pedidos, delta.itens);
+        });
+    }
+
+    /**
+     * Lista os buckets de vendas de uma dimensão em um intervalo de datas (inclusivo).
+     * @param dimensao A dimensão consultada (categoria ou fornecedor).
+     * @param inicio A data inicial do intervalo.
+     * @param fim A data final do intervalo.
+     * @return Um resumo por dia e por categoria/fornecedor com vendas no período.
+     * @throws BusinessRuleException se o intervalo for inválido ou exceder o tamanho máximo.
+     */
+    @Transactional(readOnly = true)
+    public List<ResumoVendaDTO> listarResumos(DimensaoVenda dimensao, LocalDate inicio, LocalDate fim) {
+        if (inicio.isAfter(fim)) {
+            throw new BusinessRuleException("A data inicial deve ser anterior ou igual à data final.");
+        }
+        if (ChronoUnit.DAYS.between(inicio, fim) >= MAXIMO_DIAS_PERIODO) {
+            throw new BusinessRuleException("O período deve ter no máximo " + MAXIMO_DIAS_PERIODO + " dias.");
+        }
+        return dimensao == DimensaoVenda.CATEGORIA
+                ? resumoVendaDiariaRepository.findResumosPorCategoria(inicio, fim)
+                : resumoVendaDiariaRepository.findResumosPorFornecedor(inicio, fim);
+    }
+
+    /**
+     * Acumula, em memória, as variações de faturamento e de contagens por bucket.
+     * Um pedido conta uma vez em cada categoria e fornecedor presentes em seus itens; registrar o
+     * estado anterior de um pedido com sinal negativo e o novo com sinal positivo produz apenas a diferença.
+     * O faturamento de cada pedido é arredondado para centavos antes de entrar no bucket: um lote de pedidos
+     * soma exatamente o que os estornos de cada pedido, um a um, subtraem depois.
+     */
+    public static class Variacao {
+
+        private final Map<Chave, Delta> buckets = new LinkedHashMap<>();
+
+        public Variacao adicionarPedido(LocalDate dia, Collection<LinhaVendaDTO> linhas) {
+            return registrar(dia, linhas, 1);
+        }
+
+        public Variacao removerPedido(LocalDate dia, Collection<LinhaVendaDTO> linhas) {
+            return registrar(dia, linhas, -1);
+        }
+
+        private Variacao registrar(LocalDate dia, Collection<LinhaVendaDTO> linhas, int sinal) {
+            Map<Chave, DoPedido> doPedido = new LinkedHashMap<>();
+            for (LinhaVendaDTO linha : linhas) {
+                double subtotal = linha.quantidade() * linha.precoUnitario();
+                doPedido.computeIfAbsent(new Chave(DimensaoVenda.CATEGORIA, dia, referencia(linha.categoriaId())), chave -> new DoPedido())
+                        .somar(subtotal, linha.quantidade());
+                doPedido.computeIfAbsent(new Chave(DimensaoVenda.FORNECEDOR, dia, referencia(linha.fornecedorId())), chave -> new DoPedido())
+                        .somar(subtotal, linha.quantidade());
+            }
+            doPedido.forEach((chave, pedido) -> {
+                BigDecimal faturamento = BigDecimal.valueOf(pedido.faturamento).setScale(2, RoundingMode.HALF_UP);
+                buckets.computeIfAbsent(chave, c -> new Delta()).somar(
+                        sinal > 0 ? faturamento : faturamento.negate(), sinal, (long) sinal * pedido.itens);
+            });
+            return this;
+        }
+
+        private static Long referencia(Long id) {
+            return id != null ? id : ResumoVendaDiaria.SEM_REFERENCIA;
+        }
+    }
+
+    private record Chave(DimensaoVenda dimensao, LocalDate dia, Long referenciaId) {
+    }
+
+    // Subtotal de um pedido em um bucket, ainda sem arredondamento.
+    private static class DoPedido {
+
+        private double faturamento;
+        private long itens;
+
+        private void somar(double faturamento, long itens) {
+            this.faturamento += faturamento;
+            this.itens += itens;
+        }
+    }
+
+    private static class Delta {
+
+        private BigDecimal faturamento = BigDecimal.ZERO.setScale(2);
+        private long pedidos;
+        private long itens;
+
+        private void somar(BigDecimal faturamento, long pedidos, long itens) {
+            this.faturamento = this.faturamento.add(faturamento);
+            this.pedidos += pedidos;
+            this.itens += itens;
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package org.example.util;
+
+import org.example.exception.PreconditionFailedException;
+
+/**
+ * Comparação de ETags para requisições condicionais com If-Match.
+ * O If-None-Match das leituras é tratado pelo próprio Spring (WebRequest.checkNotModified).
+ */
+public class ETagUtil {
+
+    private static final String PREFIXO_FRACO = "W/";
+
+    /**
+     * Verifica o cabeçalho If-Match contra o ETag atual do recurso.
+     * A comparação é forte: ETags fracos nunca correspondem. "*" corresponde a qualquer recurso existente.
+     * @param ifMatch O valor do cabeçalho If-Match, ou null se não foi enviado.
+     * @param etagAtual O ETag atual do recurso.
+     * @throws PreconditionFailedException se nenhum dos ETags informados corresponder ao atual.
+     */
+    public static void verificarIfMatch(String ifMatch, String etagAtual) {
+        if (ifMatch == null || ifMatch.isBlank()) {
+            return;
+        }
+        for (String etag : ifMatch.split(",")) {
+            String candidato = etag.strip();
+            if (candidato.equals("*") || (!candidato.startsWith(PREFIXO_FRACO) && candidato.equals(etagAtual))) {
+                return;
+            }
+        }
+        throw new PreconditionFailedException("O recurso foi alterado desde a última leitura. ETag atual: " + etagAtual);
+    }
+}
@@ -1,24 +1,58 @@
 package org.example.util;
 
 import java.text.Normalizer;
+import java.util.regex.Pattern;
 
 public class NormalizadorUtil {
 
+    private static final Pattern DIACRITICOS = Pattern.compile("\\p{InCombiningDiacriticalMarks}+");
+    private static final Pattern SEPARADORES = Pattern.compile("[^\\p{Alnum}]+");
+
     public static String normalizar(String texto) {
         if (texto == null) {
             return null;
         }
+        return removerPlural(removerAcentosEMaiusculas(texto));
+    }
+
+    /**
+     * Aplica as mesmas regras de normalizar() a cada palavra do texto, separando-as por um único espaço.
+     * Pontuação e outros caracteres não alfanuméricos são tratados como separadores.
+     */
+    public static String normalizarPalavras(String texto) {
+        if (texto == null) {
+            return null;
+        }
+        StringBuilder resultado = new StringBuilder(texto.length());
+        for (String palavra : SEPARADORES.split(removerAcentosEMaiusculas(texto))) {
+            if (palavra.isEmpty()) {
+                continue;
+            }
+            String semPlural = removerPlural(palavra);
+            if (!semPlural.isEmpty()) {
+                if (resultado.length() > 0) {
+                    resultado.append(' ');
+                }
+                resultado.append(semPlural);
+            }
+        }
+        return resultado.toString();
+    }
+
+    private static String removerAcentosEMaiusculas(String texto) {
         // 1. Normaliza para decompor os acentos
         String textoNormalizado = Normalizer.normalize(texto, Normalizer.Form.NFD);
         // 2. Remove os acentos (diacríticos)
-        textoNormalizado = textoNormalizado.replaceAll("\\p{InCombiningDiacriticalMarks}+", "");
+        textoNormalizado = DIACRITICOS.matcher(textoNormalizado).replaceAll("");
         // 3. Converte para minúsculas
-        textoNormalizado = textoNormalizado.toLowerCase();
+        return textoNormalizado.toLowerCase();
+    }
+
+    private static String removerPlural(String texto) {
         // 4. Remove 's' do final para tratar plurais simples
-        if (textoNormalizado.endsWith("s")) {
-            textoNormalizado = textoNormalizado.substring(0, textoNormalizado.length() - 1);
+        if (texto.endsWith("s")) {
+            return texto.substring(0, texto.length() - 1);
         }
-        return textoNormalizado;
+        return texto;
     }
 }
-
@@ -0,0 +1,22 @@
+package org.example.util;
+
+import org.example.exception.BusinessRuleException;
+
+/**
+ * Regras comuns às listagens paginadas por cursor (keyset), que devolvem um PaginaDTO.
+ */
+public class PaginacaoUtil {
+
+    public static final int LIMITE_MAXIMO_PAGINA = 500;
+
+    /**
+     * Valida o tamanho de página pedido pelo cliente.
+     * @param limit A quantidade máxima de itens na página.
+     * @throws BusinessRuleException se o limite estiver fora do intervalo permitido.
+     */
+    public static void validarLimite(int limit) {
+        if (limit < 1 || limit > LIMITE_MAXIMO_PAGINA) {
+            throw new BusinessRuleException("O limite deve estar entre 1 e " + LIMITE_MAXIMO_PAGINA + ".");
+        }
+    }
+}
@@ -0,0 +1,77 @@
+-- Leva ao esquema de V1 um banco criado pelo hibernate.ddl-auto=update antes das migrações. Esses bancos são
+-- marcados com a versão 1 (spring.flyway.baseline-on-migrate) sem executar V1, e podem ter parado em qualquer
+-- versão das entidades: sem versao, com pedido.id IDENTITY, com a tabela pedido_produto da antiga relação
+-- muitos-para-muitos (só pedido_id e produto_id) e sem resumo_venda_diaria. Todos os comandos são condicionais:
+-- em um banco criado por V1, nada muda. Os bancos legados existem apenas no PostgreSQL, daí a pasta.
+
+-- Controle otimista: V3 preenche as linhas existentes.
+alter table categoria add column if not exists versao bigint;
+alter table fornecedor add column if not exists versao bigint;
+alter table produto add column if not exists versao bigint;
+alter table pedido add column if not exists versao bigint;
+
+-- Pedidos e itens recebem o ID de sequências (V1_2 as posiciona após os IDs existentes).
+alter table pedido alter column id drop identity if exists;
+create sequence if not exists pedido_seq start with 1 increment by 50;
+create sequence if not exists item_pedido_seq start with 1 increment by 50;
+
+-- Itens: cada linha da relação antiga era uma unidade do produto no pedido. As repetições viram um único item
+-- com a quantidade correspondente, como a aplicação grava hoje, e o preço unitário é o preço atual do produto,
+-- o único conhecido.
+alter table pedido_produto add column if not exists id bigint;
+alter table pedido_produto add column if not exists quantidade integer;
+alter table pedido_produto add column if not exists preco_unitario float(53);
+
+insert into pedido_produto (id, pedido_id, produto_id, quantidade, preco_unitario)
+select row_number() over (order by pp.pedido_id, pp.produto_id), pp.pedido_id, pp.produto_id, count(*),
+       coalesce(max(p.valor), 0)
+from pedido_produto pp
+join produto p on p.id = pp.produto_id
+where pp.id is null
+group by pp.pedido_id, pp.produto_id;
+
+delete from pedido_produto where id is null;
+
+alter table pedido_produto alter column id set not null;
+alter table pedido_produto alter column quantidade set not null;
+alter table pedido_produto alter column preco_unitario set not null;
+alter table pedido_produto drop constraint if exists pedido_produto_pkey;
+alter table pedido_produto add constraint pedido_produto_pkey primary key (id);
+
+create table if not exists resumo_venda_diaria (
+    id bigint generated by default as identity,
+    dimensao varchar(20) not null check (dimensao in ('CATEGORIA', 'FORNECEDOR')),
+    referencia_id bigint not null,
+    dia date not null,
+    faturamento numeric(19, 2) not null,
+    quantidade_pedidos bigint not null,
+    quantidade_itens bigint not null,
+    primary key (id),
+    constraint uk_resumo_venda_diaria unique (dimensao, dia, referencia_id)
+);
+
+-- Os resumos são refeitos a partir dos itens, com as regras do ResumoVendasService: um pedido conta uma vez por
+-- categoria e fornecedor, com o faturamento arredondado por pedido, e a referência 0 reúne os produtos sem
+-- categoria ou fornecedor. Pedidos anteriores aos resumos ficam contabilizados e podem ser estornados.
+delete from resumo_venda_diaria;
+
+insert into resumo_venda_diaria (dimensao, referencia_id, dia, faturamento, quantidade_pedidos, quantidade_itens)
+select dimensao, referencia_id, dia, sum(faturamento), count(*), sum(itens)
+from (
+    select 'CATEGORIA' as dimensao, coalesce(p.categoria_id, 0) as referencia_id, pe.data as dia, pe.id,
+           round(cast(sum(i.quantidade * i.preco_unitario) as numeric), 2) as faturamento, sum(i.quantidade) as itens
+    from pedido_produto i
+    join pedido pe on pe.id = i.pedido_id
+    join produto p on p.id = i.produto_id
+    where pe.data is not null
+    group by coalesce(p.categoria_id, 0), pe.data, pe.id
+    union all
+    select 'FORNECEDOR', coalesce(p.fornecedor_id, 0), pe.data, pe.id,
+           round(cast(sum(i.quantidade * i.preco_unitario) as numeric), 2), sum(i.quantidade)
+    from pedido_produto i
+    join pedido pe on pe.id = i.pedido_id
+    join produto p on p.id = i.produto_id
+    where pe.data is not null
+    group by coalesce(p.fornecedor_id, 0), pe.data, pe.id
+) por_pedido
+group by dimensao, referencia_id, dia;
@@ -0,0 +1,5 @@
+-- As sequências de pedidos e itens começam após o maior ID já gravado, como em V6_1: em um banco legado, os
+-- pedidos vieram da coluna IDENTITY e as sequências criadas pelo ddl-auto=update começavam em 1.
+
+select setval('pedido_seq', (select coalesce(max(id), 0) from pedido) + 50, false);
+select setval('item_pedido_seq', (select coalesce(max(id), 0) from pedido_produto) + 50, false);
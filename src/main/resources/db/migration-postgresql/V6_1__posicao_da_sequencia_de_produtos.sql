@@ -0,0 +1,4 @@
+-- A sequência de produtos começa após o maior ID já gravado pela coluna IDENTITY. O Hibernate reserva
+-- os IDs em blocos de 50 terminados no valor lido (otimizador pooled), então o primeiro valor é o maior ID + 50.
+
+select setval('produto_seq', (select coalesce(max(id), 0) from produto) + 50, false);
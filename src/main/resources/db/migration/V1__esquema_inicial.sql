@@ -0,0 +1,65 @@
+-- Esquema criado até aqui pelo hibernate.ddl-auto=update. Bancos que já existiam são marcados com esta
+-- versão na primeira execução (spring.flyway.baseline-on-migrate) e recebem apenas as migrações seguintes.
+
+create sequence item_pedido_seq start with 1 increment by 50;
+create sequence pedido_seq start with 1 increment by 50;
+
+create table categoria (
+    id bigint generated by default as identity,
+    versao bigint,
+    nome varchar(255),
+    nome_normalizado varchar(255) unique,
+    primary key (id)
+);
+
+create table fornecedor (
+    id bigint generated by default as identity,
+    versao bigint,
+    nome varchar(255),
+    nome_normalizado varchar(255),
+    primary key (id)
+);
+
+create table produto (
+    id bigint generated by default as identity,
+    versao bigint,
+    nome varchar(255) not null unique,
+    valor float(53),
+    categoria_id bigint,
+    fornecedor_id bigint,
+    primary key (id)
+);
+
+create table pedido (
+    id bigint not null,
+    versao bigint,
+    data date,
+    data_entrega date,
+    primary key (id)
+);
+
+create table pedido_produto (
+    id bigint not null,
+    pedido_id bigint not null,
+    produto_id bigint not null,
+    quantidade integer not null,
+    preco_unitario float(53) not null,
+    primary key (id)
+);
+
+create table resumo_venda_diaria (
+    id bigint generated by default as identity,
+    dimensao varchar(20) not null check (dimensao in ('CATEGORIA', 'FORNECEDOR')),
+    referencia_id bigint not null,
+    dia date not null,
+    faturamento numeric(19, 2) not null,
+    quantidade_pedidos bigint not null,
+    quantidade_itens bigint not null,
+    primary key (id),
+    constraint uk_resumo_venda_diaria unique (dimensao, dia, referencia_id)
+);
+
+alter table pedido_produto add constraint FKcsbxw0y9i3wfmiupq9eqfpdtc foreign key (pedido_id) references pedido;
+alter table pedido_produto add constraint FKf8l3k06bmjhdwd79t0ndcw7tt foreign key (produto_id) references produto;
+alter table produto add constraint FKopu9jggwnamfv0c8k2ri3kx0a foreign key (categoria_id) references categoria;
+alter table produto add constraint FKo6c1dbi17sempey5dpnx6ovrj foreign key (fornecedor_id) references fornecedor;
@@ -0,0 +1,22 @@
+-- Índices usados pelas consultas dos repositórios. PlanosConsultaTest confere, no H2, que cada consulta os utiliza.
+-- "if not exists": bancos criados pelo ddl-auto=update podem já ter os índices declarados antes em Pedido.
+
+-- Fila de pedidos pendentes: "data_entrega is null and id > ?" percorre apenas a página pedida.
+create index if not exists idx_pedido_data_entrega_id on pedido (data_entrega, id);
+-- Filtros por período (findByDataBetween, faturamento, análises): as análises agrupam lendo apenas o índice.
+create index if not exists idx_pedido_data_data_entrega on pedido (data, data_entrega);
+
+-- Itens de um pedido (total, resposta e estorno dos resumos) e verificação da chave estrangeira ao remover produtos.
+create index if not exists idx_pedido_produto_pedido on pedido_produto (pedido_id);
+create index if not exists idx_pedido_produto_produto on pedido_produto (produto_id);
+
+-- Filtros e ordenação por preço.
+create index if not exists idx_produto_valor on produto (valor);
+-- Produtos de uma categoria, já na ordem de preço (findByCategoriaOrderByPreco*, preço máximo, cinco mais baratos).
+create index if not exists idx_produto_categoria_valor on produto (categoria_id, valor);
+-- Contagem por fornecedor e verificação da chave estrangeira ao remover fornecedores.
+create index if not exists idx_produto_fornecedor on produto (fornecedor_id);
+
+-- O nome normalizado identifica o fornecedor, como na categoria. Falha se já houver duplicados, que devem ser
+-- unificados antes da migração.
+create unique index if not exists uk_fornecedor_nome_normalizado on fornecedor (nome_normalizado);
@@ -0,0 +1,18 @@
+-- Linhas gravadas antes do controle otimista têm versao nula. O Hibernate sempre grava a versão,
+-- então o padrão 0 só cobre essas linhas e inserções feitas fora da aplicação.
+
+update categoria set versao = 0 where versao is null;
+alter table categoria alter column versao set default 0;
+alter table categoria alter column versao set not null;
+
+update fornecedor set versao = 0 where versao is null;
+alter table fornecedor alter column versao set default 0;
+alter table fornecedor alter column versao set not null;
+
+update produto set versao = 0 where versao is null;
+alter table produto alter column versao set default 0;
+alter table produto alter column versao set not null;
+
+update pedido set versao = 0 where versao is null;
+alter table pedido alter column versao set default 0;
+alter table pedido alter column versao set not null;
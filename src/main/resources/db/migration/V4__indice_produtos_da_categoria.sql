@@ -0,0 +1,2 @@
+-- Páginas de GET /api/categorias/{id}/produtos: "categoria_id = ? and id > ? order by id" lê apenas a página.
+create index idx_produto_categoria_id on produto (categoria_id, id);
@@ -0,0 +1,30 @@
+-- Arquivo dos pedidos entregues há muito tempo, movidos em blocos por ArquivamentoPedidosService.
+-- Mesmas colunas de pedido e pedido_produto, com os IDs originais: o pedido continua acessível pelo mesmo ID.
+
+create table pedido_arquivado (
+    id bigint not null,
+    versao bigint default 0 not null,
+    data date,
+    data_entrega date,
+    primary key (id)
+);
+
+create table pedido_produto_arquivado (
+    id bigint not null,
+    pedido_id bigint not null,
+    produto_id bigint not null,
+    quantidade integer not null,
+    preco_unitario float(53) not null,
+    primary key (id)
+);
+
+alter table pedido_produto_arquivado add constraint fk_pedido_produto_arquivado_pedido
+    foreign key (pedido_id) references pedido_arquivado;
+-- Como nos pedidos ativos, um produto com pedidos arquivados não pode ser removido.
+alter table pedido_produto_arquivado add constraint fk_pedido_produto_arquivado_produto
+    foreign key (produto_id) references produto;
+
+-- Consultas por período com arquivados=true, como idx_pedido_data_data_entrega.
+create index idx_pedido_arquivado_data_data_entrega on pedido_arquivado (data, data_entrega);
+create index idx_pedido_produto_arquivado_pedido on pedido_produto_arquivado (pedido_id);
+create index idx_pedido_produto_arquivado_produto on pedido_produto_arquivado (produto_id);
@@ -0,0 +1,6 @@
+-- Produto passa a receber o ID de uma sequência, como pedido e pedido_produto: com IDENTITY o Hibernate
+-- precisa do ID gerado a cada INSERT e não agrupa as inserções em lotes JDBC (importação do catálogo).
+-- No PostgreSQL, V6_1 (db/migration-postgresql) posiciona a sequência após os produtos existentes.
+
+create sequence produto_seq start with 1 increment by 50;
+alter table produto alter column id drop identity;
@@ -0,0 +1,18 @@
+-- Cada item grava a categoria e o fornecedor do produto no momento do pedido, como já grava o preço: o estorno
+-- dos resumos de vendas (pedido removido ou alterado) usa os buckets que o pedido incrementou, e não os do produto
+-- depois de uma troca de categoria ou de fornecedor. Sem chave estrangeira, como resumo_venda_diaria.referencia_id.
+-- Os itens existentes recebem a categoria e o fornecedor atuais do produto, a única referência conhecida.
+
+alter table pedido_produto add column categoria_id bigint;
+alter table pedido_produto add column fornecedor_id bigint;
+
+update pedido_produto i set
+    categoria_id = (select p.categoria_id from produto p where p.id = i.produto_id),
+    fornecedor_id = (select p.fornecedor_id from produto p where p.id = i.produto_id);
+
+alter table pedido_produto_arquivado add column categoria_id bigint;
+alter table pedido_produto_arquivado add column fornecedor_id bigint;
+
+update pedido_produto_arquivado i set
+    categoria_id = (select p.categoria_id from produto p where p.id = i.produto_id),
+    fornecedor_id = (select p.fornecedor_id from produto p where p.id = i.produto_id);
@@ -0,0 +1,81 @@
+package org.example.benchmark;
+
+import org.example.busca.IndiceBuscaProdutos;
+import org.example.dto.ProdutoResponseDTO;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Benchmark da busca de produtos no índice de trigramas.
+ * Indexa 500 mil produtos com nomes sintéticos (marca + tipo + atributo + modelo) e mede a latência
+ * de termos de seletividades diferentes, do modelo exato ao tipo de produto mais comum.
+ * Executar com: mvn test -Pbenchmark
+ */
+@Tag("benchmark")
+class BuscaProdutosBenchmarkTest {
+
+    private static final int PRODUTOS = Integer.getInteger("benchmark.produtos", 500_000);
+    private static final int CATEGORIAS = 200;
+    private static final int AQUECIMENTO = 5_000;
+    private static final int MEDICOES = 10_000;
+
+    private static final String[] TIPOS = {"Mouse", "Teclado", "Monitor", "Headset", "Cadeira", "Notebook",
+            "Cabo", "Adaptador", "Webcam", "Microfone", "Impressora", "Roteador", "Caixa de Som", "Controle"};
+    private static final String[] MARCAS = {"Logitech", "Razer", "Corsair", "HyperX", "Dell", "Samsung",
+            "LG", "Philips", "Multilaser", "Positivo", "Intelbras", "TP-Link", "Redragon", "Elgin"};
+    private static final String[] ATRIBUTOS = {"Gamer", "Sem Fio", "Ergonômico", "Profissional", "USB-C",
+            "Bluetooth", "Mecânico", "Ultrawide", "Compacto", "Premium", "Básico", "RGB"};
+
+    @Test
+    void buscaDeveResponderEmMenosDeUmMilissegundo() {
+        IndiceBuscaProdutos indice = new IndiceBuscaProdutos();
+        long inicioCarga = System.nanoTime();
+        indice.reconstruir(gerarProdutos());
+        System.out.printf("Carga de %,d produtos: %.0f ms%n", PRODUTOS, (System.nanoTime() - inicioCarga) / 1e6);
+
+        String[] termos = {"mouse", "teclado mecanico", "logitech gamer", "rgb", "hyperx headset 12", "categoria 17", "ca"};
+        for (String termo : termos) {
+            assertFalse(indice.buscar(termo, 20).isEmpty(), termo);
+        }
+        for (int i = 0; i < AQUECIMENTO; i++) {
+            for (String termo : termos) {
+                indice.buscar(termo, 20);
+            }
+        }
+        for (String termo : termos) {
+            medir(indice, termo);
+        }
+    }
+
+    private static List<ProdutoResponseDTO> gerarProdutos() {
+        Random random = new Random(42);
+        List<ProdutoResponseDTO> produtos = new ArrayList<>(PRODUTOS);
+        for (long id = 1; id <= PRODUTOS; id++) {
+            String nome = TIPOS[random.nextInt(TIPOS.length)] + " " + MARCAS[random.nextInt(MARCAS.length)] + " "
+                    + ATRIBUTOS[random.nextInt(ATRIBUTOS.length)] + " " + random.nextInt(10_000);
+            long categoriaId = 1 + random.nextInt(CATEGORIAS);
+            produtos.add(new ProdutoResponseDTO(id, nome, 10 + random.nextInt(5_000) / 10.0,
+                    categoriaId, "Categoria " + categoriaId, null, null));
+        }
+        return produtos;
+    }
+
+    private static void medir(IndiceBuscaProdutos indice, String termo) {
+        long[] latencias = new long[MEDICOES];
+        for (int i = 0; i < MEDICOES; i++) {
+            long inicio = System.nanoTime();
+            indice.buscar(termo, 20);
+            latencias[i] = System.nanoTime() - inicio;
+        }
+        Arrays.sort(latencias);
+        System.out.printf("busca %-22s p50=%8.3f ms  p99=%8.3f ms%n", "\"" + termo + "\"",
+                latencias[MEDICOES / 2] / 1e6, latencias[MEDICOES * 99 / 100] / 1e6);
+    }
+}
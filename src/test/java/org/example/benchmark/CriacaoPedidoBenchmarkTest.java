@@ -0,0 +1,100 @@
+package org.example.benchmark;
+
+import org.example.dto.PedidoRequestDTO;
+import org.example.model.Produto;
+import org.example.repository.ProdutoRepository;
+import org.example.service.PedidoService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Benchmark de regressão da criação de pedidos.
+ * Mede a latência de PedidoService.criarPedido enquanto o histórico de pedidos do produto
+ * cresce de 1 mil para 1 milhão de linhas. A latência deve permanecer estável, pois a
+ * criação do pedido não pode carregar o histórico (Produto.pedidos).
+ * Executar com: mvn test -Pbenchmark
+ */
+@Tag("benchmark")
+@SpringBootTest
+class CriacaoPedidoBenchmarkTest {
+
+    private static final long ID_INICIAL_HISTORICO = 1_000_000_000L;
+    private static final int TAMANHO_LOTE = 10_000;
+    private static final int AQUECIMENTO = 200;
+    private static final int MEDICOES = 300;
+
+    @Autowired
+    private PedidoService pedidoService;
+
+    @Autowired
+    private ProdutoRepository produtoRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void latenciaDeCriacaoDevePermanecerEstavelComHistoricoCrescente() {
+        Produto produto = produtoRepository.save(new Produto("Produto Benchmark", 99.90));
+        PedidoRequestDTO dto = new PedidoRequestDTO();
+        dto.setProdutoIds(List.of(produto.getId()));
+
+        long[] niveis = Arrays.stream(System.getProperty("benchmark.historico", "1000,10000,100000,1000000").split(","))
+                .mapToLong(nivel -> Long.parseLong(nivel.trim()))
+                .toArray();
+
+        List<long[]> resultados = new ArrayList<>();
+        long historicoAtual = 0;
+        for (long nivel : niveis) {
+            inserirHistorico(produto.getId(), produto.getPreco(), historicoAtual, nivel);
+            historicoAtual = nivel;
+
+            for (int i = 0; i < AQUECIMENTO; i++) {
+                pedidoService.criarPedido(dto);
+            }
+            long[] latencias = new long[MEDICOES];
+            for (int i = 0; i < MEDICOES; i++) {
+                long inicio = System.nanoTime();
+                pedidoService.criarPedido(dto);
+                latencias[i] = System.nanoTime() - inicio;
+            }
+            Arrays.sort(latencias);
+            long mediana = latencias[MEDICOES / 2];
+            long p99 = latencias[(int) (MEDICOES * 0.99)];
+            resultados.add(new long[]{nivel, mediana, p99});
+            System.out.printf("historico=%,d pedidos/produto  p50=%.3f ms  p99=%.3f ms%n",
+                    nivel, mediana / 1e6, p99 / 1e6);
+        }
+
+        long medianaInicial = resultados.get(0)[1];
+        long medianaFinal = resultados.get(resultados.size() - 1)[1];
+        // Margem generosa para ruído de JIT/GC: uma regressão O(histórico) fica ordens de grandeza acima.
+        assertTrue(medianaFinal <= medianaInicial * 3 + 2_000_000,
+                "Latência cresceu com o histórico: " + medianaInicial + " ns -> " + medianaFinal + " ns");
+    }
+
+    private void inserirHistorico(Long produtoId, Double preco, long de, long ate) {
+        Date data = Date.valueOf(LocalDate.now().minusYears(1));
+        for (long inicioLote = de; inicioLote < ate; inicioLote += TAMANHO_LOTE) {
+            List<Object[]> pedidos = new ArrayList<>();
+            List<Object[]> associacoes = new ArrayList<>();
+            for (long i = inicioLote; i < Math.min(inicioLote + TAMANHO_LOTE, ate); i++) {
+                long pedidoId = ID_INICIAL_HISTORICO + i;
+                pedidos.add(new Object[]{pedidoId, data});
+                associacoes.add(new Object[]{pedidoId, pedidoId, produtoId, 1, preco});
+            }
+            jdbcTemplate.batchUpdate("INSERT INTO pedido (id, data) VALUES (?, ?)", pedidos);
+            jdbcTemplate.batchUpdate("INSERT INTO pedido_produto (id, pedido_id, produto_id, quantidade, preco_unitario) VALUES (?, ?, ?, ?, ?)", associacoes);
+        }
+    }
+}
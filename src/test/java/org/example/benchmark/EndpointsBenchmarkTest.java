@@ -0,0 +1,250 @@
+package org.example.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.persistence.EntityManager;
+import org.example.busca.IndiceBuscaProdutos;
+import org.example.busca.IndicePrecosProdutos;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.File;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.stream.IntStream;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+
+/**
+ * Benchmark de todos os endpoints da API sobre uma massa de dados grande e reproduzível
+ * ({@link GeradorDadosBenchmark}), em H2 embarcado.
+ * <p>
+ * Cada endpoint é chamado em sequência pelo MockMvc, com a pilha completa (filtros, controllers, services,
+ * JPA e serialização), sem a rede. Após um aquecimento, mede a vazão e as latências p50, p99 e p999.
+ * Os resultados são impressos e gravados em JSON (padrão: target/benchmark/endpoints.json, ou
+ * {@code -Dbenchmark.saida=...}) junto com o volume e a semente, para comparação entre versões.
+ * Os endpoints de recepção assíncrona têm um benchmark próprio (RecepcaoPedidosBenchmarkTest).
+ * <p>
+ * Executar com: mvn test -Pbenchmark -Dtest=EndpointsBenchmarkTest
+ * Opções: -Dbenchmark.iteracoes=1000 e as do gerador (benchmark.pedidos, benchmark.produtos, benchmark.semente...).
+ */
+@Tag("benchmark")
+@SpringBootTest
+@AutoConfigureMockMvc
+class EndpointsBenchmarkTest {
+
+    private static final int ITERACOES = Integer.getInteger("benchmark.iteracoes", 1_000);
+    private static final int AQUECIMENTO = Math.max(1, ITERACOES / 5);
+    // Endpoints que devolvem o catálogo ou o histórico inteiro: poucas repetições bastam.
+    private static final int ITERACOES_PESADAS = Math.max(5, ITERACOES / 100);
+
+    @Autowired private MockMvc mockMvc;
+    @Autowired private ObjectMapper objectMapper;
+    @Autowired private EntityManager entityManager;
+    @Autowired private TransactionTemplate transactionTemplate;
+    @Autowired private JdbcTemplate jdbcTemplate;
+    @Autowired private IndiceBuscaProdutos indiceBuscaProdutos;
+    @Autowired private ObjectProvider<IndicePrecosProdutos> indicePrecosProdutos;
+
+    private record Cenario(String endpoint, int iteracoes, IntFunction<RequestBuilder> requisicao,
+                           Consumer<MvcResult> aoConcluir) {
+
+        Cenario(String endpoint, int iteracoes, IntFunction<RequestBuilder> requisicao) {
+            this(endpoint, iteracoes, requisicao, resultado -> { });
+        }
+    }
+
+    private record Resultado(String endpoint, int amostras, double vazaoPorSegundo,
+                             double p50Ms, double p99Ms, double p999Ms, double maximoMs) {
+    }
+
+    @Test
+    void medirTodosOsEndpoints() throws Exception {
+        GeradorDadosBenchmark.Volume volume = GeradorDadosBenchmark.Volume.dasPropriedades();
+        long inicioGeracao = System.nanoTime();
+        new GeradorDadosBenchmark(entityManager, transactionTemplate, volume).gerar();
+        // A massa é gravada direto pelo EntityManager: os índices em memória são recarregados do banco.
+        indiceBuscaProdutos.carregar();
+        indicePrecosProdutos.ifAvailable(IndicePrecosProdutos::carregar);
+        System.out.printf("Massa gerada em %.1f s: %s%n", (System.nanoTime() - inicioGeracao) / 1e9, volume);
+
+        List<Resultado> resultados = new ArrayList<>();
+        for (Cenario cenario : cenarios(volume)) {
+            resultados.add(medir(cenario));
+        }
+        gravar(volume, resultados);
+    }
+
+    private List<Cenario> cenarios(GeradorDadosBenchmark.Volume volume) {
+        long[] produtos = ids("produto");
+        long[] categorias = ids("categoria");
+        long[] fornecedores = ids("fornecedor");
+        long[] pedidos = ids("pedido");
+        SplittableRandom random = new SplittableRandom(volume.semente());
+        Function<long[], Long> sortear = ids -> ids[random.nextInt(ids.length)];
+        LocalDate referencia = volume.dataReferencia();
+        LocalDate inicioHistorico = volume.dataInicial();
+
+        // IDs criados pelos cenários de POST, usados depois pelos de PUT e DELETE.
+        List<Long> produtosCriados = new ArrayList<>();
+        List<Long> categoriasCriadas = new ArrayList<>();
+        List<Long> fornecedoresCriados = new ArrayList<>();
+        List<Long> pedidosCriados = new ArrayList<>();
+
+        return List.of(
+                // Produtos
+                new Cenario("GET /api/produtos", ITERACOES_PESADAS, i -> get("/api/produtos")),
+                new Cenario("GET /api/produtos/{id}", ITERACOES, i -> get("/api/produtos/{id}", sortear.apply(produtos))),
+                new Cenario("GET /api/produtos/busca", ITERACOES, i -> get("/api/produtos/busca").param("q", "produto " + random.nextInt(1_000))),
+                new Cenario("POST /api/produtos", ITERACOES, i -> post("/api/produtos").contentType(MediaType.APPLICATION_JSON)
+                        .content(json(Map.of("nome", "Produto Benchmark " + i, "preco", 10.0 + i % 500,
+                                "categoriaId", sortear.apply(categorias), "fornecedorId", sortear.apply(fornecedores)))),
+                        guardarId(produtosCriados)),
+                new Cenario("PUT /api/produtos/{id}", ITERACOES, i -> put("/api/produtos/{id}", produtosCriados.get(i % produtosCriados.size()))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json(Map.of("nome", "Produto Reajustado " + i, "preco", 20.0 + i % 500,
+                                "categoriaId", sortear.apply(categorias), "fornecedorId", sortear.apply(fornecedores))))),
+                new Cenario("DELETE /api/produtos/{id}", ITERACOES, i -> delete("/api/produtos/{id}", produtosCriados.remove(produtosCriados.size() - 1))),
+
+                // Categorias e fornecedores
+                new Cenario("GET /api/categorias", ITERACOES, i -> get("/api/categorias")),
+                new Cenario("GET /api/categorias/{id}", ITERACOES, i -> get("/api/categorias/{id}", sortear.apply(categorias))),
+                new Cenario("GET /api/categorias/{id}/produtos", ITERACOES, i -> get("/api/categorias/{id}/produtos", sortear.apply(categorias))),
+                new Cenario("POST /api/categorias", ITERACOES, i -> post("/api/categorias").contentType(MediaType.APPLICATION_JSON)
+                        .content(json(Map.of("nome", "Categoria Benchmark " + i))), guardarId(categoriasCriadas)),
+                new Cenario("PUT /api/categorias/{id}", ITERACOES, i -> put("/api/categorias/{id}", categoriasCriadas.get(i % categoriasCriadas.size()))
+                        .contentType(MediaType.APPLICATION_JSON).content(json(Map.of("nome", "Categoria Renomeada " + i)))),
+                new Cenario("DELETE /api/categorias/{id}", ITERACOES, i -> delete("/api/categorias/{id}", categoriasCriadas.remove(categoriasCriadas.size() - 1))),
+                new Cenario("GET /api/fornecedores", ITERACOES, i -> get("/api/fornecedores")),
+                new Cenario("GET /api/fornecedores/{id}", ITERACOES, i -> get("/api/fornecedores/{id}", sortear.apply(fornecedores))),
+                new Cenario("POST /api/fornecedores", ITERACOES, i -> post("/api/fornecedores").contentType(MediaType.APPLICATION_JSON)
+                        .content(json(Map.of("nome", "Fornecedor Benchmark " + i))), guardarId(fornecedoresCriados)),
+                new Cenario("PUT /api/fornecedores/{id}", ITERACOES, i -> put("/api/fornecedores/{id}", fornecedoresCriados.get(i % fornecedoresCriados.size()))
+                        .contentType(MediaType.APPLICATION_JSON).content(json(Map.of("nome", "Fornecedor Renomeado " + i)))),
+                new Cenario("DELETE /api/fornecedores/{id}", ITERACOES, i -> delete("/api/fornecedores/{id}", fornecedoresCriados.remove(fornecedoresCriados.size() - 1))),
+
+                // Pedidos: leituras
+                new Cenario("GET /api/pedidos", ITERACOES, i -> get("/api/pedidos").param("after", String.valueOf(sortear.apply(pedidos)))),
+                new Cenario("GET /api/pedidos/pendentes", ITERACOES, i -> get("/api/pedidos/pendentes").param("after", String.valueOf(sortear.apply(pedidos)))),
+                new Cenario("GET /api/pedidos/export", ITERACOES_PESADAS, i -> get("/api/pedidos/export")),
+                new Cenario("GET /api/pedidos/{id}", ITERACOES, i -> get("/api/pedidos/{id}", sortear.apply(pedidos))),
+                new Cenario("GET /api/pedidos/{id}/total", ITERACOES, i -> get("/api/pedidos/{id}/total", sortear.apply(pedidos))),
+                new Cenario("GET /api/pedidos/faturamento", ITERACOES, i -> {
+                    LocalDate inicio = inicioHistorico.plusDays(random.nextInt(volume.diasHistorico()));
+                    return get("/api/pedidos/faturamento").param("inicio", inicio.toString()).param("fim", inicio.plusDays(30).toString());
+                }),
+                new Cenario("GET /api/pedidos/analise/serie", ITERACOES, i -> get("/api/pedidos/analise/serie")
+                        .param("granularidade", "DIA").param("inicio", inicioHistorico.toString()).param("fim", referencia.toString())),
+                new Cenario("GET /api/pedidos/analise/prazo-entrega", ITERACOES, i -> get("/api/pedidos/analise/prazo-entrega")
+                        .param("inicio", inicioHistorico.toString()).param("fim", referencia.toString())),
+                new Cenario("GET /api/vendas/resumo", ITERACOES, i -> get("/api/vendas/resumo")
+                        .param("dimensao", i % 2 == 0 ? "CATEGORIA" : "FORNECEDOR")
+                        .param("inicio", referencia.minusDays(29).toString()).param("fim", referencia.toString())),
+                new Cenario("GET /api/cache/estatisticas", ITERACOES, i -> get("/api/cache/estatisticas")),
+
+                // Pedidos: escritas
+                new Cenario("POST /api/pedidos", ITERACOES, i -> post("/api/pedidos").contentType(MediaType.APPLICATION_JSON)
+                        .content(json(Map.of("produtoIds", List.of(sortear.apply(produtos), sortear.apply(produtos))))),
+                        guardarId(pedidosCriados)),
+                new Cenario("POST /api/pedidos/lote", ITERACOES_PESADAS, i -> post("/api/pedidos/lote").contentType(MediaType.APPLICATION_JSON)
+                        .content(json(IntStream.range(0, 100)
+                                .mapToObj(j -> Map.of("produtoIds", List.of(sortear.apply(produtos), sortear.apply(produtos))))
+                                .toList()))),
+                new Cenario("PUT /api/pedidos/{id}", ITERACOES, i -> put("/api/pedidos/{id}", pedidosCriados.get(i % pedidosCriados.size()))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json(Map.of("produtoIds", List.of(sortear.apply(produtos)), "dataEntrega", referencia.toString())))),
+                new Cenario("DELETE /api/pedidos/{id}", ITERACOES, i -> delete("/api/pedidos/{id}", pedidosCriados.remove(pedidosCriados.size() - 1))));
+    }
+
+    private Resultado medir(Cenario cenario) throws Exception {
+        for (int i = 0; i < AQUECIMENTO && i < cenario.iteracoes(); i++) {
+            executar(cenario, i);
+        }
+        long[] latencias = new long[cenario.iteracoes()];
+        long inicio = System.nanoTime();
+        for (int i = 0; i < latencias.length; i++) {
+            long antes = System.nanoTime();
+            executar(cenario, AQUECIMENTO + i);
+            latencias[i] = System.nanoTime() - antes;
+        }
+        double segundos = (System.nanoTime() - inicio) / 1e9;
+        Arrays.sort(latencias);
+        Resultado resultado = new Resultado(cenario.endpoint(), latencias.length, latencias.length / segundos,
+                percentil(latencias, 50), percentil(latencias, 99), percentil(latencias, 99.9),
+                latencias[latencias.length - 1] / 1e6);
+        System.out.printf("%-40s %,6d req  %,10.0f req/s  p50=%9.3f ms  p99=%9.3f ms  p999=%9.3f ms%n",
+                resultado.endpoint(), resultado.amostras(), resultado.vazaoPorSegundo(),
+                resultado.p50Ms(), resultado.p99Ms(), resultado.p999Ms());
+        return resultado;
+    }
+
+    private void executar(Cenario cenario, int iteracao) throws Exception {
+        MvcResult resultado = mockMvc.perform(cenario.requisicao().apply(iteracao)).andReturn();
+        int status = resultado.getResponse().getStatus();
+        if (status >= 400) {
+            throw new IllegalStateException(cenario.endpoint() + " respondeu " + status + ": "
+                    + resultado.getResponse().getContentAsString());
+        }
+        cenario.aoConcluir().accept(resultado);
+    }
+
+    // Posto mais próximo; com menos de 1000 amostras, o p999 é o máximo.
+    private static double percentil(long[] ordenadas, double p) {
+        int posto = (int) Math.ceil(p / 100 * ordenadas.length);
+        return ordenadas[Math.max(0, posto - 1)] / 1e6;
+    }
+
+    private static Consumer<MvcResult> guardarId(List<Long> ids) {
+        return resultado -> {
+            String location = resultado.getResponse().getHeader("Location");
+            ids.add(Long.valueOf(location.substring(location.lastIndexOf('/') + 1)));
+        };
+    }
+
+    private long[] ids(String tabela) {
+        return jdbcTemplate.queryForList("SELECT id FROM " + tabela + " ORDER BY id", Long.class).stream()
+                .mapToLong(Long::longValue).toArray();
+    }
+
+    private String json(Object corpo) {
+        try {
+            return objectMapper.writeValueAsString(corpo);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void gravar(GeradorDadosBenchmark.Volume volume, List<Resultado> resultados) throws Exception {
+        File saida = new File(System.getProperty("benchmark.saida", "target/benchmark/endpoints.json"));
+        saida.getParentFile().mkdirs();
+        Map<String, Object> relatorio = new LinkedHashMap<>();
+        relatorio.put("geradoEm", Instant.now().toString());
+        relatorio.put("java", System.getProperty("java.version"));
+        relatorio.put("banco", "H2 (memória)");
+        relatorio.put("volume", volume);
+        relatorio.put("iteracoes", ITERACOES);
+        relatorio.put("aquecimento", AQUECIMENTO);
+        relatorio.put("endpoints", resultados);
+        objectMapper.writer(SerializationFeature.INDENT_OUTPUT).writeValue(saida, relatorio);
+        System.out.println("Resultados gravados em " + saida.getAbsolutePath());
+    }
+}
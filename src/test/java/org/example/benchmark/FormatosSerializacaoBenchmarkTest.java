@@ -0,0 +1,117 @@
+package org.example.benchmark;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.example.dto.PaginaDTO;
+import org.example.dto.PedidoResponseDTO;
+import org.example.dto.ProdutoResponseDTO;
+import org.example.repository.ProdutoRepository;
+import org.example.service.PedidoService;
+import org.example.service.ProdutoService;
+import org.example.util.PaginacaoUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Benchmark comparativo de JSON, CBOR e Smile nas respostas de GET /api/produtos e GET /api/pedidos.
+ * Os mappers são os dos conversores HTTP da aplicação, e os dados são os DTOs devolvidos pelas services
+ * sobre a massa do {@link GeradorDadosBenchmark}.
+ * <p>
+ * Para cada formato, reporta os bytes da resposta (e comprimidos com gzip, caso a resposta passe por compressão)
+ * e as latências p50 de serialização e de desserialização. A desserialização lê os mesmos tipos, como faria
+ * um consumidor Java da API.
+ * <p>
+ * Executar com: mvn test -Pbenchmark -Dtest=FormatosSerializacaoBenchmarkTest
+ */
+@Tag("benchmark")
+@SpringBootTest
+class FormatosSerializacaoBenchmarkTest {
+
+    private static final int AQUECIMENTO = 20;
+    private static final int MEDICOES = 50;
+
+    @Autowired private ProdutoService produtoService;
+    @Autowired private PedidoService pedidoService;
+    @Autowired private ProdutoRepository produtoRepository;
+    @Autowired private EntityManager entityManager;
+    @Autowired private TransactionTemplate transactionTemplate;
+    @Autowired private MappingJackson2HttpMessageConverter conversorJson;
+    @Autowired private MappingJackson2CborHttpMessageConverter conversorCbor;
+    @Autowired private MappingJackson2SmileHttpMessageConverter conversorSmile;
+
+    // Página como o consumidor a lê: PaginaDTO só tem o construtor usado pelo servidor.
+    private record Pagina(List<PedidoResponseDTO> itens, Long next) {
+    }
+
+    private record Formato(String nome, ObjectMapper mapper) {
+    }
+
+    @BeforeEach
+    void popularBanco() {
+        if (produtoRepository.count() == 0) {
+            new GeradorDadosBenchmark(entityManager, transactionTemplate, GeradorDadosBenchmark.Volume.dasPropriedades()).gerar();
+        }
+    }
+
+    @Test
+    void compararJsonCborESmile() throws Exception {
+        List<ProdutoResponseDTO> produtos = produtoService.listarTodos();
+        PaginaDTO<PedidoResponseDTO> pagina = pedidoService.listarPedidos(null, PaginacaoUtil.LIMITE_MAXIMO_PAGINA);
+
+        List<Formato> formatos = List.of(new Formato("JSON", conversorJson.getObjectMapper()),
+                new Formato("CBOR", conversorCbor.getObjectMapper()), new Formato("Smile", conversorSmile.getObjectMapper()));
+        for (Formato formato : formatos) {
+            medir("GET /api/produtos (" + produtos.size() + " produtos)", formato, produtos,
+                    formato.mapper().getTypeFactory().constructCollectionType(List.class, ProdutoResponseDTO.class));
+        }
+        for (Formato formato : formatos) {
+            medir("GET /api/pedidos  (" + pagina.getItens().size() + " pedidos)", formato, pagina,
+                    formato.mapper().constructType(Pagina.class));
+        }
+    }
+
+    private void medir(String descricao, Formato formato, Object resposta, JavaType tipo) throws IOException {
+        ObjectMapper mapper = formato.mapper();
+        byte[] bytes = mapper.writeValueAsBytes(resposta);
+        for (int i = 0; i < AQUECIMENTO; i++) {
+            mapper.readValue(mapper.writeValueAsBytes(resposta), tipo);
+        }
+        long[] serializacao = new long[MEDICOES];
+        long[] desserializacao = new long[MEDICOES];
+        for (int i = 0; i < MEDICOES; i++) {
+            long inicio = System.nanoTime();
+            bytes = mapper.writeValueAsBytes(resposta);
+            serializacao[i] = System.nanoTime() - inicio;
+            inicio = System.nanoTime();
+            mapper.readValue(bytes, tipo);
+            desserializacao[i] = System.nanoTime() - inicio;
+        }
+        Arrays.sort(serializacao);
+        Arrays.sort(desserializacao);
+        System.out.printf("%-32s %-5s  resposta=%,11d bytes  gzip=%,10d bytes  serialização p50=%8.3f ms  desserialização p50=%8.3f ms%n",
+                descricao, formato.nome(), bytes.length, comprimido(bytes),
+                serializacao[MEDICOES / 2] / 1e6, desserializacao[MEDICOES / 2] / 1e6);
+    }
+
+    private static int comprimido(byte[] bytes) throws IOException {
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(saida)) {
+            gzip.write(bytes);
+        }
+        return saida.size();
+    }
+}
@@ -0,0 +1,273 @@
+package org.example.benchmark;
+
+import jakarta.persistence.EntityManager;
+import org.example.model.Categoria;
+import org.example.model.DimensaoVenda;
+import org.example.model.Fornecedor;
+import org.example.model.Pedido;
+import org.example.model.Produto;
+import org.example.model.ResumoVendaDiaria;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Gerador determinístico da massa de dados dos benchmarks: a mesma semente e o mesmo volume produzem
+ * sempre os mesmos registros, de modo que resultados de versões diferentes sejam comparáveis.
+ * <p>
+ * As distribuições imitam um catálogo real: preços log-normais, popularidade dos produtos segundo a lei
+ * de Zipf (poucos produtos aparecem na maioria dos pedidos), quantidade de itens por pedido geométrica
+ * (média de 2,5 itens), datas espalhadas pelo histórico e prazos de entrega curtos com cauda longa.
+ * Os resumos de vendas seguem as regras do ResumoVendasService (um pedido conta uma vez por categoria e
+ * fornecedor), mas são acumulados em memória e gravados em blocos ao final: ResumoVendasService.aplicar
+ * atualiza bucket a bucket e foi feito para a variação de poucos pedidos, não para uma carga inicial.
+ * <p>
+ * O volume é configurável por propriedades de sistema, por exemplo
+ * {@code mvn test -Pbenchmark -Dbenchmark.pedidos=500000 -Dbenchmark.semente=7}.
+ */
+class GeradorDadosBenchmark {
+
+    private static final int REGISTROS_POR_TRANSACAO = 2_000;
+    private static final int MAXIMO_ITENS_POR_PEDIDO = 20;
+    private static final double CONTINUAR_ADICIONANDO_ITENS = 0.6;
+    private static final double EXPOENTE_ZIPF = 1.0;
+    private static final double PEDIDOS_ENTREGUES = 0.85;
+
+    /**
+     * Quantidades de registros, extensão do histórico e semente da massa de dados.
+     * A data de referência é fixa para que a massa não dependa do dia em que o benchmark roda.
+     */
+    record Volume(int categorias, int fornecedores, int produtos, int pedidos, int diasHistorico,
+                  LocalDate dataReferencia, long semente) {
+
+        static Volume dasPropriedades() {
+            return new Volume(
+                    Integer.getInteger("benchmark.categorias", 50),
+                    Integer.getInteger("benchmark.fornecedores", 200),
+                    Integer.getInteger("benchmark.produtos", 20_000),
+                    Integer.getInteger("benchmark.pedidos", 100_000),
+                    Integer.getInteger("benchmark.dias-historico", 730),
+                    LocalDate.parse(System.getProperty("benchmark.data-referencia", "2024-12-31")),
+                    Long.getLong("benchmark.semente", 42L));
+        }
+
+        LocalDate dataInicial() {
+            return dataReferencia.minusDays(diasHistorico - 1L);
+        }
+    }
+
+    private record ChaveResumo(DimensaoVenda dimensao, LocalDate dia, Long referenciaId) {
+    }
+
+    private static final class Acumulado {
+        private double faturamento;
+        private long pedidos;
+        private long itens;
+    }
+
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final Volume volume;
+    private final Map<ChaveResumo, Acumulado> resumos = new LinkedHashMap<>();
+
+    // Produtos gerados, em vetores paralelos indexados pela posição de criação.
+    private long[] produtoIds;
+    private double[] precos;
+    private Long[] categoriaDoProduto;
+    private Long[] fornecedorDoProduto;
+
+    GeradorDadosBenchmark(EntityManager entityManager, TransactionTemplate transactionTemplate, Volume volume) {
+        this.entityManager = entityManager;
+        this.transactionTemplate = transactionTemplate;
+        this.volume = volume;
+    }
+
+    /**
+     * Grava toda a massa de dados. Deve ser chamado com o banco vazio.
+     */
+    void gerar() {
+        SplittableRandom random = new SplittableRandom(volume.semente());
+        List<Long> categorias = new ArrayList<>();
+        List<Long> fornecedores = new ArrayList<>();
+        transactionTemplate.executeWithoutResult(status -> {
+            for (int i = 0; i < volume.categorias(); i++) {
+                Categoria categoria = new Categoria("Categoria " + i);
+                entityManager.persist(categoria);
+                categorias.add(categoria.getId());
+            }
+            for (int i = 0; i < volume.fornecedores(); i++) {
+                Fornecedor fornecedor = new Fornecedor("Fornecedor " + i);
+                entityManager.persist(fornecedor);
+                fornecedores.add(fornecedor.getId());
+            }
+        });
+        gerarProdutos(random, categorias, fornecedores);
+        gerarPedidos(random);
+        gravarResumos();
+    }
+
+    private void gerarProdutos(SplittableRandom random, List<Long> categorias, List<Long> fornecedores) {
+        int total = volume.produtos();
+        produtoIds = new long[total];
+        precos = new double[total];
+        categoriaDoProduto = new Long[total];
+        fornecedorDoProduto = new Long[total];
+        for (int inicio = 0; inicio < total; inicio += REGISTROS_POR_TRANSACAO) {
+            int fim = Math.min(inicio + REGISTROS_POR_TRANSACAO, total);
+            int primeiro = inicio;
+            transactionTemplate.executeWithoutResult(status -> {
+                List<Produto> bloco = new ArrayList<>(fim - primeiro);
+                for (int i = primeiro; i < fim; i++) {
+                    // Log-normal com mediana de ~55,00: muitos produtos baratos e poucos muito caros.
+                    double preco = Math.max(1.0, Math.round(Math.exp(4.0 + random.nextGaussian()) * 100) / 100.0);
+                    Produto produto = new Produto("Produto " + i, preco);
+                    // Alguns produtos ficam sem categoria ou sem fornecedor, como no catálogo real.
+                    if (random.nextInt(50) != 0) {
+                        produto.setCategoria(entityManager.getReference(Categoria.class, categorias.get(random.nextInt(categorias.size()))));
+                    }
+                    if (random.nextInt(50) != 0) {
+                        produto.setFornecedor(entityManager.getReference(Fornecedor.class, fornecedores.get(random.nextInt(fornecedores.size()))));
+                    }
+                    entityManager.persist(produto);
+                    bloco.add(produto);
+                }
+                entityManager.flush();
+                for (int i = primeiro; i < fim; i++) {
+                    Produto produto = bloco.get(i - primeiro);
+                    produtoIds[i] = produto.getId();
+                    precos[i] = produto.getPreco();
+                    categoriaDoProduto[i] = produto.getCategoria() != null ? produto.getCategoria().getId() : null;
+                    fornecedorDoProduto[i] = produto.getFornecedor() != null ? produto.getFornecedor().getId() : null;
+                }
+                entityManager.clear();
+            });
+        }
+    }
+
+    private void gerarPedidos(SplittableRandom random) {
+        // A popularidade segue a ordem de uma permutação aleatória, para não coincidir com a ordem dos IDs.
+        int[] porPopularidade = permutacao(random, produtoIds.length);
+        double[] zipfAcumulado = zipfAcumulado(produtoIds.length);
+
+        for (int inicio = 0; inicio < volume.pedidos(); inicio += REGISTROS_POR_TRANSACAO) {
+            int quantidade = Math.min(REGISTROS_POR_TRANSACAO, volume.pedidos() - inicio);
+            transactionTemplate.executeWithoutResult(status -> {
+                for (int i = 0; i < quantidade; i++) {
+                    Pedido pedido = new Pedido(volume.dataInicial().plusDays(random.nextInt(volume.diasHistorico())));
+                    pedido.setDataEntrega(sortearEntrega(random, pedido.getData()));
+
+                    Map<Integer, Integer> itens = new LinkedHashMap<>();
+                    int quantidadeItens = 1;
+                    while (quantidadeItens < MAXIMO_ITENS_POR_PEDIDO && random.nextDouble() < CONTINUAR_ADICIONANDO_ITENS) {
+                        quantidadeItens++;
+                    }
+                    for (int j = 0; j < quantidadeItens; j++) {
+                        int produto = porPopularidade[sortearZipf(random, zipfAcumulado)];
+                        itens.merge(produto, sortearQuantidade(random), Integer::sum);
+                    }
+
+                    Map<ChaveResumo, Acumulado> doPedido = new HashMap<>();
+                    itens.forEach((produto, unidades) -> {
+                        pedido.adicionarItem(entityManager.getReference(Produto.class, produtoIds[produto]), unidades, precos[produto],
+                                categoriaDoProduto[produto], fornecedorDoProduto[produto]);
+                        acumular(doPedido, new ChaveResumo(DimensaoVenda.CATEGORIA, pedido.getData(), referencia(categoriaDoProduto[produto])),
+                                unidades, precos[produto]);
+                        acumular(doPedido, new ChaveResumo(DimensaoVenda.FORNECEDOR, pedido.getData(), referencia(fornecedorDoProduto[produto])),
+                                unidades, precos[produto]);
+                    });
+                    doPedido.forEach((chave, parcial) -> {
+                        Acumulado total = resumos.computeIfAbsent(chave, c -> new Acumulado());
+                        total.faturamento += parcial.faturamento;
+                        total.itens += parcial.itens;
+                        total.pedidos++;
+                    });
+                    entityManager.persist(pedido);
+                }
+                entityManager.flush();
+                entityManager.clear();
+            });
+        }
+    }
+
+    private static void acumular(Map<ChaveResumo, Acumulado> doPedido, ChaveResumo chave, int unidades, double preco) {
+        Acumulado acumulado = doPedido.computeIfAbsent(chave, c -> new Acumulado());
+        acumulado.faturamento += unidades * preco;
+        acumulado.itens += unidades;
+    }
+
+    private static Long referencia(Long id) {
+        return id != null ? id : ResumoVendaDiaria.SEM_REFERENCIA;
+    }
+
+    private void gravarResumos() {
+        List<Map.Entry<ChaveResumo, Acumulado>> todos = new ArrayList<>(resumos.entrySet());
+        for (int inicio = 0; inicio < todos.size(); inicio += REGISTROS_POR_TRANSACAO) {
+            List<Map.Entry<ChaveResumo, Acumulado>> bloco = todos.subList(inicio, Math.min(inicio + REGISTROS_POR_TRANSACAO, todos.size()));
+            transactionTemplate.executeWithoutResult(status -> {
+                bloco.forEach(resumo -> entityManager.persist(new ResumoVendaDiaria(resumo.getKey().dimensao(),
+                        resumo.getKey().referenciaId(), resumo.getKey().dia(),
+                        BigDecimal.valueOf(resumo.getValue().faturamento).setScale(2, RoundingMode.HALF_UP),
+                        resumo.getValue().pedidos, resumo.getValue().itens)));
+                entityManager.flush();
+                entityManager.clear();
+            });
+        }
+        resumos.clear();
+    }
+
+    // Pedidos recentes ainda estão em trânsito; os demais são quase todos entregues em poucos dias.
+    private LocalDate sortearEntrega(SplittableRandom random, LocalDate data) {
+        if (random.nextDouble() >= PEDIDOS_ENTREGUES) {
+            return null;
+        }
+        int prazo = 1;
+        while (prazo < 60 && random.nextDouble() < 0.7) {
+            prazo++;
+        }
+        LocalDate entrega = data.plusDays(prazo);
+        return entrega.isAfter(volume.dataReferencia()) ? null : entrega;
+    }
+
+    private static int sortearQuantidade(SplittableRandom random) {
+        int sorteio = random.nextInt(10);
+        return sorteio < 7 ? 1 : sorteio < 9 ? 2 : 3 + random.nextInt(3);
+    }
+
+    private static int sortearZipf(SplittableRandom random, double[] acumulado) {
+        int posicao = Arrays.binarySearch(acumulado, random.nextDouble() * acumulado[acumulado.length - 1]);
+        return Math.min(posicao >= 0 ? posicao : -posicao - 1, acumulado.length - 1);
+    }
+
+    private static double[] zipfAcumulado(int tamanho) {
+        double[] acumulado = new double[tamanho];
+        double soma = 0;
+        for (int k = 0; k < tamanho; k++) {
+            soma += 1.0 / Math.pow(k + 1, EXPOENTE_ZIPF);
+            acumulado[k] = soma;
+        }
+        return acumulado;
+    }
+
+    private static int[] permutacao(SplittableRandom random, int tamanho) {
+        int[] posicoes = new int[tamanho];
+        for (int i = 0; i < tamanho; i++) {
+            posicoes[i] = i;
+        }
+        for (int i = tamanho - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int troca = posicoes[i];
+            posicoes[i] = posicoes[j];
+            posicoes[j] = troca;
+        }
+        return posicoes;
+    }
+}
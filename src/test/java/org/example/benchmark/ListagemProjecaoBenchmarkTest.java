@@ -0,0 +1,142 @@
+package org.example.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.dto.PaginaDTO;
+import org.example.dto.PedidoResponseDTO;
+import org.example.model.Categoria;
+import org.example.model.Fornecedor;
+import org.example.model.Pedido;
+import org.example.model.Produto;
+import org.example.repository.CategoriaRepository;
+import org.example.repository.FornecedorRepository;
+import org.example.repository.PedidoRepository;
+import org.example.repository.ProdutoRepository;
+import org.example.service.PedidoService;
+import org.example.service.ProdutoService;
+import org.example.util.PaginacaoUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+
+/**
+ * Benchmark comparativo das listagens de produtos e pedidos:
+ * "antes" serializa as entidades JPA (com carregamento lazy durante a serialização) e
+ * "depois" serializa os DTOs montados pelas consultas de projeção.
+ * Reporta a latência mediana e os bytes alocados por operação na thread do teste.
+ * Executar com: mvn test -Pbenchmark
+ */
+@Tag("benchmark")
+@SpringBootTest
+class ListagemProjecaoBenchmarkTest {
+
+    private static final int CATEGORIAS = 20;
+    private static final int FORNECEDORES = 20;
+    private static final int PRODUTOS = 5_000;
+    private static final int PEDIDOS = 2_000;
+    private static final int PRODUTOS_POR_PEDIDO = 5;
+    private static final int AQUECIMENTO = 10;
+    private static final int MEDICOES = 30;
+
+    @Autowired private ProdutoService produtoService;
+    @Autowired private PedidoService pedidoService;
+    @Autowired private CategoriaRepository categoriaRepository;
+    @Autowired private FornecedorRepository fornecedorRepository;
+    @Autowired private ProdutoRepository produtoRepository;
+    @Autowired private PedidoRepository pedidoRepository;
+    @Autowired private TransactionTemplate transactionTemplate;
+    @Autowired private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void popularBanco() {
+        if (produtoRepository.count() == 0) {
+            transactionTemplate.executeWithoutResult(status -> gerarDados());
+        }
+    }
+
+    private void gerarDados() {
+        Random random = new Random(42);
+        List<Categoria> categorias = new ArrayList<>();
+        for (int i = 0; i < CATEGORIAS; i++) {
+            categorias.add(categoriaRepository.save(new Categoria("Categoria " + i)));
+        }
+        List<Fornecedor> fornecedores = new ArrayList<>();
+        for (int i = 0; i < FORNECEDORES; i++) {
+            fornecedores.add(fornecedorRepository.save(new Fornecedor("Fornecedor " + i)));
+        }
+        List<Produto> produtos = new ArrayList<>();
+        for (int i = 0; i < PRODUTOS; i++) {
+            Produto produto = new Produto("Produto " + i, 10 + random.nextInt(5_000) / 10.0);
+            produto.setCategoria(categorias.get(random.nextInt(CATEGORIAS)));
+            produto.setFornecedor(fornecedores.get(random.nextInt(FORNECEDORES)));
+            produtos.add(produto);
+        }
+        produtos = produtoRepository.saveAll(produtos);
+        List<Pedido> pedidos = new ArrayList<>();
+        for (int i = 0; i < PEDIDOS; i++) {
+            Pedido pedido = new Pedido(LocalDate.now().minusDays(random.nextInt(365)));
+            for (int j = 0; j < PRODUTOS_POR_PEDIDO; j++) {
+                pedido.adicionarItem(produtos.get(random.nextInt(PRODUTOS)), 1);
+            }
+            pedidos.add(pedido);
+        }
+        pedidoRepository.saveAll(pedidos);
+    }
+
+    @Test
+    void compararListagemDeEntidadesComProjecoes() throws Exception {
+        medir("GET /api/produtos  antes  (entidades)", () -> transactionTemplate.execute(status ->
+                serializar(produtoRepository.findAll())));
+        medir("GET /api/produtos  depois (projeção)", () -> serializar(produtoService.listarTodos()));
+
+        medir("GET /api/pedidos   antes  (entidades)", () -> transactionTemplate.execute(status ->
+                serializar(pedidoRepository.findAll())));
+        medir("GET /api/pedidos   depois (projeção)", () -> {
+            int bytes = 0;
+            Long after = null;
+            do {
+                PaginaDTO<PedidoResponseDTO> pagina = pedidoService.listarPedidos(after, PaginacaoUtil.LIMITE_MAXIMO_PAGINA);
+                bytes += serializar(pagina);
+                after = pagina.getNext();
+            } while (after != null);
+            return bytes;
+        });
+    }
+
+    private int serializar(Object valor) {
+        try {
+            return objectMapper.writeValueAsBytes(valor).length;
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void medir(String descricao, Callable<Integer> operacao) throws Exception {
+        com.sun.management.ThreadMXBean threadMXBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        for (int i = 0; i < AQUECIMENTO; i++) {
+            operacao.call();
+        }
+        long[] latencias = new long[MEDICOES];
+        long alocadoInicio = threadMXBean.getCurrentThreadAllocatedBytes();
+        int bytesResposta = 0;
+        for (int i = 0; i < MEDICOES; i++) {
+            long inicio = System.nanoTime();
+            bytesResposta = operacao.call();
+            latencias[i] = System.nanoTime() - inicio;
+        }
+        long alocadoPorOperacao = (threadMXBean.getCurrentThreadAllocatedBytes() - alocadoInicio) / MEDICOES;
+        Arrays.sort(latencias);
+        System.out.printf("%-40s p50=%8.3f ms  p99=%8.3f ms  alocado=%,12d bytes/op  resposta=%,10d bytes%n",
+                descricao, latencias[MEDICOES / 2] / 1e6, latencias[MEDICOES - 1] / 1e6, alocadoPorOperacao, bytesResposta);
+    }
+}
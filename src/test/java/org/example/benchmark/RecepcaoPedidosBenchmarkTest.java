@@ -0,0 +1,138 @@
+package org.example.benchmark;
+
+import org.example.dto.PedidoRequestDTO;
+import org.example.dto.TicketPedidoDTO;
+import org.example.exception.CapacityExceededException;
+import org.example.model.Produto;
+import org.example.repository.ProdutoRepository;
+import org.example.service.PedidoService;
+import org.example.service.RecepcaoPedidosService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Benchmark de vazão da recepção assíncrona de pedidos contra a criação síncrona.
+ * Vários clientes concorrentes criam pedidos pelos dois caminhos: PedidoService.criarPedido, com uma
+ * transação por pedido, e RecepcaoPedidosService, com gravação em grupo. No caminho assíncrono o tempo
+ * só termina quando todos os tickets estão concluídos, ou seja, mede pedidos gravados por segundo.
+ * Executar com: mvn test -Pbenchmark
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = "pedidos.recepcao-assincrona.habilitada=true")
+class RecepcaoPedidosBenchmarkTest {
+
+    private static final int CLIENTES = 8;
+    private static final int PEDIDOS_POR_CLIENTE = Integer.getInteger("benchmark.pedidos-por-cliente", 2_000);
+    private static final int AQUECIMENTO_POR_CLIENTE = 200;
+
+    @Autowired
+    private PedidoService pedidoService;
+
+    @Autowired
+    private RecepcaoPedidosService recepcaoPedidosService;
+
+    @Autowired
+    private ProdutoRepository produtoRepository;
+
+    @Test
+    void recepcaoAssincronaDeveGravarMaisPedidosPorSegundoQueACriacaoSincrona() throws Exception {
+        Produto mouse = produtoRepository.save(new Produto("Mouse Benchmark", 99.90));
+        Produto teclado = produtoRepository.save(new Produto("Teclado Benchmark", 249.90));
+        PedidoRequestDTO dto = new PedidoRequestDTO();
+        dto.setProdutoIds(List.of(mouse.getId(), teclado.getId()));
+
+        Queue<UUID> tickets = new ConcurrentLinkedQueue<>();
+        Consumer<PedidoRequestDTO> sincrono = pedidoService::criarPedido;
+        Consumer<PedidoRequestDTO> assincrono = pedido -> tickets.add(enfileirarComEspera(pedido));
+
+        // Cria os resumos de vendas do dia antes da concorrência: a partir daí cada pedido só os incrementa.
+        pedidoService.criarPedido(dto);
+        executar(sincrono, dto, AQUECIMENTO_POR_CLIENTE);
+        executar(assincrono, dto, AQUECIMENTO_POR_CLIENTE);
+        aguardarTickets(tickets);
+
+        double sincronoPorSegundo = medir("síncrono (criarPedido)", () -> executar(sincrono, dto, PEDIDOS_POR_CLIENTE));
+        double assincronoPorSegundo = medir("assíncrono (recepção)", () -> {
+            executar(assincrono, dto, PEDIDOS_POR_CLIENTE);
+            aguardarTickets(tickets);
+        });
+
+        assertTrue(assincronoPorSegundo > sincronoPorSegundo,
+                "Vazão assíncrona " + assincronoPorSegundo + " <= síncrona " + sincronoPorSegundo);
+    }
+
+    private interface Rodada {
+        void executar() throws Exception;
+    }
+
+    private static double medir(String caminho, Rodada rodada) throws Exception {
+        long inicio = System.nanoTime();
+        rodada.executar();
+        double segundos = (System.nanoTime() - inicio) / 1e9;
+        double porSegundo = CLIENTES * PEDIDOS_POR_CLIENTE / segundos;
+        System.out.printf("%-24s %,d pedidos em %.2f s  %,.0f pedidos/s%n",
+                caminho, CLIENTES * PEDIDOS_POR_CLIENTE, segundos, porSegundo);
+        return porSegundo;
+    }
+
+    private static void executar(Consumer<PedidoRequestDTO> criacao, PedidoRequestDTO dto, int pedidosPorCliente) throws Exception {
+        ExecutorService clientes = Executors.newFixedThreadPool(CLIENTES);
+        try {
+            List<Future<?>> execucoes = new ArrayList<>();
+            for (int c = 0; c < CLIENTES; c++) {
+                execucoes.add(clientes.submit(() -> {
+                    for (int i = 0; i < pedidosPorCliente; i++) {
+                        criacao.accept(dto);
+                    }
+                }));
+            }
+            for (Future<?> execucao : execucoes) {
+                execucao.get();
+            }
+        } finally {
+            clientes.shutdown();
+            clientes.awaitTermination(1, TimeUnit.MINUTES);
+        }
+    }
+
+    // Um cliente real respeitaria o Retry-After; aqui basta ceder a vez à thread gravadora.
+    private UUID enfileirarComEspera(PedidoRequestDTO dto) {
+        while (true) {
+            try {
+                return recepcaoPedidosService.enfileirar(dto).ticket();
+            } catch (CapacityExceededException e) {
+                Thread.onSpinWait();
+                Thread.yield();
+            }
+        }
+    }
+
+    private void aguardarTickets(Queue<UUID> tickets) throws InterruptedException {
+        UUID ticket;
+        while ((ticket = tickets.peek()) != null) {
+            TicketPedidoDTO situacao = recepcaoPedidosService.consultar(ticket);
+            if (situacao.situacao() == TicketPedidoDTO.Situacao.PENDENTE) {
+                Thread.sleep(1);
+                continue;
+            }
+            assertEquals(TicketPedidoDTO.Situacao.CONCLUIDO, situacao.situacao(), situacao.mensagem());
+            tickets.poll();
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package org.example.busca;
+
+import org.example.dto.CategoriaRequestDTO;
+import org.example.dto.ProdutoBuscaDTO;
+import org.example.dto.ProdutoRequestDTO;
+import org.example.model.Categoria;
+import org.example.model.Fornecedor;
+import org.example.model.Produto;
+import org.example.repository.CategoriaRepository;
+import org.example.repository.FornecedorRepository;
+import org.example.repository.ProdutoRepository;
+import org.example.service.CategoriaService;
+import org.example.service.ProdutoService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Teste de integração do índice de busca com as services.
+ * O teste não é transacional: o índice só recebe as alterações após o commit de cada transação.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({ProdutoService.class, CategoriaService.class, IndiceBuscaProdutos.class})
+class IndiceBuscaProdutosIntegrationTest {
+
+    @Autowired
+    private IndiceBuscaProdutos indice;
+
+    @Autowired
+    private ProdutoService produtoService;
+
+    @Autowired
+    private CategoriaService categoriaService;
+
+    @Autowired
+    private ProdutoRepository produtoRepository;
+
+    @Autowired
+    private CategoriaRepository categoriaRepository;
+
+    @Autowired
+    private FornecedorRepository fornecedorRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Categoria perifericos;
+    private Fornecedor logitech;
+
+    @BeforeEach
+    void setUp() {
+        perifericos = categoriaRepository.save(new Categoria("Periféricos"));
+        logitech = fornecedorRepository.save(new Fornecedor("Logitech"));
+        indice.reconstruir(List.of());
+    }
+
+    @AfterEach
+    void tearDown() {
+        produtoRepository.deleteAll();
+        categoriaRepository.deleteAll();
+        fornecedorRepository.deleteAll();
+    }
+
+    @Test
+    void deveCarregarProdutosExistentes() {
+        // Arrange
+        Produto mouse = new Produto("Mouse Gamer", 100.00);
+        mouse.setCategoria(perifericos);
+        produtoRepository.save(mouse);
+
+        // Act
+        indice.carregar();
+
+        // Assert
+        List<ProdutoBuscaDTO> resultado = produtoService.buscar("gamer", 10);
+        assertEquals(1, resultado.size());
+        assertEquals("Periféricos", resultado.get(0).categoriaNome());
+    }
+
+    @Test
+    void deveAtualizarIndiceAposCommitDasServices() {
+        // Act & Assert: criação
+        Produto mouse = produtoService.criarProduto(produtoRequest("Mouse Gamer", perifericos.getId()));
+        assertEquals(List.of(mouse.getId()), ids(produtoService.buscar("mouse", 10)));
+
+        // Act & Assert: alteração do nome
+        produtoService.atualizarProduto(mouse.getId(), produtoRequest("Mouse Sem Fio", null));
+        assertTrue(produtoService.buscar("gamer", 10).isEmpty());
+        assertEquals(List.of(mouse.getId()), ids(produtoService.buscar("sem fio", 10)));
+
+        // Act & Assert: categoria renomeada
+        CategoriaRequestDTO categoria = new CategoriaRequestDTO();
+        categoria.setNome("Acessórios");
+        categoriaService.atualizarCategoria(perifericos.getId(), categoria);
+        assertEquals("Acessórios", produtoService.buscar("acessorio", 10).get(0).categoriaNome());
+
+        // Act & Assert: remoção
+        produtoService.deletarProduto(mouse.getId());
+        assertTrue(produtoService.buscar("mouse", 10).isEmpty());
+    }
+
+    @Test
+    void naoDeveIndexarAlteracaoDesfeita() {
+        // Act: a transação externa é revertida após a criação
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            produtoService.criarProduto(produtoRequest("Teclado Mecânico", perifericos.getId()));
+            status.setRollbackOnly();
+        });
+
+        // Assert
+        assertTrue(produtoService.buscar("teclado", 10).isEmpty());
+        assertEquals(0, indice.tamanho());
+    }
+
+    private ProdutoRequestDTO produtoRequest(String nome, Long categoriaId) {
+        ProdutoRequestDTO dto = new ProdutoRequestDTO();
+        dto.setNome(nome);
+        dto.setPreco(100.00);
+        dto.setCategoriaId(categoriaId);
+        dto.setFornecedorId(logitech.getId());
+        return dto;
+    }
+
+    private static List<Long> ids(List<ProdutoBuscaDTO> resultado) {
+        return resultado.stream().map(ProdutoBuscaDTO::id).toList();
+    }
+}
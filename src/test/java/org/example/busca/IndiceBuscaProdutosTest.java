@@ -0,0 +1,164 @@
+package org.example.busca;
+
+import org.example.dto.ProdutoBuscaDTO;
+import org.example.dto.ProdutoResponseDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Teste de unidade do índice de trigramas usado na busca de produtos.
+ */
+class IndiceBuscaProdutosTest {
+
+    private IndiceBuscaProdutos indice;
+
+    @BeforeEach
+    void setUp() {
+        indice = new IndiceBuscaProdutos();
+        indice.reconstruir(List.of(
+                produto(1L, "Mouse Gamer", 1L, "Periféricos"),
+                produto(2L, "Teclado Mecânico", 1L, "Periféricos"),
+                produto(3L, "Mousepad Extra Grande", 1L, "Periféricos"),
+                produto(4L, "Monitor Ultrawide", 2L, "Monitores"),
+                produto(5L, "Cabo HDMI", 3L, "Acessórios"),
+                produto(6L, "Mouse", 1L, "Periféricos")));
+    }
+
+    @Test
+    void deveIgnorarAcentosMaiusculasEPlurais() {
+        assertEquals(List.of(2L), ids(indice.buscar("TECLADOS MECANICOS", 10)));
+        assertEquals(List.of(5L), ids(indice.buscar("acessório", 10)));
+    }
+
+    @Test
+    void deveOrdenarPorRelevancia() {
+        // Act
+        List<ProdutoBuscaDTO> resultado = indice.buscar("mouse", 10);
+
+        // Assert: nome idêntico, depois início do nome (o mais curto primeiro)
+        assertEquals(List.of(6L, 1L, 3L), ids(resultado));
+        assertTrue(resultado.get(0).relevancia() > resultado.get(1).relevancia());
+    }
+
+    @Test
+    void deveCasarPalavrasNoMeioDoNome() {
+        assertEquals(List.of(4L), ids(indice.buscar("wide", 10)));
+        assertEquals(List.of(3L), ids(indice.buscar("mouse grande", 10)));
+    }
+
+    @Test
+    void deveCasarTermoDeDuasLetrasApenasNoInicioDePalavra() {
+        assertEquals(List.of(3L), ids(indice.buscar("ex", 10)));
+        assertTrue(indice.buscar("ad", 10).isEmpty());
+    }
+
+    @Test
+    void deveEncontrarProdutosPeloNomeDaCategoria() {
+        // Act
+        List<ProdutoBuscaDTO> resultado = indice.buscar("perifericos", 10);
+
+        // Assert
+        assertEquals(4, resultado.size());
+        assertEquals("Periféricos", resultado.get(0).categoriaNome());
+        assertEquals(List.of(1L), ids(indice.buscar("gamer periferico", 10)));
+    }
+
+    @Test
+    void deveRespeitarOLimite() {
+        assertEquals(List.of(6L, 1L), ids(indice.buscar("mouse", 2)));
+    }
+
+    @Test
+    void deveRefletirAlteracoesERemocoes() {
+        // Act
+        indice.indexar(produto(2L, "Teclado Sem Fio", 1L, "Periféricos"));
+        indice.indexar(produto(7L, "Headset Gamer", 1L, "Periféricos"));
+        indice.remover(1L);
+
+        // Assert
+        assertTrue(indice.buscar("mecanico", 10).isEmpty());
+        assertEquals(List.of(2L), ids(indice.buscar("sem fio", 10)));
+        assertEquals(List.of(7L), ids(indice.buscar("gamer", 10)));
+        assertEquals(6, indice.tamanho());
+    }
+
+    @Test
+    void deveSubstituirVariosProdutosDeUmaVez() {
+        // Act: reajuste em massa dos produtos da categoria
+        indice.indexarTodos(List.of(
+                new ProdutoResponseDTO(1L, "Mouse Gamer", 110.00, 1L, "Periféricos", null, null),
+                new ProdutoResponseDTO(6L, "Mouse", 110.00, 1L, "Periféricos", null, null)));
+
+        // Assert
+        List<ProdutoBuscaDTO> resultado = indice.buscar("mouse", 10);
+        assertEquals(List.of(6L, 1L, 3L), ids(resultado));
+        assertEquals(List.of(110.00, 110.00, 100.00), resultado.stream().map(ProdutoBuscaDTO::preco).toList());
+        assertEquals(6, indice.tamanho());
+    }
+
+    @Test
+    void deveDescartarEventosMaisAntigosQueAVersaoIndexada() {
+        // Act: os commits das versões 2 e 1 chegam fora de ordem; o reajuste da versão 1 também
+        indice.indexar(produto(2L, "Teclado Sem Fio", 1L, "Periféricos"), 2L);
+        indice.indexar(produto(2L, "Teclado Com Fio", 1L, "Periféricos"), 1L);
+        indice.indexarTodos(List.of(produto(2L, "Teclado Com Fio", 1L, "Periféricos")), Map.of(2L, 1L));
+
+        // Assert
+        assertEquals(List.of(2L), ids(indice.buscar("sem fio", 10)));
+        assertTrue(indice.buscar("com fio", 10).isEmpty());
+    }
+
+    @Test
+    void naoDeveReindexarProdutoRemovidoPorEventoAtrasado() {
+        // Act
+        indice.remover(1L);
+        indice.indexar(produto(1L, "Mouse Gamer", 1L, "Periféricos"), 3L);
+
+        // Assert
+        assertEquals(List.of(6L, 3L), ids(indice.buscar("mouse", 10)));
+        assertEquals(5, indice.tamanho());
+    }
+
+    @Test
+    void deveRefletirCategoriaRenomeada() {
+        // Act
+        indice.renomearCategoria(2L, "Telas");
+
+        // Assert
+        assertTrue(indice.buscar("monitores", 10).stream().noneMatch(produto -> produto.categoriaId().equals(2L)));
+        ProdutoBuscaDTO monitor = indice.buscar("telas", 10).get(0);
+        assertEquals(4L, monitor.id());
+        assertEquals("Telas", monitor.categoriaNome());
+    }
+
+    @Test
+    void deveCompactarAposMuitasRemocoes() {
+        // Arrange
+        for (long id = 100; id < 3100; id++) {
+            indice.indexar(produto(id, "Produto " + id, null, null));
+        }
+
+        // Act
+        for (long id = 100; id < 3100; id++) {
+            indice.remover(id);
+        }
+
+        // Assert: a busca continua consistente após a reconstrução
+        assertEquals(6, indice.tamanho());
+        assertTrue(indice.buscar("produto", 10).isEmpty());
+        assertEquals(List.of(6L, 1L, 3L), ids(indice.buscar("mouse", 10)));
+    }
+
+    private static ProdutoResponseDTO produto(Long id, String nome, Long categoriaId, String categoriaNome) {
+        return new ProdutoResponseDTO(id, nome, 100.00, categoriaId, categoriaNome, null, null);
+    }
+
+    private static List<Long> ids(List<ProdutoBuscaDTO> resultado) {
+        return resultado.stream().map(ProdutoBuscaDTO::id).toList();
+    }
+}
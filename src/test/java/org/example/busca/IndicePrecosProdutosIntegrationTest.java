@@ -0,0 +1,118 @@
+package org.example.busca;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.example.dto.ProdutoRequestDTO;
+import org.example.model.Categoria;
+import org.example.model.Fornecedor;
+import org.example.model.Produto;
+import org.example.repository.CategoriaRepository;
+import org.example.repository.FornecedorRepository;
+import org.example.repository.ProdutoRepository;
+import org.example.service.ProdutoService;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Teste de integração do índice de preços atrás das consultas do ProdutoRepository.
+ * O teste não é transacional: o índice só recebe as alterações após o commit de cada transação.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({ProdutoService.class, IndiceBuscaProdutos.class, IndicePrecosProdutos.class})
+class IndicePrecosProdutosIntegrationTest {
+
+    @Autowired
+    private IndicePrecosProdutos indice;
+
+    @Autowired
+    private ProdutoService produtoService;
+
+    @Autowired
+    private ProdutoRepository produtoRepository;
+
+    @Autowired
+    private CategoriaRepository categoriaRepository;
+
+    @Autowired
+    private FornecedorRepository fornecedorRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Categoria perifericos;
+    private Categoria monitores;
+    private Fornecedor logitech;
+
+    @BeforeEach
+    void setUp() {
+        perifericos = categoriaRepository.save(new Categoria("Periféricos"));
+        monitores = categoriaRepository.save(new Categoria("Monitores"));
+        logitech = fornecedorRepository.save(new Fornecedor("Logitech"));
+        produtoService.criarProduto(produtoRequest("Mouse", 100.00, perifericos.getId()));
+        produtoService.criarProduto(produtoRequest("Teclado", 300.00, perifericos.getId()));
+        produtoService.criarProduto(produtoRequest("Monitor", 900.00, monitores.getId()));
+        indice.carregar();
+    }
+
+    @AfterEach
+    void tearDown() {
+        produtoRepository.deleteAll();
+        categoriaRepository.deleteAll();
+        fornecedorRepository.deleteAll();
+    }
+
+    @Test
+    void deveResponderConsultasDePrecoPeloIndice() {
+        // Arrange
+        Statistics estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        estatisticas.clear();
+
+        // Act & Assert
+        assertEquals(List.of("Teclado", "Monitor"), nomes(produtoRepository.findByPrecoGreaterThan(100.00)));
+        assertEquals(List.of("Mouse"), nomes(produtoRepository.findByPrecoLessThan(300.00)));
+        assertEquals(List.of("Monitor", "Teclado", "Mouse"), nomes(produtoRepository.findTop3ByOrderByPrecoDesc()));
+        assertEquals(List.of("Mouse", "Teclado"), nomes(produtoRepository.findTop5ByCategoriaOrderByPrecoAsc(perifericos)));
+
+        // Assert: nenhuma consulta com filtro ou ordenação foi executada no banco, apenas a carga das entidades por ID
+        assertEquals(0, estatisticas.getQueryExecutionCount());
+    }
+
+    @Test
+    void deveAcompanharAlteracoesFeitasPelaService() {
+        // Act
+        Produto headset = produtoService.criarProduto(produtoRequest("Headset", 50.00, perifericos.getId()));
+        Produto teclado = produtoRepository.findTop5ByCategoriaOrderByPrecoAsc(perifericos).get(2);
+        produtoService.atualizarProduto(teclado.getId(), produtoRequest("Teclado", 1200.00, monitores.getId()));
+        produtoService.deletarProduto(headset.getId());
+
+        // Assert
+        assertEquals(List.of("Teclado", "Monitor", "Mouse"), nomes(produtoRepository.findTop3ByOrderByPrecoDesc()));
+        assertEquals(List.of("Mouse"), nomes(produtoRepository.findTop5ByCategoriaOrderByPrecoAsc(perifericos)));
+        assertEquals(List.of("Monitor", "Teclado"), nomes(produtoRepository.findTop5ByCategoriaOrderByPrecoAsc(monitores)));
+    }
+
+    private ProdutoRequestDTO produtoRequest(String nome, Double preco, Long categoriaId) {
+        ProdutoRequestDTO dto = new ProdutoRequestDTO();
+        dto.setNome(nome);
+        dto.setPreco(preco);
+        dto.setCategoriaId(categoriaId);
+        dto.setFornecedorId(logitech.getId());
+        return dto;
+    }
+
+    private static List<String> nomes(List<Produto> produtos) {
+        return produtos.stream().map(Produto::getNome).toList();
+    }
+}
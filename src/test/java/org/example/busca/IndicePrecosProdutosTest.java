@@ -0,0 +1,109 @@
+package org.example.busca;
+
+import org.example.dto.ProdutoPrecoDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Teste de unidade do índice de preços.
+ */
+class IndicePrecosProdutosTest {
+
+    private IndicePrecosProdutos indice;
+
+    @BeforeEach
+    void setUp() {
+        indice = new IndicePrecosProdutos();
+        indice.reconstruir(List.of(
+                new ProdutoPrecoDTO(1L, 100.00, 10L, null),
+                new ProdutoPrecoDTO(2L, 300.00, 10L, null),
+                new ProdutoPrecoDTO(3L, 50.00, 20L, null),
+                new ProdutoPrecoDTO(4L, 300.00, 20L, null),
+                new ProdutoPrecoDTO(5L, 900.00, null, null),
+                new ProdutoPrecoDTO(6L, null, 10L, null)));
+    }
+
+    @Test
+    void deveResponderFaixasDePrecoEmOrdemCrescente() {
+        // Os limites são exclusivos e produtos sem preço não entram no índice
+        assertArrayEquals(new long[]{2L, 4L, 5L}, indice.maioresQue(100.00));
+        assertArrayEquals(new long[]{3L, 1L}, indice.menoresQue(300.00));
+        assertArrayEquals(new long[]{}, indice.maioresQue(900.00));
+        assertArrayEquals(new long[]{3L, 1L, 2L, 4L, 5L}, indice.menoresQue(1000.00));
+    }
+
+    @Test
+    void deveRetornarMaisCarosEMaisBaratosDaCategoria() {
+        assertArrayEquals(new long[]{5L, 4L, 2L}, indice.maisCaros(3));
+        assertArrayEquals(new long[]{1L, 2L}, indice.maisBaratosDaCategoria(10L, 5));
+        assertArrayEquals(new long[]{}, indice.maisBaratosDaCategoria(99L, 5));
+    }
+
+    @Test
+    void deveMoverProdutoAoAlterarPrecoOuCategoria() {
+        // Act
+        indice.atualizar(new ProdutoPrecoDTO(1L, 1000.00, 20L, null));
+        indice.atualizar(new ProdutoPrecoDTO(7L, 10.00, 10L, null));
+
+        // Assert
+        assertArrayEquals(new long[]{1L, 5L, 4L}, indice.maisCaros(3));
+        assertArrayEquals(new long[]{7L, 2L}, indice.maisBaratosDaCategoria(10L, 5));
+        assertArrayEquals(new long[]{3L, 4L, 1L}, indice.maisBaratosDaCategoria(20L, 5));
+    }
+
+    @Test
+    void deveAplicarReajusteDeVariosProdutosDeUmaVez() {
+        // Act: reajuste dos produtos da categoria 10
+        indice.atualizarTodos(List.of(new ProdutoPrecoDTO(1L, 330.00, 10L, null), new ProdutoPrecoDTO(2L, 990.00, 10L, null)));
+
+        // Assert: os demais produtos permanecem
+        assertArrayEquals(new long[]{2L, 5L, 1L}, indice.maisCaros(3));
+        assertArrayEquals(new long[]{1L, 2L}, indice.maisBaratosDaCategoria(10L, 5));
+        assertArrayEquals(new long[]{3L, 4L, 1L, 5L, 2L}, indice.menoresQue(1000.00));
+    }
+
+    @Test
+    void deveDescartarEventosMaisAntigosQueAVersaoIndexada() {
+        // Act: os commits das versões 2 e 1 chegam fora de ordem; o reajuste da versão 1 também
+        indice.atualizar(new ProdutoPrecoDTO(1L, 1000.00, 10L, null), 2L);
+        indice.atualizar(new ProdutoPrecoDTO(1L, 10.00, 20L, null), 1L);
+        indice.atualizarTodos(List.of(new ProdutoPrecoDTO(1L, 20.00, 10L, null)), Map.of(1L, 1L));
+
+        // Assert
+        assertArrayEquals(new long[]{1L, 5L}, indice.maisCaros(2));
+        assertArrayEquals(new long[]{3L, 4L}, indice.maisBaratosDaCategoria(20L, 5));
+    }
+
+    @Test
+    void naoDeveReindexarProdutoRemovidoPorEventoAtrasado() {
+        // Act
+        indice.remover(5L);
+        indice.atualizar(new ProdutoPrecoDTO(5L, 900.00, null, null), 3L);
+
+        // Assert
+        assertArrayEquals(new long[]{4L, 2L}, indice.maisCaros(2));
+    }
+
+    @Test
+    void deveRemoverProduto() {
+        // Act
+        indice.remover(2L);
+        indice.remover(999L);
+
+        // Assert
+        assertArrayEquals(new long[]{4L, 5L}, indice.maioresQue(100.00));
+        assertArrayEquals(new long[]{1L}, indice.maisBaratosDaCategoria(10L, 5));
+    }
+
+    @Test
+    void deveRetirarProdutoDoIndiceQuandoPerdeOPreco() {
+        indice.atualizar(new ProdutoPrecoDTO(5L, null, null, null));
+
+        assertArrayEquals(new long[]{4L, 2L, 1L}, indice.maisCaros(3));
+    }
+}
@@ -0,0 +1,113 @@
+package org.example.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.example.dto.CategoriaRequestDTO;
+import org.example.dto.CategoriaResumoDTO;
+import org.example.model.Categoria;
+import org.example.repository.CategoriaRepository;
+import org.example.service.CategoriaService;
+import org.flywaydb.core.Flyway;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Teste de integração das réplicas de leitura com dois bancos H2: o primário do contexto e uma réplica migrada
+ * à parte, que não recebe as gravações do primário. Uma categoria existe só na réplica, de modo que as leituras
+ * das services revelam o banco usado.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "banco.replicas.habilitado=true",
+        "banco.replicas.consulta-atraso=SELECT 0",
+        "banco.replicas.intervalo-verificacao-ms=3600000",
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=true",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class ReplicasLeituraIntegrationTest {
+
+    private static final String URL_REPLICA = "jdbc:h2:mem:replica-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1";
+    private static final long ID_SOMENTE_NA_REPLICA = 1_000_000L;
+
+    @Autowired
+    private CategoriaService categoriaService;
+
+    @Autowired
+    private CategoriaRepository categoriaRepository;
+
+    @Autowired
+    private RoteadorDataSource roteadorDataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @DynamicPropertySource
+    static void replicas(DynamicPropertyRegistry registry) {
+        registry.add("banco.replicas.urls", () -> URL_REPLICA);
+    }
+
+    @BeforeAll
+    static void prepararReplica() {
+        DataSource replica = new DriverManagerDataSource(URL_REPLICA, "sa", "password");
+        Flyway.configure().dataSource(replica).load().migrate();
+        new JdbcTemplate(replica).update("INSERT INTO categoria (id, versao, nome, nome_normalizado) VALUES (?, 0, ?, ?)",
+                ID_SOMENTE_NA_REPLICA, "Somente na réplica", "somente na replica");
+    }
+
+    @BeforeEach
+    void setUp() {
+        roteadorDataSource.verificarReplicas();
+    }
+
+    @Test
+    void deveLerDaReplicaNasTransacoesSomenteLeitura() {
+        assertEquals(1, roteadorDataSource.replicasDisponiveis());
+        assertEquals("Somente na réplica", categoriaService.buscarPorId(ID_SOMENTE_NA_REPLICA).getNome());
+    }
+
+    @Test
+    void deveGravarELerNoPrimarioNasDemaisTransacoes() {
+        // Act
+        CategoriaRequestDTO dto = new CategoriaRequestDTO();
+        dto.setNome("Livros");
+        Long id = categoriaService.criarCategoria(dto).getId();
+
+        // Assert: a réplica deste teste não recebe a gravação; uma transação de gravação lê do primário
+        assertTrue(categoriaService.listarTodas().stream().map(CategoriaResumoDTO::id).noneMatch(id::equals));
+        Categoria lidaNoPrimario = new TransactionTemplate(transactionManager).execute(status ->
+                categoriaRepository.findById(id).orElseThrow());
+        assertEquals("Livros", lidaNoPrimario.getNome());
+    }
+
+    @Test
+    void naoDeveColocarNoCacheOQueLeDaReplica() {
+        // Arrange
+        Statistics estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        estatisticas.clear();
+
+        // Act
+        categoriaService.buscarPorId(ID_SOMENTE_NA_REPLICA);
+        categoriaService.buscarPorId(ID_SOMENTE_NA_REPLICA);
+
+        // Assert: as duas leituras vão à réplica e nenhuma popula o cache
+        assertEquals(0, estatisticas.getDomainDataRegionStatistics(Categoria.class.getName()).getPutCount());
+        assertEquals(2, estatisticas.getEntityStatistics(Categoria.class.getName()).getLoadCount());
+    }
+}
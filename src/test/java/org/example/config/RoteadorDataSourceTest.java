@@ -0,0 +1,152 @@
+package org.example.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Teste do roteamento entre dois bancos H2 em memória, um como primário e outro como réplica.
+ * Cada banco tem uma tabela "origem" com o próprio nome, de modo que a consulta revela o banco usado.
+ */
+class RoteadorDataSourceTest {
+
+    private static final String CONSULTA_ATRASO = "SELECT ms FROM atraso_replicacao";
+
+    private JdbcTemplate primario;
+    private JdbcTemplate replica;
+    private String urlReplica;
+    private RoteadorDataSource roteador;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate leitura;
+    private TransactionTemplate gravacao;
+
+    @BeforeEach
+    void setUp() {
+        primario = new JdbcTemplate(banco("jdbc:h2:mem:primario-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1"));
+        urlReplica = "jdbc:h2:mem:replica-" + UUID.randomUUID();
+        replica = new JdbcTemplate(banco(urlReplica + ";DB_CLOSE_DELAY=-1"));
+        primario.execute("CREATE TABLE origem (nome VARCHAR(20))");
+        primario.update("INSERT INTO origem VALUES ('primario')");
+        replica.execute("CREATE TABLE origem (nome VARCHAR(20))");
+        replica.update("INSERT INTO origem VALUES ('replica')");
+        replica.execute("CREATE TABLE atraso_replicacao (ms BIGINT)");
+        replica.update("INSERT INTO atraso_replicacao VALUES (0)");
+
+        // IFEXISTS: depois do SHUTDOWN, a réplica recusa conexões em vez de criar um banco vazio.
+        usarReplicas(List.of(banco(urlReplica + ";IFEXISTS=TRUE")));
+    }
+
+    @Test
+    void deveEnviarApenasTransacoesSomenteLeituraAReplica() {
+        // Act
+        roteador.verificarReplicas();
+
+        // Assert
+        assertEquals("replica", lerEmLeitura());
+        assertEquals("primario", gravacao.execute(status -> origem()));
+        assertEquals("primario", origem());
+    }
+
+    @Test
+    void deveLerDoPrimarioAntesDaPrimeiraVerificacao() {
+        assertEquals(0, roteador.replicasDisponiveis());
+        assertEquals("primario", lerEmLeitura());
+    }
+
+    @Test
+    void deveVoltarAoPrimarioEnquantoAReplicaEstiverAtrasada() {
+        // Arrange
+        roteador.verificarReplicas();
+        replica.update("UPDATE atraso_replicacao SET ms = 6000");
+
+        // Act
+        roteador.verificarReplicas();
+
+        // Assert: atraso acima de 5000 ms retira a réplica até que ela se atualize
+        assertEquals("primario", lerEmLeitura());
+        replica.update("UPDATE atraso_replicacao SET ms = 200");
+        roteador.verificarReplicas();
+        assertEquals("replica", lerEmLeitura());
+    }
+
+    @Test
+    void deveVoltarAoPrimarioQuandoAReplicaRecusaConexoes() {
+        // Arrange
+        roteador.verificarReplicas();
+        replica.execute("SHUTDOWN");
+
+        // Act + Assert: a leitura não falha e a réplica sai do rodízio sem esperar a verificação
+        assertEquals("primario", lerEmLeitura());
+        assertEquals(0, roteador.replicasDisponiveis());
+        roteador.verificarReplicas();
+        assertEquals(0, roteador.replicasDisponiveis());
+    }
+
+    @Test
+    void deveIgnorarReplicaIndisponivelNoRodizio() {
+        // Arrange: a primeira réplica não existe
+        usarReplicas(List.of(banco("jdbc:h2:mem:inexistente-" + UUID.randomUUID() + ";IFEXISTS=TRUE"),
+                banco(urlReplica + ";IFEXISTS=TRUE")));
+
+        // Act
+        roteador.verificarReplicas();
+
+        // Assert
+        assertEquals(1, roteador.replicasDisponiveis());
+        for (int i = 0; i < 4; i++) {
+            assertEquals("replica", lerEmLeitura());
+        }
+    }
+
+    @Test
+    void deveFecharOsPoolsDasReplicasAoSerDescartado() throws Exception {
+        // Arrange
+        HikariDataSource pool = new HikariDataSource();
+        pool.setJdbcUrl(urlReplica + ";IFEXISTS=TRUE");
+        pool.setUsername("sa");
+        usarReplicas(List.of(pool));
+        roteador.verificarReplicas();
+        assertEquals("replica", lerEmLeitura());
+
+        // Act
+        roteador.destroy();
+
+        // Assert: as leituras voltam ao primário sem tocar no pool fechado
+        assertTrue(pool.isClosed());
+        assertEquals(0, roteador.replicasDisponiveis());
+        assertEquals("primario", lerEmLeitura());
+    }
+
+    private void usarReplicas(List<DataSource> replicas) {
+        roteador = new RoteadorDataSource(primario.getDataSource(), replicas, CONSULTA_ATRASO, 5000);
+        DataSource dataSource = new LazyConnectionDataSourceProxy(roteador);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        leitura = new TransactionTemplate(transactionManager);
+        leitura.setReadOnly(true);
+        gravacao = new TransactionTemplate(transactionManager);
+    }
+
+    private String lerEmLeitura() {
+        return leitura.execute(status -> origem());
+    }
+
+    private String origem() {
+        return jdbcTemplate.queryForObject("SELECT nome FROM origem", String.class);
+    }
+
+    private static DataSource banco(String url) {
+        return new DriverManagerDataSource(url, "sa", "");
+    }
+}
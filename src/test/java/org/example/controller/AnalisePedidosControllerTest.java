@@ -0,0 +1,62 @@
+package org.example.controller;
+
+import org.example.dto.PontoSerieDTO;
+import org.example.dto.PrazoEntregaDTO;
+import org.example.model.Granularidade;
+import org.example.service.AnalisePedidosService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.mockito.BDDMockito.given;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Teste de integração para o AnalisePedidosController.
+ */
+@WebMvcTest(AnalisePedidosController.class)
+class AnalisePedidosControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private AnalisePedidosService analisePedidosService;
+
+    @Test
+    void deveRetornarSerieMensal() throws Exception {
+        LocalDate inicio = LocalDate.of(2024, 1, 1);
+        LocalDate fim = LocalDate.of(2024, 2, 29);
+        given(analisePedidosService.gerarSerie(Granularidade.MES, inicio, fim, false)).willReturn(List.of(
+                new PontoSerieDTO(inicio, 120L), new PontoSerieDTO(LocalDate.of(2024, 2, 1), 95L)));
+
+        mockMvc.perform(get("/api/pedidos/analise/serie")
+                        .param("granularidade", "MES")
+                        .param("inicio", "2024-01-01")
+                        .param("fim", "2024-02-29"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[1].inicio").value("2024-02-01"))
+                .andExpect(jsonPath("$[1].pedidos").value(95));
+    }
+
+    @Test
+    void deveRetornarPercentisDoPrazoDeEntrega() throws Exception {
+        LocalDate inicio = LocalDate.of(2024, 1, 1);
+        LocalDate fim = LocalDate.of(2024, 12, 31);
+        given(analisePedidosService.calcularPrazoEntrega(inicio, fim, false))
+                .willReturn(new PrazoEntregaDTO(100L, 2.66, 1L, 3L, 7L, 20L, 20L));
+
+        mockMvc.perform(get("/api/pedidos/analise/prazo-entrega")
+                        .param("inicio", "2024-01-01")
+                        .param("fim", "2024-12-31"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.pedidosEntregues").value(100))
+                .andExpect(jsonPath("$.p99").value(20));
+    }
+}
@@ -0,0 +1,41 @@
+package org.example.controller;
+
+import org.example.dto.EstatisticaCacheDTO;
+import org.example.service.CacheService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.mockito.BDDMockito.given;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Teste de integração para o CacheController.
+ */
+@WebMvcTest(CacheController.class)
+class CacheControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private CacheService cacheService;
+
+    @Test
+    void deveListarEstatisticasDoCache() throws Exception {
+        given(cacheService.listarEstatisticas())
+                .willReturn(List.of(EstatisticaCacheDTO.of("org.example.model.Produto", 9, 1, 1)));
+
+        mockMvc.perform(get("/api/cache/estatisticas"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].regiao").value("org.example.model.Produto"))
+                .andExpect(jsonPath("$[0].acertos").value(9))
+                .andExpect(jsonPath("$[0].falhas").value(1))
+                .andExpect(jsonPath("$[0].taxaDeAcerto").value(0.9));
+    }
+}
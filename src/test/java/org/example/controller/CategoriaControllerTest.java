@@ -2,6 +2,9 @@ package org.example.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.example.dto.CategoriaRequestDTO;
+import org.example.dto.CategoriaResumoDTO;
+import org.example.dto.PaginaDTO;
+import org.example.dto.ProdutoResponseDTO;
 import org.example.exception.BusinessRuleException;
 import org.example.exception.ResourceNotFoundException;
 import org.example.model.Categoria;
@@ -13,6 +16,8 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.util.List;
+
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
@@ -39,6 +44,31 @@ class CategoriaControllerTest {
     @MockBean
     private CategoriaService categoriaService;
 
+    @Test
+    void deveListarCategoriasComQuantidadeDeProdutos() throws Exception {
+        given(categoriaService.listarTodas()).willReturn(List.of(
+                new CategoriaResumoDTO(1L, "Eletrônicos", 12L), new CategoriaResumoDTO(2L, "Livros", 0L)));
+
+        // A listagem traz apenas a contagem, nunca os produtos.
+        mockMvc.perform(get("/api/categorias"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].nome").value("Eletrônicos"))
+                .andExpect(jsonPath("$[0].quantidadeProdutos").value(12))
+                .andExpect(jsonPath("$[0].produtos").doesNotExist());
+    }
+
+    @Test
+    void deveListarProdutosDaCategoriaPorPagina() throws Exception {
+        ProdutoResponseDTO mouse = new ProdutoResponseDTO(7L, "Mouse", 99.9, 1L, "Eletrônicos", null, null);
+        given(categoriaService.listarProdutos(1L, 5L, 1)).willReturn(new PaginaDTO<>(List.of(mouse), 7L));
+
+        mockMvc.perform(get("/api/categorias/{id}/produtos", 1L).param("after", "5").param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.itens[0].nome").value("Mouse"))
+                .andExpect(jsonPath("$.next").value(7));
+    }
+
     @Test
     void deveCriarCategoriaComSucesso() throws Exception {
         CategoriaRequestDTO dto = new CategoriaRequestDTO();
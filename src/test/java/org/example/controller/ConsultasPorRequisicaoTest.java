@@ -0,0 +1,285 @@
+package org.example.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.dto.EntregaPedidoRequestDTO;
+import org.example.dto.PedidoRequestDTO;
+import org.example.dto.PedidoUpdateRequestDTO;
+import org.example.dto.ProdutoRequestDTO;
+import org.example.model.Categoria;
+import org.example.model.Fornecedor;
+import org.example.model.Pedido;
+import org.example.model.Produto;
+import org.example.repository.CategoriaRepository;
+import org.example.repository.FornecedorRepository;
+import org.example.repository.PedidoRepository;
+import org.example.repository.ProdutoRepository;
+import org.example.repository.ResumoVendaDiariaRepository;
+import org.example.service.PedidoService;
+import org.example.service.ProdutoService;
+import org.example.sql.ContadorConsultas;
+import org.example.sql.QueryBudget;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Orçamentos de consultas SQL das leituras da API e das gravações de pedidos, com o contexto completo e um
+ * banco H2 populado.
+ * Os *ControllerTest verificam o contrato HTTP com services mockadas; aqui cada endpoint declara,
+ * com @QueryBudget, quantos comandos SQL pode emitir por requisição, para que um N+1 faça o build falhar.
+ * Há vários registros de cada tipo: um N+1 aparece como uma consulta a mais por registro.
+ * O orçamento padrão é uma consulta; as buscas por ID fazem duas (a versão para o ETag e a entidade).
+ * As gravações de pedidos emitem ainda um upsert por bucket do resumo de vendas (cada categoria e cada
+ * fornecedor envolvidos, três de cada aqui): o orçamento cresce com os buckets, não com os pedidos ou itens,
+ * cujas inserções saem em lote.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+@Import(ContadorConsultas.class)
+@QueryBudget(1)
+class ConsultasPorRequisicaoTest {
+
+    private static final int PEDIDOS = 6;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ProdutoService produtoService;
+
+    @Autowired
+    private PedidoService pedidoService;
+
+    @Autowired
+    private CategoriaRepository categoriaRepository;
+
+    @Autowired
+    private FornecedorRepository fornecedorRepository;
+
+    @Autowired
+    private ProdutoRepository produtoRepository;
+
+    @Autowired
+    private PedidoRepository pedidoRepository;
+
+    @Autowired
+    private ResumoVendaDiariaRepository resumoVendaDiariaRepository;
+
+    private Long produtoId;
+    private final List<Long> produtoIds = new ArrayList<>();
+    private Long categoriaId;
+    private Long fornecedorId;
+    private final List<Long> pedidoIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        List<Long> produtos = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            Categoria categoria = categoriaRepository.save(new Categoria("Categoria " + i));
+            Fornecedor fornecedor = fornecedorRepository.save(new Fornecedor("Fornecedor " + i));
+            for (int j = 0; j < 2; j++) {
+                ProdutoRequestDTO dto = new ProdutoRequestDTO();
+                dto.setNome("Produto " + i + "-" + j);
+                dto.setPreco(10.0 * (i + j + 1));
+                dto.setCategoriaId(categoria.getId());
+                dto.setFornecedorId(fornecedor.getId());
+                produtos.add(produtoService.criarProduto(dto).getId());
+            }
+            categoriaId = categoria.getId();
+            fornecedorId = fornecedor.getId();
+        }
+        produtoId = produtos.get(0);
+        produtoIds.addAll(produtos);
+
+        for (int i = 0; i < PEDIDOS; i++) {
+            PedidoRequestDTO dto = new PedidoRequestDTO();
+            dto.setProdutoIds(List.of(produtos.get(i % produtos.size()), produtos.get((i + 1) % produtos.size())));
+            Pedido pedido = pedidoService.criarPedido(dto);
+            pedidoIds.add(pedido.getId());
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        pedidoRepository.deleteAll();
+        resumoVendaDiariaRepository.deleteAll();
+        produtoRepository.findAll().forEach(produto -> produtoService.deletarProduto(produto.getId()));
+        categoriaRepository.deleteAll();
+        fornecedorRepository.deleteAll();
+        pedidoIds.clear();
+        produtoIds.clear();
+    }
+
+    @Test
+    void listarProdutos() throws Exception {
+        mockMvc.perform(get("/api/produtos")).andExpect(status().isOk()).andExpect(jsonPath("$.length()").value(6));
+    }
+
+    @Test
+    @QueryBudget(2)
+    void buscarProduto() throws Exception {
+        mockMvc.perform(get("/api/produtos/{id}", produtoId)).andExpect(status().isOk());
+    }
+
+    @Test
+    @QueryBudget(0)
+    void buscarProdutosPorTermo() throws Exception {
+        mockMvc.perform(get("/api/produtos/busca").param("q", "produto"))
+                .andExpect(status().isOk()).andExpect(jsonPath("$.length()").value(6));
+    }
+
+    @Test
+    void listarCategorias() throws Exception {
+        mockMvc.perform(get("/api/categorias")).andExpect(status().isOk()).andExpect(jsonPath("$.length()").value(3))
+                .andExpect(jsonPath("$[0].quantidadeProdutos").value(2));
+    }
+
+    @Test
+    @QueryBudget(2)
+    void listarProdutosDaCategoria() throws Exception {
+        mockMvc.perform(get("/api/categorias/{id}/produtos", categoriaId))
+                .andExpect(status().isOk()).andExpect(jsonPath("$.itens.length()").value(2));
+    }
+
+    @Test
+    @QueryBudget(2)
+    void buscarCategoria() throws Exception {
+        mockMvc.perform(get("/api/categorias/{id}", categoriaId)).andExpect(status().isOk());
+    }
+
+    @Test
+    void listarFornecedores() throws Exception {
+        mockMvc.perform(get("/api/fornecedores")).andExpect(status().isOk()).andExpect(jsonPath("$.length()").value(3));
+    }
+
+    @Test
+    @QueryBudget(2)
+    void buscarFornecedor() throws Exception {
+        mockMvc.perform(get("/api/fornecedores/{id}", fornecedorId)).andExpect(status().isOk());
+    }
+
+    @Test
+    @QueryBudget(2)
+    void listarPedidos() throws Exception {
+        mockMvc.perform(get("/api/pedidos")).andExpect(status().isOk()).andExpect(jsonPath("$.itens.length()").value(PEDIDOS));
+    }
+
+    @Test
+    @QueryBudget(2)
+    void listarPedidosPendentes() throws Exception {
+        mockMvc.perform(get("/api/pedidos/pendentes")).andExpect(status().isOk())
+                .andExpect(jsonPath("$.itens.length()").value(PEDIDOS));
+    }
+
+    @Test
+    @QueryBudget(2)
+    void buscarPedido() throws Exception {
+        mockMvc.perform(get("/api/pedidos/{id}", pedidoIds.get(0))).andExpect(status().isOk())
+                .andExpect(jsonPath("$.itens.length()").value(2));
+    }
+
+    @Test
+    void buscarPedidoNaoModificado() throws Exception {
+        String etag = pedidoService.buscarVersao(pedidoIds.get(0)).etag();
+        mockMvc.perform(get("/api/pedidos/{id}", pedidoIds.get(0)).header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    @QueryBudget(2)
+    void calcularTotalDoPedido() throws Exception {
+        mockMvc.perform(get("/api/pedidos/{id}/total", pedidoIds.get(0))).andExpect(status().isOk());
+    }
+
+    @Test
+    void calcularFaturamento() throws Exception {
+        String hoje = LocalDate.now().toString();
+        mockMvc.perform(get("/api/pedidos/faturamento").param("inicio", hoje).param("fim", hoje)).andExpect(status().isOk());
+    }
+
+    @Test
+    void gerarSerieDePedidos() throws Exception {
+        String hoje = LocalDate.now().toString();
+        mockMvc.perform(get("/api/pedidos/analise/serie").param("inicio", hoje).param("fim", hoje))
+                .andExpect(status().isOk()).andExpect(jsonPath("$[0].pedidos").value(PEDIDOS));
+    }
+
+    @Test
+    void calcularPrazoDeEntrega() throws Exception {
+        String hoje = LocalDate.now().toString();
+        mockMvc.perform(get("/api/pedidos/analise/prazo-entrega").param("inicio", hoje).param("fim", hoje))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void listarResumoDeVendas() throws Exception {
+        String hoje = LocalDate.now().toString();
+        mockMvc.perform(get("/api/vendas/resumo").param("dimensao", "CATEGORIA").param("inicio", hoje).param("fim", hoje))
+                .andExpect(status().isOk()).andExpect(jsonPath("$.length()").value(3));
+    }
+
+    // Produtos, seis upserts de resumo, o pedido e os itens (em lote).
+    @Test
+    @QueryBudget(9)
+    void criarPedido() throws Exception {
+        mockMvc.perform(post("/api/pedidos").contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(pedidoRequest(produtoIds))))
+                .andExpect(status().isCreated()).andExpect(jsonPath("$.itens.length()").value(produtoIds.size()));
+    }
+
+    // Os mesmos comandos de um único pedido: pedidos e itens saem em lote e os resumos são consolidados.
+    @Test
+    @QueryBudget(9)
+    void criarPedidosEmLote() throws Exception {
+        List<PedidoRequestDTO> lote = new ArrayList<>();
+        for (int i = 0; i < PEDIDOS; i++) {
+            lote.add(pedidoRequest(List.of(produtoIds.get(i % produtoIds.size()), produtoIds.get((i + 1) % produtoIds.size()))));
+        }
+        mockMvc.perform(post("/api/pedidos/lote").contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(lote)))
+                .andExpect(status().isCreated()).andExpect(jsonPath("$.ids.length()").value(PEDIDOS));
+    }
+
+    // O pedido com os itens, os produtos, os upserts dos buckets alterados, a versão, os itens e o novo ETag.
+    @Test
+    @QueryBudget(9)
+    void atualizarPedido() throws Exception {
+        PedidoUpdateRequestDTO dto = new PedidoUpdateRequestDTO();
+        dto.setProdutoIds(produtoIds);
+        mockMvc.perform(put("/api/pedidos/{id}", pedidoIds.get(0)).contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(dto)))
+                .andExpect(status().isOk()).andExpect(jsonPath("$.itens.length()").value(produtoIds.size()));
+    }
+
+    // Um único UPDATE em lote, sem carregar os pedidos.
+    @Test
+    void confirmarEntregas() throws Exception {
+        LocalDate hoje = LocalDate.now();
+        List<EntregaPedidoRequestDTO> entregas = pedidoIds.stream().map(id -> new EntregaPedidoRequestDTO(id, hoje)).toList();
+        mockMvc.perform(patch("/api/pedidos/entregas").contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(entregas)))
+                .andExpect(status().isOk()).andExpect(jsonPath("$.atualizados").value(PEDIDOS));
+    }
+
+    private static PedidoRequestDTO pedidoRequest(List<Long> produtoIds) {
+        PedidoRequestDTO dto = new PedidoRequestDTO();
+        dto.setProdutoIds(produtoIds);
+        return dto;
+    }
+}
@@ -2,6 +2,8 @@ package org.example.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.example.dto.FornecedorRequestDTO;
+import org.example.dto.FornecedorResponseDTO;
+import org.example.dto.RepresentacaoDTO;
 import org.example.exception.BusinessRuleException;
 import org.example.model.Fornecedor;
 import org.example.service.FornecedorService;
@@ -14,6 +16,7 @@ import org.springframework.test.web.servlet.MockMvc;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.BDDMockito.willDoNothing;
 import static org.mockito.BDDMockito.willThrow;
@@ -73,12 +76,14 @@ class FornecedorControllerTest {
         Fornecedor fornecedorAtualizado = new Fornecedor("Nome Atualizado");
         fornecedorAtualizado.setId(fornecedorId);
 
-        given(fornecedorService.atualizarFornecedor(eq(fornecedorId), any(FornecedorRequestDTO.class))).willReturn(fornecedorAtualizado);
+        given(fornecedorService.atualizarFornecedor(eq(fornecedorId), any(FornecedorRequestDTO.class), isNull()))
+                .willReturn(new RepresentacaoDTO<>(FornecedorResponseDTO.fromEntity(fornecedorAtualizado), "\"1.0\""));
 
         mockMvc.perform(put("/api/fornecedores/{id}", fornecedorId)
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(dto)))
                 .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"1.0\""))
                 .andExpect(jsonPath("$.nome").value("Nome Atualizado"));
     }
 
@@ -1,30 +1,56 @@
 package org.example.controller;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import org.example.config.FormatosBinariosConfig;
+import org.example.dto.EntregaLoteResponseDTO;
+import org.example.dto.EntregaPedidoRequestDTO;
+import org.example.dto.ItemPedidoResponseDTO;
+import org.example.dto.PaginaDTO;
 import org.example.dto.PedidoRequestDTO;
+import org.example.dto.PedidoResponseDTO;
 import org.example.dto.PedidoUpdateRequestDTO;
+import org.example.dto.TicketPedidoDTO;
+import org.example.dto.RepresentacaoDTO;
+import org.example.exception.CapacityExceededException;
+import org.example.exception.PreconditionFailedException;
 import org.example.exception.ResourceNotFoundException;
 import org.example.model.Pedido;
 import org.example.service.PedidoService;
+import org.example.service.RecepcaoPedidosService;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.UUID;
+import java.util.function.Predicate;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doThrow;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(PedidoController.class)
+@Import(FormatosBinariosConfig.class)
 class PedidoControllerTest {
 
     @Autowired
@@ -36,6 +62,9 @@ class PedidoControllerTest {
     @MockBean
     private PedidoService pedidoService;
 
+    @MockBean
+    private RecepcaoPedidosService recepcaoPedidosService;
+
     @Test
     void deveCriarPedidoComSucesso() throws Exception {
         PedidoRequestDTO dto = new PedidoRequestDTO();
@@ -53,6 +82,82 @@ class PedidoControllerTest {
                 .andExpect(header().string("Location", "http://localhost/api/pedidos/1"));
     }
 
+    @Test
+    void deveCriarPedidosEmLoteComSucesso() throws Exception {
+        PedidoRequestDTO primeiro = new PedidoRequestDTO();
+        primeiro.setProdutoIds(List.of(1L));
+        PedidoRequestDTO segundo = new PedidoRequestDTO();
+        segundo.setProdutoIds(List.of(1L, 2L));
+
+        given(pedidoService.criarPedidosEmLote(any())).willReturn(List.of(51L, 52L));
+
+        mockMvc.perform(post("/api/pedidos/lote")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(List.of(primeiro, segundo))))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.quantidade").value(2))
+                .andExpect(jsonPath("$.ids[1]").value(52));
+    }
+
+    @Test
+    void deveConfirmarEntregasEmLote() throws Exception {
+        List<EntregaPedidoRequestDTO> entregas = List.of(new EntregaPedidoRequestDTO(1L, LocalDate.of(2024, 5, 10)),
+                new EntregaPedidoRequestDTO(99L, LocalDate.of(2024, 5, 10)));
+
+        given(pedidoService.confirmarEntregas(any())).willReturn(new EntregaLoteResponseDTO(1, List.of(99L)));
+
+        mockMvc.perform(patch("/api/pedidos/entregas")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(entregas)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.atualizados").value(1))
+                .andExpect(jsonPath("$.naoEncontrados[0]").value(99));
+    }
+
+    @Test
+    void deveReceberPedidoDeFormaAssincronaComTicket() throws Exception {
+        PedidoRequestDTO dto = new PedidoRequestDTO();
+        dto.setProdutoIds(List.of(1L));
+        UUID ticket = UUID.fromString("5f0c6a2e-8d1b-4c7e-9a3f-2b6d8e4f1a90");
+
+        given(recepcaoPedidosService.enfileirar(any(PedidoRequestDTO.class))).willReturn(TicketPedidoDTO.pendente(ticket));
+
+        mockMvc.perform(post("/api/pedidos/recepcao")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(dto)))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", "http://localhost/api/pedidos/recepcao/" + ticket))
+                .andExpect(jsonPath("$.ticket").value(ticket.toString()))
+                .andExpect(jsonPath("$.situacao").value("PENDENTE"));
+    }
+
+    @Test
+    void deveRetornar429QuandoFilaDeRecepcaoEstiverCheia() throws Exception {
+        PedidoRequestDTO dto = new PedidoRequestDTO();
+        dto.setProdutoIds(List.of(1L));
+
+        given(recepcaoPedidosService.enfileirar(any(PedidoRequestDTO.class)))
+                .willThrow(new CapacityExceededException("A fila de pedidos está cheia. Tente novamente em instantes."));
+
+        mockMvc.perform(post("/api/pedidos/recepcao")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(dto)))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "1"))
+                .andExpect(jsonPath("$.status").value(429));
+    }
+
+    @Test
+    void deveConsultarSituacaoDoTicket() throws Exception {
+        UUID ticket = UUID.randomUUID();
+        given(recepcaoPedidosService.consultar(ticket)).willReturn(TicketPedidoDTO.concluido(ticket, 42L));
+
+        mockMvc.perform(get("/api/pedidos/recepcao/{ticket}", ticket))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.situacao").value("CONCLUIDO"))
+                .andExpect(jsonPath("$.pedidoId").value(42));
+    }
+
     @Test
     void naoDeveCriarPedidoQuandoProdutoNaoEncontrado() throws Exception {
         PedidoRequestDTO dto = new PedidoRequestDTO();
@@ -67,6 +172,95 @@ class PedidoControllerTest {
                 .andExpect(status().isNotFound());
     }
 
+    @Test
+    void deveListarPedidosPaginadosPorCursor() throws Exception {
+        PedidoResponseDTO pedido = new PedidoResponseDTO(11L, LocalDate.now(), null,
+                List.of(new ItemPedidoResponseDTO(11L, 3L, "Monitor", 2, 1200.00)), 2400.00);
+
+        given(pedidoService.listarPedidos(10L, 1)).willReturn(new PaginaDTO<>(List.of(pedido), 11L));
+
+        mockMvc.perform(get("/api/pedidos").param("after", "10").param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.itens[0].id").value(11))
+                .andExpect(jsonPath("$.itens[0].itens[0].nome").value("Monitor"))
+                .andExpect(jsonPath("$.itens[0].itens[0].pedidoId").doesNotExist())
+                .andExpect(jsonPath("$.itens[0].itens[0].quantidade").value(2))
+                .andExpect(jsonPath("$.itens[0].total").value(2400.00))
+                .andExpect(jsonPath("$.next").value(11));
+    }
+
+    @Test
+    void deveListarPedidosPendentesPaginadosPorCursor() throws Exception {
+        PedidoResponseDTO pedido = new PedidoResponseDTO(12L, LocalDate.now(), null, List.of(), 0.0);
+
+        given(pedidoService.listarPedidosPendentes(null, 50)).willReturn(new PaginaDTO<>(List.of(pedido), null));
+
+        mockMvc.perform(get("/api/pedidos/pendentes"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.itens[0].id").value(12))
+                .andExpect(jsonPath("$.itens[0].dataEntrega").doesNotExist())
+                .andExpect(jsonPath("$.next").doesNotExist());
+    }
+
+    @Test
+    void deveListarPedidosEmCborComOsMesmosCamposDoJson() throws Exception {
+        PedidoResponseDTO pedido = new PedidoResponseDTO(11L, LocalDate.of(2024, 3, 5), null,
+                List.of(new ItemPedidoResponseDTO(11L, 3L, "Monitor", 2, 1200.00)), 2400.00);
+
+        given(pedidoService.listarPedidos(null, 50)).willReturn(new PaginaDTO<>(List.of(pedido), 11L));
+
+        MvcResult resultado = mockMvc.perform(get("/api/pedidos").accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn();
+
+        // Datas no mesmo formato do JSON (ISO), e não como arrays
+        JsonNode pagina = new CBORMapper().readTree(resultado.getResponse().getContentAsByteArray());
+        assertEquals("2024-03-05", pagina.at("/itens/0/data").asText());
+        assertEquals("Monitor", pagina.at("/itens/0/itens/0/nome").asText());
+        assertTrue(pagina.at("/itens/0/itens/0/pedidoId").isMissingNode());
+        assertEquals(11, pagina.get("next").asLong());
+    }
+
+    @Test
+    void deveCriarPedidoRecebendoERespondendoEmSmile() throws Exception {
+        SmileMapper smile = new SmileMapper();
+        PedidoRequestDTO dto = new PedidoRequestDTO();
+        dto.setProdutoIds(List.of(1L, 2L));
+
+        Pedido pedidoSalvo = new Pedido(LocalDate.of(2024, 3, 5));
+        pedidoSalvo.setId(1L);
+
+        given(pedidoService.criarPedido(argThat(pedido -> List.of(1L, 2L).equals(pedido.getProdutoIds()))))
+                .willReturn(pedidoSalvo);
+
+        MvcResult resultado = mockMvc.perform(post("/api/pedidos")
+                .contentType("application/x-jackson-smile")
+                .accept("application/x-jackson-smile")
+                .content(smile.writeValueAsBytes(dto)))
+                .andExpect(status().isCreated())
+                .andExpect(content().contentType("application/x-jackson-smile"))
+                .andReturn();
+
+        JsonNode criado = smile.readTree(resultado.getResponse().getContentAsByteArray());
+        assertEquals(1, criado.get("id").asLong());
+        assertEquals("2024-03-05", criado.get("data").asText());
+    }
+
+    @Test
+    void deveExportarPedidosEmNdjson() throws Exception {
+        doAnswer(invocation -> {
+            OutputStream saida = invocation.getArgument(0);
+            saida.write("{\"id\":1}\n{\"id\":2}\n".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(pedidoService).exportarPedidos(any(OutputStream.class));
+
+        mockMvc.perform(get("/api/pedidos/export"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string("{\"id\":1}\n{\"id\":2}\n"));
+    }
+
     @Test
     void deveAtualizarPedidoComSucesso() throws Exception {
         Long pedidoId = 1L;
@@ -78,15 +272,73 @@ class PedidoControllerTest {
         pedidoAtualizado.setId(pedidoId);
         pedidoAtualizado.setDataEntrega(dto.getDataEntrega());
 
-        given(pedidoService.atualizarPedido(eq(pedidoId), any(PedidoUpdateRequestDTO.class))).willReturn(pedidoAtualizado);
+        given(pedidoService.atualizarPedido(eq(pedidoId), any(PedidoUpdateRequestDTO.class), isNull()))
+                .willReturn(new RepresentacaoDTO<>(PedidoResponseDTO.fromEntity(pedidoAtualizado), "\"1.5\""));
 
         mockMvc.perform(put("/api/pedidos/{id}", pedidoId)
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(dto)))
                 .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"1.5\""))
                 .andExpect(jsonPath("$.dataEntrega").value("2025-12-25"));
     }
 
+    @Test
+    void deveRetornarPedidoComETag() throws Exception {
+        Pedido pedido = new Pedido(LocalDate.of(2025, 1, 10));
+        pedido.setId(7L);
+        given(pedidoService.buscarComVersao(eq(7L), eq(false), any()))
+                .willReturn(new RepresentacaoDTO<>(PedidoResponseDTO.fromEntity(pedido), "\"2.9\""));
+
+        mockMvc.perform(get("/api/pedidos/{id}", 7L).header("If-None-Match", "\"1.9\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"2.9\""))
+                .andExpect(jsonPath("$.id").value(7));
+    }
+
+    @Test
+    void deveBuscarPedidoArquivadoQuandoSolicitado() throws Exception {
+        Pedido pedido = new Pedido(LocalDate.of(2022, 3, 1));
+        pedido.setId(3L);
+        pedido.setDataEntrega(LocalDate.of(2022, 3, 4));
+        given(pedidoService.buscarComVersao(eq(3L), eq(true), any()))
+                .willReturn(new RepresentacaoDTO<>(PedidoResponseDTO.fromEntity(pedido), "\"1.2\""));
+
+        mockMvc.perform(get("/api/pedidos/{id}", 3L).param("arquivados", "true"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"1.2\""))
+                .andExpect(jsonPath("$.dataEntrega").value("2022-03-04"));
+    }
+
+    @Test
+    void deveResponder304QuandoETagNaoMudou() throws Exception {
+        // A service avalia o ETag com o If-None-Match da requisição e, como ele não mudou, não carrega o pedido.
+        given(pedidoService.buscarComVersao(eq(7L), eq(false), any())).willAnswer(invocacao -> {
+            Predicate<String> naoModificado = invocacao.getArgument(2);
+            assertTrue(naoModificado.test("\"2.9\""));
+            return RepresentacaoDTO.naoModificada("\"2.9\"");
+        });
+
+        mockMvc.perform(get("/api/pedidos/{id}", 7L).header("If-None-Match", "\"2.9\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void deveRetornar412QuandoIfMatchNaoCorresponderAVersaoAtual() throws Exception {
+        PedidoUpdateRequestDTO dto = new PedidoUpdateRequestDTO();
+        dto.setDataEntrega(LocalDate.of(2025, 12, 25));
+        given(pedidoService.atualizarPedido(eq(7L), any(PedidoUpdateRequestDTO.class), eq("\"1.9\"")))
+                .willThrow(new PreconditionFailedException("O recurso foi alterado desde a última leitura. ETag atual: \"2.9\""));
+
+        mockMvc.perform(put("/api/pedidos/{id}", 7L)
+                .header("If-Match", "\"1.9\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(dto)))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(jsonPath("$.status").value(412));
+    }
+
     @Test
     void deveDeletarPedidoComSucesso() throws Exception {
         Long pedidoId = 1L;
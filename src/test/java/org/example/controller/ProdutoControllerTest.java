@@ -1,21 +1,42 @@
 package org.example.controller;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import org.example.config.FormatosBinariosConfig;
+import org.example.dto.ErroImportacaoDTO;
+import org.example.dto.ImportacaoProdutosResponseDTO;
+import org.example.dto.ProdutoBuscaDTO;
 import org.example.dto.ProdutoRequestDTO;
+import org.example.dto.ProdutoResponseDTO;
+import org.example.dto.ReajustePrecoRequestDTO;
+import org.example.dto.ReajustePrecoResponseDTO;
+import org.example.dto.RepresentacaoDTO;
+import org.example.exception.BusinessRuleException;
 import org.example.exception.ResourceNotFoundException;
 import org.example.model.Categoria;
 import org.example.model.Fornecedor;
 import org.example.model.Produto;
+import org.example.service.ImportacaoProdutosService;
 import org.example.service.ProdutoService;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.util.List;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.BDDMockito.willDoNothing;
 import static org.mockito.BDDMockito.willThrow;
@@ -23,6 +44,7 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(ProdutoController.class)
+@Import(FormatosBinariosConfig.class)
 class ProdutoControllerTest {
 
     @Autowired
@@ -34,6 +56,48 @@ class ProdutoControllerTest {
     @MockBean
     private ProdutoService produtoService;
 
+    @MockBean
+    private ImportacaoProdutosService importacaoProdutosService;
+
+    @Test
+    void deveListarProdutosComoProjecao() throws Exception {
+        given(produtoService.listarTodos()).willReturn(List.of(
+                new ProdutoResponseDTO(1L, "Teclado Mecânico", 350.00, 1L, "Eletrônicos", 2L, "Fornecedor Tech")));
+
+        mockMvc.perform(get("/api/produtos"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].nome").value("Teclado Mecânico"))
+                .andExpect(jsonPath("$[0].categoriaNome").value("Eletrônicos"))
+                .andExpect(jsonPath("$[0].fornecedorNome").value("Fornecedor Tech"));
+    }
+
+    @Test
+    void deveListarProdutosEmSmileQuandoSolicitado() throws Exception {
+        given(produtoService.listarTodos()).willReturn(List.of(
+                new ProdutoResponseDTO(1L, "Teclado Mecânico", 350.00, 1L, "Eletrônicos", 2L, "Fornecedor Tech")));
+
+        MvcResult resultado = mockMvc.perform(get("/api/produtos").accept("application/x-jackson-smile"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-jackson-smile"))
+                .andReturn();
+
+        JsonNode produtos = new SmileMapper().readTree(resultado.getResponse().getContentAsByteArray());
+        assertEquals("Teclado Mecânico", produtos.at("/0/nome").asText());
+        assertEquals(350.00, produtos.at("/0/preco").asDouble(), 0.001);
+        assertEquals("Fornecedor Tech", produtos.at("/0/fornecedorNome").asText());
+    }
+
+    @Test
+    void deveBuscarProdutosPorTermo() throws Exception {
+        given(produtoService.buscar("teclado", 5)).willReturn(List.of(
+                new ProdutoBuscaDTO(1L, "Teclado Mecânico", 350.00, 1L, "Eletrônicos", 10)));
+
+        mockMvc.perform(get("/api/produtos/busca").param("q", "teclado").param("limite", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].nome").value("Teclado Mecânico"))
+                .andExpect(jsonPath("$[0].relevancia").value(10));
+    }
+
     @Test
     void deveCriarProdutoComSucesso() throws Exception {
         ProdutoRequestDTO dto = new ProdutoRequestDTO();
@@ -74,6 +138,63 @@ class ProdutoControllerTest {
                 .andExpect(status().isNotFound());
     }
 
+    @Test
+    void deveReajustarPrecosDosProdutosDaCategoria() throws Exception {
+        ReajustePrecoRequestDTO dto = new ReajustePrecoRequestDTO();
+        dto.setCategoriaId(1L);
+        dto.setPercentual(10.0);
+
+        given(produtoService.reajustarPrecos(any(ReajustePrecoRequestDTO.class))).willReturn(new ReajustePrecoResponseDTO(42));
+
+        mockMvc.perform(post("/api/produtos/reajuste")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(dto)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.produtosAtualizados").value(42));
+    }
+
+    @Test
+    void deveRetornarBadRequestAoReajustarSemFiltro() throws Exception {
+        ReajustePrecoRequestDTO dto = new ReajustePrecoRequestDTO();
+        dto.setValor(5.0);
+
+        given(produtoService.reajustarPrecos(any(ReajustePrecoRequestDTO.class)))
+                .willThrow(new BusinessRuleException("Informe a categoria e/ou o fornecedor dos produtos a reajustar."));
+
+        mockMvc.perform(post("/api/produtos/reajuste")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(dto)))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void deveImportarCatalogoPorCsv() throws Exception {
+        MockMultipartFile arquivo = new MockMultipartFile("arquivo", "catalogo.csv", "text/csv",
+                "nome,preco,categoria,fornecedor\nTeclado,199.90,Eletrônicos,Logitech\n".getBytes());
+        given(importacaoProdutosService.importar(any())).willReturn(new ImportacaoProdutosResponseDTO(1, 1,
+                List.of(new ErroImportacaoDTO(3L, "Categoria 'Câmeras' não encontrada."))));
+
+        mockMvc.perform(multipart("/api/produtos/importacao").file(arquivo))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.produtosCriados").value(1))
+                .andExpect(jsonPath("$.linhasComErro").value(1))
+                .andExpect(jsonPath("$.erros[0].linha").value(3));
+    }
+
+    @Test
+    void deveResponder304QuandoETagNaoMudou() throws Exception {
+        // A service avalia o ETag com o If-None-Match da requisição e, como ele não mudou, não carrega o produto.
+        given(produtoService.buscarComVersao(eq(1L), any())).willAnswer(invocacao -> {
+            Predicate<String> naoModificado = invocacao.getArgument(1);
+            assertTrue(naoModificado.test("\"4.7\""));
+            return RepresentacaoDTO.naoModificada("\"4.7\"");
+        });
+
+        mockMvc.perform(get("/api/produtos/{id}", 1L).header("If-None-Match", "\"4.7\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"4.7\""));
+    }
+
     @Test
     void deveAtualizarProdutoComSucesso() throws Exception {
         Long produtoId = 1L;
@@ -84,12 +205,14 @@ class ProdutoControllerTest {
         Produto produtoAtualizado = new Produto("Novo Nome", 199.99);
         produtoAtualizado.setId(produtoId);
 
-        given(produtoService.atualizarProduto(eq(produtoId), any(ProdutoRequestDTO.class))).willReturn(produtoAtualizado);
+        given(produtoService.atualizarProduto(eq(produtoId), any(ProdutoRequestDTO.class), isNull()))
+                .willReturn(new RepresentacaoDTO<>(ProdutoResponseDTO.fromEntity(produtoAtualizado), "\"2.3\""));
 
         mockMvc.perform(put("/api/produtos/{id}", produtoId)
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(dto)))
                 .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"2.3\""))
                 .andExpect(jsonPath("$.nome").value("Novo Nome"));
     }
 
@@ -0,0 +1,62 @@
+package org.example.controller;
+
+import org.example.dto.ResumoVendaDTO;
+import org.example.exception.BusinessRuleException;
+import org.example.model.DimensaoVenda;
+import org.example.service.ResumoVendasService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Teste de integração para o ResumoVendasController.
+ */
+@WebMvcTest(ResumoVendasController.class)
+class ResumoVendasControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private ResumoVendasService resumoVendasService;
+
+    @Test
+    void deveListarResumosPorCategoria() throws Exception {
+        LocalDate dia = LocalDate.of(2024, 5, 10);
+        given(resumoVendasService.listarResumos(DimensaoVenda.CATEGORIA, dia, dia.plusDays(6)))
+                .willReturn(List.of(new ResumoVendaDTO(1L, "Periféricos", dia, new BigDecimal("600.00"), 2L, 4L)));
+
+        mockMvc.perform(get("/api/vendas/resumo")
+                        .param("dimensao", "CATEGORIA")
+                        .param("inicio", "2024-05-10")
+                        .param("fim", "2024-05-16"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].nome").value("Periféricos"))
+                .andExpect(jsonPath("$[0].dia").value("2024-05-10"))
+                .andExpect(jsonPath("$[0].faturamento").value(600.00))
+                .andExpect(jsonPath("$[0].quantidadePedidos").value(2));
+    }
+
+    @Test
+    void deveRetornarBadRequestParaPeriodoInvalido() throws Exception {
+        given(resumoVendasService.listarResumos(any(), any(), any()))
+                .willThrow(new BusinessRuleException("A data inicial deve ser anterior ou igual à data final."));
+
+        mockMvc.perform(get("/api/vendas/resumo")
+                        .param("dimensao", "FORNECEDOR")
+                        .param("inicio", "2024-05-16")
+                        .param("fim", "2024-05-10"))
+                .andExpect(status().isBadRequest());
+    }
+}
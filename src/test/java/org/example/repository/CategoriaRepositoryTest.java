@@ -1,12 +1,15 @@
 package org.example.repository;
 
+import org.example.dto.CategoriaResumoDTO;
 import org.example.model.Categoria;
+import org.example.model.Produto;
 import org.example.util.NormalizadorUtil;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -49,5 +52,22 @@ class CategoriaRepositoryTest {
         Optional<Categoria> categoriaEncontrada = categoriaRepository.findByNomeNormalizado(nomeNormalizado);
         assertFalse(categoriaEncontrada.isPresent());
     }
-}
 
+    @Test
+    void deveContarProdutosPorCategoriaIncluindoCategoriasVazias() {
+        Categoria eletronicos = entityManager.persist(new Categoria("Eletrônicos"));
+        Categoria livros = entityManager.persist(new Categoria("Livros"));
+        for (String nome : List.of("Mouse", "Teclado", "Monitor")) {
+            Produto produto = new Produto(nome, 100.0);
+            produto.setCategoria(eletronicos);
+            entityManager.persist(produto);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        List<CategoriaResumoDTO> resumos = categoriaRepository.findAllComQuantidadeProdutos();
+
+        assertEquals(List.of(new CategoriaResumoDTO(eletronicos.getId(), "Eletrônicos", 3L),
+                new CategoriaResumoDTO(livros.getId(), "Livros", 0L)), resumos);
+    }
+}
@@ -1,14 +1,22 @@
 package org.example.repository;
 
+import org.example.dto.PedidoResumoDTO;
+import org.example.dto.ItemPedidoResponseDTO;
+import org.example.dto.FrequenciaPrazoDTO;
+import org.example.dto.PontoSerieDTO;
+import org.example.dto.VersaoDTO;
 import org.example.model.Pedido;
 import org.example.model.Produto;
 import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -34,7 +42,8 @@ class PedidoRepositoryTest {
         entityManager.persist(produto2);
 
         Pedido pedido = new Pedido(LocalDate.now());
-        pedido.setProdutos(List.of(produto1, produto2));
+        pedido.adicionarItem(produto1, 1);
+        pedido.adicionarItem(produto2, 3);
 
         // Act
         pedidoRepository.save(pedido);
@@ -46,9 +55,167 @@ class PedidoRepositoryTest {
 
         assertNotNull(pedidoSalvo);
         assertNotNull(pedidoSalvo.getId());
-        assertEquals(2, pedidoSalvo.getProdutos().size());
-        assertTrue(pedidoSalvo.getProdutos().stream().anyMatch(p -> p.getNome().equals("Notebook")));
-        assertTrue(pedidoSalvo.getProdutos().stream().anyMatch(p -> p.getNome().equals("Mouse sem Fio")));
+        assertEquals(2, pedidoSalvo.getItens().size());
+        assertTrue(pedidoSalvo.getItens().stream().anyMatch(i -> i.getProduto().getNome().equals("Notebook")));
+        assertTrue(pedidoSalvo.getItens().stream()
+                .anyMatch(i -> i.getProduto().getNome().equals("Mouse sem Fio") && i.getQuantidade() == 3));
+        assertEquals(4950.00, pedidoSalvo.getTotal(), 0.001);
     }
-}
 
+    @Test
+    void deveManterPrecoDoItemAposReajusteDoProduto() {
+        // Arrange: o preço é copiado para o item no momento do pedido
+        Produto produto = new Produto("Teclado", 300.00);
+        entityManager.persist(produto);
+        Pedido pedido = new Pedido(LocalDate.now());
+        pedido.adicionarItem(produto, 2);
+        pedidoRepository.save(pedido);
+        entityManager.flush();
+
+        // Act
+        produto.setPreco(450.00);
+        entityManager.flush();
+        entityManager.clear();
+
+        // Assert
+        Pedido pedidoSalvo = entityManager.find(Pedido.class, pedido.getId());
+        assertEquals(300.00, pedidoSalvo.getItens().get(0).getPrecoUnitario(), 0.001);
+        assertEquals(600.00, pedidoSalvo.getTotal(), 0.001);
+    }
+
+    @Test
+    void deveBuscarPaginaPorCursorComProjecaoDosProdutos() {
+        // Arrange
+        Produto produto = new Produto("Monitor", 1200.00);
+        entityManager.persist(produto);
+        Pedido primeiro = new Pedido(LocalDate.now());
+        Pedido segundo = new Pedido(LocalDate.now());
+        Pedido terceiro = new Pedido(LocalDate.now());
+        for (Pedido pedido : List.of(primeiro, segundo, terceiro)) {
+            pedido.adicionarItem(produto, 1);
+            entityManager.persist(pedido);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        // Act
+        List<PedidoResumoDTO> resumos = pedidoRepository.findResumosAposCursor(primeiro.getId(), Limit.of(10));
+        List<ItemPedidoResponseDTO> itens = pedidoRepository.findItensDosPedidos(
+                resumos.stream().map(PedidoResumoDTO::id).toList());
+
+        // Assert
+        assertEquals(List.of(segundo.getId(), terceiro.getId()), resumos.stream().map(PedidoResumoDTO::id).toList());
+        assertEquals(2, itens.size());
+        assertTrue(itens.stream().allMatch(item -> item.nome().equals("Monitor") && item.quantidade() == 1));
+    }
+
+    @Test
+    void devePercorrerTodosOsPedidosComItensViaStream() {
+        // Arrange
+        Produto teclado = new Produto("Teclado Mecânico", 350.00);
+        Produto mouse = new Produto("Mouse Gamer", 250.00);
+        entityManager.persist(teclado);
+        entityManager.persist(mouse);
+        for (int i = 0; i < 3; i++) {
+            Pedido pedido = new Pedido(LocalDate.now());
+            pedido.adicionarItem(teclado, 1);
+            pedido.adicionarItem(mouse, 1);
+            entityManager.persist(pedido);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        // Act: cada pedido é desanexado logo após ser lido, como na exportação
+        List<Integer> quantidadesDeItens;
+        try (Stream<Pedido> pedidos = pedidoRepository.streamTodosComItens()) {
+            quantidadesDeItens = pedidos.map(pedido -> {
+                int quantidade = pedido.getItens().size();
+                entityManager.detach(pedido);
+                return quantidade;
+            }).collect(Collectors.toList());
+        }
+
+        // Assert: as linhas do fetch-join são agrupadas em um único Pedido por ID
+        assertEquals(List.of(2, 2, 2), quantidadesDeItens);
+    }
+
+    @Test
+    void deveBuscarPaginaDePedidosPendentesPorCursor() {
+        // Arrange
+        Pedido entregue = new Pedido(LocalDate.now());
+        entregue.setDataEntrega(LocalDate.now());
+        Pedido primeiroPendente = new Pedido(LocalDate.now());
+        Pedido segundoPendente = new Pedido(LocalDate.now());
+        Pedido terceiroPendente = new Pedido(LocalDate.now());
+        for (Pedido pedido : List.of(entregue, primeiroPendente, segundoPendente, terceiroPendente)) {
+            entityManager.persist(pedido);
+        }
+        entityManager.flush();
+
+        // Act
+        List<PedidoResumoDTO> primeiraPagina = pedidoRepository.findResumosPendentesAposCursor(0L, Limit.of(2));
+        segundoPendente.setDataEntrega(LocalDate.now());
+        entityManager.flush();
+        List<PedidoResumoDTO> segundaPagina = pedidoRepository.findResumosPendentesAposCursor(
+                primeiraPagina.get(0).id(), Limit.of(2));
+
+        // Assert: o pedido entregue entre as duas páginas sai da fila
+        assertEquals(List.of(primeiroPendente.getId(), segundoPendente.getId()),
+                primeiraPagina.stream().map(PedidoResumoDTO::id).toList());
+        assertEquals(List.of(terceiroPendente.getId()), segundaPagina.stream().map(PedidoResumoDTO::id).toList());
+    }
+
+    @Test
+    void deveAgruparPedidosPorDiaEPorPrazoDeEntrega() {
+        // Arrange
+        LocalDate dia = LocalDate.of(2024, 3, 1);
+        persistirPedido(dia, dia.plusDays(2));
+        persistirPedido(dia, dia.plusDays(5));
+        persistirPedido(dia.plusDays(1), dia.plusDays(3));
+        persistirPedido(dia.plusDays(1), null);
+        persistirPedido(dia.plusDays(10), dia.plusDays(11));
+        entityManager.flush();
+
+        // Act
+        List<PontoSerieDTO> porDia = pedidoRepository.contarPedidosPorDia(dia, dia.plusDays(1));
+        List<FrequenciaPrazoDTO> porPrazo = pedidoRepository.contarPedidosPorPrazoDeEntrega(dia, dia.plusDays(1));
+
+        // Assert: pedidos fora do período e sem entrega não entram no histograma
+        assertEquals(List.of(new PontoSerieDTO(dia, 2L), new PontoSerieDTO(dia.plusDays(1), 2L)), porDia);
+        assertEquals(List.of(new FrequenciaPrazoDTO(2L, 2L), new FrequenciaPrazoDTO(5L, 1L)), porPrazo);
+    }
+
+    private void persistirPedido(LocalDate data, LocalDate dataEntrega) {
+        Pedido pedido = new Pedido(data);
+        pedido.setDataEntrega(dataEntrega);
+        entityManager.persist(pedido);
+    }
+
+    @Test
+    void deveAlterarVersaoQuandoPedidoOuSeusProdutosMudam() {
+        // Arrange
+        Produto teclado = entityManager.persist(new Produto("Teclado", 300.00));
+        Produto mouse = entityManager.persist(new Produto("Mouse", 100.00));
+        Pedido pedido = new Pedido(LocalDate.now());
+        pedido.adicionarItem(teclado, 1);
+        entityManager.persist(pedido);
+        entityManager.flush();
+        VersaoDTO inicial = pedidoRepository.findVersaoById(pedido.getId()).orElseThrow();
+
+        // Act & Assert: alterar o pedido incrementa a sua versão
+        pedido.adicionarItem(mouse, 2);
+        pedido.setDataEntrega(LocalDate.now().plusDays(3));
+        entityManager.flush();
+        VersaoDTO comNovoItem = pedidoRepository.findVersaoById(pedido.getId()).orElseThrow();
+        assertEquals(inicial.versao() + 1, comNovoItem.versao());
+
+        // Act & Assert: renomear um produto do pedido muda o ETag, pois o nome aparece na resposta
+        mouse.setNome("Mouse sem Fio");
+        entityManager.flush();
+        VersaoDTO comProdutoRenomeado = pedidoRepository.findVersaoById(pedido.getId()).orElseThrow();
+        assertEquals(comNovoItem.versao(), comProdutoRenomeado.versao());
+        assertNotEquals(comNovoItem.etag(), comProdutoRenomeado.etag());
+
+        assertTrue(pedidoRepository.findVersaoById(-1L).isEmpty());
+    }
+}
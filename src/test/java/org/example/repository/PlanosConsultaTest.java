@@ -0,0 +1,167 @@
+package org.example.repository;
+
+import org.example.model.Categoria;
+import org.example.model.DimensaoVenda;
+import org.example.model.Fornecedor;
+import org.example.sql.CapturadorSql;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Confere, pelo EXPLAIN do H2, que as consultas dos repositórios são resolvidas pelos índices das migrações
+ * (db/migration) e não por varredura de tabela. O SQL é o gerado pelo Hibernate, capturado pelo {@link CapturadorSql}.
+ * <p>
+ * Ficam de fora as consultas que leem a tabela inteira por definição: listagens completas (inclusive a carga dos
+ * índices em memória), médias e agrupamentos sem filtro, "data_entrega IS NOT NULL" (a maior parte dos pedidos),
+ * buscas por trecho do nome com LIKE '%termo%' (atendidas pelo índice de busca em memória) e as ordenações por
+ * preço decrescente, que o PostgreSQL resolve percorrendo idx_produto_valor de trás para frente, mas o H2 não.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector=org.example.sql.CapturadorSql")
+class PlanosConsultaTest {
+
+    private static final LocalDate INICIO = LocalDate.of(2024, 1, 1);
+    private static final LocalDate FIM = LocalDate.of(2024, 1, 31);
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PedidoRepository pedidoRepository;
+
+    @Autowired
+    private ItemPedidoRepository itemPedidoRepository;
+
+    @Autowired
+    private PedidoArquivadoRepository pedidoArquivadoRepository;
+
+    @Autowired
+    private ProdutoRepository produtoRepository;
+
+    @Autowired
+    private CategoriaRepository categoriaRepository;
+
+    @Autowired
+    private FornecedorRepository fornecedorRepository;
+
+    @Autowired
+    private ResumoVendaDiariaRepository resumoVendaDiariaRepository;
+
+    private Categoria categoria;
+    private Fornecedor fornecedor;
+
+    @BeforeEach
+    void setUp() {
+        categoria = entityManager.persist(new Categoria("Eletrônicos"));
+        fornecedor = entityManager.persist(new Fornecedor("Fornecedor A"));
+        entityManager.flush();
+    }
+
+    @Test
+    void deveUsarIndicesNasConsultasDePedido() {
+        assertUsaIndices(() -> pedidoRepository.findByDataEntregaIsNull());
+        assertUsaIndices(() -> pedidoRepository.findByDataAfter(INICIO));
+        assertUsaIndices(() -> pedidoRepository.findByDataBefore(FIM));
+        assertUsaIndices(() -> pedidoRepository.findByDataBetween(INICIO, FIM));
+        assertUsaIndices(() -> pedidoRepository.findPedidosEntreDatas(INICIO, FIM));
+        assertUsaIndices(() -> pedidoRepository.findResumosAposCursor(0L, Limit.of(20)));
+        assertUsaIndices(() -> pedidoRepository.findResumosPendentesAposCursor(0L, Limit.of(20)));
+        assertUsaIndices(() -> pedidoRepository.findItensDosPedidos(List.of(1L, 2L)));
+        assertUsaIndices(() -> pedidoRepository.contarPedidosPorDia(INICIO, FIM));
+        assertUsaIndices(() -> pedidoRepository.contarPedidosPorPrazoDeEntrega(INICIO, FIM));
+        assertUsaIndices(() -> pedidoRepository.findVersaoById(1L));
+        assertUsaIndices(() -> pedidoRepository.findComItensById(1L));
+        assertUsaIndices(() -> pedidoRepository.atualizarDataEntrega(1L, FIM));
+        assertUsaIndices(() -> pedidoRepository.atualizarDataEntregaNaVersao(1L, 0L, FIM));
+        assertUsaIndices(() -> pedidoRepository.atualizarDataEntregaDosPedidos(List.of(1L, 2L), FIM));
+        assertUsaIndices(() -> pedidoRepository.findIdsExistentes(List.of(1L, 2L)));
+        assertUsaIndices(() -> pedidoRepository.findIdsEntreguesAntesDe(INICIO, Limit.of(500)));
+        assertUsaIndices(() -> pedidoRepository.excluirPedidos(List.of(1L, 2L)));
+    }
+
+    @Test
+    void deveUsarIndicesNoArquivoDePedidos() {
+        assertUsaIndices(() -> pedidoArquivadoRepository.copiarPedidos(List.of(1L, 2L)));
+        assertUsaIndices(() -> pedidoArquivadoRepository.copiarItens(List.of(1L, 2L)));
+        assertUsaIndices(() -> pedidoArquivadoRepository.findComItensById(1L));
+        assertUsaIndices(() -> pedidoArquivadoRepository.findVersaoById(1L));
+        assertUsaIndices(() -> pedidoArquivadoRepository.calcularFaturamentoEntreDatas(INICIO, FIM));
+        assertUsaIndices(() -> pedidoArquivadoRepository.contarPedidosPorDia(INICIO, FIM));
+        assertUsaIndices(() -> pedidoArquivadoRepository.contarPedidosPorPrazoDeEntrega(INICIO, FIM));
+    }
+
+    @Test
+    void deveUsarIndicesNasConsultasDeItemPedido() {
+        assertUsaIndices(() -> itemPedidoRepository.calcularTotalDoPedido(1L));
+        assertUsaIndices(() -> itemPedidoRepository.calcularFaturamentoEntreDatas(INICIO, FIM));
+        assertUsaIndices(() -> itemPedidoRepository.findLinhasVendaDoPedido(1L));
+        assertUsaIndices(() -> itemPedidoRepository.excluirItensDosPedidos(List.of(1L, 2L)));
+    }
+
+    @Test
+    void deveUsarIndicesNasConsultasDeProduto() {
+        assertUsaIndices(() -> produtoRepository.findVersaoById(1L));
+        assertUsaIndices(() -> produtoRepository.findByCategoria(categoria));
+        assertUsaIndices(() -> produtoRepository.findByCategoriaOrderByPrecoAsc(categoria));
+        assertUsaIndices(() -> produtoRepository.findByCategoriaOrderByPrecoDesc(categoria));
+        assertUsaIndices(() -> produtoRepository.countByCategoria(categoria));
+        assertUsaIndices(() -> produtoRepository.countByFornecedor(fornecedor));
+        assertUsaIndices(() -> produtoRepository.countByPrecoGreaterThan(100.0));
+        assertUsaIndices(() -> produtoRepository.findComPrecoMaiorQue(100.0));
+        assertUsaIndices(() -> produtoRepository.findTodosOrderByPrecoAsc());
+        assertUsaIndices(() -> produtoRepository.findPrecoMaximoPorCategoria(categoria));
+        assertUsaIndices(() -> produtoRepository.findPrecosByIdIn(List.of(1L, 2L)));
+        assertUsaIndices(() -> produtoRepository.findProjetadosDaCategoriaAposCursor(categoria.getId(), 0L, Limit.of(50)));
+        assertUsaIndices(() -> produtoRepository.reajustarPrecos(categoria.getId(), null, 1.1, 0));
+        assertUsaIndices(() -> produtoRepository.reajustarPrecos(null, fornecedor.getId(), 1, 5.0));
+        assertUsaIndices(() -> produtoRepository.contarComPrecoNegativoAposReajuste(categoria.getId(), fornecedor.getId(), 1, -5.0));
+        assertUsaIndices(() -> produtoRepository.findProjetadosComPreco(categoria.getId(), null));
+        assertUsaIndices(() -> produtoRepository.findProjetadosComPreco(null, fornecedor.getId()));
+        assertUsaIndices(() -> produtoRepository.findNomesExistentes(List.of("Mouse", "Teclado")));
+        // Sem o índice de preços em memória no contexto, as consultas por preço vão ao banco.
+        assertUsaIndices(() -> produtoRepository.findByPrecoGreaterThan(100.0));
+        assertUsaIndices(() -> produtoRepository.findByPrecoLessThan(100.0));
+        assertUsaIndices(() -> produtoRepository.findTop5ByCategoriaOrderByPrecoAsc(categoria));
+    }
+
+    @Test
+    void deveUsarIndicesNasConsultasDeCategoriaEFornecedor() {
+        assertUsaIndices(() -> categoriaRepository.findByNomeNormalizado("livros"));
+        assertUsaIndices(() -> categoriaRepository.findVersaoById(1L));
+        assertUsaIndices(() -> fornecedorRepository.findByNomeNormalizado("fornecedor b"));
+        assertUsaIndices(() -> fornecedorRepository.findVersaoById(1L));
+    }
+
+    @Test
+    void deveUsarIndicesNasConsultasDeResumoVenda() {
+        assertUsaIndices(() -> resumoVendaDiariaRepository.somar(DimensaoVenda.CATEGORIA, INICIO, 1L,
+                BigDecimal.TEN, 1L, 1L));
+        assertUsaIndices(() -> resumoVendaDiariaRepository.findResumosPorCategoria(INICIO, FIM));
+        assertUsaIndices(() -> resumoVendaDiariaRepository.findResumosPorFornecedor(INICIO, FIM));
+    }
+
+    private void assertUsaIndices(Runnable consulta) {
+        CapturadorSql.limpar();
+        consulta.run();
+        List<String> comandos = CapturadorSql.comandos();
+        assertFalse(comandos.isEmpty(), "A consulta não emitiu SQL");
+        for (String sql : comandos) {
+            String plano = jdbcTemplate.query(con -> con.prepareStatement("EXPLAIN " + sql),
+                    rs -> rs.next() ? rs.getString(1) : "");
+            assertFalse(plano.contains(".tableScan"), () -> "Varredura de tabela em:\n" + sql + "\nPlano:\n" + plano);
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package org.example.repository;
 
+import org.example.dto.ProdutoResponseDTO;
 import org.example.model.Categoria;
 import org.example.model.Produto;
 import org.junit.jupiter.api.BeforeEach;
@@ -7,6 +8,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
 
 import java.util.List;
 
@@ -57,6 +59,15 @@ class ProdutoRepositoryTest {
         assertEquals("Notebook Gamer", produtos.get(0).getNome());
     }
 
+    @Test
+    void deveConsultarFaixasDePrecoPeloBancoSemIndice() {
+        // O índice de preços não faz parte do contexto de @DataJpaTest: as consultas vão ao banco
+        assertEquals(List.of("Smartphone", "Notebook Gamer"), nomes(produtoRepository.findByPrecoGreaterThan(200.00)));
+        assertEquals(List.of("O Codificador Limpo", "Domain-Driven Design"), nomes(produtoRepository.findByPrecoLessThan(3000.00)));
+        assertEquals(List.of("Notebook Gamer", "Smartphone", "Domain-Driven Design"), nomes(produtoRepository.findTop3ByOrderByPrecoDesc()));
+        assertEquals(List.of("O Codificador Limpo", "Domain-Driven Design"), nomes(produtoRepository.findTop5ByCategoriaOrderByPrecoAsc(livros)));
+    }
+
     @Test
     void deveContarProdutosPorCategoria() {
         long totalEletronicos = produtoRepository.countByCategoria(eletronicos);
@@ -83,5 +94,32 @@ class ProdutoRepositoryTest {
         assertEquals("Macbook Pro", topProdutos.get(0).getNome());
         assertEquals("Notebook Gamer", topProdutos.get(1).getNome());
     }
-}
 
+    @Test
+    void deveListarProjecaoDosProdutosComCategoria() {
+        List<ProdutoResponseDTO> produtos = produtoRepository.findAllProjetados();
+
+        assertEquals(4, produtos.size());
+        ProdutoResponseDTO notebook = produtos.get(0);
+        assertEquals("Notebook Gamer", notebook.nome());
+        assertEquals(eletronicos.getId(), notebook.categoriaId());
+        assertEquals("Eletrônicos", notebook.categoriaNome());
+        assertNull(notebook.fornecedorId());
+    }
+
+    @Test
+    void deveListarProdutosDaCategoriaAposOCursor() {
+        List<ProdutoResponseDTO> primeira = produtoRepository.findProjetadosDaCategoriaAposCursor(livros.getId(), 0L, Limit.of(1));
+        List<ProdutoResponseDTO> segunda = produtoRepository.findProjetadosDaCategoriaAposCursor(
+                livros.getId(), primeira.get(0).id(), Limit.of(1));
+
+        assertEquals("O Codificador Limpo", primeira.get(0).nome());
+        assertEquals("Domain-Driven Design", segunda.get(0).nome());
+        assertEquals("Livros", segunda.get(0).categoriaNome());
+        assertTrue(produtoRepository.findProjetadosDaCategoriaAposCursor(livros.getId(), segunda.get(0).id(), Limit.of(1)).isEmpty());
+    }
+
+    private static List<String> nomes(List<Produto> produtos) {
+        return produtos.stream().map(Produto::getNome).toList();
+    }
+}
@@ -0,0 +1,153 @@
+package org.example.service;
+
+import org.example.dto.FrequenciaPrazoDTO;
+import org.example.dto.PontoSerieDTO;
+import org.example.dto.PrazoEntregaDTO;
+import org.example.exception.BusinessRuleException;
+import org.example.model.Granularidade;
+import org.example.repository.PedidoRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.*;
+
+/**
+ * Teste de unidade para a AnalisePedidosService.
+ */
+@ExtendWith(MockitoExtension.class)
+class AnalisePedidosServiceTest {
+
+    @Mock
+    private PedidoRepository pedidoRepository;
+
+    @InjectMocks
+    private AnalisePedidosService analisePedidosService;
+
+    @Test
+    void deveGerarSerieDiariaComDiasSemPedidos() {
+        // Arrange
+        LocalDate inicio = LocalDate.of(2024, 5, 6);
+        given(pedidoRepository.contarPedidosPorDia(inicio, inicio.plusDays(2)))
+                .willReturn(List.of(new PontoSerieDTO(inicio, 3L), new PontoSerieDTO(inicio.plusDays(2), 1L)));
+
+        // Act
+        List<PontoSerieDTO> serie = analisePedidosService.gerarSerie(Granularidade.DIA, inicio, inicio.plusDays(2));
+
+        // Assert
+        assertEquals(List.of(new PontoSerieDTO(inicio, 3L), new PontoSerieDTO(inicio.plusDays(1), 0L),
+                new PontoSerieDTO(inicio.plusDays(2), 1L)), serie);
+    }
+
+    @Test
+    void deveSomarDiasEmSemanasIniciadasNaSegundaFeira() {
+        // Arrange: 2024-05-08 é uma quarta-feira
+        LocalDate quarta = LocalDate.of(2024, 5, 8);
+        given(pedidoRepository.contarPedidosPorDia(quarta, quarta.plusDays(7))).willReturn(List.of(
+                new PontoSerieDTO(quarta, 2L),
+                new PontoSerieDTO(quarta.plusDays(4), 1L),
+                new PontoSerieDTO(quarta.plusDays(5), 4L)));
+
+        // Act
+        List<PontoSerieDTO> serie = analisePedidosService.gerarSerie(Granularidade.SEMANA, quarta, quarta.plusDays(7));
+
+        // Assert
+        assertEquals(List.of(new PontoSerieDTO(LocalDate.of(2024, 5, 6), 3L),
+                new PontoSerieDTO(LocalDate.of(2024, 5, 13), 4L)), serie);
+    }
+
+    @Test
+    void deveGerarSerieMensal() {
+        // Arrange
+        LocalDate inicio = LocalDate.of(2024, 1, 15);
+        LocalDate fim = LocalDate.of(2024, 3, 10);
+        given(pedidoRepository.contarPedidosPorDia(inicio, fim)).willReturn(List.of(
+                new PontoSerieDTO(LocalDate.of(2024, 1, 20), 5L),
+                new PontoSerieDTO(LocalDate.of(2024, 1, 31), 1L),
+                new PontoSerieDTO(LocalDate.of(2024, 3, 1), 2L)));
+
+        // Act
+        List<PontoSerieDTO> serie = analisePedidosService.gerarSerie(Granularidade.MES, inicio, fim);
+
+        // Assert
+        assertEquals(List.of(new PontoSerieDTO(LocalDate.of(2024, 1, 1), 6L),
+                new PontoSerieDTO(LocalDate.of(2024, 2, 1), 0L),
+                new PontoSerieDTO(LocalDate.of(2024, 3, 1), 2L)), serie);
+    }
+
+    @Test
+    void deveCalcularPercentisDoPrazoDeEntregaPeloHistograma() {
+        // Arrange: 100 pedidos; 50 entregues em 1 dia, 40 em 3, 8 em 7 e 2 em 20
+        LocalDate inicio = LocalDate.of(2024, 1, 1);
+        LocalDate fim = LocalDate.of(2024, 12, 31);
+        given(pedidoRepository.contarPedidosPorPrazoDeEntrega(inicio, fim)).willReturn(List.of(
+                new FrequenciaPrazoDTO(1L, 50L), new FrequenciaPrazoDTO(3L, 40L),
+                new FrequenciaPrazoDTO(7L, 8L), new FrequenciaPrazoDTO(20L, 2L)));
+
+        // Act
+        PrazoEntregaDTO prazo = analisePedidosService.calcularPrazoEntrega(inicio, fim);
+
+        // Assert
+        assertEquals(new PrazoEntregaDTO(100L, 2.66, 1L, 3L, 7L, 20L, 20L), prazo);
+    }
+
+    @Test
+    void deveRetornarPrazoVazioSemPedidosEntregues() {
+        LocalDate dia = LocalDate.of(2024, 1, 1);
+        given(pedidoRepository.contarPedidosPorPrazoDeEntrega(dia, dia)).willReturn(List.of());
+
+        assertEquals(new PrazoEntregaDTO(0L, null, null, null, null, null, null),
+                analisePedidosService.calcularPrazoEntrega(dia, dia));
+    }
+
+    @Test
+    void naoDeveAnalisarPeriodoInvertido() {
+        LocalDate dia = LocalDate.of(2024, 1, 10);
+        assertThrows(BusinessRuleException.class,
+                () -> analisePedidosService.gerarSerie(Granularidade.DIA, dia, dia.minusDays(1)));
+        verify(pedidoRepository, never()).contarPedidosPorDia(any(), any());
+    }
+
+    @Test
+    void naoDeveGerarSerieComMaisPeriodosQueOMaximo() {
+        // Arrange: 367 dias, e o intervalo do pior caso, que criaria milhões de pontos vazios
+        LocalDate inicio = LocalDate.of(2024, 1, 1);
+
+        // Act & Assert
+        assertThrows(BusinessRuleException.class, () -> analisePedidosService.gerarSerie(Granularidade.DIA,
+                inicio, inicio.plusDays(AnalisePedidosService.MAXIMO_PERIODOS_SERIE)));
+        assertThrows(BusinessRuleException.class, () -> analisePedidosService.gerarSerie(Granularidade.DIA,
+                LocalDate.of(1, 1, 1), LocalDate.of(9999, 12, 31)));
+        assertThrows(BusinessRuleException.class, () -> analisePedidosService.gerarSerie(Granularidade.MES,
+                inicio, inicio.plusMonths(AnalisePedidosService.MAXIMO_PERIODOS_SERIE)));
+        verify(pedidoRepository, never()).contarPedidosPorDia(any(), any());
+    }
+
+    @Test
+    void deveGerarSerieSemanalNoLimiteDePeriodos() {
+        // Arrange: 366 semanas a partir de uma segunda-feira
+        LocalDate segunda = LocalDate.of(2024, 1, 1);
+        LocalDate fim = segunda.plusWeeks(AnalisePedidosService.MAXIMO_PERIODOS_SERIE).minusDays(1);
+        given(pedidoRepository.contarPedidosPorDia(segunda, fim)).willReturn(List.of());
+
+        // Act & Assert
+        assertEquals(AnalisePedidosService.MAXIMO_PERIODOS_SERIE,
+                analisePedidosService.gerarSerie(Granularidade.SEMANA, segunda, fim).size());
+    }
+
+    @Test
+    void naoDeveCalcularPrazoDeEntregaDePeriodoAcimaDoMaximo() {
+        LocalDate inicio = LocalDate.of(2024, 1, 1);
+        assertThrows(BusinessRuleException.class, () -> analisePedidosService.calcularPrazoEntrega(inicio,
+                inicio.plusDays(AnalisePedidosService.MAXIMO_DIAS_PERIODO)));
+        verify(pedidoRepository, never()).contarPedidosPorPrazoDeEntrega(any(), any());
+    }
+}
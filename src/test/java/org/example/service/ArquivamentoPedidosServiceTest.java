@@ -0,0 +1,70 @@
+package org.example.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.*;
+
+/**
+ * Teste de unidade para a ArquivamentoPedidosService.
+ */
+@ExtendWith(MockitoExtension.class)
+class ArquivamentoPedidosServiceTest {
+
+    @Mock
+    private PedidoService pedidoService;
+
+    @InjectMocks
+    private ArquivamentoPedidosService arquivamentoPedidosService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(arquivamentoPedidosService, "diasAposEntrega", 30);
+        ReflectionTestUtils.setField(arquivamentoPedidosService, "tamanhoBloco", 100);
+        ReflectionTestUtils.setField(arquivamentoPedidosService, "pausaMs", 0L);
+        ReflectionTestUtils.setField(arquivamentoPedidosService, "blocosPorExecucao", 5);
+    }
+
+    @Test
+    void deveArquivarBlocosAteNaoRestaremPedidos() {
+        // Arrange: dois blocos cheios e um parcial
+        LocalDate limite = LocalDate.now().minusDays(30);
+        given(pedidoService.arquivarPedidosEntregues(limite, 100)).willReturn(100, 100, 42);
+
+        // Act
+        int arquivados = arquivamentoPedidosService.arquivar();
+
+        // Assert
+        assertEquals(242, arquivados);
+        verify(pedidoService, times(3)).arquivarPedidosEntregues(limite, 100);
+    }
+
+    @Test
+    void deveLimitarOsBlocosDeUmaExecucao() {
+        given(pedidoService.arquivarPedidosEntregues(any(), eq(100))).willReturn(100);
+
+        int arquivados = arquivamentoPedidosService.arquivar();
+
+        // O restante fica para a próxima execução.
+        assertEquals(500, arquivados);
+        verify(pedidoService, times(5)).arquivarPedidosEntregues(any(), eq(100));
+    }
+
+    @Test
+    void naoDeveIniciarComConfiguracaoInvalida() {
+        ReflectionTestUtils.setField(arquivamentoPedidosService, "tamanhoBloco", 0);
+
+        assertThrows(IllegalStateException.class, () -> arquivamentoPedidosService.validarConfiguracao());
+    }
+}
@@ -0,0 +1,130 @@
+package org.example.service;
+
+import org.example.dto.PontoSerieDTO;
+import org.example.exception.ResourceNotFoundException;
+import org.example.model.Granularidade;
+import org.example.model.Pedido;
+import org.example.model.Produto;
+import org.example.repository.PedidoArquivadoRepository;
+import org.example.repository.PedidoRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.json.AutoConfigureJson;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Teste de integração do arquivamento de pedidos: a movimentação em blocos para pedido_arquivado
+ * e as leituras que procuram também no arquivo.
+ */
+@DataJpaTest
+@AutoConfigureJson
+@Import({PedidoService.class, ResumoVendasService.class, AnalisePedidosService.class})
+class ArquivoPedidosIntegrationTest {
+
+    private static final LocalDate LIMITE = LocalDate.of(2023, 1, 1);
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private PedidoService pedidoService;
+
+    @Autowired
+    private AnalisePedidosService analisePedidosService;
+
+    @Autowired
+    private PedidoRepository pedidoRepository;
+
+    @Autowired
+    private PedidoArquivadoRepository pedidoArquivadoRepository;
+
+    private Long antigo;
+    private Long outroAntigo;
+    private Long recente;
+    private Long pendente;
+
+    @BeforeEach
+    void setUp() {
+        Produto mouse = entityManager.persist(new Produto("Mouse", 100.00));
+        Produto teclado = entityManager.persist(new Produto("Teclado", 300.00));
+        antigo = pedido(LocalDate.of(2022, 5, 2), LocalDate.of(2022, 5, 5), mouse, teclado);
+        outroAntigo = pedido(LocalDate.of(2022, 5, 2), LocalDate.of(2022, 5, 9), mouse);
+        recente = pedido(LocalDate.of(2023, 3, 1), LocalDate.of(2023, 3, 2), teclado);
+        pendente = pedido(LocalDate.of(2022, 5, 2), null, mouse);
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void deveMoverEmBlocosApenasOsPedidosEntreguesAntesDoLimite() {
+        // Act: blocos de um pedido
+        int primeiroBloco = pedidoService.arquivarPedidosEntregues(LIMITE, 1);
+        int segundoBloco = pedidoService.arquivarPedidosEntregues(LIMITE, 1);
+        int terceiroBloco = pedidoService.arquivarPedidosEntregues(LIMITE, 1);
+        entityManager.clear();
+
+        // Assert
+        assertEquals(List.of(1, 1, 0), List.of(primeiroBloco, segundoBloco, terceiroBloco));
+        assertFalse(pedidoRepository.existsById(antigo));
+        assertFalse(pedidoRepository.existsById(outroAntigo));
+        assertTrue(pedidoRepository.existsById(recente));
+        assertTrue(pedidoRepository.existsById(pendente));
+        assertEquals(2, pedidoArquivadoRepository.count());
+    }
+
+    @Test
+    void deveBuscarPedidoArquivadoApenasQuandoSolicitado() {
+        // Arrange
+        pedidoService.arquivarPedidosEntregues(LIMITE, 10);
+        entityManager.clear();
+
+        // Act & Assert
+        assertThrows(ResourceNotFoundException.class, () -> pedidoService.buscarPedidoPorId(antigo));
+        Pedido arquivado = pedidoService.buscarPedidoPorId(antigo, true);
+        assertEquals(LocalDate.of(2022, 5, 5), arquivado.getDataEntrega());
+        assertEquals(2, arquivado.getItens().size());
+        assertEquals(400.00, arquivado.getTotal(), 0.001);
+        assertEquals("\"0.0\"", pedidoService.buscarVersao(antigo, true).etag());
+    }
+
+    @Test
+    void deveSomarPedidosArquivadosNasConsultasPorPeriodoQuandoSolicitado() {
+        // Arrange
+        pedidoService.arquivarPedidosEntregues(LIMITE, 10);
+        entityManager.clear();
+        LocalDate inicio = LocalDate.of(2022, 1, 1);
+        LocalDate fim = LocalDate.of(2023, 12, 31);
+
+        // Act & Assert: o pedido pendente e o recente continuam ativos
+        assertEquals(400.00, pedidoService.calcularFaturamento(inicio, fim).faturamento(), 0.001);
+        assertEquals(900.00, pedidoService.calcularFaturamento(inicio, fim, true).faturamento(), 0.001);
+
+        List<PontoSerieDTO> serie = analisePedidosService.gerarSerie(Granularidade.MES, inicio, fim, true);
+        assertEquals(3L, serie.get(4).pedidos());
+        assertEquals(1L, serie.get(14).pedidos());
+        assertEquals(1L, analisePedidosService.gerarSerie(Granularidade.MES, inicio, fim).get(4).pedidos());
+
+        // o prazo de entrega aceita no máximo um ano, que já cobre todos os pedidos
+        LocalDate inicioDoPrazo = LocalDate.of(2022, 5, 1);
+        LocalDate fimDoPrazo = LocalDate.of(2023, 4, 30);
+        assertEquals(3L, analisePedidosService.calcularPrazoEntrega(inicioDoPrazo, fimDoPrazo, true).pedidosEntregues());
+        assertEquals(7L, analisePedidosService.calcularPrazoEntrega(inicioDoPrazo, fimDoPrazo, true).maximoDias());
+    }
+
+    private Long pedido(LocalDate data, LocalDate dataEntrega, Produto... produtos) {
+        Pedido pedido = new Pedido(data);
+        pedido.setDataEntrega(dataEntrega);
+        for (Produto produto : produtos) {
+            pedido.adicionarItem(produto, 1);
+        }
+        return entityManager.persist(pedido).getId();
+    }
+}
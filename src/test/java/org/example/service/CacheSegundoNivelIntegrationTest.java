@@ -0,0 +1,255 @@
+package org.example.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.example.busca.IndiceBuscaProdutos;
+import org.example.dto.CategoriaRequestDTO;
+import org.example.dto.EstatisticaCacheDTO;
+import org.example.dto.PedidoRequestDTO;
+import org.example.dto.ProdutoRequestDTO;
+import org.example.dto.ReajustePrecoRequestDTO;
+import org.example.model.Categoria;
+import org.example.model.Fornecedor;
+import org.example.model.Pedido;
+import org.example.model.Produto;
+import org.example.repository.CategoriaRepository;
+import org.example.repository.FornecedorRepository;
+import org.example.repository.PedidoRepository;
+import org.example.repository.ProdutoRepository;
+import org.example.repository.ResumoVendaDiariaRepository;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.json.AutoConfigureJson;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Teste de integração do cache de segundo nível.
+ * Cada chamada às services roda em sua própria transação (o teste não é transacional), como em
+ * produção: o cache só é populado e invalidado na conclusão das transações.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=true",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@AutoConfigureJson
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({ProdutoService.class, CategoriaService.class, IndiceBuscaProdutos.class, PedidoService.class, ResumoVendasService.class, CacheService.class})
+class CacheSegundoNivelIntegrationTest {
+
+    private static final String REGIAO_CATEGORIA = Categoria.class.getName();
+    private static final String REGIAO_FORNECEDOR = Fornecedor.class.getName();
+    private static final String REGIAO_PRODUTO = Produto.class.getName();
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ProdutoService produtoService;
+
+    @Autowired
+    private CategoriaService categoriaService;
+
+    @Autowired
+    private PedidoService pedidoService;
+
+    @Autowired
+    private CacheService cacheService;
+
+    @Autowired
+    private CategoriaRepository categoriaRepository;
+
+    @Autowired
+    private FornecedorRepository fornecedorRepository;
+
+    @Autowired
+    private ProdutoRepository produtoRepository;
+
+    @Autowired
+    private PedidoRepository pedidoRepository;
+
+    @Autowired
+    private ResumoVendaDiariaRepository resumoVendaDiariaRepository;
+
+    private Statistics estatisticas;
+    private Categoria perifericos;
+    private Fornecedor logitech;
+
+    @BeforeEach
+    void setUp() {
+        perifericos = categoriaRepository.save(new Categoria("Periféricos"));
+        logitech = fornecedorRepository.save(new Fornecedor("Logitech"));
+        estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        estatisticas.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        pedidoRepository.deleteAll();
+        resumoVendaDiariaRepository.deleteAll();
+        produtoRepository.deleteAll();
+        categoriaRepository.deleteAll();
+        fornecedorRepository.deleteAll();
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    @Test
+    void deveLerCategoriaEFornecedorDoCacheAoCriarProdutos() {
+        // Arrange: a primeira leitura vai ao banco e popula o cache (inserções com IDENTITY não o populam)
+        produtoService.criarProduto(produtoRequest("Mouse", 100.00, perifericos.getId()));
+        estatisticas.clear();
+
+        // Act
+        produtoService.criarProduto(produtoRequest("Teclado", 300.00, perifericos.getId()));
+        produtoService.criarProduto(produtoRequest("Monitor", 900.00, perifericos.getId()));
+
+        // Assert
+        CacheRegionStatistics categorias = estatisticas.getDomainDataRegionStatistics(REGIAO_CATEGORIA);
+        CacheRegionStatistics fornecedores = estatisticas.getDomainDataRegionStatistics(REGIAO_FORNECEDOR);
+        assertEquals(2, categorias.getHitCount());
+        assertEquals(0, categorias.getMissCount());
+        assertEquals(2, fornecedores.getHitCount());
+        assertEquals(0, estatisticas.getEntityStatistics(REGIAO_CATEGORIA).getLoadCount());
+    }
+
+    @Test
+    void deveLerProdutosDoCacheAoCriarPedidos() {
+        // Arrange
+        Produto mouse = produtoService.criarProduto(produtoRequest("Mouse", 100.00, perifericos.getId()));
+        produtoService.buscarPorId(mouse.getId());
+        estatisticas.clear();
+
+        // Act
+        for (int i = 0; i < 3; i++) {
+            pedidoService.criarPedido(pedidoRequest(mouse.getId()));
+        }
+
+        // Assert: nenhum SELECT de produto
+        assertEquals(3, estatisticas.getDomainDataRegionStatistics(REGIAO_PRODUTO).getHitCount());
+        assertEquals(0, estatisticas.getEntityStatistics(REGIAO_PRODUTO).getLoadCount());
+    }
+
+    @Test
+    void deveUsarPrecoAtualizadoAposReajustePelaService() {
+        // Arrange: produto já em cache
+        Produto mouse = produtoService.criarProduto(produtoRequest("Mouse", 100.00, perifericos.getId()));
+        pedidoService.criarPedido(pedidoRequest(mouse.getId()));
+
+        // Act
+        produtoService.atualizarProduto(mouse.getId(), produtoRequest("Mouse", 120.00, null));
+        Pedido pedido = pedidoService.criarPedido(pedidoRequest(mouse.getId()));
+
+        // Assert: o item captura o preço novo, não a versão antiga do cache
+        assertEquals(120.00, pedido.getItens().get(0).getPrecoUnitario());
+        assertEquals(120.00, produtoService.buscarPorId(mouse.getId()).getPreco());
+    }
+
+    @Test
+    void deveUsarPrecoAtualizadoAposReajusteEmMassa() {
+        // Arrange: produtos já em cache, um deles fora da categoria reajustada
+        Categoria escritorio = categoriaRepository.save(new Categoria("Escritório"));
+        Produto mouse = produtoService.criarProduto(produtoRequest("Mouse", 100.00, perifericos.getId()));
+        Produto cadeira = produtoService.criarProduto(produtoRequest("Cadeira", 800.00, escritorio.getId()));
+        pedidoService.criarPedido(pedidoRequest(mouse.getId()));
+        produtoService.buscarPorId(cadeira.getId());
+
+        // Act
+        ReajustePrecoRequestDTO reajuste = new ReajustePrecoRequestDTO();
+        reajuste.setCategoriaId(perifericos.getId());
+        reajuste.setPercentual(12.5);
+        int atualizados = produtoService.reajustarPrecos(reajuste).produtosAtualizados();
+        Pedido pedido = pedidoService.criarPedido(pedidoRequest(mouse.getId()));
+
+        // Assert: o UPDATE em massa invalida a região de produtos, sem deixar preço antigo no cache
+        assertEquals(1, atualizados);
+        assertEquals(112.50, pedido.getItens().get(0).getPrecoUnitario());
+        assertEquals(112.50, produtoService.buscarPorId(mouse.getId()).getPreco());
+        assertEquals(800.00, produtoService.buscarPorId(cadeira.getId()).getPreco());
+        assertEquals(1L, produtoRepository.findVersaoById(mouse.getId()).orElseThrow().versao());
+    }
+
+    @Test
+    void deveInvalidarCategoriaAoAtualizarPelaService() {
+        // Arrange
+        categoriaService.buscarPorId(perifericos.getId());
+
+        // Act
+        CategoriaRequestDTO dto = new CategoriaRequestDTO();
+        dto.setNome("Acessórios");
+        categoriaService.atualizarCategoria(perifericos.getId(), dto);
+
+        // Assert
+        assertEquals("Acessórios", categoriaService.buscarPorId(perifericos.getId()).getNome());
+    }
+
+    @Test
+    void deveInvalidarColecaoDeProdutosDaCategoriaAoMoverProduto() {
+        // Arrange: a coleção da categoria fica em cache com o mouse
+        Categoria escritorio = categoriaRepository.save(new Categoria("Escritório"));
+        Produto mouse = produtoService.criarProduto(produtoRequest("Mouse", 100.00, perifericos.getId()));
+        assertEquals(1, contarProdutosDaCategoria(perifericos.getId()));
+        assertEquals(1, contarProdutosDaCategoria(perifericos.getId()));
+        assertTrue(estatisticas.getDomainDataRegionStatistics(REGIAO_CATEGORIA + ".produtos").getHitCount() > 0);
+
+        // Act
+        produtoService.atualizarProduto(mouse.getId(), produtoRequest("Mouse", 100.00, escritorio.getId()));
+        produtoService.criarProduto(produtoRequest("Teclado", 300.00, escritorio.getId()));
+
+        // Assert
+        assertEquals(0, contarProdutosDaCategoria(perifericos.getId()));
+        assertEquals(2, contarProdutosDaCategoria(escritorio.getId()));
+    }
+
+    @Test
+    void deveExporEstatisticasPorRegiao() {
+        // Arrange
+        produtoService.criarProduto(produtoRequest("Mouse", 100.00, perifericos.getId()));
+        produtoService.criarProduto(produtoRequest("Teclado", 300.00, perifericos.getId()));
+
+        // Act
+        List<EstatisticaCacheDTO> regioes = cacheService.listarEstatisticas();
+
+        // Assert
+        EstatisticaCacheDTO categorias = regioes.stream()
+                .filter(regiao -> regiao.regiao().equals(REGIAO_CATEGORIA))
+                .findFirst().orElseThrow();
+        assertEquals(1, categorias.acertos());
+        assertEquals(1, categorias.falhas());
+        assertEquals(0.5, categorias.taxaDeAcerto());
+    }
+
+    private int contarProdutosDaCategoria(Long categoriaId) {
+        return new TransactionTemplate(transactionManager).execute(status ->
+                categoriaRepository.findById(categoriaId).orElseThrow().getProdutos().size());
+    }
+
+    private ProdutoRequestDTO produtoRequest(String nome, Double preco, Long categoriaId) {
+        ProdutoRequestDTO dto = new ProdutoRequestDTO();
+        dto.setNome(nome);
+        dto.setPreco(preco);
+        dto.setCategoriaId(categoriaId);
+        dto.setFornecedorId(logitech.getId());
+        return dto;
+    }
+
+    private static PedidoRequestDTO pedidoRequest(Long produtoId) {
+        PedidoRequestDTO dto = new PedidoRequestDTO();
+        dto.setProdutoIds(List.of(produtoId));
+        return dto;
+    }
+}
@@ -1,6 +1,9 @@
 package org.example.service;
 
 import org.example.dto.CategoriaRequestDTO;
+import org.example.dto.PaginaDTO;
+import org.example.dto.ProdutoResponseDTO;
+import org.example.event.CategoriaSalvaEvent;
 import org.example.exception.BusinessRuleException;
 import org.example.exception.ResourceNotFoundException;
 import org.example.model.Categoria;
@@ -12,11 +15,15 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.*;
@@ -35,6 +42,9 @@ class CategoriaServiceTest {
     @Mock
     private ProdutoRepository produtoRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private CategoriaService categoriaService;
 
@@ -97,6 +107,8 @@ class CategoriaServiceTest {
         // Assert
         assertEquals("Livros Técnicos", categoriaAtualizada.getNome());
         verify(categoriaRepository, times(1)).save(categoria);
+        // O novo nome é propagado ao índice de busca de produtos
+        verify(eventPublisher).publishEvent(new CategoriaSalvaEvent(categoria.getId(), "Livros Técnicos"));
     }
 
     @Test
@@ -167,4 +179,43 @@ class CategoriaServiceTest {
         });
         verify(categoriaRepository, never()).delete(any(Categoria.class));
     }
+
+    @Test
+    void deveListarProdutosDaCategoriaComCursorDaProximaPagina() {
+        // Arrange: a consulta traz limit + 1 produtos, indicando que há uma próxima página
+        given(categoriaRepository.existsById(1L)).willReturn(true);
+        given(produtoRepository.findProjetadosDaCategoriaAposCursor(1L, 0L, Limit.of(3))).willReturn(List.of(
+                produtoDaCategoria(4L), produtoDaCategoria(9L), produtoDaCategoria(12L)));
+
+        // Act
+        PaginaDTO<ProdutoResponseDTO> pagina = categoriaService.listarProdutos(1L, null, 2);
+
+        // Assert
+        assertEquals(List.of(4L, 9L), pagina.getItens().stream().map(ProdutoResponseDTO::id).toList());
+        assertEquals(9L, pagina.getNext());
+    }
+
+    @Test
+    void deveListarUltimaPaginaDeProdutosSemCursor() {
+        given(categoriaRepository.existsById(1L)).willReturn(true);
+        given(produtoRepository.findProjetadosDaCategoriaAposCursor(1L, 9L, Limit.of(3)))
+                .willReturn(List.of(produtoDaCategoria(12L)));
+
+        PaginaDTO<ProdutoResponseDTO> pagina = categoriaService.listarProdutos(1L, 9L, 2);
+
+        assertEquals(1, pagina.getItens().size());
+        assertNull(pagina.getNext());
+    }
+
+    @Test
+    void naoDeveListarProdutosDeCategoriaInexistente() {
+        given(categoriaRepository.existsById(999L)).willReturn(false);
+
+        assertThrows(ResourceNotFoundException.class, () -> categoriaService.listarProdutos(999L, null, 50));
+        verify(produtoRepository, never()).findProjetadosDaCategoriaAposCursor(anyLong(), anyLong(), any());
+    }
+
+    private static ProdutoResponseDTO produtoDaCategoria(Long id) {
+        return new ProdutoResponseDTO(id, "Produto " + id, 10.0, 1L, "Eletrônicos", null, null);
+    }
 }
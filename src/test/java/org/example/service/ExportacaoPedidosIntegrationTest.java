@@ -0,0 +1,77 @@
+package org.example.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.dto.ItemPedidoResponseDTO;
+import org.example.dto.PedidoRequestDTO;
+import org.example.dto.PedidoResponseDTO;
+import org.example.model.Produto;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.json.AutoConfigureJson;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Teste de integração da exportação de pedidos em NDJSON, que percorre um cursor com fetch join dos itens.
+ */
+@DataJpaTest
+@AutoConfigureJson
+@Import({PedidoService.class, ResumoVendasService.class})
+class ExportacaoPedidosIntegrationTest {
+
+    // Mais de mil pedidos, lidos em vários blocos do tamanho de fetch do cursor (500).
+    private static final int PEDIDOS = 1_200;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private PedidoService pedidoService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void deveExportarCadaItemDeCadaPedidoExatamenteUmaVez() throws IOException {
+        // Arrange: três itens por pedido
+        List<Long> produtoIds = new ArrayList<>();
+        for (String nome : List.of("Mouse", "Teclado", "Monitor")) {
+            produtoIds.add(entityManager.persist(new Produto(nome, 100.00)).getId());
+        }
+        List<PedidoRequestDTO> lote = new ArrayList<>();
+        for (int i = 0; i < PEDIDOS; i++) {
+            PedidoRequestDTO dto = new PedidoRequestDTO();
+            dto.setProdutoIds(produtoIds);
+            lote.add(dto);
+        }
+        List<Long> ids = pedidoService.criarPedidosEmLote(lote);
+        entityManager.flush();
+        entityManager.clear();
+
+        // Act
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+        pedidoService.exportarPedidos(saida);
+
+        // Assert: cada pedido em uma única linha, com cada um dos seus itens uma única vez
+        Map<Long, List<Long>> produtosPorPedido = new HashMap<>();
+        for (String linha : saida.toString(StandardCharsets.UTF_8).split("\n")) {
+            PedidoResponseDTO pedido = objectMapper.readValue(linha, PedidoResponseDTO.class);
+            List<Long> produtos = pedido.itens().stream().map(ItemPedidoResponseDTO::produtoId).sorted().toList();
+            assertNull(produtosPorPedido.put(pedido.id(), produtos), () -> "Pedido " + pedido.id() + " exportado duas vezes");
+        }
+        assertEquals(Set.copyOf(ids), produtosPorPedido.keySet());
+        produtosPorPedido.forEach((pedidoId, produtos) -> assertEquals(produtoIds, produtos, () -> "Pedido " + pedidoId));
+    }
+}
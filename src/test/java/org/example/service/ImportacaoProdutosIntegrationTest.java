@@ -0,0 +1,128 @@
+package org.example.service;
+
+import org.example.dto.ErroImportacaoDTO;
+import org.example.dto.ImportacaoProdutosResponseDTO;
+import org.example.exception.BusinessRuleException;
+import org.example.model.Categoria;
+import org.example.model.Fornecedor;
+import org.example.model.Produto;
+import org.example.repository.ProdutoRepository;
+import org.example.sql.CapturadorSql;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Teste de integração da importação do catálogo por CSV.
+ * Confere, pelo SQL capturado, que categorias e fornecedores são lidos uma única vez e que os produtos
+ * são inseridos em lotes JDBC.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector=org.example.sql.CapturadorSql")
+@Import(ImportacaoProdutosService.class)
+class ImportacaoProdutosIntegrationTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ImportacaoProdutosService importacaoProdutosService;
+
+    @Autowired
+    private ProdutoRepository produtoRepository;
+
+    private Categoria eletronicos;
+    private Fornecedor logitech;
+
+    @BeforeEach
+    void setUp() {
+        eletronicos = entityManager.persist(new Categoria("Eletrônicos"));
+        entityManager.persist(new Categoria("Periféricos"));
+        logitech = entityManager.persist(new Fornecedor("Logitech"));
+        Produto mouse = new Produto("Mouse", 80.00);
+        mouse.setCategoria(eletronicos);
+        entityManager.persist(mouse);
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void deveImportarLinhasValidasEListarAsRecusadas() throws IOException {
+        // Arrange: ponto e vírgula, vírgula decimal, nomes sem acento e campo entre aspas
+        String csv = """
+                nome;preço;categoria;fornecedor
+                Teclado;199,90;eletronicos;LOGITECH
+                Mouse;50;Periféricos;Logitech
+                "Monitor 27"", IPS";1500.00;Eletrônicos;Logitech
+                Headset;abc;Periféricos;Logitech
+
+                Webcam;300;Câmeras;Logitech
+                Teclado;10;Periféricos;Logitech
+                ;10;Periféricos;Logitech
+                """;
+
+        // Act
+        ImportacaoProdutosResponseDTO resultado = importacaoProdutosService.importar(arquivo(csv));
+
+        // Assert: as linhas recusadas não interrompem a importação e vêm em ordem
+        assertEquals(2, resultado.produtosCriados());
+        assertEquals(5, resultado.linhasComErro());
+        assertEquals(List.of(3L, 5L, 7L, 8L, 9L), resultado.erros().stream().map(ErroImportacaoDTO::linha).toList());
+        assertTrue(resultado.erros().get(0).mensagem().contains("Já existe"));
+        assertTrue(resultado.erros().get(2).mensagem().contains("Câmeras"));
+
+        Produto monitor = produtoRepository.findByNomeContainingIgnoreCase("Monitor").get(0);
+        assertEquals("Monitor 27\", IPS", monitor.getNome());
+        assertEquals(eletronicos.getId(), monitor.getCategoria().getId());
+        assertEquals(logitech.getId(), monitor.getFornecedor().getId());
+        assertEquals(199.90, produtoRepository.findByNomeContainingIgnoreCase("Teclado").get(0).getPreco(), 0.001);
+    }
+
+    @Test
+    void deveInserirProdutosEmLotesSemConsultarCategoriasPorId() throws IOException {
+        // Arrange
+        StringBuilder csv = new StringBuilder("nome,preco,categoria,fornecedor\n");
+        for (int i = 0; i < 120; i++) {
+            csv.append("Produto ").append(i).append(',').append(10 + i).append(",Eletrônicos,Logitech\n");
+        }
+        CapturadorSql.limpar();
+
+        // Act
+        ImportacaoProdutosResponseDTO resultado = importacaoProdutosService.importar(arquivo(csv.toString()));
+
+        // Assert: o INSERT é preparado uma única vez e reutilizado pelos lotes (com IDENTITY, seria um por produto),
+        // os IDs vêm da sequência em blocos de 50 e categorias e fornecedores são lidos uma única vez
+        assertEquals(120, resultado.produtosCriados());
+        List<String> comandos = CapturadorSql.comandos();
+        assertEquals(1, comandos.stream().filter(sql -> sql.startsWith("insert into produto")).count(), comandos::toString);
+        assertTrue(comandos.stream().filter(sql -> sql.contains("produto_seq")).count() <= 3, comandos::toString);
+        assertEquals(1, comandos.stream().filter(sql -> sql.startsWith("select") && sql.contains(" from categoria ")).count(), comandos::toString);
+        assertEquals(1, comandos.stream().filter(sql -> sql.startsWith("select") && sql.contains(" from fornecedor ")).count(), comandos::toString);
+        assertEquals(121, produtoRepository.count());
+    }
+
+    @Test
+    void naoDeveImportarArquivoVazioOuSemColunasObrigatorias() {
+        assertThrows(BusinessRuleException.class, () -> importacaoProdutosService.importar(arquivo("")));
+        assertThrows(BusinessRuleException.class, () -> importacaoProdutosService.importar(arquivo("nome,preco,categoria\nTeclado,10,Eletrônicos\n")));
+    }
+
+    @Test
+    void deveDividirCamposEntreAspas() {
+        assertEquals(List.of("a", "b;c", "d \"e\"", ""), ImportacaoProdutosService.dividir("a;\"b;c\";\"d \"\"e\"\"\";", ';'));
+        assertThrows(BusinessRuleException.class, () -> ImportacaoProdutosService.dividir("a,\"b", ','));
+    }
+
+    private static ByteArrayInputStream arquivo(String conteudo) {
+        return new ByteArrayInputStream(conteudo.getBytes(StandardCharsets.UTF_8));
+    }
+}
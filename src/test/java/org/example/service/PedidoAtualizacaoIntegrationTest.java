@@ -0,0 +1,176 @@
+package org.example.service;
+
+import org.example.dto.EntregaLoteResponseDTO;
+import org.example.dto.EntregaPedidoRequestDTO;
+import org.example.dto.ItemPedidoRequestDTO;
+import org.example.dto.PedidoRequestDTO;
+import org.example.dto.PedidoUpdateRequestDTO;
+import org.example.model.Pedido;
+import org.example.model.Produto;
+import org.example.sql.CapturadorSql;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.json.AutoConfigureJson;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Teste de integração da atualização de pedidos.
+ * Confere, pelo SQL capturado, que apenas as linhas de itens que mudaram são gravadas.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector=org.example.sql.CapturadorSql")
+@AutoConfigureJson
+@Import({PedidoService.class, ResumoVendasService.class})
+class PedidoAtualizacaoIntegrationTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private PedidoService pedidoService;
+
+    private Produto mouse;
+    private Produto teclado;
+    private Produto monitor;
+    private Produto headset;
+
+    @BeforeEach
+    void setUp() {
+        mouse = entityManager.persist(new Produto("Mouse", 100.00));
+        teclado = entityManager.persist(new Produto("Teclado", 300.00));
+        monitor = entityManager.persist(new Produto("Monitor", 900.00));
+        headset = entityManager.persist(new Produto("Headset", 250.00));
+        entityManager.flush();
+    }
+
+    @Test
+    void deveGravarApenasOsItensAlterados() {
+        // Arrange: mouse, teclado e monitor
+        Long pedidoId = pedidoService.criarPedido(requisicao(mouse.getId(), teclado.getId(), monitor.getId())).getId();
+        entityManager.flush();
+        entityManager.clear();
+        CapturadorSql.limpar();
+
+        // Act: 2 mouses, o mesmo teclado, sem monitor e com headset
+        PedidoUpdateRequestDTO atualizacao = new PedidoUpdateRequestDTO();
+        atualizacao.setItens(List.of(new ItemPedidoRequestDTO(mouse.getId(), 2), new ItemPedidoRequestDTO(teclado.getId(), 1),
+                new ItemPedidoRequestDTO(headset.getId(), 1)));
+        pedidoService.atualizarPedido(pedidoId, atualizacao);
+        entityManager.flush();
+
+        // Assert: um INSERT, um UPDATE e um DELETE de itens, nenhum dos itens mantidos regravado
+        List<String> itens = comandosEm("pedido_produto");
+        assertEquals(1, itens.stream().filter(sql -> sql.startsWith("insert")).count(), itens::toString);
+        assertEquals(1, itens.stream().filter(sql -> sql.startsWith("update")).count(), itens::toString);
+        assertEquals(1, itens.stream().filter(sql -> sql.startsWith("delete")).count(), itens::toString);
+
+        entityManager.clear();
+        Pedido pedido = entityManager.find(Pedido.class, pedidoId);
+        assertEquals(750.00, pedido.getTotal(), 0.001);
+    }
+
+    @Test
+    void deveDevolverOETagDaNovaVersaoAoAlterarApenasAQuantidade() {
+        // Arrange
+        Long pedidoId = pedidoService.criarPedido(requisicao(mouse.getId())).getId();
+        entityManager.flush();
+        entityManager.clear();
+        String etagAnterior = pedidoService.buscarVersao(pedidoId).etag();
+
+        // Act: só a quantidade muda, o que não altera a linha do pedido
+        PedidoUpdateRequestDTO atualizacao = new PedidoUpdateRequestDTO();
+        atualizacao.setItens(List.of(new ItemPedidoRequestDTO(mouse.getId(), 3)));
+        String etag = pedidoService.atualizarPedido(pedidoId, atualizacao, etagAnterior).etag();
+
+        // Assert: o ETag devolvido já é o da versão incrementada, sem esperar o commit
+        assertNotEquals(etagAnterior, etag);
+        entityManager.flush();
+        entityManager.clear();
+        assertEquals(etag, pedidoService.buscarVersao(pedidoId).etag());
+    }
+
+    @Test
+    void deveRecusarAlteracaoDeItensSeOPedidoMudouDepoisDeCarregado() {
+        // Arrange: o pedido carregado fica na versão 0 enquanto o banco passa para a 1
+        Long pedidoId = pedidoService.criarPedido(requisicao(mouse.getId())).getId();
+        entityManager.flush();
+        entityManager.clear();
+        entityManager.find(Pedido.class, pedidoId);
+        entityManager.getEntityManager().createQuery("UPDATE Pedido p SET p.versao = p.versao + 1 WHERE p.id = :id")
+                .setParameter("id", pedidoId).executeUpdate();
+
+        // Act & Assert
+        PedidoUpdateRequestDTO atualizacao = new PedidoUpdateRequestDTO();
+        atualizacao.setItens(List.of(new ItemPedidoRequestDTO(mouse.getId(), 2)));
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> pedidoService.atualizarPedido(pedidoId, atualizacao));
+    }
+
+    @Test
+    void deveAtualizarDataDeEntregaComUmUnicoUpdateSemTocarNosItens() {
+        // Arrange
+        Long pedidoId = pedidoService.criarPedido(requisicao(mouse.getId(), teclado.getId())).getId();
+        entityManager.flush();
+        entityManager.clear();
+        CapturadorSql.limpar();
+
+        // Act
+        PedidoUpdateRequestDTO atualizacao = new PedidoUpdateRequestDTO();
+        atualizacao.setDataEntrega(LocalDate.now().plusDays(3));
+        Pedido pedido = pedidoService.atualizarPedido(pedidoId, atualizacao);
+
+        // Assert: um UPDATE no pedido e a leitura da resposta; nenhum comando em itens ou resumos
+        List<String> gravacoes = CapturadorSql.comandos().stream().filter(sql -> !sql.startsWith("select")).toList();
+        assertEquals(1, gravacoes.size(), gravacoes::toString);
+        assertTrue(gravacoes.get(0).startsWith("update pedido "), gravacoes::toString);
+        assertEquals(LocalDate.now().plusDays(3), pedido.getDataEntrega());
+        assertEquals(1L, pedido.getVersao());
+        assertEquals(2, pedido.getItens().size());
+    }
+
+    @Test
+    void deveConfirmarEntregasEmLoteSemCarregarPedidos() {
+        // Arrange
+        Long primeiro = pedidoService.criarPedido(requisicao(mouse.getId())).getId();
+        Long segundo = pedidoService.criarPedido(requisicao(teclado.getId())).getId();
+        entityManager.flush();
+        entityManager.clear();
+        CapturadorSql.limpar();
+        LocalDate entrega = LocalDate.now().plusDays(1);
+
+        // Act
+        EntregaLoteResponseDTO resultado = pedidoService.confirmarEntregas(List.of(new EntregaPedidoRequestDTO(primeiro, entrega),
+                new EntregaPedidoRequestDTO(-1L, entrega), new EntregaPedidoRequestDTO(segundo, entrega)));
+
+        // Assert: um UPDATE para o bloco e, como faltou um pedido, uma consulta apenas de IDs
+        List<String> comandos = CapturadorSql.comandos();
+        assertEquals(2, comandos.size(), comandos::toString);
+        assertTrue(comandos.get(0).startsWith("update pedido "), comandos::toString);
+        assertTrue(comandos.get(1).startsWith("select p1_0.id from pedido "), comandos::toString);
+        assertEquals(2, resultado.atualizados());
+        assertEquals(List.of(-1L), resultado.naoEncontrados());
+
+        Pedido pedido = entityManager.find(Pedido.class, segundo);
+        assertEquals(entrega, pedido.getDataEntrega());
+        assertEquals(1L, pedido.getVersao());
+    }
+
+    private static List<String> comandosEm(String tabela) {
+        return CapturadorSql.comandos().stream()
+                .filter(sql -> !sql.startsWith("select") && sql.contains(" " + tabela + " "))
+                .toList();
+    }
+
+    private static PedidoRequestDTO requisicao(Long... produtoIds) {
+        PedidoRequestDTO dto = new PedidoRequestDTO();
+        dto.setProdutoIds(List.of(produtoIds));
+        return dto;
+    }
+}
@@ -0,0 +1,67 @@
+package org.example.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.example.dto.PedidoRequestDTO;
+import org.example.model.Pedido;
+import org.example.model.Produto;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.json.AutoConfigureJson;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Teste de integração da criação de pedidos em lote.
+ * Usa as estatísticas do Hibernate para garantir que os INSERTs são enviados em lotes JDBC.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureJson
+@Import({PedidoService.class, ResumoVendasService.class})
+class PedidoLoteIntegrationTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PedidoService pedidoService;
+
+    @Test
+    void deveInserirPedidosEmLotesJdbc() {
+        // Arrange
+        Produto teclado = entityManager.persist(new Produto("Teclado", 300.00));
+        Produto mouse = entityManager.persist(new Produto("Mouse", 150.00));
+        entityManager.flush();
+        entityManager.clear();
+
+        List<PedidoRequestDTO> lote = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            PedidoRequestDTO dto = new PedidoRequestDTO();
+            dto.setProdutoIds(List.of(teclado.getId(), mouse.getId()));
+            lote.add(dto);
+        }
+        Statistics estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        estatisticas.clear();
+
+        // Act
+        List<Long> ids = pedidoService.criarPedidosEmLote(lote);
+
+        // Assert: 200 pedidos + 400 itens (os 2 buckets de resumo vão por upsert nativo), mas apenas alguns statements preparados
+        assertEquals(200, ids.size());
+        assertEquals(600, estatisticas.getEntityInsertCount());
+        assertTrue(estatisticas.getPrepareStatementCount() < 30,
+                "Statements preparados: " + estatisticas.getPrepareStatementCount());
+        assertEquals(0, estatisticas.getEntityLoadCount(), "Os produtos não devem ser carregados");
+        assertEquals(2, entityManager.find(Pedido.class, ids.get(199)).getItens().size());
+    }
+}
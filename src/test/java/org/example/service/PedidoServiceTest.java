@@ -1,29 +1,50 @@
 package org.example.service;
 
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.OptimisticLockException;
+import org.example.dto.EntregaLoteResponseDTO;
+import org.example.dto.EntregaPedidoRequestDTO;
+import org.example.dto.PaginaDTO;
 import org.example.dto.PedidoRequestDTO;
+import org.example.dto.PedidoResponseDTO;
+import org.example.dto.PedidoResumoDTO;
+import org.example.dto.ItemPedidoRequestDTO;
+import org.example.dto.ItemPedidoResponseDTO;
+import org.example.dto.ProdutoPrecoDTO;
+import org.example.dto.RepresentacaoDTO;
+import org.example.dto.TotalPedidoDTO;
 import org.example.dto.PedidoUpdateRequestDTO;
+import org.example.dto.VersaoDTO;
 import org.example.exception.BusinessRuleException;
+import org.example.exception.PreconditionFailedException;
 import org.example.exception.ResourceNotFoundException;
+import org.example.model.ItemPedido;
 import org.example.model.Pedido;
 import org.example.model.Produto;
+import org.example.repository.ItemPedidoRepository;
 import org.example.repository.PedidoRepository;
 import org.example.repository.ProdutoRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 
 import java.time.LocalDate;
-import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willThrow;
 import static org.mockito.Mockito.*;
 
 /**
@@ -38,6 +59,15 @@ class PedidoServiceTest {
     @Mock
     private ProdutoRepository produtoRepository;
 
+    @Mock
+    private ItemPedidoRepository itemPedidoRepository;
+
+    @Mock
+    private ResumoVendasService resumoVendasService;
+
+    @Mock
+    private EntityManager entityManager;
+
     @InjectMocks
     private PedidoService pedidoService;
 
@@ -55,9 +85,7 @@ class PedidoServiceTest {
         pedido = new Pedido(LocalDate.now());
         pedido.setId(1L);
 
-        // --- ALTERAÇÃO PRINCIPAL AQUI ---
-        // Envolvemos List.of() em um new ArrayList<>() para criar uma lista MUTÁVEL.
-        pedido.setProdutos(new ArrayList<>(List.of(produto1)));
+        pedido.adicionarItem(produto1, 1);
     }
 
     @Test
@@ -65,12 +93,10 @@ class PedidoServiceTest {
         // Arrange
         PedidoRequestDTO dto = new PedidoRequestDTO();
         dto.setProdutoIds(List.of(1L, 2L));
-        given(produtoRepository.findAllById(dto.getProdutoIds())).willReturn(List.of(produto1, produto2));
+        given(produtoRepository.findAllByIdComCache(Set.of(1L, 2L))).willReturn(List.of(produto1, produto2));
         given(pedidoRepository.save(any(Pedido.class))).willAnswer(invocation -> {
             Pedido p = invocation.getArgument(0);
             p.setId(1L); // Simula a geração de ID
-            // Garante que o objeto salvo também tenha uma lista mutável
-            p.setProdutos(new ArrayList<>(p.getProdutos()));
             return p;
         });
 
@@ -79,8 +105,10 @@ class PedidoServiceTest {
 
         // Assert
         assertNotNull(pedidoCriado);
-        assertEquals(2, pedidoCriado.getProdutos().size());
+        assertEquals(2, pedidoCriado.getItens().size());
+        assertEquals(300.00, pedidoCriado.getTotal());
         verify(pedidoRepository, times(1)).save(any(Pedido.class));
+        verify(resumoVendasService, times(1)).aplicar(any(ResumoVendasService.Variacao.class));
     }
 
     @Test
@@ -89,7 +117,7 @@ class PedidoServiceTest {
         PedidoRequestDTO dto = new PedidoRequestDTO();
         dto.setProdutoIds(List.of(1L, 999L)); // ID 999 não existe
         // Simula que o repositório só encontrou o produto de ID 1
-        given(produtoRepository.findAllById(dto.getProdutoIds())).willReturn(List.of(produto1));
+        given(produtoRepository.findAllByIdComCache(Set.of(1L, 999L))).willReturn(List.of(produto1));
 
         // Act & Assert
         ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class, () -> {
@@ -99,6 +127,36 @@ class PedidoServiceTest {
         verify(pedidoRepository, never()).save(any(Pedido.class));
     }
 
+    @Test
+    void deveConsolidarProdutosRepetidosEmQuantidade() {
+        // Arrange: o produto 1 aparece duas vezes na lista e mais três unidades nos itens
+        PedidoRequestDTO dto = new PedidoRequestDTO();
+        dto.setProdutoIds(List.of(1L, 1L, 2L));
+        dto.setItens(List.of(new ItemPedidoRequestDTO(1L, 3)));
+        given(produtoRepository.findAllByIdComCache(Set.of(1L, 2L))).willReturn(List.of(produto1, produto2));
+        given(pedidoRepository.save(any(Pedido.class))).willAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        Pedido pedidoCriado = pedidoService.criarPedido(dto);
+
+        // Assert: o preço atual do produto é capturado no item
+        assertEquals(2, pedidoCriado.getItens().size());
+        ItemPedido item = pedidoCriado.getItens().get(0);
+        assertEquals(produto1, item.getProduto());
+        assertEquals(5, item.getQuantidade());
+        assertEquals(100.00, item.getPrecoUnitario());
+        assertEquals(700.00, pedidoCriado.getTotal());
+    }
+
+    @Test
+    void naoDeveCriarPedidoComQuantidadeInvalida() {
+        PedidoRequestDTO dto = new PedidoRequestDTO();
+        dto.setItens(List.of(new ItemPedidoRequestDTO(1L, 0)));
+
+        assertThrows(BusinessRuleException.class, () -> pedidoService.criarPedido(dto));
+        verify(pedidoRepository, never()).save(any());
+    }
+
     @Test
     void naoDeveCriarPedidoSemProdutos() {
         PedidoRequestDTO dto = new PedidoRequestDTO();
@@ -108,6 +166,93 @@ class PedidoServiceTest {
         verify(pedidoRepository, never()).save(any());
     }
 
+    @Test
+    void naoDeveCriarLoteComProdutoInexistente() {
+        // Arrange
+        PedidoRequestDTO primeiro = new PedidoRequestDTO();
+        primeiro.setProdutoIds(List.of(1L, 2L));
+        PedidoRequestDTO segundo = new PedidoRequestDTO();
+        segundo.setProdutoIds(List.of(2L, 999L));
+        given(produtoRepository.findPrecosByIdIn(Set.of(1L, 2L, 999L)))
+                .willReturn(List.of(new ProdutoPrecoDTO(1L, 100.00, null, null), new ProdutoPrecoDTO(2L, 200.00, null, null)));
+
+        // Act & Assert: a validação de todo o lote é feita com uma única consulta
+        ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class,
+                () -> pedidoService.criarPedidosEmLote(List.of(primeiro, segundo)));
+        assertEquals("Produto(s) com ID(s) [999] não encontrado(s).", exception.getMessage());
+        verify(produtoRepository, times(1)).findPrecosByIdIn(any());
+        verify(produtoRepository, never()).getReferenceById(any());
+        verify(resumoVendasService, never()).aplicar(any());
+    }
+
+    @Test
+    void naoDeveCriarLoteComPedidoSemProdutos() {
+        PedidoRequestDTO dto = new PedidoRequestDTO();
+        dto.setProdutoIds(Collections.emptyList());
+
+        BusinessRuleException e = assertThrows(BusinessRuleException.class,
+                () -> pedidoService.criarPedidosEmLote(List.of(dto)));
+        assertEquals("O pedido na posição 0 deve conter pelo menos um produto.", e.getMessage());
+    }
+
+    @Test
+    void deveValidarPedidoSemGravar() {
+        // Arrange
+        PedidoRequestDTO dto = new PedidoRequestDTO();
+        dto.setItens(List.of(new ItemPedidoRequestDTO(1L, 2), new ItemPedidoRequestDTO(3L, 1)));
+        given(produtoRepository.findPrecosByIdIn(Set.of(1L, 3L)))
+                .willReturn(List.of(new ProdutoPrecoDTO(1L, 100.00, null, null)));
+
+        // Act & Assert
+        ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class, () -> pedidoService.validarPedido(dto));
+        assertEquals("Produto(s) com ID(s) [3] não encontrado(s).", exception.getMessage());
+        verify(pedidoRepository, never()).save(any());
+        verify(resumoVendasService, never()).aplicar(any());
+    }
+
+    @Test
+    void deveListarPaginaComCursorDaProximaPagina() {
+        // Arrange: o repositório devolve limit + 1 pedidos, indicando que existe uma próxima página
+        LocalDate hoje = LocalDate.now();
+        given(pedidoRepository.findResumosAposCursor(0L, Limit.of(2)))
+                .willReturn(List.of(new PedidoResumoDTO(1L, hoje, null), new PedidoResumoDTO(2L, hoje, null)));
+        given(pedidoRepository.findItensDosPedidos(List.of(1L)))
+                .willReturn(List.of(new ItemPedidoResponseDTO(1L, 1L, "Produto Teste 1", 2, 100.00)));
+
+        // Act
+        PaginaDTO<PedidoResponseDTO> pagina = pedidoService.listarPedidos(null, 1);
+
+        // Assert
+        assertEquals(1, pagina.getItens().size());
+        assertEquals(1L, pagina.getItens().get(0).id());
+        assertEquals("Produto Teste 1", pagina.getItens().get(0).itens().get(0).nome());
+        assertEquals(200.00, pagina.getItens().get(0).total());
+        assertEquals(1L, pagina.getNext());
+    }
+
+    @Test
+    void deveListarPaginaDePedidosPendentes() {
+        // Arrange
+        LocalDate hoje = LocalDate.now();
+        given(pedidoRepository.findResumosPendentesAposCursor(5L, Limit.of(3)))
+                .willReturn(List.of(new PedidoResumoDTO(7L, hoje, null)));
+        given(pedidoRepository.findItensDosPedidos(List.of(7L))).willReturn(List.of());
+
+        // Act
+        PaginaDTO<PedidoResponseDTO> pagina = pedidoService.listarPedidosPendentes(5L, 2);
+
+        // Assert
+        assertEquals(List.of(7L), pagina.getItens().stream().map(PedidoResponseDTO::id).toList());
+        assertNull(pagina.getNext());
+        verify(pedidoRepository, never()).findResumosAposCursor(any(), any());
+    }
+
+    @Test
+    void naoDeveListarPaginaComLimiteInvalido() {
+        assertThrows(BusinessRuleException.class, () -> pedidoService.listarPedidos(null, 0));
+        verify(pedidoRepository, never()).findResumosAposCursor(any(), any());
+    }
+
     @Test
     void deveAtualizarPedidoComSucesso() {
         // Arrange
@@ -116,20 +261,213 @@ class PedidoServiceTest {
         dto.setProdutoIds(List.of(2L)); // Troca o produto
         dto.setDataEntrega(LocalDate.now().plusDays(5));
 
-        given(pedidoRepository.findById(pedidoId)).willReturn(Optional.of(pedido));
-        given(produtoRepository.findAllById(dto.getProdutoIds())).willReturn(List.of(produto2));
+        given(pedidoRepository.findComItensById(pedidoId)).willReturn(Optional.of(pedido));
+        given(produtoRepository.findAllByIdComCache(Set.of(2L))).willReturn(List.of(produto2));
         given(pedidoRepository.save(any(Pedido.class))).willAnswer(invocation -> invocation.getArgument(0));
 
         // Act
         Pedido pedidoAtualizado = pedidoService.atualizarPedido(pedidoId, dto);
 
         // Assert
-        assertEquals(1, pedidoAtualizado.getProdutos().size());
-        assertTrue(pedidoAtualizado.getProdutos().contains(produto2));
+        assertEquals(1, pedidoAtualizado.getItens().size());
+        assertEquals(produto2, pedidoAtualizado.getItens().get(0).getProduto());
         assertEquals(LocalDate.now().plusDays(5), pedidoAtualizado.getDataEntrega());
+        verify(entityManager).lock(pedido, LockModeType.PESSIMISTIC_FORCE_INCREMENT);
         verify(pedidoRepository, times(1)).save(pedido);
     }
 
+    @Test
+    void naoDeveAtualizarPedidoQuandoIfMatchEstiverDesatualizado() {
+        // Arrange: o cliente leu a versão 1, mas o pedido já está na versão 2
+        Long pedidoId = 1L;
+        PedidoUpdateRequestDTO dto = new PedidoUpdateRequestDTO();
+        dto.setProdutoIds(List.of(2L));
+        given(pedidoRepository.findComItensById(pedidoId)).willReturn(Optional.of(pedido));
+        given(pedidoRepository.findVersaoById(pedidoId)).willReturn(Optional.of(new VersaoDTO(2L, 4L)));
+
+        // Act & Assert
+        assertThrows(PreconditionFailedException.class, () -> pedidoService.atualizarPedido(pedidoId, dto, "\"1.4\""));
+        verify(pedidoRepository, never()).save(any());
+        verify(resumoVendasService, never()).aplicar(any());
+    }
+
+    @Test
+    void deveDevolverOETagLidoNaTransacaoDaAtualizacao() {
+        // Arrange
+        PedidoUpdateRequestDTO dto = new PedidoUpdateRequestDTO();
+        dto.setProdutoIds(List.of(2L));
+        given(pedidoRepository.findComItensById(1L)).willReturn(Optional.of(pedido));
+        given(produtoRepository.findAllByIdComCache(Set.of(2L))).willReturn(List.of(produto2));
+        given(pedidoRepository.save(pedido)).willReturn(pedido);
+        given(pedidoRepository.findVersaoById(1L)).willReturn(Optional.of(new VersaoDTO(1L, 4L)));
+
+        // Act
+        RepresentacaoDTO<PedidoResponseDTO> atualizado = pedidoService.atualizarPedido(1L, dto, null);
+
+        // Assert: a versão é lida depois do incremento, que é imediato
+        assertEquals("\"1.4\"", atualizado.etag());
+        assertEquals(2L, atualizado.corpo().itens().get(0).produtoId());
+        InOrder ordem = inOrder(entityManager, pedidoRepository);
+        ordem.verify(entityManager).lock(pedido, LockModeType.PESSIMISTIC_FORCE_INCREMENT);
+        ordem.verify(pedidoRepository).findVersaoById(1L);
+    }
+
+    @Test
+    void deveRecusarAtualizacaoDeItensQuandoOPedidoMudouDepoisDeCarregado() {
+        // Arrange: o UPDATE da versão não encontra mais a versão carregada
+        PedidoUpdateRequestDTO dto = new PedidoUpdateRequestDTO();
+        dto.setProdutoIds(List.of(2L));
+        given(pedidoRepository.findComItensById(1L)).willReturn(Optional.of(pedido));
+        given(produtoRepository.findAllByIdComCache(Set.of(2L))).willReturn(List.of(produto2));
+        willThrow(new OptimisticLockException()).given(entityManager).lock(pedido, LockModeType.PESSIMISTIC_FORCE_INCREMENT);
+
+        // Act & Assert: a mesma exceção de uma alteração concorrente detectada no commit (409)
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> pedidoService.atualizarPedido(1L, dto));
+        verify(pedidoRepository, never()).save(any());
+    }
+
+    @Test
+    void naoDeveCarregarPedidoQuandoOETagNaoMudou() {
+        // Arrange
+        given(pedidoRepository.findVersaoById(1L)).willReturn(Optional.of(new VersaoDTO(2L, 9L)));
+
+        // Act
+        RepresentacaoDTO<PedidoResponseDTO> pedido = pedidoService.buscarComVersao(1L, false, "\"2.9\""::equals);
+
+        // Assert
+        assertNull(pedido.corpo());
+        assertEquals("\"2.9\"", pedido.etag());
+        verify(pedidoRepository, never()).findComItensById(any());
+    }
+
+    @Test
+    void deveAlterarApenasOsItensQueMudaram() {
+        // Arrange: o pedido tem 1 x produto 1 (vendido a 100,00) e 1 x produto 2; o produto 1 ficou mais caro
+        pedido.adicionarItem(produto2, 1);
+        ItemPedido itemMantido = pedido.getItens().get(0);
+        produto1.setPreco(120.00);
+        Produto produto3 = new Produto("Produto Teste 3", 50.00);
+        produto3.setId(3L);
+        PedidoUpdateRequestDTO dto = new PedidoUpdateRequestDTO();
+        dto.setItens(List.of(new ItemPedidoRequestDTO(1L, 3), new ItemPedidoRequestDTO(3L, 2)));
+        given(pedidoRepository.findComItensById(1L)).willReturn(Optional.of(pedido));
+        given(produtoRepository.findAllByIdComCache(Set.of(3L))).willReturn(List.of(produto3));
+        given(pedidoRepository.save(pedido)).willReturn(pedido);
+
+        // Act
+        pedidoService.atualizarPedido(1L, dto);
+
+        // Assert: o item do produto 1 é o mesmo, com a nova quantidade e o preço original; só o produto 3 é carregado
+        assertEquals(2, pedido.getItens().size());
+        assertSame(itemMantido, pedido.getItens().get(0));
+        assertEquals(3, itemMantido.getQuantidade());
+        assertEquals(100.00, itemMantido.getPrecoUnitario());
+        assertEquals(produto3, pedido.getItens().get(1).getProduto());
+        verify(produtoRepository, never()).findAllByIdComCache(Set.of(1L, 3L));
+        verify(resumoVendasService).aplicar(any(ResumoVendasService.Variacao.class));
+        verify(entityManager).lock(pedido, LockModeType.PESSIMISTIC_FORCE_INCREMENT);
+    }
+
+    @Test
+    void naoDeveAlterarVersaoNemResumosQuandoItensNaoMudam() {
+        // Arrange
+        PedidoUpdateRequestDTO dto = new PedidoUpdateRequestDTO();
+        dto.setProdutoIds(List.of(1L));
+        given(pedidoRepository.findComItensById(1L)).willReturn(Optional.of(pedido));
+        given(pedidoRepository.save(pedido)).willReturn(pedido);
+
+        // Act
+        pedidoService.atualizarPedido(1L, dto);
+
+        // Assert
+        verify(produtoRepository, never()).findAllByIdComCache(any());
+        verify(resumoVendasService, never()).aplicar(any());
+        verify(entityManager, never()).lock(any(), any());
+    }
+
+    @Test
+    void deveAtualizarSomenteDataDeEntregaComUmUpdate() {
+        // Arrange
+        LocalDate entrega = LocalDate.now().plusDays(2);
+        PedidoUpdateRequestDTO dto = new PedidoUpdateRequestDTO();
+        dto.setDataEntrega(entrega);
+        given(pedidoRepository.atualizarDataEntrega(1L, entrega)).willReturn(1);
+        given(pedidoRepository.findComItensById(1L)).willReturn(Optional.of(pedido));
+
+        // Act
+        Pedido atualizado = pedidoService.atualizarPedido(1L, dto);
+
+        // Assert: nenhum item, produto ou resumo é lido ou gravado
+        assertSame(pedido, atualizado);
+        verify(pedidoRepository, never()).save(any());
+        verifyNoInteractions(produtoRepository, itemPedidoRepository, resumoVendasService);
+    }
+
+    @Test
+    void naoDeveAtualizarDataDeEntregaDePedidoInexistente() {
+        PedidoUpdateRequestDTO dto = new PedidoUpdateRequestDTO();
+        dto.setDataEntrega(LocalDate.now());
+        given(pedidoRepository.atualizarDataEntrega(99L, dto.getDataEntrega())).willReturn(0);
+
+        assertThrows(ResourceNotFoundException.class, () -> pedidoService.atualizarPedido(99L, dto));
+    }
+
+    @Test
+    void naoDeveAtualizarDataDeEntregaAlteradaAposAVerificacaoDoIfMatch() {
+        // Arrange: o ETag confere, mas outra requisição grava o pedido antes do UPDATE
+        PedidoUpdateRequestDTO dto = new PedidoUpdateRequestDTO();
+        dto.setDataEntrega(LocalDate.now());
+        given(pedidoRepository.findVersaoById(1L)).willReturn(Optional.of(new VersaoDTO(1L, 4L)));
+        given(pedidoRepository.atualizarDataEntregaNaVersao(1L, 1L, dto.getDataEntrega())).willReturn(0);
+
+        // Act & Assert
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> pedidoService.atualizarPedido(1L, dto, "\"1.4\""));
+    }
+
+    @Test
+    void deveConfirmarEntregasComUmUpdatePorDataSemCarregarPedidos() {
+        // Arrange: dois pedidos entregues no mesmo dia e um no dia seguinte
+        LocalDate hoje = LocalDate.now();
+        LocalDate amanha = hoje.plusDays(1);
+        given(pedidoRepository.atualizarDataEntregaDosPedidos(List.of(1L, 2L), hoje)).willReturn(2);
+        given(pedidoRepository.atualizarDataEntregaDosPedidos(List.of(3L), amanha)).willReturn(1);
+
+        // Act
+        EntregaLoteResponseDTO resultado = pedidoService.confirmarEntregas(List.of(new EntregaPedidoRequestDTO(1L, hoje),
+                new EntregaPedidoRequestDTO(3L, amanha), new EntregaPedidoRequestDTO(2L, hoje)));
+
+        // Assert: todos encontrados, então nenhuma consulta de IDs
+        assertEquals(3, resultado.atualizados());
+        assertTrue(resultado.naoEncontrados().isEmpty());
+        verify(pedidoRepository, never()).findIdsExistentes(any());
+        verify(pedidoRepository, never()).findById(any());
+    }
+
+    @Test
+    void deveInformarPedidosNaoEncontradosNaConfirmacaoDeEntregas() {
+        // Arrange
+        LocalDate hoje = LocalDate.now();
+        given(pedidoRepository.atualizarDataEntregaDosPedidos(List.of(7L, 1L, 8L), hoje)).willReturn(1);
+        given(pedidoRepository.findIdsExistentes(List.of(7L, 1L, 8L))).willReturn(List.of(1L));
+
+        // Act
+        EntregaLoteResponseDTO resultado = pedidoService.confirmarEntregas(List.of(new EntregaPedidoRequestDTO(7L, hoje),
+                new EntregaPedidoRequestDTO(1L, hoje), new EntregaPedidoRequestDTO(8L, hoje)));
+
+        // Assert
+        assertEquals(1, resultado.atualizados());
+        assertEquals(List.of(7L, 8L), resultado.naoEncontrados());
+    }
+
+    @Test
+    void naoDeveConfirmarEntregaSemData() {
+        List<EntregaPedidoRequestDTO> entregas = List.of(new EntregaPedidoRequestDTO(1L, LocalDate.now()),
+                new EntregaPedidoRequestDTO(2L, null));
+
+        assertThrows(BusinessRuleException.class, () -> pedidoService.confirmarEntregas(entregas));
+        verifyNoInteractions(pedidoRepository);
+    }
+
     @Test
     void deveDeletarPedidoComSucesso() {
         // Arrange
@@ -140,8 +478,10 @@ class PedidoServiceTest {
         // Act
         assertDoesNotThrow(() -> pedidoService.deletarPedido(pedidoId));
 
-        // Assert
-        verify(pedidoRepository, times(1)).delete(pedido);
+        // Assert: o pedido é estornado dos resumos antes de ser removido
+        InOrder ordem = inOrder(resumoVendasService, pedidoRepository);
+        ordem.verify(resumoVendasService).aplicar(any(ResumoVendasService.Variacao.class));
+        ordem.verify(pedidoRepository).delete(pedido);
     }
 
     @Test
@@ -156,4 +496,14 @@ class PedidoServiceTest {
         });
         verify(pedidoRepository, never()).delete(any(Pedido.class));
     }
+
+    @Test
+    void deveCalcularTotalPeloRepositorioDeItens() {
+        given(pedidoRepository.existsById(1L)).willReturn(true);
+        given(itemPedidoRepository.calcularTotalDoPedido(1L)).willReturn(350.00);
+
+        TotalPedidoDTO total = pedidoService.calcularTotal(1L);
+
+        assertEquals(new TotalPedidoDTO(1L, 350.00), total);
+    }
 }
@@ -1,6 +1,13 @@
 package org.example.service;
 
+import org.example.busca.IndiceBuscaProdutos;
 import org.example.dto.ProdutoRequestDTO;
+import org.example.dto.ProdutoResponseDTO;
+import org.example.dto.ReajustePrecoRequestDTO;
+import org.example.event.ProdutoRemovidoEvent;
+import org.example.event.ProdutoSalvoEvent;
+import org.example.event.ProdutosReajustadosEvent;
+import org.example.exception.BusinessRuleException;
 import org.example.exception.ResourceNotFoundException;
 import org.example.model.Categoria;
 import org.example.model.Fornecedor;
@@ -14,11 +21,15 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.*;
 
@@ -28,6 +39,8 @@ class ProdutoServiceTest {
     @Mock private ProdutoRepository produtoRepository;
     @Mock private CategoriaRepository categoriaRepository;
     @Mock private FornecedorRepository fornecedorRepository;
+    @Mock private IndiceBuscaProdutos indiceBuscaProdutos;
+    @Mock private ApplicationEventPublisher eventPublisher;
     @InjectMocks private ProdutoService produtoService;
 
     private Categoria categoria;
@@ -76,4 +89,101 @@ class ProdutoServiceTest {
         assertEquals("Fornecedor com ID 999 não encontrado", exception.getMessage()); // Mensagem exata, sem ponto final.
         verify(produtoRepository, never()).save(any(Produto.class));
     }
-}
\ No newline at end of file
+
+    @Test
+    void devePublicarEventoAoCriarProduto() {
+        // Arrange
+        given(categoriaRepository.findById(1L)).willReturn(Optional.of(categoria));
+        given(fornecedorRepository.findById(1L)).willReturn(Optional.of(fornecedor));
+        given(produtoRepository.save(any(Produto.class))).willAnswer(invocation -> {
+            Produto p = invocation.getArgument(0);
+            p.setId(10L);
+            return p;
+        });
+
+        // Act
+        produtoService.criarProduto(produtoRequestDTO);
+
+        // Assert: o índice de busca é atualizado a partir do evento, após o commit
+        verify(eventPublisher).publishEvent(argThat((Object evento) -> evento instanceof ProdutoSalvoEvent salvo
+                && salvo.produto().id().equals(10L) && salvo.produto().categoriaNome().equals("Eletrônicos")));
+    }
+
+    @Test
+    void devePublicarEventoAoDeletarProduto() {
+        Produto produto = new Produto("Notebook", 4000.00);
+        produto.setId(10L);
+        given(produtoRepository.findById(10L)).willReturn(Optional.of(produto));
+
+        produtoService.deletarProduto(10L);
+
+        verify(eventPublisher).publishEvent(new ProdutoRemovidoEvent(10L));
+    }
+
+    @Test
+    void deveReajustarPrecosComUmUnicoUpdateEPublicarEvento() {
+        // Arrange
+        ReajustePrecoRequestDTO reajuste = reajuste(1L, null, 10.0, null);
+        List<ProdutoResponseDTO> reajustados = List.of(new ProdutoResponseDTO(10L, "Notebook", 4400.00, 1L, "Eletrônicos", 1L, "Fornecedor Tech"));
+        given(categoriaRepository.existsById(1L)).willReturn(true);
+        given(produtoRepository.reajustarPrecos(1L, null, 1.1, 0)).willReturn(1);
+        given(produtoRepository.findProjetadosComPreco(1L, null)).willReturn(reajustados);
+        given(produtoRepository.findVersoesComPreco(1L, null)).willReturn(Map.of(10L, 3L));
+
+        // Act
+        int atualizados = produtoService.reajustarPrecos(reajuste).produtosAtualizados();
+
+        // Assert: um aumento percentual não precisa da verificação de preços negativos
+        assertEquals(1, atualizados);
+        verify(produtoRepository, never()).contarComPrecoNegativoAposReajuste(any(), any(), anyDouble(), anyDouble());
+        verify(eventPublisher).publishEvent(new ProdutosReajustadosEvent(reajustados, Map.of(10L, 3L)));
+    }
+
+    @Test
+    void naoDeveReajustarPrecosComFiltroOuValoresInvalidos() {
+        assertThrows(BusinessRuleException.class, () -> produtoService.reajustarPrecos(reajuste(null, null, 10.0, null)));
+        assertThrows(BusinessRuleException.class, () -> produtoService.reajustarPrecos(reajuste(1L, null, null, null)));
+        assertThrows(BusinessRuleException.class, () -> produtoService.reajustarPrecos(reajuste(1L, null, 10.0, 5.0)));
+        assertThrows(BusinessRuleException.class, () -> produtoService.reajustarPrecos(reajuste(1L, null, -100.0, null)));
+        verifyNoInteractions(produtoRepository, eventPublisher);
+    }
+
+    @Test
+    void naoDeveReajustarPrecosDeFornecedorInexistente() {
+        given(fornecedorRepository.existsById(999L)).willReturn(false);
+
+        ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class,
+                () -> produtoService.reajustarPrecos(reajuste(null, 999L, null, 5.0)));
+
+        assertEquals("Fornecedor com ID 999 não encontrado", exception.getMessage());
+        verifyNoInteractions(produtoRepository);
+    }
+
+    @Test
+    void naoDeveReajustarPrecosQueFicariamNegativos() {
+        given(fornecedorRepository.existsById(1L)).willReturn(true);
+        given(produtoRepository.contarComPrecoNegativoAposReajuste(null, 1L, 1, -50.0)).willReturn(2L);
+
+        assertThrows(BusinessRuleException.class, () -> produtoService.reajustarPrecos(reajuste(null, 1L, null, -50.0)));
+
+        verify(produtoRepository, never()).reajustarPrecos(any(), any(), anyDouble(), anyDouble());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void naoDeveBuscarComTermoCurtoOuLimiteInvalido() {
+        assertThrows(BusinessRuleException.class, () -> produtoService.buscar(" a ", 20));
+        assertThrows(BusinessRuleException.class, () -> produtoService.buscar("mouse", 0));
+        assertThrows(BusinessRuleException.class, () -> produtoService.buscar("mouse", ProdutoService.LIMITE_MAXIMO_BUSCA + 1));
+        verifyNoInteractions(indiceBuscaProdutos);
+    }
+
+    private static ReajustePrecoRequestDTO reajuste(Long categoriaId, Long fornecedorId, Double percentual, Double valor) {
+        ReajustePrecoRequestDTO dto = new ReajustePrecoRequestDTO();
+        dto.setCategoriaId(categoriaId);
+        dto.setFornecedorId(fornecedorId);
+        dto.setPercentual(percentual);
+        dto.setValor(valor);
+        return dto;
+    }
+}
@@ -0,0 +1,113 @@
+package org.example.service;
+
+import org.example.dto.PedidoRequestDTO;
+import org.example.dto.TicketPedidoDTO;
+import org.example.exception.ResourceNotFoundException;
+import org.example.model.Produto;
+import org.example.repository.PedidoRepository;
+import org.example.repository.ProdutoRepository;
+import org.example.repository.ResumoVendaDiariaRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.json.AutoConfigureJson;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Teste de integração da recepção assíncrona de pedidos.
+ * O teste não é transacional: os pedidos são gravados pela thread gravadora, em transações próprias.
+ */
+@DataJpaTest(properties = {
+        "pedidos.recepcao-assincrona.habilitada=true",
+        "pedidos.recepcao-assincrona.tamanho-grupo=20",
+        "pedidos.recepcao-assincrona.intervalo-ms=50"})
+@AutoConfigureJson
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({PedidoService.class, ResumoVendasService.class, RecepcaoPedidosService.class})
+class RecepcaoPedidosIntegrationTest {
+
+    private static final long ESPERA_MAXIMA_MS = 10_000;
+
+    @Autowired
+    private RecepcaoPedidosService recepcaoPedidosService;
+
+    @Autowired
+    private PedidoService pedidoService;
+
+    @Autowired
+    private PedidoRepository pedidoRepository;
+
+    @Autowired
+    private ProdutoRepository produtoRepository;
+
+    @Autowired
+    private ResumoVendaDiariaRepository resumoVendaDiariaRepository;
+
+    private Produto mouse;
+    private Produto teclado;
+
+    @BeforeEach
+    void setUp() {
+        mouse = produtoRepository.save(new Produto("Mouse", 100.00));
+        teclado = produtoRepository.save(new Produto("Teclado", 300.00));
+    }
+
+    @AfterEach
+    void tearDown() {
+        pedidoRepository.deleteAll();
+        resumoVendaDiariaRepository.deleteAll();
+        produtoRepository.deleteAll();
+    }
+
+    @Test
+    void deveGravarTodosOsPedidosRecebidos() throws InterruptedException {
+        // Act
+        List<TicketPedidoDTO> tickets = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            tickets.add(recepcaoPedidosService.enfileirar(requisicao(mouse.getId(), teclado.getId())));
+        }
+
+        // Assert
+        List<Long> ids = new ArrayList<>();
+        for (TicketPedidoDTO ticket : tickets) {
+            TicketPedidoDTO situacao = aguardarFinalizacao(ticket);
+            assertEquals(TicketPedidoDTO.Situacao.CONCLUIDO, situacao.situacao(), situacao.mensagem());
+            ids.add(situacao.pedidoId());
+        }
+        assertEquals(50, ids.stream().distinct().count());
+        assertEquals(50, pedidoRepository.count());
+        assertEquals(400.00, pedidoService.calcularTotal(ids.get(49)).total(), 0.001);
+    }
+
+    @Test
+    void deveRecusarNaRequisicaoPedidoComProdutoInexistente() {
+        assertThrows(ResourceNotFoundException.class,
+                () -> recepcaoPedidosService.enfileirar(requisicao(mouse.getId(), 999L)));
+        assertEquals(0, pedidoRepository.count());
+    }
+
+    private TicketPedidoDTO aguardarFinalizacao(TicketPedidoDTO ticket) throws InterruptedException {
+        long limite = System.currentTimeMillis() + ESPERA_MAXIMA_MS;
+        TicketPedidoDTO situacao = recepcaoPedidosService.consultar(ticket.ticket());
+        while (situacao.situacao() == TicketPedidoDTO.Situacao.PENDENTE && System.currentTimeMillis() < limite) {
+            Thread.sleep(10);
+            situacao = recepcaoPedidosService.consultar(ticket.ticket());
+        }
+        return situacao;
+    }
+
+    private static PedidoRequestDTO requisicao(Long... produtoIds) {
+        PedidoRequestDTO dto = new PedidoRequestDTO();
+        dto.setProdutoIds(List.of(produtoIds));
+        return dto;
+    }
+}
@@ -0,0 +1,166 @@
+package org.example.service;
+
+import org.example.dto.PedidoRequestDTO;
+import org.example.dto.TicketPedidoDTO;
+import org.example.exception.BusinessRuleException;
+import org.example.exception.CapacityExceededException;
+import org.example.exception.ResourceNotFoundException;
+import org.example.model.Pedido;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.*;
+
+/**
+ * Teste de unidade para a RecepcaoPedidosService.
+ * A thread gravadora só é iniciada nos testes que a exercitam.
+ */
+@ExtendWith(MockitoExtension.class)
+class RecepcaoPedidosServiceTest {
+
+    private static final long ESPERA_MAXIMA_MS = 5_000;
+
+    @Mock
+    private PedidoService pedidoService;
+
+    @InjectMocks
+    private RecepcaoPedidosService recepcaoPedidosService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(recepcaoPedidosService, "capacidade", 2);
+        ReflectionTestUtils.setField(recepcaoPedidosService, "tamanhoGrupo", 10);
+        ReflectionTestUtils.setField(recepcaoPedidosService, "intervaloMs", 200L);
+        ReflectionTestUtils.setField(recepcaoPedidosService, "retencaoSegundos", 600L);
+        ReflectionTestUtils.setField(recepcaoPedidosService, "maximoFinalizados", 100);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        recepcaoPedidosService.encerrar();
+    }
+
+    @Test
+    void deveGravarPedidosEnfileiradosEmUmUnicoGrupo() throws InterruptedException {
+        // Arrange
+        given(pedidoService.criarPedidosEmLote(anyList())).willReturn(List.of(11L, 12L));
+        recepcaoPedidosService.iniciar();
+
+        // Act
+        TicketPedidoDTO primeiro = recepcaoPedidosService.enfileirar(pedido(1L));
+        TicketPedidoDTO segundo = recepcaoPedidosService.enfileirar(pedido(2L));
+
+        // Assert
+        assertEquals(TicketPedidoDTO.Situacao.PENDENTE, primeiro.situacao());
+        assertEquals(TicketPedidoDTO.concluido(primeiro.ticket(), 11L), aguardarFinalizacao(primeiro.ticket()));
+        assertEquals(TicketPedidoDTO.concluido(segundo.ticket(), 12L), aguardarFinalizacao(segundo.ticket()));
+        verify(pedidoService, times(1)).criarPedidosEmLote(anyList());
+        verify(pedidoService, never()).criarPedido(any());
+    }
+
+    @Test
+    void deveRecusarPedidoQuandoFilaEstiverCheia() {
+        // Arrange: sem a thread gravadora, a fila não é esvaziada
+        ReflectionTestUtils.setField(recepcaoPedidosService, "executando", true);
+        ReflectionTestUtils.setField(recepcaoPedidosService, "fila", new ArrayBlockingQueue<>(2));
+        recepcaoPedidosService.enfileirar(pedido(1L));
+        recepcaoPedidosService.enfileirar(pedido(2L));
+
+        // Act & Assert
+        assertThrows(CapacityExceededException.class, () -> recepcaoPedidosService.enfileirar(pedido(3L)));
+    }
+
+    @Test
+    void naoDeveEnfileirarPedidoInvalido() {
+        // Arrange
+        recepcaoPedidosService.iniciar();
+        PedidoRequestDTO invalido = pedido();
+        doThrow(new BusinessRuleException("Um pedido deve conter pelo menos um produto."))
+                .when(pedidoService).validarPedido(invalido);
+
+        // Act & Assert
+        assertThrows(BusinessRuleException.class, () -> recepcaoPedidosService.enfileirar(invalido));
+        verify(pedidoService, never()).criarPedidosEmLote(anyList());
+    }
+
+    @Test
+    void deveRegravarUmAUmQuandoGrupoFalhar() throws InterruptedException {
+        // Arrange: o produto 2 foi removido entre a validação e a gravação
+        PedidoRequestDTO valido = pedido(1L);
+        PedidoRequestDTO comProdutoRemovido = pedido(2L);
+        Pedido criado = new Pedido(LocalDate.now());
+        criado.setId(21L);
+        given(pedidoService.criarPedidosEmLote(anyList()))
+                .willThrow(new ResourceNotFoundException("Produto(s) com ID(s) [2] não encontrado(s)."));
+        given(pedidoService.criarPedido(valido)).willReturn(criado);
+        given(pedidoService.criarPedido(comProdutoRemovido))
+                .willThrow(new ResourceNotFoundException("Produto(s) com ID(s) [2] não encontrado(s)."));
+        recepcaoPedidosService.iniciar();
+
+        // Act
+        TicketPedidoDTO primeiro = recepcaoPedidosService.enfileirar(valido);
+        TicketPedidoDTO segundo = recepcaoPedidosService.enfileirar(comProdutoRemovido);
+
+        // Assert
+        assertEquals(TicketPedidoDTO.concluido(primeiro.ticket(), 21L), aguardarFinalizacao(primeiro.ticket()));
+        assertEquals(TicketPedidoDTO.falhou(segundo.ticket(), "Produto(s) com ID(s) [2] não encontrado(s)."),
+                aguardarFinalizacao(segundo.ticket()));
+    }
+
+    @Test
+    void deveDescartarOsTicketsFinalizadosMaisAntigosAcimaDoLimite() throws InterruptedException {
+        // Arrange: no máximo dois tickets finalizados, bem antes do fim da retenção
+        ReflectionTestUtils.setField(recepcaoPedidosService, "maximoFinalizados", 2);
+        given(pedidoService.criarPedidosEmLote(anyList())).willReturn(List.of(11L), List.of(12L), List.of(13L));
+        recepcaoPedidosService.iniciar();
+
+        // Act: um pedido por grupo
+        TicketPedidoDTO primeiro = recepcaoPedidosService.enfileirar(pedido(1L));
+        aguardarFinalizacao(primeiro.ticket());
+        TicketPedidoDTO segundo = recepcaoPedidosService.enfileirar(pedido(2L));
+        aguardarFinalizacao(segundo.ticket());
+        TicketPedidoDTO terceiro = recepcaoPedidosService.enfileirar(pedido(3L));
+        aguardarFinalizacao(terceiro.ticket());
+
+        // Assert
+        assertThrows(ResourceNotFoundException.class, () -> recepcaoPedidosService.consultar(primeiro.ticket()));
+        assertEquals(TicketPedidoDTO.concluido(segundo.ticket(), 12L), recepcaoPedidosService.consultar(segundo.ticket()));
+        assertEquals(TicketPedidoDTO.concluido(terceiro.ticket(), 13L), recepcaoPedidosService.consultar(terceiro.ticket()));
+    }
+
+    @Test
+    void naoDeveConsultarTicketInexistente() {
+        assertThrows(ResourceNotFoundException.class, () -> recepcaoPedidosService.consultar(UUID.randomUUID()));
+    }
+
+    private TicketPedidoDTO aguardarFinalizacao(UUID ticket) throws InterruptedException {
+        long limite = System.currentTimeMillis() + ESPERA_MAXIMA_MS;
+        TicketPedidoDTO situacao = recepcaoPedidosService.consultar(ticket);
+        while (situacao.situacao() == TicketPedidoDTO.Situacao.PENDENTE && System.currentTimeMillis() < limite) {
+            Thread.sleep(10);
+            situacao = recepcaoPedidosService.consultar(ticket);
+        }
+        return situacao;
+    }
+
+    private static PedidoRequestDTO pedido(Long... produtoIds) {
+        PedidoRequestDTO dto = new PedidoRequestDTO();
+        dto.setProdutoIds(List.of(produtoIds));
+        return dto;
+    }
+}
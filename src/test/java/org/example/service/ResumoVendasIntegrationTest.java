@@ -0,0 +1,181 @@
+package org.example.service;
+
+import org.example.dto.PedidoRequestDTO;
+import org.example.dto.PedidoUpdateRequestDTO;
+import org.example.dto.ResumoVendaDTO;
+import org.example.model.Categoria;
+import org.example.model.DimensaoVenda;
+import org.example.model.Fornecedor;
+import org.example.model.Pedido;
+import org.example.model.Produto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.json.AutoConfigureJson;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Teste de integração dos resumos de vendas mantidos pelo PedidoService.
+ */
+@DataJpaTest
+@AutoConfigureJson
+@Import({PedidoService.class, ResumoVendasService.class})
+class ResumoVendasIntegrationTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private PedidoService pedidoService;
+
+    @Autowired
+    private ResumoVendasService resumoVendasService;
+
+    private Categoria perifericos;
+    private Fornecedor logitech;
+    private Produto mouse;
+    private Produto teclado;
+
+    @BeforeEach
+    void setUp() {
+        perifericos = entityManager.persist(new Categoria("Periféricos"));
+        logitech = entityManager.persist(new Fornecedor("Logitech"));
+        mouse = new Produto("Mouse", 100.00);
+        mouse.setCategoria(perifericos);
+        mouse.setFornecedor(logitech);
+        entityManager.persist(mouse);
+        teclado = new Produto("Teclado", 300.00);
+        teclado.setCategoria(perifericos);
+        entityManager.persist(teclado);
+        entityManager.flush();
+    }
+
+    @Test
+    void deveManterResumosAoCriarAtualizarEDeletarPedidos() {
+        LocalDate hoje = LocalDate.now();
+
+        // Criação: 2 mouses + 1 teclado
+        Pedido pedido = pedidoService.criarPedido(requisicao(mouse.getId(), mouse.getId(), teclado.getId()));
+        pedidoService.criarPedido(requisicao(mouse.getId()));
+
+        ResumoVendaDTO categoria = unico(resumoVendasService.listarResumos(DimensaoVenda.CATEGORIA, hoje, hoje));
+        assertEquals(perifericos.getId(), categoria.referenciaId());
+        assertEquals("Periféricos", categoria.nome());
+        assertEquals(new BigDecimal("600.00"), categoria.faturamento());
+        assertEquals(2L, categoria.quantidadePedidos());
+        assertEquals(4L, categoria.quantidadeItens());
+
+        // Atualização: o primeiro pedido passa a ter apenas 1 teclado
+        PedidoUpdateRequestDTO atualizacao = new PedidoUpdateRequestDTO();
+        atualizacao.setProdutoIds(List.of(teclado.getId()));
+        pedidoService.atualizarPedido(pedido.getId(), atualizacao);
+
+        List<ResumoVendaDTO> fornecedores = resumoVendasService.listarResumos(DimensaoVenda.FORNECEDOR, hoje, hoje);
+        ResumoVendaDTO logitechHoje = fornecedores.stream().filter(r -> r.referenciaId().equals(logitech.getId())).findFirst().orElseThrow();
+        assertEquals(new BigDecimal("100.00"), logitechHoje.faturamento());
+        assertEquals(1L, logitechHoje.quantidadePedidos());
+        ResumoVendaDTO semFornecedor = fornecedores.stream().filter(r -> r.referenciaId() == 0L).findFirst().orElseThrow();
+        assertNull(semFornecedor.nome());
+        assertEquals(new BigDecimal("300.00"), semFornecedor.faturamento());
+
+        // Remoção: o primeiro pedido é estornado
+        pedidoService.deletarPedido(pedido.getId());
+        entityManager.flush();
+
+        categoria = unico(resumoVendasService.listarResumos(DimensaoVenda.CATEGORIA, hoje, hoje));
+        assertEquals(new BigDecimal("100.00"), categoria.faturamento());
+        assertEquals(1L, categoria.quantidadePedidos());
+        assertEquals(1L, categoria.quantidadeItens());
+    }
+
+    @Test
+    void deveConsolidarResumosDoLote() {
+        LocalDate hoje = LocalDate.now();
+
+        pedidoService.criarPedidosEmLote(List.of(requisicao(mouse.getId()), requisicao(mouse.getId(), teclado.getId())));
+
+        ResumoVendaDTO categoria = unico(resumoVendasService.listarResumos(DimensaoVenda.CATEGORIA, hoje, hoje));
+        assertEquals(new BigDecimal("500.00"), categoria.faturamento());
+        assertEquals(2L, categoria.quantidadePedidos());
+        assertEquals(3L, categoria.quantidadeItens());
+    }
+
+    @Test
+    void deveEstornarNosBucketsDoPedidoMesmoQueOProdutoMudeDeCategoriaEFornecedor() {
+        LocalDate hoje = LocalDate.now();
+        Pedido pedido = pedidoService.criarPedido(requisicao(mouse.getId(), teclado.getId()));
+        pedidoService.criarPedidosEmLote(List.of(requisicao(mouse.getId())));
+
+        // Arrange: o mouse passa a outra categoria e fica sem fornecedor
+        Categoria acessorios = entityManager.persist(new Categoria("Acessórios"));
+        Produto mouseAtual = entityManager.find(Produto.class, mouse.getId());
+        mouseAtual.setCategoria(acessorios);
+        mouseAtual.setFornecedor(null);
+        entityManager.flush();
+
+        // Act: a alteração estorna os itens antigos nos buckets originais e lança o mouse na nova categoria
+        PedidoUpdateRequestDTO atualizacao = new PedidoUpdateRequestDTO();
+        atualizacao.setProdutoIds(List.of(mouse.getId()));
+        pedidoService.atualizarPedido(pedido.getId(), atualizacao);
+        pedidoService.deletarPedido(pedido.getId());
+        entityManager.flush();
+
+        // Assert: resta apenas o pedido do lote, nos buckets da época em que foi feito; nada fica negativo
+        List<ResumoVendaDTO> categorias = resumoVendasService.listarResumos(DimensaoVenda.CATEGORIA, hoje, hoje);
+        ResumoVendaDTO perifericosHoje = categorias.stream().filter(r -> r.referenciaId().equals(perifericos.getId())).findFirst().orElseThrow();
+        assertEquals(new BigDecimal("100.00"), perifericosHoje.faturamento());
+        assertEquals(1L, perifericosHoje.quantidadePedidos());
+        assertTrue(categorias.stream().filter(r -> r.referenciaId().equals(acessorios.getId()))
+                .allMatch(r -> r.faturamento().signum() == 0 && r.quantidadePedidos() == 0));
+
+        List<ResumoVendaDTO> fornecedores = resumoVendasService.listarResumos(DimensaoVenda.FORNECEDOR, hoje, hoje);
+        ResumoVendaDTO logitechHoje = fornecedores.stream().filter(r -> r.referenciaId().equals(logitech.getId())).findFirst().orElseThrow();
+        assertEquals(new BigDecimal("100.00"), logitechHoje.faturamento());
+        assertTrue(fornecedores.stream().allMatch(r -> r.faturamento().signum() >= 0 && r.quantidadePedidos() >= 0));
+    }
+
+    @Test
+    void deveZerarOsResumosAoDeletarUmAUmOsPedidosDeUmLote() {
+        // Arrange: meio centavo por pedido, arredondado para um centavo em cada pedido
+        LocalDate hoje = LocalDate.now();
+        Produto brinde = new Produto("Brinde", 0.005);
+        brinde.setCategoria(perifericos);
+        brinde.setFornecedor(logitech);
+        entityManager.persist(brinde);
+        List<Long> ids = pedidoService.criarPedidosEmLote(List.of(requisicao(brinde.getId()), requisicao(brinde.getId()),
+                requisicao(brinde.getId())));
+        entityManager.flush();
+        entityManager.clear();
+
+        // Act
+        ids.forEach(pedidoService::deletarPedido);
+        entityManager.flush();
+
+        // Assert: o lote somou exatamente o que os estornos subtraíram
+        for (DimensaoVenda dimensao : DimensaoVenda.values()) {
+            ResumoVendaDTO resumo = unico(resumoVendasService.listarResumos(dimensao, hoje, hoje));
+            assertEquals(0, resumo.faturamento().signum(), () -> dimensao + ": " + resumo.faturamento());
+            assertEquals(0L, resumo.quantidadePedidos());
+            assertEquals(0L, resumo.quantidadeItens());
+        }
+    }
+
+    private static PedidoRequestDTO requisicao(Long... produtoIds) {
+        PedidoRequestDTO dto = new PedidoRequestDTO();
+        dto.setProdutoIds(List.of(produtoIds));
+        return dto;
+    }
+
+    private static ResumoVendaDTO unico(List<ResumoVendaDTO> resumos) {
+        assertEquals(1, resumos.size());
+        return resumos.get(0);
+    }
+}
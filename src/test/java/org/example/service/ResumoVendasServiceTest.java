@@ -0,0 +1,114 @@
+package org.example.service;
+
+import org.example.dto.LinhaVendaDTO;
+import org.example.exception.BusinessRuleException;
+import org.example.model.DimensaoVenda;
+import org.example.model.ResumoVendaDiaria;
+import org.example.repository.ResumoVendaDiariaRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Teste de unidade para a ResumoVendasService.
+ */
+@ExtendWith(MockitoExtension.class)
+class ResumoVendasServiceTest {
+
+    private static final LocalDate DIA = LocalDate.of(2024, 5, 10);
+
+    @Mock
+    private ResumoVendaDiariaRepository resumoVendaDiariaRepository;
+
+    @InjectMocks
+    private ResumoVendasService resumoVendasService;
+
+    @Test
+    void deveContarPedidoUmaVezPorCategoriaEFornecedor() {
+        // Arrange: dois itens da categoria 1, de fornecedores diferentes
+        ResumoVendasService.Variacao variacao = new ResumoVendasService.Variacao().adicionarPedido(DIA, List.of(
+                new LinhaVendaDTO(1L, 10L, 2, 50.00),
+                new LinhaVendaDTO(1L, 20L, 1, 30.00)));
+
+        // Act
+        resumoVendasService.aplicar(variacao);
+
+        // Assert
+        verify(resumoVendaDiariaRepository).somar(DimensaoVenda.CATEGORIA, DIA, 1L, new BigDecimal("130.00"), 1L, 3L);
+        verify(resumoVendaDiariaRepository).somar(DimensaoVenda.FORNECEDOR, DIA, 10L, new BigDecimal("100.00"), 1L, 2L);
+        verify(resumoVendaDiariaRepository).somar(DimensaoVenda.FORNECEDOR, DIA, 20L, new BigDecimal("30.00"), 1L, 1L);
+        verifyNoMoreInteractions(resumoVendaDiariaRepository);
+    }
+
+    @Test
+    void deveSomarNoBucketDeReferenciaVaziaParaProdutoSemCategoria() {
+        // Arrange
+        ResumoVendasService.Variacao variacao = new ResumoVendasService.Variacao()
+                .adicionarPedido(DIA, List.of(new LinhaVendaDTO(null, null, 1, 80.00)));
+
+        // Act
+        resumoVendasService.aplicar(variacao);
+
+        // Assert
+        verify(resumoVendaDiariaRepository).somar(DimensaoVenda.CATEGORIA, DIA, ResumoVendaDiaria.SEM_REFERENCIA,
+                new BigDecimal("80.00"), 1L, 1L);
+        verify(resumoVendaDiariaRepository).somar(DimensaoVenda.FORNECEDOR, DIA, ResumoVendaDiaria.SEM_REFERENCIA,
+                new BigDecimal("80.00"), 1L, 1L);
+    }
+
+    @Test
+    void deveSomarOsBucketsSempreNaMesmaOrdem() {
+        // Arrange: itens em ordem decrescente de categoria e fornecedor
+        ResumoVendasService.Variacao variacao = new ResumoVendasService.Variacao().adicionarPedido(DIA, List.of(
+                new LinhaVendaDTO(2L, 20L, 1, 10.00),
+                new LinhaVendaDTO(1L, 10L, 1, 10.00)));
+
+        // Act
+        resumoVendasService.aplicar(variacao);
+
+        // Assert: a ordem de gravação não depende da ordem dos itens
+        InOrder ordem = inOrder(resumoVendaDiariaRepository);
+        ordem.verify(resumoVendaDiariaRepository).somar(eq(DimensaoVenda.CATEGORIA), eq(DIA), eq(1L), any(), anyLong(), anyLong());
+        ordem.verify(resumoVendaDiariaRepository).somar(eq(DimensaoVenda.CATEGORIA), eq(DIA), eq(2L), any(), anyLong(), anyLong());
+        ordem.verify(resumoVendaDiariaRepository).somar(eq(DimensaoVenda.FORNECEDOR), eq(DIA), eq(10L), any(), anyLong(), anyLong());
+        ordem.verify(resumoVendaDiariaRepository).somar(eq(DimensaoVenda.FORNECEDOR), eq(DIA), eq(20L), any(), anyLong(), anyLong());
+    }
+
+    @Test
+    void deveAplicarApenasADiferencaAoTrocarItensDoPedido() {
+        // Arrange: o pedido continua na categoria 1, mas troca o fornecedor 10 pelo 20
+        ResumoVendasService.Variacao variacao = new ResumoVendasService.Variacao()
+                .removerPedido(DIA, List.of(new LinhaVendaDTO(1L, 10L, 1, 100.00)))
+                .adicionarPedido(DIA, List.of(new LinhaVendaDTO(1L, 20L, 1, 100.00)));
+
+        // Act
+        resumoVendasService.aplicar(variacao);
+
+        // Assert: o bucket da categoria não muda e não gera comando
+        verify(resumoVendaDiariaRepository, never()).somar(eq(DimensaoVenda.CATEGORIA), any(), anyLong(), any(), anyLong(), anyLong());
+        verify(resumoVendaDiariaRepository).somar(DimensaoVenda.FORNECEDOR, DIA, 10L, new BigDecimal("-100.00"), -1L, -1L);
+        verify(resumoVendaDiariaRepository).somar(DimensaoVenda.FORNECEDOR, DIA, 20L, new BigDecimal("100.00"), 1L, 1L);
+    }
+
+    @Test
+    void naoDeveListarResumosComPeriodoInvalido() {
+        assertThrows(BusinessRuleException.class,
+                () -> resumoVendasService.listarResumos(DimensaoVenda.CATEGORIA, DIA, DIA.minusDays(1)));
+        assertThrows(BusinessRuleException.class,
+                () -> resumoVendasService.listarResumos(DimensaoVenda.CATEGORIA, DIA, DIA.plusDays(ResumoVendasService.MAXIMO_DIAS_PERIODO)));
+        verifyNoInteractions(resumoVendaDiariaRepository);
+    }
+}
@@ -0,0 +1,30 @@
+package org.example.sql;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * StatementInspector de teste que guarda o SQL gerado pelo Hibernate na thread atual, para que o teste
+ * possa examiná-lo (por exemplo, com EXPLAIN). Registrado pela propriedade
+ * spring.jpa.properties.hibernate.session_factory.statement_inspector.
+ */
+public class CapturadorSql implements StatementInspector {
+
+    private static final ThreadLocal<List<String>> COMANDOS = ThreadLocal.withInitial(ArrayList::new);
+
+    @Override
+    public String inspect(String sql) {
+        COMANDOS.get().add(sql);
+        return sql;
+    }
+
+    public static void limpar() {
+        COMANDOS.get().clear();
+    }
+
+    public static List<String> comandos() {
+        return List.copyOf(COMANDOS.get());
+    }
+}
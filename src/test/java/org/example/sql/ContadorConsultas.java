@@ -0,0 +1,63 @@
+package org.example.sql;
+
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Filtro de teste que conta os comandos SQL emitidos em cada requisição, pela diferença das
+ * estatísticas do Hibernate (hibernate.generate_statistics) antes e depois da requisição.
+ * Por envolver toda a cadeia, inclui as consultas feitas durante a serialização da resposta.
+ * As estatísticas são globais: a contagem supõe que nenhuma outra thread acessa o banco durante a requisição.
+ */
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class ContadorConsultas extends OncePerRequestFilter {
+
+    /**
+     * Uma requisição feita pelo teste e a quantidade de comandos SQL que ela emitiu.
+     */
+    public record Requisicao(String descricao, long comandos) {
+    }
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private final List<Requisicao> requisicoes = new ArrayList<>();
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        Statistics estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        long antes = estatisticas.getPrepareStatementCount();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            String uri = request.getQueryString() == null ? request.getRequestURI()
+                    : request.getRequestURI() + "?" + request.getQueryString();
+            requisicoes.add(new Requisicao(request.getMethod() + " " + uri, estatisticas.getPrepareStatementCount() - antes));
+        }
+    }
+
+    /**
+     * As requisições registradas desde a última chamada a {@link #limpar()}, na ordem em que foram feitas.
+     */
+    public List<Requisicao> getRequisicoes() {
+        return List.copyOf(requisicoes);
+    }
+
+    public void limpar() {
+        requisicoes.clear();
+    }
+}
@@ -0,0 +1,28 @@
+package org.example.sql;
+
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Orçamento de comandos SQL por requisição MockMvc.
+ * Cada requisição feita pelo teste pode emitir no máximo {@link #value()} comandos; acima disso o
+ * teste falha, indicando a requisição e a quantidade emitida. Na classe, vale para todos os métodos
+ * que não declaram o seu próprio orçamento.
+ * <p>
+ * Exige um contexto completo (@SpringBootTest com @AutoConfigureMockMvc) que importe
+ * {@link ContadorConsultas}: nos testes @WebMvcTest as services são mocks e não há SQL a contar.
+ */
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@ExtendWith(QueryBudgetExtension.class)
+public @interface QueryBudget {
+
+    /**
+     * A quantidade máxima de comandos SQL por requisição.
+     */
+    int value();
+}
@@ -0,0 +1,55 @@
+package org.example.sql;
+
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.platform.commons.support.AnnotationSupport;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Extensão do JUnit que aplica o {@link QueryBudget} do método (ou da classe) a cada requisição
+ * registrada pelo {@link ContadorConsultas} durante o teste.
+ */
+public class QueryBudgetExtension implements BeforeEachCallback, AfterEachCallback {
+
+    @Override
+    public void beforeEach(ExtensionContext context) {
+        contador(context).limpar();
+    }
+
+    @Override
+    public void afterEach(ExtensionContext context) {
+        // Um teste que falhou já tem o seu próprio erro; o orçamento não o encobre.
+        if (context.getExecutionException().isPresent()) {
+            return;
+        }
+        int orcamento = orcamento(context);
+        List<ContadorConsultas.Requisicao> requisicoes = contador(context).getRequisicoes();
+        assertFalse(requisicoes.isEmpty(), "@QueryBudget sem nenhuma requisição MockMvc no teste.");
+
+        List<String> excedidas = requisicoes.stream()
+                .filter(requisicao -> requisicao.comandos() > orcamento)
+                .map(requisicao -> requisicao.descricao() + ": " + requisicao.comandos() + " comandos SQL")
+                .toList();
+        if (!excedidas.isEmpty()) {
+            fail("Orçamento de " + orcamento + " comando(s) SQL por requisição excedido em " + excedidas
+                    + ". Ative spring.jpa.show-sql para ver os comandos (N+1?).");
+        }
+    }
+
+    private static int orcamento(ExtensionContext context) {
+        return AnnotationSupport.findAnnotation(context.getRequiredTestMethod(), QueryBudget.class)
+                .or(() -> AnnotationSupport.findAnnotation(context.getRequiredTestClass(), QueryBudget.class))
+                .map(QueryBudget::value)
+                .orElseThrow();
+    }
+
+    private static ContadorConsultas contador(ExtensionContext context) {
+        return SpringExtension.getApplicationContext(context).getBean(ContadorConsultas.class);
+    }
+}
@@ -0,0 +1,24 @@
+package org.example.util;
+
+import org.example.exception.PreconditionFailedException;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ETagUtilTest {
+
+    @Test
+    void deveAceitarIfMatchAusenteOuCorrespondente() {
+        assertDoesNotThrow(() -> ETagUtil.verificarIfMatch(null, "\"3.0\""));
+        assertDoesNotThrow(() -> ETagUtil.verificarIfMatch("\"3.0\"", "\"3.0\""));
+        assertDoesNotThrow(() -> ETagUtil.verificarIfMatch("\"2.0\", \"3.0\"", "\"3.0\""));
+        assertDoesNotThrow(() -> ETagUtil.verificarIfMatch("*", "\"3.0\""));
+    }
+
+    @Test
+    void deveRecusarIfMatchDesatualizadoOuFraco() {
+        assertThrows(PreconditionFailedException.class, () -> ETagUtil.verificarIfMatch("\"2.0\"", "\"3.0\""));
+        // If-Match usa comparação forte: um ETag fraco nunca corresponde
+        assertThrows(PreconditionFailedException.class, () -> ETagUtil.verificarIfMatch("W/\"3.0\"", "\"3.0\""));
+    }
+}
@@ -34,5 +34,9 @@ class NormalizadorUtilTest {
     void deveRetornarStringVaziaParaEntradaVazia() {
         assertEquals("", NormalizadorUtil.normalizar(""));
     }
-}
 
+    @Test
+    void deveNormalizarCadaPalavraSeparadamente() {
+        assertEquals("teclado mecanico usb c", NormalizadorUtil.normalizarPalavras("  Teclados Mecânicos (USB-C)"));
+    }
+}